@@ -0,0 +1,225 @@
+package calendar.model;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares {@link StampedLockCalendar} with a plain {@code synchronized} wrapper.
+ *
+ * <p>Each group runs one writer that keeps editing an event next to 1, 4 or 16 reader
+ * threads querying a day and a busy status. The {@code calendar} parameter selects the
+ * wrapper and {@code storage} the event storage underneath it. Only the concurrent
+ * storages let {@link StampedLockCalendar} read optimistically; over the tree set it
+ * falls back to read locks. Run with {@code ./gradlew jmh}.</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CalendarLockBenchmark {
+
+  private static final ZoneId EST = ZoneId.of("America/New_York");
+
+  /**
+   * The wrapped calendar shared by all threads of a group.
+   */
+  @State(Scope.Group)
+  public static class Shared {
+
+    @Param({"stamped", "synchronized"})
+    public String calendar;
+
+    @Param({"treeset", "skiplist", "snapshot"})
+    public String storage;
+
+    Icalendar cal;
+    EventKey edited;
+    ZonedDateTime dayStart;
+    LocalDate day;
+    int edits;
+
+    /**
+     * Fills a calendar with a year of weekday meetings and wraps it.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+      CalendarModel model = new CalendarModel(newStorage(), EST);
+      ZonedDateTime start = ZonedDateTime.of(2025, 1, 6, 9, 0, 0, 0, EST);
+      for (int hour = 0; hour < 8; hour++) {
+        Event seed = new Event.Builder("Meeting " + hour, start.plusHours(hour),
+            start.plusHours(hour).plusMinutes(45)).build();
+        model.createSeries(seed, new RecurrenceRule(EnumSet.range(DayOfWeek.MONDAY,
+            DayOfWeek.FRIDAY), 260, null));
+      }
+      cal = "stamped".equals(calendar)
+          ? new StampedLockCalendar(model) : new SynchronizedCalendar(model);
+      dayStart = start.plusWeeks(20);
+      day = dayStart.toLocalDate();
+      edited = new EventKey("Meeting 3", dayStart.plusHours(3),
+          dayStart.plusHours(3).plusMinutes(45));
+    }
+
+    private IeventStorage newStorage() {
+      switch (storage) {
+        case "skiplist":
+          return new ConcurrentSkipListEventStorage();
+        case "snapshot":
+          return new SnapshotEventStorage();
+        default:
+          return new TreeSetEventStorage();
+      }
+    }
+  }
+
+  private static Object read(Shared s) {
+    List<Event> events = s.cal.queryEventsBetween(s.dayStart, s.dayStart.plusHours(8));
+    return s.cal.isBusy(s.dayStart.plusHours(2).plusMinutes(10)) ? events : s.day;
+  }
+
+  private static void write(Shared s) {
+    s.cal.editEvent(s.edited, "location", "Room " + (s.edits++ & 7));
+  }
+
+  /**
+   * One reader next to the writer.
+   */
+  @Benchmark
+  @Group("readers1")
+  @GroupThreads(1)
+  public Object readers1Read(Shared s) {
+    return read(s);
+  }
+
+  /**
+   * The writer of the one-reader group.
+   */
+  @Benchmark
+  @Group("readers1")
+  @GroupThreads(1)
+  public void readers1Write(Shared s) {
+    write(s);
+  }
+
+  /**
+   * Four readers next to the writer.
+   */
+  @Benchmark
+  @Group("readers4")
+  @GroupThreads(4)
+  public Object readers4Read(Shared s) {
+    return read(s);
+  }
+
+  /**
+   * The writer of the four-reader group.
+   */
+  @Benchmark
+  @Group("readers4")
+  @GroupThreads(1)
+  public void readers4Write(Shared s) {
+    write(s);
+  }
+
+  /**
+   * Sixteen readers next to the writer.
+   */
+  @Benchmark
+  @Group("readers16")
+  @GroupThreads(16)
+  public Object readers16Read(Shared s) {
+    return read(s);
+  }
+
+  /**
+   * The writer of the sixteen-reader group.
+   */
+  @Benchmark
+  @Group("readers16")
+  @GroupThreads(1)
+  public void readers16Write(Shared s) {
+    write(s);
+  }
+
+  /**
+   * Baseline wrapper guarding every call with the object monitor.
+   */
+  static final class SynchronizedCalendar implements Icalendar {
+    private final Icalendar delegate;
+
+    SynchronizedCalendar(Icalendar delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public synchronized void createEvent(Event e) {
+      delegate.createEvent(e);
+    }
+
+    @Override
+    public synchronized void createSeries(Event e, RecurrenceRule rule) {
+      delegate.createSeries(e, rule);
+    }
+
+    @Override
+    public synchronized void editEvent(EventKey key, String property, Object newValue) {
+      delegate.editEvent(key, property, newValue);
+    }
+
+    @Override
+    public synchronized void editSeries(EventKey key, String property, Object newValue,
+                                        EditMode mode) {
+      delegate.editSeries(key, property, newValue, mode);
+    }
+
+    @Override
+    public synchronized Event findEvent(String subject, ZonedDateTime start,
+                                        ZonedDateTime end) {
+      return delegate.findEvent(subject, start, end);
+    }
+
+    @Override
+    public synchronized List<Event> queryEventsOn(LocalDate date) {
+      return delegate.queryEventsOn(date);
+    }
+
+    @Override
+    public synchronized List<Event> queryEventsBetween(ZonedDateTime start,
+                                                       ZonedDateTime end) {
+      return delegate.queryEventsBetween(start, end);
+    }
+
+    @Override
+    public synchronized boolean isBusy(ZonedDateTime timestamp) {
+      return delegate.isBusy(timestamp);
+    }
+
+    @Override
+    public synchronized List<Event> getAllEvents() {
+      return delegate.getAllEvents();
+    }
+
+    @Override
+    public synchronized ZoneId getZone() {
+      return delegate.getZone();
+    }
+
+    @Override
+    public synchronized void setZone(ZoneId zone) {
+      delegate.setZone(zone);
+    }
+  }
+}
@@ -0,0 +1,116 @@
+package calendar.model;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Allocation benchmark for the hash-heavy event paths.
+ *
+ * <p>Covers hashing events and looking them up by key, rejecting a duplicate in
+ * {@link InMemoryEventStorage}, and {@link EventCopier#copyEventsBetween}, which groups
+ * the copied events by series in a {@code HashMap}. Run with {@code ./gradlew jmh}; the
+ * {@code gc} profiler configured in the build reports {@code gc.alloc.rate.norm}, the
+ * bytes allocated per operation.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EventAllocationBenchmark {
+
+  private static final ZoneId EST = ZoneId.of("America/New_York");
+
+  private static final LocalDate FIRST_DAY = LocalDate.of(2025, 1, 6);
+
+  private List<Event> events;
+  private Set<Event> eventSet;
+  private TreeSetEventStorage storage;
+  private InMemoryEventStorage inMemory;
+  private Event duplicate;
+  private CalendarModel source;
+  private CalendarModel target;
+  private int next;
+
+  /**
+   * Creates a few hundred distinct events, half of them in series, and stores them.
+   */
+  @Setup(Level.Trial)
+  public void setUp() {
+    ZonedDateTime base = FIRST_DAY.atTime(9, 0).atZone(EST);
+    events = new ArrayList<>();
+    for (int i = 0; i < 500; i++) {
+      events.add(new Event.Builder("Meeting " + (i % 7), base.plusHours(i),
+          base.plusHours(i + 1)).seriesId(i % 2 == 0 ? "s" + (i % 5) : null).build());
+    }
+    eventSet = new HashSet<>(events);
+    storage = new TreeSetEventStorage();
+    inMemory = new InMemoryEventStorage();
+    for (Event e : events) {
+      storage.addEvent(e);
+      inMemory.addEvent(e);
+    }
+    duplicate = events.get(events.size() - 1);
+
+    source = new CalendarModel(new TreeSetEventStorage(), EST);
+    for (int hour = 0; hour < 4; hour++) {
+      Event seed = new Event.Builder("Standup " + hour, base.plusHours(hour),
+          base.plusHours(hour).plusMinutes(30)).build();
+      source.createSeries(seed, new RecurrenceRule(EnumSet.range(DayOfWeek.MONDAY,
+          DayOfWeek.FRIDAY), 40, null));
+    }
+    for (int day = 0; day < 28; day++) {
+      ZonedDateTime start = base.plusDays(day).plusHours(6);
+      source.createEvent(new Event.Builder("Review", start, start.plusHours(1)).build());
+    }
+  }
+
+  /**
+   * Gives each copy an empty target calendar.
+   */
+  @Setup(Level.Invocation)
+  public void newTarget() {
+    target = new CalendarModel(new TreeSetEventStorage(), EST);
+  }
+
+  /**
+   * Hashes an event into a set and looks it up by key in the default storage.
+   */
+  @Benchmark
+  public Event hashLookup() {
+    Event e = events.get(next++ % events.size());
+    return eventSet.contains(e) ? storage.findByKey(e.getKey()) : null;
+  }
+
+  /**
+   * Rejects a duplicate, which compares the cached hashes of every stored event.
+   */
+  @Benchmark
+  public boolean rejectDuplicate() {
+    return inMemory.addEvent(duplicate);
+  }
+
+  /**
+   * Copies four weeks of series and standalone events into an empty calendar.
+   */
+  @Benchmark
+  public int copyEventsBetween() {
+    new EventCopier(source).copyEventsBetween(FIRST_DAY, FIRST_DAY.plusDays(27), target,
+        FIRST_DAY.plusWeeks(10));
+    return target.getAllEvents().size();
+  }
+}
@@ -0,0 +1,86 @@
+package calendar.model;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures how long {@link WriteAheadLogEventStorage} takes to start up from a log of
+ * one million added events.
+ *
+ * <p>The log is written once per trial, in batches so that it is not compacted; each
+ * invocation then opens a fresh storage over it and replays the whole log. Run with
+ * {@code ./gradlew jmh}.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class WriteAheadLogReplayBenchmark {
+
+  private static final ZoneId EST = ZoneId.of("America/New_York");
+
+  @Param({"1000000"})
+  public int events;
+
+  private Path dir;
+
+  /**
+   * Writes the log: half-hour meetings with a location, back to back.
+   */
+  @Setup(Level.Trial)
+  public void writeLog() throws IOException {
+    dir = Files.createTempDirectory("wal-bench");
+    ZonedDateTime start = ZonedDateTime.of(2020, 1, 1, 0, 0, 0, 0, EST);
+    try (WriteAheadLogEventStorage storage = new WriteAheadLogEventStorage(dir,
+        new TreeSetEventStorage(), Integer.MAX_VALUE)) {
+      for (int from = 0; from < events; from += 10_000) {
+        int first = from;
+        storage.runBatch(() -> {
+          for (int i = first; i < Math.min(events, first + 10_000); i++) {
+            ZonedDateTime s = start.plusMinutes(30L * i);
+            storage.addEvent(new Event.Builder("Meeting " + (i % 50), s, s.plusMinutes(25))
+                .location("Room " + (i % 20)).build());
+          }
+        });
+      }
+    }
+  }
+
+  /**
+   * Deletes the log.
+   */
+  @TearDown(Level.Trial)
+  public void deleteLog() throws IOException {
+    try (Stream<Path> files = Files.walk(dir)) {
+      for (Path p : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+        Files.deleteIfExists(p);
+      }
+    }
+  }
+
+  /**
+   * Opens a storage over the log, replaying every record.
+   */
+  @Benchmark
+  public int replay() throws IOException {
+    try (WriteAheadLogEventStorage storage = new WriteAheadLogEventStorage(dir,
+        new TreeSetEventStorage(), Integer.MAX_VALUE)) {
+      return storage.getAllEvents().size();
+    }
+  }
+}
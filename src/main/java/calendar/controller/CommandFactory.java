@@ -6,7 +6,7 @@ import java.util.List;
  * Factory that maps user command tokens to the appropriate {@link Command} implementation.
  *
  * <p>Supports both calendar-level commands (create/edit/use) and event-level commands
- * (print/export/show/copy).</p>
+ * (print/export/show/copy/find), and saving or loading calendar files (save/load).</p>
  */
 public final class CommandFactory {
 
@@ -72,6 +72,29 @@ public final class CommandFactory {
       case "export":
         return ExportDispatch.fromTokens(tokens);
 
+      case "save":
+        if (tokens.size() >= 3 && (tokens.get(1).equalsIgnoreCase("calendar")
+            || tokens.get(1).equalsIgnoreCase("calendars"))) {
+          return new SaveCalendarCommand(tokens.subList(1, 3));
+        }
+        throw new IllegalArgumentException(
+            "Invalid syntax. Usage: save calendar|calendars <filename>");
+
+      case "load":
+        if (tokens.size() >= 3 && (tokens.get(1).equalsIgnoreCase("calendar")
+            || tokens.get(1).equalsIgnoreCase("calendars"))) {
+          return new LoadCalendarCommand(tokens.subList(2, 3));
+        }
+        throw new IllegalArgumentException(
+            "Invalid syntax. Usage: load calendar|calendars <filename>");
+
+      case "find":
+        if (tokens.size() > 1 && tokens.get(1).equalsIgnoreCase("slot")) {
+          return new FindSlotCommand(tokens);
+        }
+        throw new IllegalArgumentException("Invalid syntax. Usage: find slot <minutes> "
+            + "between <start> and <end> [within <HH:mm> to <HH:mm>] [--all]");
+
       case "exit":
         return new ExitCommand();
 
@@ -4,6 +4,7 @@ import calendar.model.EventStatus;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZonedDateTime;
+import java.util.Map;
 
 /**
  * Helper class containing shared string-building and formatting utilities.
@@ -77,6 +78,23 @@ public final class CommandStringHelper {
     return quote(newValue.toString());
   }
 
+  /**
+   * Builds the {@code with <property> <value>} clauses of an edit command,
+   * one per entry and in iteration order.
+   */
+  public static String buildWithClauses(Map<String, Object> changes) {
+    StringBuilder sb = new StringBuilder();
+    for (Map.Entry<String, Object> change : changes.entrySet()) {
+      if (sb.length() > 0) {
+        sb.append(' ');
+      }
+      String property = change.getKey().toLowerCase();
+      sb.append("with ").append(property).append(' ')
+          .append(formatPropertyValue(property, change.getValue()));
+    }
+    return sb.toString();
+  }
+
   /**
    * Builds the common prefix for.
    * - edit event
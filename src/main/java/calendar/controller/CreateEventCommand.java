@@ -25,6 +25,9 @@ import java.util.Set;
  * <ul>
  * <li>{@code create event "Meeting" from 2025-11-08T09:00 to 2025-11-08T10:00}</li>
  * <li>{@code create event "Yoga" on 2025-11-08 repeats MTWRF for 5}</li>
+ * <li>{@code create event "Sync" on 2025-11-04 repeats T every 2 weeks for 10}</li>
+ * <li>{@code create event "Rent" on 2025-11-01 repeats monthly day 1 until 2026-12-31}</li>
+ * <li>{@code create event "Board" on 2025-11-03 repeats monthly first monday for 12}</li>
  * <li>Optionally add: {@code description "Weekly sync" location "Zoom" status PUBLIC}</li>
  * </ul>
  *
@@ -149,7 +152,7 @@ public class CreateEventCommand extends AbstractCommand {
     }
 
     String pattern = tokens.get(repeatsIndex + 1).toUpperCase(Locale.ROOT);
-    Set<DayOfWeek> days = parseWeekdays(pattern);
+    int interval = parseInterval(repeatsIndex, pattern.equals("MONTHLY") ? "months" : "weeks");
 
     Integer occurrences = null;
     LocalDate until = null;
@@ -170,7 +173,14 @@ public class CreateEventCommand extends AbstractCommand {
       throw new IllegalArgumentException("Expected 'for <N>' or 'until <date>' after repeats.");
     }
 
-    RecurrenceRule rule = new RecurrenceRule(days, occurrences, until);
+    RecurrenceRule rule;
+    if (pattern.equals("MONTHLY")) {
+      rule = parseMonthlyRule(repeatsIndex, interval, occurrences, until);
+    } else if (interval == 1) {
+      rule = new RecurrenceRule(parseWeekdays(pattern), occurrences, until);
+    } else {
+      rule = RecurrenceRule.weekly(parseWeekdays(pattern), interval, occurrences, until);
+    }
     model.createSeries(baseEvent, rule);
 
     System.out.printf("Created recurring event: %s (%s)%n",
@@ -179,6 +189,87 @@ public class CreateEventCommand extends AbstractCommand {
   }
 
 
+  /**
+   * Parses the optional "every N weeks|months" clause after 'repeats', defaulting to 1.
+   *
+   * @param unit the unit the pattern repeats in: "weeks" for weekday patterns, "months"
+   *             for monthly ones; the singular form is accepted as well
+   */
+  private int parseInterval(int repeatsIndex, String unit) {
+    int everyIndex = indexAfter("every", repeatsIndex);
+    if (everyIndex < 0) {
+      return 1;
+    }
+    if (everyIndex + 1 >= tokens.size()) {
+      throw new IllegalArgumentException("Missing number after 'every'.");
+    }
+    int interval;
+    try {
+      interval = Integer.parseInt(tokens.get(everyIndex + 1));
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid repeat interval: " + tokens.get(everyIndex + 1));
+    }
+    if (interval < 1) {
+      throw new IllegalArgumentException("Repeat interval must be at least 1.");
+    }
+    String given = everyIndex + 2 < tokens.size()
+        ? tokens.get(everyIndex + 2).toLowerCase(Locale.ROOT) : "";
+    if (!given.equals(unit) && !given.equals(unit.substring(0, unit.length() - 1))) {
+      throw new IllegalArgumentException(
+          "Expected 'every " + interval + " " + unit + "' for this pattern, got: " + given);
+    }
+    return interval;
+  }
+
+  /**
+   * Parses "repeats monthly day D" or "repeats monthly first|...|fifth|last WEEKDAY".
+   */
+  private RecurrenceRule parseMonthlyRule(int repeatsIndex, int interval,
+                                          Integer occurrences, LocalDate until) {
+    if (repeatsIndex + 3 >= tokens.size()) {
+      throw new IllegalArgumentException(
+          "Usage: repeats monthly day <D> | repeats monthly <first..fifth|last> <weekday>");
+    }
+    String kind = tokens.get(repeatsIndex + 2).toLowerCase(Locale.ROOT);
+    String value = tokens.get(repeatsIndex + 3);
+
+    if (kind.equals("day")) {
+      try {
+        return RecurrenceRule.monthlyOnDay(Integer.parseInt(value), interval,
+            occurrences, until);
+      } catch (NumberFormatException e) {
+        throw new IllegalArgumentException("Invalid day of month: " + value);
+      }
+    }
+
+    List<String> ordinals = List.of("first", "second", "third", "fourth", "fifth");
+    int nth = kind.equals("last") ? -1 : ordinals.indexOf(kind) + 1;
+    if (nth == 0) {
+      throw new IllegalArgumentException("Invalid week of month: " + kind);
+    }
+    return RecurrenceRule.monthlyOnWeekday(nth, parseDayName(value), interval,
+        occurrences, until);
+  }
+
+  private DayOfWeek parseDayName(String text) {
+    String upper = text.toUpperCase(Locale.ROOT);
+    for (DayOfWeek d : DayOfWeek.values()) {
+      if (upper.length() >= 3 && d.name().startsWith(upper)) {
+        return d;
+      }
+    }
+    throw new IllegalArgumentException("Invalid weekday: " + text);
+  }
+
+  private int indexAfter(String keyword, int fromIndex) {
+    for (int i = fromIndex + 1; i < tokens.size(); i++) {
+      if (tokens.get(i).equalsIgnoreCase(keyword)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
   private void parseOptionalFields(Event.Builder builder, int startIndex) {
     for (int i = startIndex; i < tokens.size(); i++) {
       String t = tokens.get(i).toLowerCase(Locale.ROOT);
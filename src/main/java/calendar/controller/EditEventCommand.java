@@ -6,7 +6,10 @@ import calendar.model.Icalendar;
 import calendar.model.IcalendarManager;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Command to edit one or more calendar events, including recurring series.
@@ -18,12 +21,21 @@ import java.util.List;
  * <li>{@code edit events "Team Meeting" from 2025-11-10T09:00 with description
  * "Updated agenda"}</li>
  * <li>{@code edit series "Team Meeting" from 2025-11-10T09:00 with status PUBLIC}</li>
+ * <li>{@code edit event "Team Meeting" from 2025-11-10T09:00 to 2025-11-10T10:00
+ * with location "Zoom" with status PRIVATE}</li>
  * </ul>
  *
+ * <p>Several {@code with <property> <value>} clauses may follow each other; they are
+ * applied together in a single edit. A new clause starts only at a {@code with} that is
+ * followed by a known property name, so values may themselves contain the word.</p>
+ *
  * <p>All date/time input is assumed to be in Eastern Time.</p>
  */
 public class EditEventCommand extends AbstractCommand {
 
+  private static final Set<String> PROPERTIES =
+      Set.of("subject", "start", "end", "description", "location", "status");
+
   private final String scope;
 
   /**
@@ -87,60 +99,76 @@ public class EditEventCommand extends AbstractCommand {
       throw new IllegalArgumentException("Missing 'with <property> <value>' section.");
     }
 
-    String property = args.get(withIdx + 1).toLowerCase();
-    StringBuilder valueBuilder = new StringBuilder();
-    for (int i = withIdx + 2; i < args.size(); i++) {
-      valueBuilder.append(args.get(i));
-      if (i < args.size() - 1) {
-        valueBuilder.append(" ");
+    Map<String, Object> changes = parseChanges(withIdx);
+    applyEdit(model, subject, start, end, changes);
+  }
+
+  /**
+   * Parses the {@code with <property> <value>} clauses starting at {@code withIdx}.
+   */
+  private Map<String, Object> parseChanges(int withIdx) {
+    Map<String, Object> changes = new LinkedHashMap<>();
+    int clause = withIdx;
+    while (clause < args.size()) {
+      if (clause + 1 >= args.size()) {
+        throw new IllegalArgumentException("Missing 'with <property> <value>' section.");
+      }
+      String property = args.get(clause + 1).toLowerCase();
+      int next = clause + 2;
+      while (next < args.size() && !startsClause(next)) {
+        next++;
+      }
+      String newRaw = String.join(" ", args.subList(clause + 2, next)).trim();
+      if (changes.put(property, coerceNewValue(property, newRaw)) != null) {
+        throw new IllegalArgumentException("Property edited more than once: " + property);
       }
+      clause = next;
     }
-    String newRaw = valueBuilder.toString().trim();
+    return changes;
+  }
 
-    Object newValue = coerceNewValue(property, newRaw);
-    applyEdit(model, subject, start, end, property, newValue);
+  private boolean startsClause(int idx) {
+    return args.get(idx).equals("with") && idx + 1 < args.size()
+        && PROPERTIES.contains(args.get(idx + 1).toLowerCase());
   }
 
   private void applyEdit(Icalendar model, String subject, ZonedDateTime start, ZonedDateTime end,
-                         String property, Object newValue) {
+                         Map<String, Object> changes) {
 
     if (scope.equals("event")) {
       EventKey key = new EventKey(subject, start, end);
-      model.editEvent(key, property, newValue);
-      System.out.println(
-          "Edited single event: " + subject
-              +
-              " (property = " + property
-              +
-              ", newValue = " + formatValue(newValue) + ")"
-      );
+      model.editEvent(key, changes);
+      System.out.println("Edited single event: " + subject + describe(changes));
 
     } else if (scope.equals("events")) {
       EventKey key = new EventKey(subject, start, null);
-      model.editSeries(key, property, newValue, EditMode.FROM_THIS_ONWARD);
-      System.out.println(
-          "Edited events from this onward: " + subject
-              +
-              " (property = " + property + ", newValue = "
-              + formatValue(newValue) + ")"
-      );
-
+      model.editSeries(key, changes, EditMode.FROM_THIS_ONWARD);
+      System.out.println("Edited events from this onward: " + subject + describe(changes));
 
     } else if (scope.equals("series")) {
       EventKey key = new EventKey(subject, start, null);
-      model.editSeries(key, property, newValue, EditMode.ENTIRE_SERIES);
-      System.out.println(
-          "Edited entire series: " + subject
-              +
-              " (property = " + property
-              +
-              ", newValue = " + formatValue(newValue) + ")"
-      );
+      model.editSeries(key, changes, EditMode.ENTIRE_SERIES);
+      System.out.println("Edited entire series: " + subject + describe(changes));
     } else {
       throw new IllegalArgumentException("Invalid scope: " + scope);
     }
   }
 
+  /**
+   * Formats the applied changes, e.g. {@code " (property = location, newValue = Zoom)"}.
+   */
+  private String describe(Map<String, Object> changes) {
+    StringBuilder sb = new StringBuilder(" (");
+    for (Map.Entry<String, Object> change : changes.entrySet()) {
+      if (sb.length() > 2) {
+        sb.append("; ");
+      }
+      sb.append("property = ").append(change.getKey())
+          .append(", newValue = ").append(formatValue(change.getValue()));
+    }
+    return sb.append(")").toString();
+  }
+
   private Object coerceNewValue(String property, String raw) {
     switch (property) {
       case "start":
@@ -49,7 +49,7 @@ public class ExportCalCommand extends AbstractCommand {
         "Usage: export calendar <filename.csv|filename.ical|filename.ics>");
     String fileName = args.get(0).trim().toLowerCase();
 
-    List<Event> events = cal.getAllEvents();
+    List<Event> events = cal.snapshot();
     if (events.isEmpty()) {
       System.out.println("(no events to export)");
       return;
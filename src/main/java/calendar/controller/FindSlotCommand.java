@@ -0,0 +1,130 @@
+package calendar.controller;
+
+import calendar.model.Icalendar;
+import calendar.model.IcalendarManager;
+import calendar.model.TimeSlot;
+import calendar.model.WorkingHours;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Command that finds free time in the active calendar.
+ *
+ * <p>Supported syntax:</p>
+ * <pre>
+ * find slot &lt;minutes&gt; between &lt;start&gt; and &lt;end&gt;
+ *     [within &lt;HH:mm&gt; to &lt;HH:mm&gt;] [--all]
+ * </pre>
+ *
+ * <p>Prints the first free slot of at least {@code minutes} minutes, or every such slot
+ * when {@code --all} is given. The optional {@code within} clause restricts slots to
+ * those working hours on each day, in the calendar's timezone.</p>
+ *
+ * <p>Example usage:</p>
+ * <pre>find slot 45 between 2025-11-10T00:00 and 2025-11-14T23:59 within 09:00 to 17:00</pre>
+ */
+public class FindSlotCommand extends AbstractCommand {
+
+  private static final String USAGE = "Usage: find slot <minutes> between <start> and <end> "
+      + "[within <HH:mm> to <HH:mm>] [--all]";
+
+  /**
+   * Constructs the command.
+   *
+   * @param args the full token list, starting with "find"
+   */
+  public FindSlotCommand(List<String> args) {
+    super(args);
+  }
+
+  @Override
+  public void execute(IcalendarManager manager) {
+    if (manager == null) {
+      throw new IllegalArgumentException("Calendar manager cannot be null.");
+    }
+
+    Icalendar model = manager.getActiveCalendar();
+    if (model == null) {
+      throw new IllegalStateException(
+          "No active calendar selected. Use 'use calendar --name <name>' first.");
+    }
+
+    ensureArgCountAtLeast(7, USAGE);
+    if (!"slot".equalsIgnoreCase(args.get(1))
+        || !"between".equalsIgnoreCase(args.get(3))
+        || !"and".equalsIgnoreCase(args.get(5))) {
+      throw new IllegalArgumentException(USAGE);
+    }
+
+    Duration length = parseMinutes(args.get(2));
+    ZoneId zone = model.getZone() != null ? model.getZone() : ParseUtils.EST;
+    ZonedDateTime start = parseDateTime(args.get(4)).withZoneSameInstant(zone);
+    ZonedDateTime end = parseDateTime(args.get(6)).withZoneSameInstant(zone);
+
+    WorkingHours hours = null;
+    boolean all = false;
+    int i = 7;
+    while (i < args.size()) {
+      String token = args.get(i);
+      if ("within".equalsIgnoreCase(token) && i + 3 < args.size()
+          && "to".equalsIgnoreCase(args.get(i + 2))) {
+        hours = new WorkingHours(parseTime(args.get(i + 1)), parseTime(args.get(i + 3)));
+        i += 4;
+      } else if ("--all".equalsIgnoreCase(token)) {
+        all = true;
+        i++;
+      } else {
+        throw new IllegalArgumentException(USAGE);
+      }
+    }
+
+    Stream<TimeSlot> slots = model.findFreeSlots(start, end, length, hours);
+    List<TimeSlot> found = all
+        ? slots.collect(Collectors.toList())
+        : slots.limit(1).collect(Collectors.toList());
+
+    if (found.isEmpty()) {
+      System.out.println("No free slot found.");
+      return;
+    }
+    for (TimeSlot slot : found) {
+      System.out.println(slot.getStart().toLocalDateTime() + " to "
+          + slot.getEnd().toLocalDateTime());
+    }
+  }
+
+  private Duration parseMinutes(String text) {
+    long minutes;
+    try {
+      minutes = Long.parseLong(text);
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid duration in minutes: " + text);
+    }
+    if (minutes <= 0) {
+      throw new IllegalArgumentException("Duration in minutes must be positive.");
+    }
+    return Duration.ofMinutes(minutes);
+  }
+
+  private ZonedDateTime parseDateTime(String text) {
+    try {
+      return ParseUtils.parseDateTimeEst(text);
+    } catch (DateTimeParseException | IllegalArgumentException e) {
+      throw new IllegalArgumentException("Invalid date/time format: " + text);
+    }
+  }
+
+  private LocalTime parseTime(String text) {
+    try {
+      return LocalTime.parse(text);
+    } catch (DateTimeParseException e) {
+      throw new IllegalArgumentException("Invalid time format: " + text);
+    }
+  }
+}
@@ -9,6 +9,7 @@ import java.time.YearMonth;
 import java.time.ZonedDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -254,6 +255,36 @@ public class GuiFeaturesController implements Ifeatures {
     }
   }
 
+  @Override
+  public void editSingleEvent(String subject, ZonedDateTime start, ZonedDateTime end,
+                              Map<String, Object> changes) {
+    try {
+      executeCommand(commandAdapter.buildEditCommand("event", subject, start, end, changes));
+    } catch (Exception e) {
+      throw new IllegalStateException("Failed to edit event: " + e.getMessage(), e);
+    }
+  }
+
+  @Override
+  public void editSeriesFromThisOnward(String subject, ZonedDateTime start, ZonedDateTime end,
+                                       Map<String, Object> changes) {
+    try {
+      executeCommand(commandAdapter.buildEditCommand("events", subject, start, end, changes));
+    } catch (Exception e) {
+      throw new IllegalStateException("Failed to edit series: " + e.getMessage(), e);
+    }
+  }
+
+  @Override
+  public void editEntireSeries(String subject, ZonedDateTime start, ZonedDateTime end,
+                               Map<String, Object> changes) {
+    try {
+      executeCommand(commandAdapter.buildEditCommand("series", subject, start, end, changes));
+    } catch (Exception e) {
+      throw new IllegalStateException("Failed to edit entire series: " + e.getMessage(), e);
+    }
+  }
+
   @Override
   public List<Event> getEventsOn(LocalDate date) {
     try {
@@ -3,6 +3,7 @@ package calendar.controller;
 import calendar.model.EventStatus;
 import java.time.LocalDate;
 import java.time.ZonedDateTime;
+import java.util.Map;
 
 /**
  * Interface responsible for building CLI-format command strings from GUI parameters.
@@ -112,5 +113,21 @@ public interface IcommandAdapter {
   String buildEditEntireSeriesCommand(String subject, ZonedDateTime start,
                                       ZonedDateTime end, String property, Object newValue);
 
+  /**
+   * Builds one command string that edits several properties at once.
+   *
+   * @param scope "event", "events" (from this onward) or "series"
+   * @param subject event subject
+   * @param start event start time
+   * @param end event end time
+   * @param changes new values keyed by property name
+   * @return CLI command string: "edit scope 'Subject' from start to end with p1 v1 with p2 v2"
+   */
+  default String buildEditCommand(String scope, String subject, ZonedDateTime start,
+                                  ZonedDateTime end, Map<String, Object> changes) {
+    return CommandStringHelper.buildEditPrefix(scope, subject, start, end)
+        + CommandStringHelper.buildWithClauses(changes);
+  }
+
 
 }
\ No newline at end of file
@@ -10,6 +10,7 @@ import java.time.LocalDate;
 import java.time.YearMonth;
 import java.time.ZonedDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -173,6 +174,50 @@ public interface Ifeatures {
   void editEntireSeries(String subject, ZonedDateTime start, ZonedDateTime end,
                         String property, Object newValue);
 
+  /**
+   * Updates several properties of a single event in one edit.
+   *
+   * <p>Maps to: {@code calendar.editEvent(key, changes)}. Unlike repeated
+   * {@link #editSingleEvent(String, ZonedDateTime, ZonedDateTime, String, Object)} calls,
+   * every change refers to the original event and the event is replaced only once.</p>
+   *
+   * @param subject the original event subject
+   * @param start   the original start datetime identifying the event
+   * @param end     the original end datetime identifying the event
+   * @param changes new values keyed by property name (same properties as above)
+   * @throws IllegalArgumentException if event not found or a property is invalid
+   */
+  void editSingleEvent(String subject, ZonedDateTime start, ZonedDateTime end,
+                       Map<String, Object> changes);
+
+  /**
+   * Updates several properties of all future events in a series in one edit.
+   *
+   * <p>Maps to: {@code calendar.editSeries(key, changes, EditMode.FROM_THIS_ONWARD)}</p>
+   *
+   * @param subject event series subject
+   * @param start   start time of the specific event that begins the update
+   * @param end     end time of the specific event that begins the update
+   * @param changes new values keyed by property name
+   * @throws IllegalArgumentException if series not found or a property is invalid
+   */
+  void editSeriesFromThisOnward(String subject, ZonedDateTime start, ZonedDateTime end,
+                                Map<String, Object> changes);
+
+  /**
+   * Updates several properties of every occurrence of a series in one edit.
+   *
+   * <p>Maps to: {@code calendar.editSeries(key, changes, EditMode.ENTIRE_SERIES)}</p>
+   *
+   * @param subject title of the recurring event series
+   * @param start   start time of one event in the series (to identify it)
+   * @param end     end time of one event in the series (to identify it)
+   * @param changes new values keyed by property name
+   * @throws IllegalArgumentException if series not found or a property is invalid
+   */
+  void editEntireSeries(String subject, ZonedDateTime start, ZonedDateTime end,
+                        Map<String, Object> changes);
+
 
   /**
    * Fetches all events that occur on a specific date in the
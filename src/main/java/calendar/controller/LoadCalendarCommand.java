@@ -0,0 +1,42 @@
+package calendar.controller;
+
+import calendar.model.IcalendarManager;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Command to load the calendars stored in a binary calendar file.
+ *
+ * <p>Usage:</p>
+ * <pre>
+ * load calendars everything.cal
+ * </pre>
+ *
+ * <p>Every calendar in the file is created with its time zone and events. The command
+ * fails without creating anything if one of them has the name of an existing calendar.
+ * The active calendar does not change.</p>
+ */
+public class LoadCalendarCommand extends AbstractCommand {
+
+  /**
+   * Constructs the load command with the provided arguments.
+   *
+   * @param args the file name
+   */
+  public LoadCalendarCommand(List<String> args) {
+    super(args);
+  }
+
+  @Override
+  public void execute(IcalendarManager manager) {
+    if (manager == null) {
+      throw new IllegalArgumentException("Calendar manager cannot be null.");
+    }
+    ensureArgCountAtLeast(1, "Usage: load calendar|calendars <filename>");
+    Path path = Paths.get(args.get(0).trim());
+
+    List<String> loaded = manager.loadCalendars(path);
+    System.out.println("Loaded calendars: " + String.join(", ", loaded));
+  }
+}
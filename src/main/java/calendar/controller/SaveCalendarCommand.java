@@ -0,0 +1,70 @@
+package calendar.controller;
+
+import calendar.model.Icalendar;
+import calendar.model.IcalendarManager;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Command to save calendars to a binary calendar file.
+ *
+ * <p>Usage:</p>
+ * <pre>
+ * save calendar work.cal
+ * save calendars everything.cal
+ * </pre>
+ *
+ * <p>The first form saves the active calendar, the second every calendar. The file can
+ * be read back with {@link LoadCalendarCommand}.</p>
+ */
+public class SaveCalendarCommand extends AbstractCommand {
+
+  private static final String USAGE = "Usage: save calendar|calendars <filename>";
+
+  /**
+   * Constructs the save command with the provided arguments.
+   *
+   * @param args the scope ({@code calendar} or {@code calendars}) and the file name
+   */
+  public SaveCalendarCommand(List<String> args) {
+    super(args);
+  }
+
+  @Override
+  public void execute(IcalendarManager manager) {
+    if (manager == null) {
+      throw new IllegalArgumentException("Calendar manager cannot be null.");
+    }
+    ensureArgCountAtLeast(2, USAGE);
+    String scope = args.get(0).toLowerCase();
+    Path path = Paths.get(args.get(1).trim());
+
+    List<String> names;
+    if (scope.equals("calendars")) {
+      names = manager.listCalendars();
+    } else if (scope.equals("calendar")) {
+      names = List.of(activeName(manager));
+    } else {
+      throw new IllegalArgumentException(USAGE);
+    }
+
+    manager.saveCalendars(names, path);
+    System.out.println("Saved " + String.join(", ", names) + " to: "
+        + path.toAbsolutePath());
+  }
+
+  private static String activeName(IcalendarManager manager) {
+    Icalendar active = manager.getActiveCalendar();
+    if (active == null) {
+      throw new IllegalStateException(
+          "No active calendar selected. Use 'use calendar --name <name>' first.");
+    }
+    for (String name : manager.listCalendars()) {
+      if (manager.getCalendar(name) == active) {
+        return name;
+      }
+    }
+    throw new IllegalStateException("Active calendar is not managed by this manager.");
+  }
+}
@@ -8,10 +8,12 @@ import java.util.List;
  * <p>Currently supports:</p>
  * <ul>
  *   <li>{@code show status on &lt;dateTime&gt;}</li>
+ *   <li>{@code show status between &lt;start&gt; and &lt;end&gt; every &lt;minutes&gt;}</li>
  * </ul>
  *
  * <p>Example usage:</p>
- * <pre>show status on 2025-11-09T09:30</pre>
+ * <pre>show status on 2025-11-09T09:30
+ * show status between 2025-11-10T09:00 and 2025-11-10T17:00 every 30</pre>
  */
 final class ShowDispatch {
 
@@ -23,7 +25,7 @@ final class ShowDispatch {
    * Parses "show" command tokens and returns the correct {@link Command}.
    *
    * @param tokens list of user input tokens
-   * @return a {@link ShowStatusCommand} instance
+   * @return a {@link ShowStatusCommand} or {@link ShowStatusRangeCommand} instance
    */
   static Command fromTokens(List<String> tokens) {
     if (tokens == null || tokens.isEmpty()) {
@@ -37,6 +39,16 @@ final class ShowDispatch {
       return new ShowStatusCommand(List.of("on", tokens.get(3)));
     }
 
-    throw new IllegalArgumentException("Usage: show status on <dateTime>");
+    if (tokens.size() >= 8
+        && tokens.get(1).equalsIgnoreCase("status")
+        && tokens.get(2).equalsIgnoreCase("between")
+        && tokens.get(4).equalsIgnoreCase("and")
+        && tokens.get(6).equalsIgnoreCase("every")) {
+
+      return new ShowStatusRangeCommand(List.of(tokens.get(3), tokens.get(5), tokens.get(7)));
+    }
+
+    throw new IllegalArgumentException("Usage: show status on <dateTime> "
+        + "| show status between <start> and <end> every <minutes>");
   }
 }
@@ -0,0 +1,82 @@
+package calendar.controller;
+
+import calendar.model.Icalendar;
+import calendar.model.IcalendarManager;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Command that prints "busy" or "available" for every slot of a time grid.
+ * Expected args passed from ShowDispatch:
+ *   ["start", "end", "minutes"]
+ *
+ * <p>All slot times are checked with a single call to
+ * {@link Icalendar#isBusyAt(List)} instead of one lookup per slot.</p>
+ */
+public class ShowStatusRangeCommand extends AbstractCommand {
+
+  private static final String USAGE =
+      "Usage: show status between <start> and <end> every <minutes>";
+
+  /**
+   * Constructs the command.
+   *
+   * @param args ["start", "end", "minutes"]
+   */
+  public ShowStatusRangeCommand(List<String> args) {
+    super(args);
+  }
+
+  @Override
+  public void execute(IcalendarManager manager) {
+    if (manager == null) {
+      throw new IllegalArgumentException("Calendar manager cannot be null.");
+    }
+
+    Icalendar model = manager.getActiveCalendar();
+    if (model == null) {
+      throw new IllegalStateException(
+          "No active calendar selected. Use 'use calendar --name <name>' first.");
+    }
+
+    ensureArgCountAtLeast(3, USAGE);
+
+    ZonedDateTime start = parseDateTime(args.get(0));
+    ZonedDateTime end = parseDateTime(args.get(1));
+    if (end.isBefore(start)) {
+      throw new IllegalArgumentException("End time must not be before start time.");
+    }
+
+    long minutes;
+    try {
+      minutes = Long.parseLong(args.get(2));
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid step in minutes: " + args.get(2));
+    }
+    if (minutes <= 0) {
+      throw new IllegalArgumentException("Step in minutes must be positive.");
+    }
+
+    List<ZonedDateTime> slots = new ArrayList<>();
+    for (ZonedDateTime t = start; !t.isAfter(end); t = t.plusMinutes(minutes)) {
+      slots.add(t);
+    }
+
+    BitSet busy = model.isBusyAt(slots);
+    for (int i = 0; i < slots.size(); i++) {
+      System.out.println(slots.get(i).toLocalDateTime() + " "
+          + (busy.get(i) ? "busy" : "available"));
+    }
+  }
+
+  private ZonedDateTime parseDateTime(String text) {
+    try {
+      return ParseUtils.parseDateTimeEst(text);
+    } catch (DateTimeParseException | IllegalArgumentException e) {
+      throw new IllegalArgumentException("Invalid date/time format: " + text);
+    }
+  }
+}
@@ -0,0 +1,123 @@
+package calendar.model;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Merges the events of several calendars into one busy timeline.
+ *
+ * <p>Each input list is sorted by start instant, so the lists are combined with a k-way
+ * merge: a priority queue holds the head of every list and always yields the earliest
+ * start across all calendars. Intervals are coalesced while they are consumed, treating
+ * events that touch as one busy stretch, consistent with {@link Event#overlaps}. Both the
+ * queue and the coalescing compare the events' compact epoch seconds and nanoseconds, so
+ * no date-time is built until a slot is emitted.</p>
+ *
+ * <p>This class is package-private as it's an implementation detail of the managers.</p>
+ */
+final class BusyMerger {
+
+  private BusyMerger() {
+  }
+
+  /**
+   * Validates the arguments of {@link IcalendarManager#freeBusy} and looks up each
+   * distinct calendar.
+   *
+   * @param manager the manager holding the calendars
+   * @param names   the calendar names
+   * @param start   the start of the range
+   * @param end     the end of the range
+   * @return the calendars in the order first named
+   * @throws IllegalArgumentException if the range is invalid or a calendar does not exist
+   */
+  static List<Icalendar> resolve(IcalendarManager manager, List<String> names,
+                                 ZonedDateTime start, ZonedDateTime end) {
+    if (names == null || start == null || end == null) {
+      throw new IllegalArgumentException("Calendar names and range cannot be null.");
+    }
+    if (end.isBefore(start)) {
+      throw new IllegalArgumentException("End time must not be before start time.");
+    }
+    List<Icalendar> targets = new ArrayList<>();
+    for (String name : new LinkedHashSet<>(names)) {
+      Icalendar cal = manager.getCalendar(name);
+      if (cal == null) {
+        throw new IllegalArgumentException("Calendar '" + name + "' not found.");
+      }
+      targets.add(cal);
+    }
+    return targets;
+  }
+
+  /**
+   * Merges start-ordered event lists into coalesced busy slots within a range.
+   *
+   * @param perCalendar one list of events per calendar, each sorted by start time
+   * @param from        the start of the range; its zone is the zone of the slots
+   * @param to          the end of the range
+   * @return the busy slots in time order, clipped to {@code [from, to]}, none of them
+   *         overlapping or touching
+   */
+  static List<TimeSlot> merge(List<List<Event>> perCalendar, ZonedDateTime from,
+                              ZonedDateTime to) {
+    PriorityQueue<int[]> heads = new PriorityQueue<>((a, b) -> {
+      Event ea = perCalendar.get(a[0]).get(a[1]);
+      Event eb = perCalendar.get(b[0]).get(b[1]);
+      return Event.compareInstant(ea.startEpochSecond(), ea.startNano(),
+          eb.startEpochSecond(), eb.startNano());
+    });
+    for (int i = 0; i < perCalendar.size(); i++) {
+      if (!perCalendar.get(i).isEmpty()) {
+        heads.add(new int[] {i, 0});
+      }
+    }
+
+    List<TimeSlot> result = new ArrayList<>();
+    // The current busy run starts with runFirst and ends with the end of runLast.
+    Event runFirst = null;
+    Event runLast = null;
+    while (!heads.isEmpty()) {
+      int[] head = heads.poll();
+      List<Event> source = perCalendar.get(head[0]);
+      Event e = source.get(head[1]);
+      if (head[1] + 1 < source.size()) {
+        heads.add(new int[] {head[0], head[1] + 1});
+      }
+
+      if (runLast != null && Event.compareInstant(e.startEpochSecond(), e.startNano(),
+          runLast.endEpochSecond(), runLast.endNano()) <= 0) {
+        if (Event.compareInstant(e.endEpochSecond(), e.endNano(),
+            runLast.endEpochSecond(), runLast.endNano()) > 0) {
+          runLast = e;
+        }
+        continue;
+      }
+      if (runFirst != null) {
+        result.add(slot(runFirst.getStart(), runLast.getEnd(), from, to));
+      }
+      runFirst = e;
+      runLast = e;
+    }
+    if (runFirst != null) {
+      result.add(slot(runFirst.getStart(), runLast.getEnd(), from, to));
+    }
+    return result;
+  }
+
+  /**
+   * Clips a busy run to the range and expresses it in the zone of the range start.
+   */
+  private static TimeSlot slot(ZonedDateTime start, ZonedDateTime end,
+                               ZonedDateTime from, ZonedDateTime to) {
+    ZoneId zone = from.getZone();
+    ZonedDateTime clippedStart = start.isBefore(from) ? from : start;
+    ZonedDateTime clippedEnd = end.isAfter(to) ? to : end;
+    return new TimeSlot(clippedStart.withZoneSameInstant(zone),
+        clippedEnd.withZoneSameInstant(zone));
+  }
+}
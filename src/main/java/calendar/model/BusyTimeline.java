@@ -0,0 +1,249 @@
+package calendar.model;
+
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Coalesced busy/free timeline over instants, updated incrementally as events are added
+ * and removed.
+ *
+ * <p>The timeline is a step function: each boundary is an instant at which the number
+ * of overlapping events changes, paired with that number up to the next boundary.
+ * Neighbouring segments with the same count are merged, so back-to-back and overlapping
+ * events collapse into one busy stretch while the counts still allow an event to be
+ * removed without rebuilding anything.</p>
+ *
+ * <p>Boundaries are kept in sorted primitive blocks of at most {@link #BLOCK_SIZE}
+ * entries, indexed by their first boundary in a {@link TreeMap}. Finding a boundary is
+ * a tree lookup plus a binary search, and inserting or dropping one only shifts the
+ * entries of its block, so an update costs O(log n) plus the boundaries inside the
+ * event's own span rather than a shift of the whole timeline.</p>
+ *
+ * <p>An event occupies the closed range {@code [start, end]} at nanosecond precision,
+ * matching {@link Event#overlaps(ZonedDateTime, ZonedDateTime)}.</p>
+ *
+ * <p>This class is package-private as it's an implementation detail of the storages.</p>
+ */
+class BusyTimeline {
+
+  /**
+   * Maximum number of boundaries per block.
+   */
+  static final int BLOCK_SIZE = 256;
+
+  private static final int NANOS_PER_SECOND = 1_000_000_000;
+
+  private final TreeMap<Instant, Block> blocks = new TreeMap<>();
+
+  /**
+   * Marks the span of an event as busy.
+   *
+   * @param e the event that was stored
+   */
+  void add(Event e) {
+    apply(e, 1);
+  }
+
+  /**
+   * Releases the span of an event that was removed.
+   *
+   * @param e the event that was removed from storage
+   */
+  void remove(Event e) {
+    apply(e, -1);
+  }
+
+  /**
+   * Checks whether any event covers the given time.
+   *
+   * @param time the time to check
+   * @return true if at least one event spans that instant
+   */
+  boolean isBusy(ZonedDateTime time) {
+    long second = time.toEpochSecond();
+    int nano = time.getNano();
+    Map.Entry<Instant, Block> entry = blocks.floorEntry(Instant.ofEpochSecond(second, nano));
+    if (entry == null) {
+      return false;
+    }
+    Block b = entry.getValue();
+    return b.counts[b.floor(second, nano)] > 0;
+  }
+
+  /**
+   * Adds {@code delta} to the coverage of the event's half-open range
+   * {@code [start, end + 1ns)} and merges the boundaries that became redundant.
+   */
+  private void apply(Event e, int delta) {
+    long fromSecond = e.startEpochSecond();
+    int fromNano = e.startNano();
+    long toSecond = e.endEpochSecond();
+    int toNano = e.endNano() + 1;
+    if (toNano == NANOS_PER_SECOND) {
+      toSecond++;
+      toNano = 0;
+    }
+
+    ensureBoundary(fromSecond, fromNano);
+    ensureBoundary(toSecond, toNano);
+
+    Block b = blockOf(fromSecond, fromNano);
+    int i = b.floor(fromSecond, fromNano);
+    while (compare(b.seconds[i], b.nanos[i], toSecond, toNano) < 0) {
+      b.counts[i] += delta;
+      if (++i == b.size) {
+        b = blocks.higherEntry(b.key()).getValue();
+        i = 0;
+      }
+    }
+
+    coalesce(toSecond, toNano);
+    coalesce(fromSecond, fromNano);
+  }
+
+  /**
+   * Inserts a boundary at the given instant, continuing the surrounding count, unless
+   * one exists already.
+   */
+  private void ensureBoundary(long second, int nano) {
+    if (blocks.isEmpty()) {
+      Block b = new Block();
+      b.insert(0, second, nano, 0);
+      blocks.put(b.key(), b);
+      return;
+    }
+    Map.Entry<Instant, Block> entry = blocks.floorEntry(Instant.ofEpochSecond(second, nano));
+    if (entry == null) {
+      // before every boundary: becomes the new first entry of the first block
+      Block first = blocks.pollFirstEntry().getValue();
+      first.insert(0, second, nano, 0);
+      store(first);
+      splitIfFull(first);
+      return;
+    }
+    Block b = entry.getValue();
+    int idx = b.floor(second, nano);
+    if (b.seconds[idx] == second && b.nanos[idx] == nano) {
+      return;
+    }
+    b.insert(idx + 1, second, nano, b.counts[idx]);
+    splitIfFull(b);
+  }
+
+  /**
+   * Moves the upper half of a block that reached {@link #BLOCK_SIZE} into a new block.
+   */
+  private void splitIfFull(Block b) {
+    if (b.size == BLOCK_SIZE) {
+      store(b.splitUpperHalf());
+    }
+  }
+
+  /**
+   * Drops the boundary at the given instant when it no longer changes the count.
+   */
+  private void coalesce(long second, int nano) {
+    Block b = blockOf(second, nano);
+    int idx = b.floor(second, nano);
+    int previous;
+    if (idx > 0) {
+      previous = b.counts[idx - 1];
+    } else {
+      Map.Entry<Instant, Block> lower = blocks.lowerEntry(b.key());
+      previous = lower == null ? 0 : lower.getValue().counts[lower.getValue().size - 1];
+    }
+    if (b.counts[idx] != previous) {
+      return;
+    }
+    if (idx > 0) {
+      b.remove(idx);
+      return;
+    }
+    blocks.remove(b.key());
+    b.remove(0);
+    if (b.size > 0) {
+      store(b);
+    }
+  }
+
+  /**
+   * Returns the block holding the boundary at the given instant.
+   */
+  private Block blockOf(long second, int nano) {
+    return blocks.floorEntry(Instant.ofEpochSecond(second, nano)).getValue();
+  }
+
+  private void store(Block b) {
+    blocks.put(b.key(), b);
+  }
+
+  private static int compare(long s1, int n1, long s2, int n2) {
+    int cmp = Long.compare(s1, s2);
+    return cmp != 0 ? cmp : Integer.compare(n1, n2);
+  }
+
+  /**
+   * A sorted run of boundaries in parallel primitive arrays.
+   */
+  private static final class Block {
+    final long[] seconds = new long[BLOCK_SIZE];
+    final int[] nanos = new int[BLOCK_SIZE];
+    final int[] counts = new int[BLOCK_SIZE];
+    int size;
+
+    Instant key() {
+      return Instant.ofEpochSecond(seconds[0], nanos[0]);
+    }
+
+    /**
+     * Returns the index of the last boundary at or before the instant; the block's first
+     * boundary must not be after it.
+     */
+    int floor(long second, int nano) {
+      int lo = 0;
+      int hi = size - 1;
+      while (lo < hi) {
+        int mid = (lo + hi + 1) >>> 1;
+        if (compare(seconds[mid], nanos[mid], second, nano) <= 0) {
+          lo = mid;
+        } else {
+          hi = mid - 1;
+        }
+      }
+      return lo;
+    }
+
+    void insert(int idx, long second, int nano, int count) {
+      System.arraycopy(seconds, idx, seconds, idx + 1, size - idx);
+      System.arraycopy(nanos, idx, nanos, idx + 1, size - idx);
+      System.arraycopy(counts, idx, counts, idx + 1, size - idx);
+      seconds[idx] = second;
+      nanos[idx] = nano;
+      counts[idx] = count;
+      size++;
+    }
+
+    void remove(int idx) {
+      System.arraycopy(seconds, idx + 1, seconds, idx, size - idx - 1);
+      System.arraycopy(nanos, idx + 1, nanos, idx, size - idx - 1);
+      System.arraycopy(counts, idx + 1, counts, idx, size - idx - 1);
+      size--;
+    }
+
+    /**
+     * Moves the upper half of this block into a new block and returns it.
+     */
+    Block splitUpperHalf() {
+      Block upper = new Block();
+      int half = size / 2;
+      upper.size = size - half;
+      System.arraycopy(seconds, half, upper.seconds, 0, upper.size);
+      System.arraycopy(nanos, half, upper.nanos, 0, upper.size);
+      System.arraycopy(counts, half, upper.counts, 0, upper.size);
+      size = half;
+      return upper;
+    }
+  }
+}
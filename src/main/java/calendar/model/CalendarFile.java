@@ -0,0 +1,407 @@
+package calendar.model;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads and writes whole calendars in a compact, versioned binary format.
+ *
+ * <p>A file starts with a magic number and the format version, followed by a string
+ * table holding every distinct subject, description, location, series ID, zone ID and
+ * calendar name once. Then come the calendars, each as its name and zone (string table
+ * indices) and its events. Every event is a length-prefixed record of flags, string
+ * indices and epoch-second times; nanoseconds are only written for events that have
+ * them. Readers skip any bytes past the fields they know up to the record length, but
+ * only files of exactly {@link #VERSION} are accepted: a format change, even one that
+ * only appends event fields, must bump the version and teach the reader about it.</p>
+ *
+ * <p>Files are written and read through a {@link FileChannel} with a large direct
+ * buffer. Writing goes to a temporary file that is renamed over the target once
+ * complete, so an interrupted save never leaves a half-written file behind.</p>
+ */
+public final class CalendarFile {
+
+  /**
+   * Current version of the format.
+   */
+  public static final int VERSION = 1;
+
+  /**
+   * "CALB" in ASCII.
+   */
+  static final int MAGIC = 0x43414C42;
+
+  private static final int BUFFER_SIZE = 1 << 20;
+
+  private static final int ALL_DAY = 1;
+  private static final int PUBLIC = 1 << 1;
+  private static final int END_ZONE = 1 << 2;
+  private static final int NANOS = 1 << 3;
+
+  /**
+   * Flags, subject, both times, start zone, description, location and series ID.
+   */
+  private static final int MIN_EVENT_LENGTH = 1 + 4 + 16 + 4 + 12;
+
+  private CalendarFile() {
+  }
+
+  /**
+   * A calendar read from a file.
+   */
+  public static final class Entry {
+    private final String name;
+    private final ZoneId zone;
+    private final List<Event> events;
+
+    private Entry(String name, ZoneId zone, List<Event> events) {
+      this.name = name;
+      this.zone = zone;
+      this.events = Collections.unmodifiableList(events);
+    }
+
+    /**
+     * Returns the calendar's name.
+     */
+    public String getName() {
+      return name;
+    }
+
+    /**
+     * Returns the calendar's time zone.
+     */
+    public ZoneId getZone() {
+      return zone;
+    }
+
+    /**
+     * Returns the calendar's events in sorted order.
+     */
+    public List<Event> getEvents() {
+      return events;
+    }
+  }
+
+  /**
+   * Writes calendars to a file, replacing it if it exists.
+   *
+   * @param file      the file to write
+   * @param calendars the calendars to save, by name, in the order to store them
+   * @throws IOException if the file cannot be written
+   */
+  public static void write(Path file, Map<String, Icalendar> calendars) throws IOException {
+    Map<String, Integer> strings = new LinkedHashMap<>();
+    List<List<Event>> contents = new ArrayList<>(calendars.size());
+    for (Map.Entry<String, Icalendar> cal : calendars.entrySet()) {
+      List<Event> events = cal.getValue().snapshot();
+      contents.add(events);
+      indexOf(strings, cal.getKey());
+      indexOf(strings, cal.getValue().getZone().getId());
+      for (Event e : events) {
+        indexOf(strings, e.getSubject());
+        indexOf(strings, e.getStart().getZone().getId());
+        indexOf(strings, e.getEnd().getZone().getId());
+        indexOf(strings, e.getDescription());
+        indexOf(strings, e.getLocation());
+        indexOf(strings, e.getSeriesId());
+      }
+    }
+
+    Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+    try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+      Output out = new Output(channel);
+      out.ensure(12);
+      out.buf.putInt(MAGIC).putInt(VERSION).putInt(strings.size());
+      for (String s : strings.keySet()) {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.ensure(4);
+        out.buf.putInt(bytes.length);
+        out.put(bytes);
+      }
+      out.ensure(4);
+      out.buf.putInt(calendars.size());
+      int c = 0;
+      for (Map.Entry<String, Icalendar> cal : calendars.entrySet()) {
+        List<Event> events = contents.get(c++);
+        out.ensure(12);
+        out.buf.putInt(strings.get(cal.getKey()))
+            .putInt(strings.get(cal.getValue().getZone().getId()))
+            .putInt(events.size());
+        for (Event e : events) {
+          writeEvent(out, e, strings);
+        }
+      }
+      out.flush();
+      channel.force(true);
+    }
+    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING,
+        StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  /**
+   * Reads every calendar stored in a file.
+   *
+   * @param file the file to read
+   * @return the calendars in the order they were saved
+   * @throws IllegalArgumentException if the file is not a calendar file or has an
+   *                                  unsupported version
+   * @throws IOException              if the file cannot be read or is truncated
+   */
+  public static List<Entry> read(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      Input in = new Input(channel);
+      in.ensure(8);
+      if (in.buf.getInt() != MAGIC) {
+        throw new IllegalArgumentException("Not a calendar file: " + file);
+      }
+      int version = in.buf.getInt();
+      if (version != VERSION) {
+        throw new IllegalArgumentException("Unsupported calendar file version: " + version);
+      }
+      String[] strings = new String[in.readCount()];
+      for (int i = 0; i < strings.length; i++) {
+        byte[] bytes = new byte[in.readCount()];
+        in.get(bytes);
+        strings[i] = new String(bytes, StandardCharsets.UTF_8);
+      }
+      ZoneId[] zones = new ZoneId[strings.length];
+
+      int calendars = in.readCount();
+      List<Entry> result = new ArrayList<>();
+      for (int c = 0; c < calendars; c++) {
+        in.ensure(8);
+        String name = stringAt(strings, in.buf.getInt());
+        ZoneId zone = zoneAt(strings, zones, in.buf.getInt());
+        int size = in.readCount();
+        List<Event> events = new ArrayList<>(Math.min(size, 1 << 16));
+        for (int i = 0; i < size; i++) {
+          events.add(readEvent(in, strings, zones));
+        }
+        result.add(new Entry(name, zone, events));
+      }
+      return result;
+    }
+  }
+
+  private static void writeEvent(Output out, Event e, Map<String, Integer> strings)
+      throws IOException {
+    ZonedDateTime start = e.getStart();
+    ZonedDateTime end = e.getEnd();
+    boolean endZoneDiffers = !end.getZone().equals(start.getZone());
+    boolean nanos = start.getNano() != 0 || end.getNano() != 0;
+    int flags = (e.isAllDay() ? ALL_DAY : 0)
+        | (e.getStatus() == EventStatus.PUBLIC ? PUBLIC : 0)
+        | (endZoneDiffers ? END_ZONE : 0)
+        | (nanos ? NANOS : 0);
+    int length = MIN_EVENT_LENGTH + (nanos ? 8 : 0) + (endZoneDiffers ? 4 : 0);
+    out.ensure(4 + length);
+    ByteBuffer buf = out.buf;
+    buf.putInt(length).put((byte) flags).putInt(strings.get(e.getSubject()))
+        .putLong(start.toEpochSecond()).putLong(end.toEpochSecond());
+    if (nanos) {
+      buf.putInt(start.getNano()).putInt(end.getNano());
+    }
+    buf.putInt(strings.get(start.getZone().getId()));
+    if (endZoneDiffers) {
+      buf.putInt(strings.get(end.getZone().getId()));
+    }
+    buf.putInt(indexOrNone(strings, e.getDescription()))
+        .putInt(indexOrNone(strings, e.getLocation()))
+        .putInt(indexOrNone(strings, e.getSeriesId()));
+  }
+
+  private static Event readEvent(Input in, String[] strings, ZoneId[] zones)
+      throws IOException {
+    in.ensure(4);
+    int length = in.buf.getInt();
+    if (length < MIN_EVENT_LENGTH || length > BUFFER_SIZE) {
+      throw new IllegalArgumentException("Corrupt event record in calendar file.");
+    }
+    in.ensure(length);
+    ByteBuffer buf = in.buf;
+    int recordEnd = buf.position() + length;
+    int flags = buf.get();
+    String subject = stringAt(strings, buf.getInt());
+    long startSecond = buf.getLong();
+    long endSecond = buf.getLong();
+    int startNano = (flags & NANOS) != 0 ? buf.getInt() : 0;
+    int endNano = (flags & NANOS) != 0 ? buf.getInt() : 0;
+    ZoneId startZone = zoneAt(strings, zones, buf.getInt());
+    ZoneId endZone = (flags & END_ZONE) != 0 ? zoneAt(strings, zones, buf.getInt()) : startZone;
+    String description = stringAt(strings, buf.getInt());
+    String location = stringAt(strings, buf.getInt());
+    String seriesId = stringAt(strings, buf.getInt());
+    buf.position(recordEnd);
+
+    return new Event.Builder(subject,
+        ZonedDateTime.ofInstant(Instant.ofEpochSecond(startSecond, startNano), startZone),
+        ZonedDateTime.ofInstant(Instant.ofEpochSecond(endSecond, endNano), endZone))
+        .description(description)
+        .location(location)
+        .seriesId(seriesId)
+        .status((flags & PUBLIC) != 0 ? EventStatus.PUBLIC : EventStatus.PRIVATE)
+        .allDay((flags & ALL_DAY) != 0)
+        .build();
+  }
+
+  private static void indexOf(Map<String, Integer> strings, String s) {
+    if (s != null) {
+      strings.putIfAbsent(s, strings.size());
+    }
+  }
+
+  private static int indexOrNone(Map<String, Integer> strings, String s) {
+    return s == null ? -1 : strings.get(s);
+  }
+
+  /**
+   * Looks up a string table entry; index -1 stands for null.
+   */
+  private static String stringAt(String[] strings, int index) {
+    if (index == -1) {
+      return null;
+    }
+    if (index < 0 || index >= strings.length) {
+      throw new IllegalArgumentException("Corrupt string reference in calendar file.");
+    }
+    return strings[index];
+  }
+
+  /**
+   * Looks up a zone by its string table index, parsing each zone ID once.
+   */
+  private static ZoneId zoneAt(String[] strings, ZoneId[] zones, int index) {
+    if (index < 0 || index >= zones.length) {
+      throw new IllegalArgumentException("Corrupt zone reference in calendar file.");
+    }
+    ZoneId zone = zones[index];
+    if (zone == null) {
+      try {
+        zone = ZoneId.of(strings[index]);
+      } catch (DateTimeException e) {
+        throw new IllegalArgumentException("Invalid zone in calendar file: " + strings[index]);
+      }
+      zones[index] = zone;
+    }
+    return zone;
+  }
+
+  /**
+   * Buffers writes to a channel.
+   */
+  private static final class Output {
+    private final FileChannel channel;
+    private final ByteBuffer buf = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    Output(FileChannel channel) {
+      this.channel = channel;
+    }
+
+    /**
+     * Makes room for the given number of bytes, at most the buffer size.
+     */
+    void ensure(int bytes) throws IOException {
+      if (buf.remaining() < bytes) {
+        flush();
+      }
+    }
+
+    /**
+     * Writes bytes of any length.
+     */
+    void put(byte[] bytes) throws IOException {
+      if (bytes.length <= buf.remaining()) {
+        buf.put(bytes);
+        return;
+      }
+      flush();
+      if (bytes.length <= buf.capacity()) {
+        buf.put(bytes);
+        return;
+      }
+      ByteBuffer large = ByteBuffer.wrap(bytes);
+      while (large.hasRemaining()) {
+        channel.write(large);
+      }
+    }
+
+    void flush() throws IOException {
+      buf.flip();
+      while (buf.hasRemaining()) {
+        channel.write(buf);
+      }
+      buf.clear();
+    }
+  }
+
+  /**
+   * Buffers reads from a channel.
+   */
+  private static final class Input {
+    private final FileChannel channel;
+    private final ByteBuffer buf = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    Input(FileChannel channel) {
+      this.channel = channel;
+      buf.flip();
+    }
+
+    /**
+     * Makes sure the given number of bytes, at most the buffer size, can be read.
+     */
+    void ensure(int bytes) throws IOException {
+      if (buf.remaining() >= bytes) {
+        return;
+      }
+      buf.compact();
+      while (buf.position() < bytes) {
+        if (channel.read(buf) < 0) {
+          throw new EOFException("Calendar file is truncated.");
+        }
+      }
+      buf.flip();
+    }
+
+    /**
+     * Reads a count or length, which can never exceed the file size.
+     */
+    int readCount() throws IOException {
+      ensure(4);
+      int n = buf.getInt();
+      if (n < 0 || n > channel.size()) {
+        throw new IllegalArgumentException("Corrupt count in calendar file: " + n);
+      }
+      return n;
+    }
+
+    /**
+     * Reads bytes of any length.
+     */
+    void get(byte[] bytes) throws IOException {
+      int done = 0;
+      while (done < bytes.length) {
+        ensure(1);
+        int chunk = Math.min(buf.remaining(), bytes.length - done);
+        buf.get(bytes, done, chunk);
+        done += chunk;
+      }
+    }
+  }
+}
@@ -1,10 +1,18 @@
 package calendar.model;
 
+import java.nio.file.Path;
 import java.time.ZoneId;
+import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
 
 /**
  * Implementation of the {@link IcalendarManager} interface that manages multiple calendars.
@@ -31,13 +39,35 @@ public class CalendarManagerImpl implements IcalendarManager {
    */
   private Icalendar activeCalendar;
 
+  /**
+   * Creates the event storage backing each newly created calendar.
+   */
+  private final Supplier<IeventStorage> storageFactory;
+
   /**
    * Constructs a new, empty calendar manager.
-   * Initializes an empty calendar collection.
+   * Initializes an empty calendar collection backed by {@link TreeSetEventStorage}.
    */
   public CalendarManagerImpl() {
+    this(TreeSetEventStorage::new);
+  }
+
+  /**
+   * Constructs a new, empty calendar manager that uses the given storage for new calendars.
+   *
+   * <p>For example, {@code new CalendarManagerImpl(IntervalTreeEventStorage::new)} selects
+   * the interval-tree storage for calendars with many events.</p>
+   *
+   * @param storageFactory supplies a fresh {@link IeventStorage} for every created calendar
+   * @throws IllegalArgumentException if storageFactory is null
+   */
+  public CalendarManagerImpl(Supplier<IeventStorage> storageFactory) {
+    if (storageFactory == null) {
+      throw new IllegalArgumentException("Storage factory cannot be null.");
+    }
     this.calendars = new HashMap<>();
     this.activeCalendar = null;
+    this.storageFactory = storageFactory;
   }
 
   /**
@@ -59,7 +89,7 @@ public class CalendarManagerImpl implements IcalendarManager {
       throw new IllegalArgumentException("Calendar with name '" + name + "' already exists.");
     }
 
-    Icalendar newCalendar = new CalendarModel(new TreeSetEventStorage(), timezone);
+    Icalendar newCalendar = new CalendarModel(storageFactory.get(), timezone);
     calendars.put(name, newCalendar);
 
     // If this is the first calendar created, make it active by default
@@ -166,4 +196,76 @@ public class CalendarManagerImpl implements IcalendarManager {
   public List<String> listCalendars() {
     return new ArrayList<>(calendars.keySet());
   }
+
+  /**
+   * Builds one busy timeline across several calendars, querying them in parallel.
+   *
+   * <p>Each calendar's range query runs as its own task on the common pool, and the
+   * calling thread waits for all of them before the sorted per-calendar results are
+   * combined with a k-way merge on their start instants. Every calendar is read by
+   * exactly one task while the caller waits, so the calendars are read concurrently
+   * with each other but never with the caller; as with any read from another thread,
+   * writers running elsewhere at the same time need a thread-safe calendar such as
+   * {@link StampedLockCalendar}.</p>
+   *
+   * @param names the calendars to combine; duplicates are ignored
+   * @param start the start of the range
+   * @param end   the end of the range
+   * @return the busy slots in time order, clipped to {@code [start, end]} and expressed
+   *         in the zone of {@code start}
+   * @throws IllegalArgumentException if the range is invalid or a calendar does not exist
+   */
+  @Override
+  public List<TimeSlot> freeBusy(List<String> names, ZonedDateTime start, ZonedDateTime end) {
+    List<Icalendar> targets = BusyMerger.resolve(this, names, start, end);
+
+    List<CompletableFuture<List<Event>>> queries = new ArrayList<>(targets.size());
+    for (Icalendar cal : targets) {
+      queries.add(CompletableFuture.supplyAsync(() -> {
+        List<Event> events = new ArrayList<>(cal.queryEventsBetween(start, end));
+        Collections.sort(events);
+        return events;
+      }));
+    }
+
+    List<List<Event>> perCalendar = new ArrayList<>(queries.size());
+    try {
+      for (CompletableFuture<List<Event>> query : queries) {
+        perCalendar.add(query.join());
+      }
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+    return BusyMerger.merge(perCalendar, start, end);
+  }
+
+  /**
+   * Creates the calendars stored in a binary {@link CalendarFile}, with their events.
+   *
+   * <p>Either every calendar in the file is created or none is: if any calendar's
+   * events are rejected, the calendars this call already created are removed again,
+   * and the active calendar is restored.</p>
+   *
+   * @param file the file to read
+   * @return the names of the loaded calendars, in file order
+   * @throws IllegalArgumentException if a calendar already exists, the file names a
+   *                                  calendar twice, a calendar's events are rejected,
+   *                                  or the file is not a valid calendar file
+   * @throws RuntimeException         if the file cannot be read
+   */
+  @Override
+  public List<String> loadCalendars(Path file) {
+    Set<String> before = new HashSet<>(calendars.keySet());
+    Icalendar active = activeCalendar;
+    try {
+      return IcalendarManager.super.loadCalendars(file);
+    } catch (RuntimeException e) {
+      calendars.keySet().retainAll(before);
+      activeCalendar = active;
+      throw e;
+    }
+  }
 }
@@ -5,8 +5,15 @@ import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * Implements the core model logic for the Virtual Calendar system.
@@ -16,6 +23,7 @@ import java.util.UUID;
 public class CalendarModel implements Icalendar {
 
   private final IeventStorage storage;
+  private final StringPool strings;
   private ZoneId zone;
 
   /**
@@ -25,11 +33,19 @@ public class CalendarModel implements Icalendar {
    * @param zone    timezone (defaults to EST if null)
    */
   public CalendarModel(IeventStorage storage, ZoneId zone) {
+    this(storage, zone, new StringPool());
     if (storage == null) {
       throw new IllegalArgumentException("Storage cannot be null.");
     }
+  }
+
+  /**
+   * Constructs a calendar model sharing another model's string pool.
+   */
+  private CalendarModel(IeventStorage storage, ZoneId zone, StringPool strings) {
     this.storage = storage;
     this.zone = (zone != null) ? zone : ZoneId.of("America/New_York");
+    this.strings = strings;
   }
 
   /**
@@ -40,26 +56,43 @@ public class CalendarModel implements Icalendar {
    */
   @Override
   public void createEvent(Event e) {
-    if (!storage.addEvent(e)) {
+    if (!storage.addEvent(pooled(e))) {
       throw new IllegalArgumentException("Duplicate or conflicting event: " + e.getSubject());
     }
   }
 
+  /**
+   * Adds a group of events with a single {@link IeventStorage#addAll} call.
+   *
+   * @param events events to add
+   * @throws IllegalArgumentException if any event is a duplicate; nothing is added then
+   */
+  @Override
+  public void createEvents(Collection<Event> events) {
+    List<Event> batch = new ArrayList<>(events.size());
+    for (Event e : events) {
+      batch.add(pooled(e));
+    }
+    if (!storage.addAll(batch)) {
+      throw new IllegalArgumentException("Duplicate or conflicting event in batch.");
+    }
+  }
+
   /**
    * Adds a recurring series of events based on a recurrence rule.
    *
+   * <p>The series is added all-or-nothing: if any occurrence is a duplicate, no
+   * occurrence is stored.</p>
+   *
    * @param e    base event
    * @param rule recurrence rule for repetition
    * @throws IllegalArgumentException if duplicates occur in the series
    */
   @Override
   public void createSeries(Event e, RecurrenceRule rule) {
-    List<? extends Event> series = rule.generateSeries(e);
-    for (Event ev : series) {
-      if (!storage.addEvent(ev)) {
-        throw new IllegalArgumentException(
-            "Duplicate found in recurring series: " + ev.getSubject());
-      }
+    if (!storage.addSeries(pooled(e), rule)) {
+      throw new IllegalArgumentException(
+          "Duplicate found in recurring series: " + e.getSubject());
     }
   }
 
@@ -73,16 +106,39 @@ public class CalendarModel implements Icalendar {
    */
   @Override
   public void editEvent(EventKey key, String property, Object newValue) {
-    List<? extends Event> events = storage.getAllEvents();
-    for (Event e : events) {
-      if (e.matchesKey(key)) {
-        Event modified = e.copyWith(property, newValue);
-        storage.removeEvent(key);
-        storage.addEvent(modified);
-        return;
-      }
+    editEvent(key, Collections.singletonMap(property, newValue));
+  }
+
+  /**
+   * Edits several properties of a single event with one lookup and one replacement.
+   *
+   * <p>If the edited event would duplicate another event the original is kept.</p>
+   *
+   * @param key     event key
+   * @param changes new values keyed by property name
+   * @throws IllegalArgumentException if the event is not found, a property is invalid
+   *                                  or the result duplicates another event
+   */
+  @Override
+  public void editEvent(EventKey key, Map<String, Object> changes) {
+    Event e = storage.findByKey(key);
+    if (e == null) {
+      throw new IllegalArgumentException("Event not found for editing.");
+    }
+    replace(e, pooled(e.copyWith(changes)));
+  }
+
+  /**
+   * Replaces a stored event, failing if the storage refuses the change.
+   *
+   * @throws IllegalArgumentException if the original is gone or the result duplicates
+   *                                  another event
+   */
+  private void replace(Event original, Event modified) {
+    if (!storage.replaceEvent(original, modified)) {
+      throw new IllegalArgumentException(
+          "Duplicate or conflicting event: " + modified.getSubject());
     }
-    throw new IllegalArgumentException("Event not found for editing.");
   }
 
   /**
@@ -95,8 +151,24 @@ public class CalendarModel implements Icalendar {
    */
   @Override
   public void editSeries(EventKey key, String property, Object newValue, EditMode mode) {
-    List<Event> allEvents = new ArrayList<>(storage.getAllEvents());
-    Event anchor = findAnchorEvent(allEvents, key);
+    editSeries(key, Collections.singletonMap(property, newValue), mode);
+  }
+
+  /**
+   * Edits several properties of a recurring series in one pass over the affected events.
+   *
+   * <p>If any edited occurrence would duplicate another event, none of the edits are
+   * kept.</p>
+   *
+   * @param key     reference event key
+   * @param changes new values keyed by property name
+   * @param mode    edit mode (single, onward, entire series)
+   * @throws IllegalArgumentException if no event matches the key or an edited
+   *                                  occurrence duplicates another event
+   */
+  @Override
+  public void editSeries(EventKey key, Map<String, Object> changes, EditMode mode) {
+    Event anchor = findEvent(key.getSubject(), key.getStart(), key.getEnd());
 
     if (anchor == null) {
       throw new IllegalArgumentException("No matching event found for the given key.");
@@ -105,35 +177,94 @@ public class CalendarModel implements Icalendar {
     EventKey anchorKey = anchor.getKey();
     String seriesId = anchor.getSeriesId();
 
+    // one transaction, so a failure part way through leaves the series as it was
+    inTransaction(tx -> {
+      switch (mode) {
+        case SINGLE:
+          tx.updateSingleEvent(anchor, changes);
+          break;
 
-    switch (mode) {
-      case SINGLE:
-        updateSingleEvent(anchor, property, newValue);
-        break;
+        case FROM_THIS_ONWARD:
+          tx.updateSeriesFromThisOnward(anchor, seriesId, anchorKey, changes);
+          break;
 
-      case FROM_THIS_ONWARD:
-        updateSeriesFromThisOnward(allEvents, anchor, seriesId, anchorKey, property, newValue);
-        break;
+        case ENTIRE_SERIES:
+          tx.updateEntireSeries(anchor, seriesId, changes);
+          break;
 
-      case ENTIRE_SERIES:
-        updateEntireSeries(allEvents, anchor, seriesId, property, newValue);
-        break;
+        default:
+          throw new IllegalArgumentException("Unknown edit mode: " + mode);
+      }
+    });
+  }
 
-      default:
-        throw new IllegalArgumentException("Unknown edit mode: " + mode);
+  /**
+   * Runs a group of changes all-or-nothing.
+   *
+   * <p>The work gets a view of this calendar whose storage logs how to undo each change.
+   * The whole group runs in one {@link IeventStorage#runBatch} call; if the work throws,
+   * the undo log is replayed inside the same batch before the exception is rethrown, so
+   * storages with snapshot reads never publish any of it. A zone change made through
+   * the view is kept only if the transaction succeeds.</p>
+   *
+   * @param work the changes to make
+   * @throws IllegalStateException if the storage refuses to undo a change during the
+   *                               rollback; the work's exception is attached as suppressed
+   */
+  @Override
+  public void transaction(Consumer<Icalendar> work) {
+    if (work == null) {
+      throw new IllegalArgumentException("Transaction work cannot be null.");
     }
+    inTransaction(work::accept);
   }
 
   /**
-   * Finds the reference (anchor) event corresponding to the provided key.
+   * Tells whether this calendar's queries may run next to a concurrent writer, which
+   * holds when its storage {@link IeventStorage#supportsConcurrentReads() supports it}.
    */
-  private Event findAnchorEvent(List<Event> events, EventKey key) {
-    for (Event e : events) {
-      boolean subjectMatches = e.getSubject().equalsIgnoreCase(key.getSubject());
-      boolean startMatches = e.getStart().isEqual(key.getStart());
-      boolean endMatches = key.getEnd() == null || e.getEnd().isEqual(key.getEnd());
+  boolean supportsConcurrentReads() {
+    return storage.supportsConcurrentReads();
+  }
+
+  /**
+   * Runs the work against a view of this calendar backed by an undo log.
+   */
+  private void inTransaction(Consumer<CalendarModel> work) {
+    UndoLogEventStorage log = new UndoLogEventStorage(storage);
+    CalendarModel tx = new CalendarModel(log, zone, strings);
+    storage.runBatch(() -> {
+      try {
+        work.accept(tx);
+      } catch (RuntimeException | Error ex) {
+        try {
+          log.rollback();
+        } catch (IllegalStateException failed) {
+          failed.addSuppressed(ex);
+          throw failed;
+        }
+        throw ex;
+      }
+      log.commit();
+    });
+    this.zone = tx.zone;
+  }
 
-      if (subjectMatches && startMatches && endMatches) {
+
+  /**
+   * Finds an event by subject (case-insensitive), start and optional end time.
+   * Only the events starting at {@code start} are examined, via the storage index.
+   *
+   * @param subject event subject
+   * @param start   event start time
+   * @param end     event end time, or null to accept any end time
+   * @return the matching event, or null if none exists
+   */
+  @Override
+  public Event findEvent(String subject, ZonedDateTime start, ZonedDateTime end) {
+    for (Event e : storage.getEventsStartingAt(start)) {
+      if (e.getSubject().equalsIgnoreCase(subject)
+          && (end == null || e.getEnd().isEqual(end))) {
         return e;
       }
     }
@@ -144,65 +275,72 @@ public class CalendarModel implements Icalendar {
   /**
    * Updates only a single event instance.
    */
-  private void updateSingleEvent(Event event, String property, Object newValue) {
-    storage.removeEvent(event.getKey());
-    storage.addEvent(event.copyWith(property, newValue));
+  private void updateSingleEvent(Event event, Map<String, Object> changes) {
+    replace(event, pooled(event.copyWith(changes)));
   }
 
   /**
    * Updates all events from (and including) the anchor event onward in the same series.
    *
    * <p>Only events that belong to the same seriesId and have a start time
-   * greater than or equal to the anchor event's start time will be updated.</p>
+   * greater than or equal to the anchor event's start time will be updated.
+   * They are fetched through the storage's series index.</p>
    *
-   * @param events   all events currently in storage
    * @param anchor   the reference event (starting point)
    * @param seriesId ID of the series to update
    * @param key      the reference event key, used for comparison
-   * @param property the property to update (e.g., "location", "description")
-   * @param newValue the new value to apply to that property
+   * @param changes  the new values keyed by property (e.g., "location", "description")
    */
-  private void updateSeriesFromThisOnward(List<Event> events, Event anchor, String seriesId,
-                                          EventKey key, String property, Object newValue) {
+  private void updateSeriesFromThisOnward(Event anchor, String seriesId,
+                                          EventKey key, Map<String, Object> changes) {
     if (seriesId == null || seriesId.isBlank()) {
-      updateSingleEvent(anchor, property, newValue);
+      updateSingleEvent(anchor, changes);
       return;
     }
 
-    boolean shouldSplitSeries =
-        property.equalsIgnoreCase("start") || property.equalsIgnoreCase("end");
+    Object newStart = valueOf(changes, "start");
+    Object newEnd = valueOf(changes, "end");
+    boolean shouldSplitSeries = newStart != null || newEnd != null;
     String targetSeriesId = shouldSplitSeries ? UUID.randomUUID().toString() : seriesId;
 
-    List<Event> toUpdate = collectFutureSeriesEvents(events, seriesId, key);
+    List<Event> toUpdate = storage.getSeriesFrom(seriesId, key.getStart());
 
     // Compute proportional offsets for time-based edits
-    long startOffsetHours = computeOffsetHours(property, anchor.getStart(), newValue, "start");
-    long endOffsetHours = computeOffsetHours(property, anchor.getEnd(), newValue, "end");
+    long startOffsetHours = computeOffsetHours(anchor.getStart(), newStart);
+    long endOffsetHours = computeOffsetHours(anchor.getEnd(), newEnd);
 
-    applyUpdatesToSeriesEvents(toUpdate, property, newValue, shouldSplitSeries,
+    applyUpdatesToSeriesEvents(toUpdate, changes, shouldSplitSeries,
         seriesId, targetSeriesId, startOffsetHours, endOffsetHours);
   }
 
   /**
    * Applies the computed change to each affected event and re-adds them
    * to storage. Handles both regular and split-series updates.
+   *
+   * <p>All updated events are built first and then swapped in together by
+   * {@link #replaceAll}, so an occurrence may move onto the slot of another occurrence
+   * of the same edit.</p>
    */
-  private void applyUpdatesToSeriesEvents(List<Event> toUpdate, String property, Object newValue,
+  private void applyUpdatesToSeriesEvents(List<Event> toUpdate, Map<String, Object> changes,
                                           boolean shouldSplitSeries, String seriesId,
                                           String targetSeriesId,
                                           long startOffsetHours, long endOffsetHours) {
+    List<Event> updatedEvents = new ArrayList<>(toUpdate.size());
     for (Event e : toUpdate) {
-      storage.removeEvent(e.getKey());
-
-      // Adjust value proportionally for time changes
-      Object adjustedValue = newValue;
-      if (property.equalsIgnoreCase("start") && newValue instanceof ZonedDateTime) {
-        adjustedValue = e.getStart().plusHours(startOffsetHours);
-      } else if (property.equalsIgnoreCase("end") && newValue instanceof ZonedDateTime) {
-        adjustedValue = e.getEnd().plusHours(endOffsetHours);
+      // Adjust values proportionally for time changes
+      Map<String, Object> adjusted = new LinkedHashMap<>();
+      for (Map.Entry<String, Object> change : changes.entrySet()) {
+        String property = change.getKey();
+        Object newValue = change.getValue();
+        if (property.equalsIgnoreCase("start") && newValue instanceof ZonedDateTime) {
+          newValue = e.getStart().plusHours(startOffsetHours);
+        } else if (property.equalsIgnoreCase("end") && newValue instanceof ZonedDateTime) {
+          newValue = e.getEnd().plusHours(endOffsetHours);
+        }
+        adjusted.put(property, newValue);
       }
 
-      Event updated = e.copyWith(property, adjustedValue);
+      Event updated = e.copyWith(adjusted);
 
       // If series is split, give updated events a new seriesId
       if (shouldSplitSeries && !targetSeriesId.equals(seriesId)) {
@@ -215,46 +353,85 @@ public class CalendarModel implements Icalendar {
             .build();
       }
 
-      storage.addEvent(updated);
+      updatedEvents.add(pooled(updated));
     }
+    replaceAll(toUpdate, updatedEvents);
   }
 
-
   /**
-   * Collects all events that belong to the same series and occur
-   * on or after the specified key's start time.
+   * Replaces a group of stored events in one pass.
+   *
+   * <p>Updates that keep their original's start, end and subject are swapped in place,
+   * which storages with concurrent readers do atomically. Of the others, every original
+   * is removed before any update is added with a single {@link IeventStorage#addAll}
+   * call, so an update may take the slot another original of the group vacates.</p>
+   *
+   * <p>Only called inside a transaction, whose undo log restores the originals if this
+   * throws part way.</p>
+   *
+   * @param originals the stored events
+   * @param updated   their replacements, in the same order
+   * @throws IllegalArgumentException if an original is gone or an update duplicates
+   *                                  another event
    */
-  private List<Event> collectFutureSeriesEvents(List<Event> events, String seriesId, EventKey key) {
-    List<Event> toUpdate = new ArrayList<>();
-    for (Event e : events) {
-      boolean sameSeries = seriesId.equals(e.getSeriesId());
-      boolean isCurrentOrFuture = !e.getStart().isBefore(key.getStart());
-      if (sameSeries && isCurrentOrFuture) {
-        toUpdate.add(e);
+  private void replaceAll(List<Event> originals, List<Event> updated) {
+    List<Event> moved = new ArrayList<>();
+    for (int i = 0; i < originals.size(); i++) {
+      Event original = originals.get(i);
+      if (original.compareTo(updated.get(i)) == 0) {
+        replace(original, updated.get(i));
+        continue;
+      }
+      if (!storage.removeEvent(original.getKey())) {
+        throw new IllegalArgumentException(
+            "Event not found for editing: " + original.getSubject());
       }
+      moved.add(updated.get(i));
+    }
+    if (!storage.addAll(moved)) {
+      throw new IllegalArgumentException("Duplicate or conflicting event in series edit.");
     }
-    return toUpdate;
   }
 
+
   /**
    * Computes the number of hours by which the start or end time changed
    * between the anchor and the new value. Returns 0 for non-time edits.
    */
-  private long computeOffsetHours(String property, ZonedDateTime original,
-                                  Object newValue, String expectedProperty) {
-    if (property.equalsIgnoreCase(expectedProperty) && newValue instanceof ZonedDateTime) {
+  private long computeOffsetHours(ZonedDateTime original, Object newValue) {
+    if (newValue instanceof ZonedDateTime) {
       return java.time.Duration.between(original, (ZonedDateTime) newValue).toHours();
     }
     return 0;
   }
 
+  /**
+   * Returns the value a change map holds for a property (case-insensitive), or null.
+   */
+  private static Object valueOf(Map<String, Object> changes, String property) {
+    for (Map.Entry<String, Object> change : changes.entrySet()) {
+      if (change.getKey().equalsIgnoreCase(property)) {
+        return change.getValue();
+      }
+    }
+    return null;
+  }
+
 
   /**
    * Updates every event in the same series.
+   *
+   * <p>Series members come from the storage's series index; only standalone events
+   * (no series ID) fall back to matching by subject across all events.</p></p>
+   *
+   * <p>The members are swapped in one pass by {@link #replaceAll}.</p>
    */
-  private void updateEntireSeries(List<Event> events, Event anchor, String seriesId,
-                                  String property, Object newValue) {
-    for (Event e : events) {
+  private void updateEntireSeries(Event anchor, String seriesId, Map<String, Object> changes) {
+    List<Event> candidates =
+        seriesId != null ? storage.getSeries(seriesId) : storage.getAllEvents();
+    List<Event> originals = new ArrayList<>();
+    List<Event> updated = new ArrayList<>();
+    for (Event e : candidates) {
       boolean sameSeries =
           (seriesId != null && seriesId.equals(e.getSeriesId()))
               ||
@@ -263,10 +440,11 @@ public class CalendarModel implements Icalendar {
                   e.getSubject().equals(anchor.getSubject()));
 
       if (sameSeries) {
-        storage.removeEvent(e.getKey());
-        storage.addEvent(e.copyWith(property, newValue));
+        originals.add(e);
+        updated.add(pooled(e.copyWith(changes)));
       }
     }
+    replaceAll(originals, updated);
   }
 
 
@@ -301,12 +479,69 @@ public class CalendarModel implements Icalendar {
    */
   @Override
   public boolean isBusy(ZonedDateTime timestamp) {
-    for (Event e : storage.getAllEvents()) {
-      if (!timestamp.isBefore(e.getStart()) && !timestamp.isAfter(e.getEnd())) {
-        return true;
+    return storage.isBusy(timestamp);
+  }
+
+  /**
+   * Checks many timestamps for availability with a single sweep.
+   *
+   * <p>The timestamps are visited in time order while a cursor advances over the
+   * start-ordered events between the earliest and latest timestamp. The latest end
+   * time of the events started so far tells whether the current timestamp is covered,
+   * so each event and timestamp is looked at once.</p>
+   *
+   * @param timestamps the date-times to check, in any order
+   * @return a bitmap of busy timestamps indexed like the input list
+   */
+  @Override
+  public BitSet isBusyAt(List<ZonedDateTime> timestamps) {
+    BitSet busy = new BitSet(timestamps.size());
+    if (timestamps.isEmpty()) {
+      return busy;
+    }
+
+    List<Integer> order = new ArrayList<>(timestamps.size());
+    for (int i = 0; i < timestamps.size(); i++) {
+      order.add(i);
+    }
+    order.sort(Comparator.comparing(timestamps::get));
+
+    ZonedDateTime first = timestamps.get(order.get(0));
+    ZonedDateTime last = timestamps.get(order.get(order.size() - 1));
+    List<Event> events = new ArrayList<>(storage.getEventsBetween(first, last));
+    Collections.sort(events);
+
+    int next = 0;
+    long reachSecond = Long.MIN_VALUE;
+    int reachNano = 0;
+    for (int idx : order) {
+      ZonedDateTime t = timestamps.get(idx);
+      long second = t.toEpochSecond();
+      int nano = t.getNano();
+      while (next < events.size() && Event.compareInstant(events.get(next).startEpochSecond(),
+          events.get(next).startNano(), second, nano) <= 0) {
+        Event e = events.get(next);
+        if (Event.compareInstant(e.endEpochSecond(), e.endNano(), reachSecond, reachNano) > 0) {
+          reachSecond = e.endEpochSecond();
+          reachNano = e.endNano();
+        }
+        next++;
+      }
+      if (Event.compareInstant(second, nano, reachSecond, reachNano) <= 0) {
+        busy.set(idx);
       }
     }
-    return false;
+    return busy;
+  }
+
+  /**
+   * Returns the storage's current snapshot of this calendar's events.
+   *
+   * @return an immutable, sorted view unaffected by later edits
+   */
+  @Override
+  public EventSnapshot snapshot() {
+    return storage.snapshot();
   }
 
   /**
@@ -318,6 +553,23 @@ public class CalendarModel implements Icalendar {
     return storage.getAllEvents();
   }
 
+  /**
+   * Returns usage statistics of this calendar's string pool, which shares repeated
+   * descriptions, locations and series IDs between its events.
+   *
+   * @return the pool's hit rate, size and estimated bytes saved
+   */
+  public StringPool.Stats getStringPoolStats() {
+    return strings.getStats();
+  }
+
+  /**
+   * Returns the event with its strings shared through this calendar's pool.
+   */
+  private Event pooled(Event e) {
+    return e.withPooledStrings(strings);
+  }
+
   /**
    * Returns the timezone of this calendar.
    */
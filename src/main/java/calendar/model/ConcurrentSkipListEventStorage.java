@@ -0,0 +1,352 @@
+package calendar.model;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A thread-safe event storage backed by a {@link ConcurrentSkipListMap}.
+ *
+ * <p>Events are keyed by their natural order, i.e. start, end and case-folded subject.
+ * Queries read the map's values, which are replaced in place by edits that keep the key.
+ * Reads never lock: lookups go to a {@link ConcurrentHashMap} from {@link EventKey} to
+ * event, and range queries walk the skip list with its weakly consistent iterators, so
+ * they never throw {@code ConcurrentModificationException} and see every event that was
+ * stored for the whole duration of the query.</p>
+ *
+ * <p>Writers are serialized by a lock so the skip list, the key index and the series
+ * index stay in step. {@link #replaceEvent(Event, Event)} swaps an event in place when
+ * its start, end and subject are unchanged, which makes property edits atomic for
+ * readers; when the key changes the new event is published before the old one is
+ * removed, so a concurrent reader may briefly see both but never neither.</p>
+ *
+ * <p>Range scans start at the query start minus the longest event duration stored so
+ * far, which is the earliest start an overlapping event can have.</p>
+ */
+public class ConcurrentSkipListEventStorage implements IeventStorage {
+
+  /**
+   * Largest UTC offset in seconds, used to widen date queries to every zone.
+   */
+  private static final long MAX_OFFSET_SECONDS = ZoneOffset.MAX.getTotalSeconds();
+
+  /**
+   * All events, sorted by start, end and subject. Each event maps to itself.
+   */
+  private final ConcurrentNavigableMap<Event, Event> events = new ConcurrentSkipListMap<>();
+
+  /**
+   * Index from each event's key to the event itself.
+   */
+  private final ConcurrentMap<EventKey, Event> byKey = new ConcurrentHashMap<>();
+
+  /**
+   * Index from series ID to the sorted occurrences of that series.
+   */
+  private final ConcurrentMap<String, ConcurrentNavigableMap<Event, Event>> series =
+      new ConcurrentHashMap<>();
+
+  /**
+   * Serializes writers; readers never take it.
+   */
+  private final ReentrantLock writeLock = new ReentrantLock();
+
+  /**
+   * Longest duration, in whole seconds rounded up, of any event ever stored.
+   */
+  private volatile long maxDurationSeconds;
+
+  /**
+   * Adds a new event to the storage.
+   *
+   * @param e the event to add
+   * @return true if the event was added, false if it already exists
+   */
+  @Override
+  public boolean addEvent(Event e) {
+    writeLock.lock();
+    try {
+      if (events.putIfAbsent(e, e) != null) {
+        return false;
+      }
+      index(e);
+      return true;
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  /**
+   * Adds a group of events all-or-nothing while holding the write lock, so other writers
+   * cannot interleave with it.
+   *
+   * @param events the events to add
+   * @return true if every event was added, false if nothing was added because of a
+   *         duplicate
+   */
+  @Override
+  public boolean addAll(Collection<Event> events) {
+    writeLock.lock();
+    try {
+      return IeventStorage.super.addAll(events);
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  /**
+   * Removes an event that matches the given key.
+   *
+   * @param key the key representing the event to remove
+   * @return true if an event was removed, false otherwise
+   */
+  @Override
+  public boolean removeEvent(EventKey key) {
+    writeLock.lock();
+    try {
+      Event existing = byKey.get(key);
+      if (existing == null) {
+        return false;
+      }
+      events.remove(existing);
+      unindex(existing);
+      return true;
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  /**
+   * Replaces a stored event with an edited copy.
+   *
+   * <p>If both sort equal (same start, end and subject) the entries are swapped in
+   * place; otherwise the edited event is added before the original is removed.</p>
+   *
+   * @param original the stored event
+   * @param updated  the event to store instead
+   * @return true if replaced, false if the original is gone or the update is a duplicate
+   */
+  @Override
+  public boolean replaceEvent(Event original, Event updated) {
+    writeLock.lock();
+    try {
+      Event stored = byKey.get(original.getKey());
+      if (stored == null) {
+        return false;
+      }
+      if (stored.compareTo(updated) == 0) {
+        if (!Objects.equals(stored.getSeriesId(), updated.getSeriesId())) {
+          unindexSeries(stored);
+        }
+        index(updated);
+        events.put(updated, updated);
+        return true;
+      }
+      if (events.putIfAbsent(updated, updated) != null) {
+        return false;
+      }
+      index(updated);
+      events.remove(stored);
+      unindex(stored);
+      return true;
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  /**
+   * Finds the event with the given key using the hash index.
+   *
+   * @param key the key representing the event
+   * @return the stored event, or null if not found
+   */
+  @Override
+  public Event findByKey(EventKey key) {
+    return byKey.get(key);
+  }
+
+  /**
+   * Gets the events starting at the given instant by seeking into the skip list.
+   *
+   * @param start the start time to look up
+   * @return the events starting at that instant, in sorted order
+   */
+  @Override
+  public List<Event> getEventsStartingAt(ZonedDateTime start) {
+    List<Event> result = new ArrayList<>();
+    for (Event e : events.tailMap(Event.probeBefore(start), true).values()) {
+      if (e.getStart().isAfter(start)) {
+        break;
+      }
+      if (e.getStart().isEqual(start)) {
+        result.add(e);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns every occurrence of a series using the series index.
+   *
+   * @param seriesId the series identifier
+   * @return the series' events in start order
+   */
+  @Override
+  public List<Event> getSeries(String seriesId) {
+    ConcurrentNavigableMap<Event, Event> occurrences = series.get(seriesId);
+    return occurrences == null ? new ArrayList<>() : new ArrayList<>(occurrences.values());
+  }
+
+  /**
+   * Returns the occurrences of a series from the given time onward using the series index.
+   *
+   * @param seriesId the series identifier
+   * @param from     the earliest start time to include
+   * @return the matching events in start order
+   */
+  @Override
+  public List<Event> getSeriesFrom(String seriesId, ZonedDateTime from) {
+    ConcurrentNavigableMap<Event, Event> occurrences = series.get(seriesId);
+    List<Event> result = new ArrayList<>();
+    if (occurrences != null) {
+      for (Event e : occurrences.tailMap(Event.probeBefore(from), true).values()) {
+        if (!e.getStart().isBefore(from)) {
+          result.add(e);
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Gets all events that occur on the specified date, scanning only the events whose
+   * start lies within the widest window a zone offset allows.
+   *
+   * @param date the date to check
+   * @return a list of events occurring on that date
+   */
+  @Override
+  public List<Event> getEventsOn(LocalDate date) {
+    long dayStart = date.toEpochDay() * 86400L;
+    List<Event> result = new ArrayList<>();
+    for (Event e : scanFrom(dayStart - MAX_OFFSET_SECONDS)) {
+      if (e.startEpochSecond() >= dayStart + 86400L + MAX_OFFSET_SECONDS) {
+        break;
+      }
+      if (e.occursOn(date)) {
+        result.add(e);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Gets all events that overlap with a given time range.
+   *
+   * @param start the start time
+   * @param end   the end time
+   * @return a list of events overlapping the time range
+   */
+  @Override
+  public List<Event> getEventsBetween(ZonedDateTime start, ZonedDateTime end) {
+    long last = end.toEpochSecond();
+    List<Event> result = new ArrayList<>();
+    for (Event e : scanFrom(start.toEpochSecond())) {
+      if (e.startEpochSecond() > last) {
+        break;
+      }
+      if (e.overlaps(start, end)) {
+        result.add(e);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Checks whether any event covers the given time.
+   *
+   * @param time the time to check
+   * @return true if an event spans that time
+   */
+  @Override
+  public boolean isBusy(ZonedDateTime time) {
+    long second = time.toEpochSecond();
+    for (Event e : scanFrom(second)) {
+      if (e.startEpochSecond() > second) {
+        break;
+      }
+      if (!time.isBefore(e.getStart()) && !time.isAfter(e.getEnd())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Queries read only the concurrent maps, so they are safe next to a writer.
+   *
+   * @return true
+   */
+  @Override
+  public boolean supportsConcurrentReads() {
+    return true;
+  }
+
+  /**
+   * Returns all stored events as a list.
+   *
+   * @return a list of all events in sorted order
+   */
+  @Override
+  public List<Event> getAllEvents() {
+    return new ArrayList<>(events.values());
+  }
+
+  /**
+   * Returns the events, in order, from the earliest one that can still be running at
+   * the given epoch second.
+   */
+  private Iterable<Event> scanFrom(long epochSecond) {
+    long from = epochSecond - maxDurationSeconds - 1;
+    Event probe = Event.probeBefore(
+        ZonedDateTime.ofInstant(Instant.ofEpochSecond(from), ZoneOffset.UTC));
+    return events.tailMap(probe, true).values();
+  }
+
+  private void index(Event e) {
+    byKey.put(e.getKey(), e);
+    if (e.getSeriesId() != null) {
+      series.computeIfAbsent(e.getSeriesId(), id -> new ConcurrentSkipListMap<>()).put(e, e);
+    }
+    long duration = e.endEpochSecond() - e.startEpochSecond() + 1;
+    if (duration > maxDurationSeconds) {
+      maxDurationSeconds = duration;
+    }
+  }
+
+  private void unindex(Event e) {
+    byKey.remove(e.getKey());
+    unindexSeries(e);
+  }
+
+  private void unindexSeries(Event e) {
+    if (e.getSeriesId() == null) {
+      return;
+    }
+    Map<Event, Event> occurrences = series.get(e.getSeriesId());
+    if (occurrences != null && occurrences.remove(e) != null && occurrences.isEmpty()) {
+      series.remove(e.getSeriesId());
+    }
+  }
+}
@@ -0,0 +1,89 @@
+package calendar.model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * Secondary index from a local date to the start-ordered events occurring on it.
+ *
+ * <p>An event is registered under every local date from its start to its end, the same
+ * dates {@link Event#occursOn(LocalDate)} accepts, so a day lookup only touches the
+ * events of that day. Events covering more than {@link #MAX_INDEXED_DAYS} dates would
+ * take an entry per day and are kept in a separate set that every lookup filters
+ * instead.</p>
+ *
+ * <p>This class is package-private as it's an implementation detail of the storages.</p>
+ */
+class DayIndex {
+
+  /**
+   * Longest span, in dates, registered day by day.
+   */
+  static final int MAX_INDEXED_DAYS = 62;
+
+  private final Map<Long, NavigableSet<Event>> byDay = new HashMap<>();
+
+  private final NavigableSet<Event> longEvents = new TreeSet<>();
+
+  /**
+   * Registers an event under each date it occurs on.
+   *
+   * @param e the stored event
+   */
+  void add(Event e) {
+    long first = e.startEpochDay();
+    long last = e.endEpochDay();
+    if (last - first >= MAX_INDEXED_DAYS) {
+      longEvents.add(e);
+      return;
+    }
+    for (long day = first; day <= last; day++) {
+      byDay.computeIfAbsent(day, k -> new TreeSet<>()).add(e);
+    }
+  }
+
+  /**
+   * Unregisters an event from each date it occurs on, dropping dates left empty.
+   *
+   * @param e the event that was removed from storage
+   */
+  void remove(Event e) {
+    long first = e.startEpochDay();
+    long last = e.endEpochDay();
+    if (last - first >= MAX_INDEXED_DAYS) {
+      longEvents.remove(e);
+      return;
+    }
+    for (long day = first; day <= last; day++) {
+      NavigableSet<Event> events = byDay.get(day);
+      if (events != null && events.remove(e) && events.isEmpty()) {
+        byDay.remove(day);
+      }
+    }
+  }
+
+  /**
+   * Returns the events occurring on a date in start order.
+   *
+   * @param date the date to look up
+   * @return a new list of the matching events
+   */
+  List<Event> get(LocalDate date) {
+    NavigableSet<Event> events = byDay.get(date.toEpochDay());
+    if (longEvents.isEmpty()) {
+      return events == null ? new ArrayList<>() : new ArrayList<>(events);
+    }
+    NavigableSet<Event> merged = events == null ? new TreeSet<>() : new TreeSet<>(events);
+    for (Event e : longEvents) {
+      if (e.occursOn(date)) {
+        merged.add(e);
+      }
+    }
+    return new ArrayList<>(merged);
+  }
+}
@@ -3,7 +3,8 @@ package calendar.model;
 import java.time.LocalDate;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.Objects;
+import java.util.Collections;
+import java.util.Map;
 
 /**
  * Represents an immutable calendar event with details such as subject, start and end times,
@@ -11,18 +12,39 @@ import java.util.Objects;
  *
  * <p>This implementation uses the Builder pattern to simplify object creation
  * and ensure immutability. Any updates return a new {@code Event} instance.</p>
+ *
+ * <p>Start and end are kept in a compact form: epoch seconds, nanoseconds, the UTC
+ * offset in seconds and an index into a shared {@link ZoneTable}, all primitives.
+ * {@link #getStart()} and {@link #getEnd()} rebuild the {@code ZonedDateTime} on demand,
+ * while ordering, equality and overlap checks compare the primitives directly.</p>
  */
 public final class Event implements Comparable<Event> {
 
   private final String subject;
-  private final ZonedDateTime start;
-  private final ZonedDateTime end;
+  private final long startSecond;
+  private final long endSecond;
+  private final int startNano;
+  private final int endNano;
+  private final int startOffset;
+  private final int endOffset;
+  private final short startZone;
+  private final short endZone;
   private final String description;
   private final String location;
   private final EventStatus status;
   private final boolean allDay;
   private final String seriesId;
 
+  /**
+   * Hash code computed once at construction, equal to the hash of {@link #getKey()}.
+   */
+  private final int hash;
+
+  /**
+   * The key of this event, built from the compact fields on first use and then shared.
+   */
+  private EventKey key;
+
   /**
    * Private constructor for {@link Event}, invoked internally by {@link Builder}.
    *
@@ -30,17 +52,24 @@ public final class Event implements Comparable<Event> {
    */
   private Event(Builder builder) {
     this.subject = builder.subject;
-    this.start = builder.start;
-    this.end = builder.end;
+    this.startSecond = builder.start.toEpochSecond();
+    this.startNano = builder.start.getNano();
+    this.startOffset = builder.start.getOffset().getTotalSeconds();
+    this.startZone = ZoneTable.indexOf(builder.start.getZone());
+    this.endSecond = builder.end.toEpochSecond();
+    this.endNano = builder.end.getNano();
+    this.endOffset = builder.end.getOffset().getTotalSeconds();
+    this.endZone = ZoneTable.indexOf(builder.end.getZone());
     this.description = builder.description;
     this.location = builder.location;
     this.status = builder.status == null ? EventStatus.PRIVATE : builder.status;
     this.allDay = builder.allDay;
     this.seriesId = (builder.seriesId != null && !builder.seriesId.isBlank())
         ? builder.seriesId : null;
+    this.hash = EventKey.hashOf(subject, startSecond, startNano, startZone,
+        endSecond, endNano, endZone);
   }
 
-
   /**
    * Builder for constructing immutable {@link Event} instances.
    *
@@ -63,6 +92,7 @@ public final class Event implements Comparable<Event> {
     private EventStatus status;
     private boolean allDay;
     private String seriesId;
+    private StringPool pool;
 
     /**
      * Constructs a builder with the required fields.
@@ -146,6 +176,18 @@ public final class Event implements Comparable<Event> {
       return this;
     }
 
+    /**
+     * Shares the description, location and series ID with equal values already in
+     * the given pool.
+     *
+     * @param pool the calendar's string pool, or null to keep the values as given
+     * @return this builder instance
+     */
+    public Builder pool(StringPool pool) {
+      this.pool = pool;
+      return this;
+    }
+
     /**
      * Builds and returns an immutable {@link Event}.
      *
@@ -166,6 +208,7 @@ public final class Event implements Comparable<Event> {
           .status(this.status)
           .seriesId(this.seriesId)
           .allDay(this.allDay)
+          .pool(this.pool)
           .finalBuild();
     }
 
@@ -175,6 +218,11 @@ public final class Event implements Comparable<Event> {
      * @return the constructed Event
      */
     private Event finalBuild() {
+      if (pool != null) {
+        description = pool.intern(description);
+        location = pool.intern(location);
+        seriesId = pool.intern(seriesId);
+      }
       return new Event(this);
     }
   }
@@ -182,10 +230,21 @@ public final class Event implements Comparable<Event> {
   /**
    * Returns this event's identifying key.
    *
+   * <p>The key is built on the first call from the compact times and the cached hash,
+   * without creating any {@code ZonedDateTime}, and the same instance is returned
+   * afterwards. EventKey is immutable, so publishing it through a plain field is
+   * safe.</p>
+   *
    * @return a unique {@link EventKey} for this event
    */
   public EventKey getKey() {
-    return new EventKey(subject, start, end);
+    EventKey k = key;
+    if (k == null) {
+      k = new EventKey(subject, startSecond, startNano, startZone,
+          endSecond, endNano, endZone, hash);
+      key = k;
+    }
+    return k;
   }
 
 
@@ -204,7 +263,7 @@ public final class Event implements Comparable<Event> {
    * @return the event start date-time
    */
   public ZonedDateTime getStart() {
-    return start;
+    return toDateTime(startSecond, startNano, startZone);
   }
 
   /**
@@ -213,7 +272,7 @@ public final class Event implements Comparable<Event> {
    * @return the event end date-time
    */
   public ZonedDateTime getEnd() {
-    return end;
+    return toDateTime(endSecond, endNano, endZone);
   }
 
   /**
@@ -269,7 +328,9 @@ public final class Event implements Comparable<Event> {
    * @return true if event overlaps the given date
    */
   public boolean occursOn(LocalDate date) {
-    return !date.isBefore(start.toLocalDate()) && !date.isAfter(end.toLocalDate());
+    long day = date.toEpochDay();
+    return day >= localEpochDay(startSecond, startOffset)
+        && day <= localEpochDay(endSecond, endOffset);
   }
 
   /**
@@ -280,7 +341,8 @@ public final class Event implements Comparable<Event> {
    * @return true if this event overlaps with the range
    */
   public boolean overlaps(ZonedDateTime startRange, ZonedDateTime endRange) {
-    return !(end.isBefore(startRange) || start.isAfter(endRange));
+    return compareInstant(endSecond, endNano, startRange) >= 0
+        && compareInstant(startSecond, startNano, endRange) <= 0;
   }
 
   /**
@@ -291,46 +353,64 @@ public final class Event implements Comparable<Event> {
    * @return a modified copy of the event
    */
   public Event copyWith(String property, Object newValue) {
-    Builder builder = new Builder(subject, start, end)
-        .description(description)
-        .location(location)
-        .status(status)
-        .seriesId(seriesId)
-        .allDay(allDay);
-
-    switch (property.toLowerCase()) {
-      case "subject":
-        builder = new Builder((String) newValue, start, end)
-            .description(description).location(location)
-            .status(status).seriesId(seriesId).allDay(allDay);
-        break;
-      case "start":
-        builder = new Builder(subject, (ZonedDateTime) newValue, end)
-            .description(description).location(location)
-            .status(status).seriesId(seriesId).allDay(allDay);
-        break;
-      case "end":
-        builder = new Builder(subject, start, (ZonedDateTime) newValue)
-            .description(description).location(location)
-            .status(status).seriesId(seriesId).allDay(allDay);
-        break;
-      case "description":
-        builder.description((String) newValue);
-        break;
-      case "location":
-        builder.location((String) newValue);
-        break;
-      case "status":
-        builder.status(EventStatus.valueOf(((String) newValue).toUpperCase()));
-        break;
-      case "seriesid":
-        builder.seriesId((String) newValue);
-        break;
-      default:
-        throw new IllegalArgumentException("Unknown property: " + property);
+    return copyWith(Collections.singletonMap(property, newValue));
+  }
+
+  /**
+   * Creates a new event with several properties updated at once, preserving immutability.
+   *
+   * <p>All changes are applied to this event before the copy is validated, so for example
+   * start and end can both move past the current end in a single call.</p>
+   *
+   * @param changes new values keyed by property name (case-insensitive)
+   * @return a modified copy of the event
+   * @throws IllegalArgumentException if a property is unknown or the result is invalid
+   */
+  public Event copyWith(Map<String, Object> changes) {
+    String newSubject = subject;
+    ZonedDateTime newStart = getStart();
+    ZonedDateTime newEnd = getEnd();
+    String newDescription = description;
+    String newLocation = location;
+    EventStatus newStatus = status;
+    String newSeriesId = seriesId;
+
+    for (Map.Entry<String, Object> change : changes.entrySet()) {
+      Object newValue = change.getValue();
+      switch (change.getKey().toLowerCase()) {
+        case "subject":
+          newSubject = (String) newValue;
+          break;
+        case "start":
+          newStart = (ZonedDateTime) newValue;
+          break;
+        case "end":
+          newEnd = (ZonedDateTime) newValue;
+          break;
+        case "description":
+          newDescription = (String) newValue;
+          break;
+        case "location":
+          newLocation = (String) newValue;
+          break;
+        case "status":
+          newStatus = EventStatus.valueOf(((String) newValue).toUpperCase());
+          break;
+        case "seriesid":
+          newSeriesId = (String) newValue;
+          break;
+        default:
+          throw new IllegalArgumentException("Unknown property: " + change.getKey());
+      }
     }
 
-    return builder.finalBuild();
+    return new Builder(newSubject, newStart, newEnd)
+        .description(newDescription)
+        .location(newLocation)
+        .status(newStatus)
+        .seriesId(newSeriesId)
+        .allDay(allDay)
+        .finalBuild();
   }
 
   /**
@@ -341,11 +421,13 @@ public final class Event implements Comparable<Event> {
    */
   @Override
   public int compareTo(Event other) {
-    int cmp = this.start.compareTo(other.start);
+    int cmp = compareTime(startSecond, startNano, startZone,
+        other.startSecond, other.startNano, other.startZone);
     if (cmp != 0) {
       return cmp;
     }
-    cmp = this.end.compareTo(other.end);
+    cmp = compareTime(endSecond, endNano, endZone,
+        other.endSecond, other.endNano, other.endZone);
     if (cmp != 0) {
       return cmp;
     }
@@ -368,9 +450,14 @@ public final class Event implements Comparable<Event> {
       return false;
     }
     Event other = (Event) obj;
-    return subject.equalsIgnoreCase(other.subject)
-        && start.equals(other.start)
-        && end.equals(other.end);
+    return hash == other.hash
+        && startSecond == other.startSecond
+        && startNano == other.startNano
+        && startZone == other.startZone
+        && endSecond == other.endSecond
+        && endNano == other.endNano
+        && endZone == other.endZone
+        && EventKey.sameSubject(subject, other.subject);
   }
 
   /**
@@ -380,7 +467,7 @@ public final class Event implements Comparable<Event> {
    */
   @Override
   public int hashCode() {
-    return Objects.hash(subject.toLowerCase(), start, end);
+    return hash;
   }
 
   /**
@@ -391,7 +478,7 @@ public final class Event implements Comparable<Event> {
   @Override
   public String toString() {
     DateTimeFormatter fmt = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
-    return subject + " (" + start.format(fmt) + " - " + end.format(fmt) + ")";
+    return subject + " (" + getStart().format(fmt) + " - " + getEnd().format(fmt) + ")";
   }
 
   /**
@@ -401,9 +488,113 @@ public final class Event implements Comparable<Event> {
    * @return true if subject, start, and end match
    */
   public boolean matchesKey(EventKey key) {
-    return this.subject.equalsIgnoreCase(key.getSubject())
-        && this.start.equals(key.getStart())
-        && this.end.equals(key.getEnd());
+    return startSecond == key.startEpochSecond()
+        && startNano == key.startNano()
+        && startZone == key.startZone()
+        && endSecond == key.endEpochSecond()
+        && endNano == key.endNano()
+        && endZone == key.endZone()
+        && EventKey.sameSubject(subject, key.getSubject());
+  }
+
+  /**
+   * Returns this event with its strings shared through the given pool.
+   *
+   * @param pool the calendar's string pool
+   * @return this event if its strings are already pooled, otherwise an equal copy
+   */
+  Event withPooledStrings(StringPool pool) {
+    String pooledDescription = pool.intern(description);
+    String pooledLocation = pool.intern(location);
+    String pooledSeriesId = pool.intern(seriesId);
+    if (pooledDescription == description && pooledLocation == location
+        && pooledSeriesId == seriesId) {
+      return this;
+    }
+    return new Builder(subject, getStart(), getEnd())
+        .description(pooledDescription)
+        .location(pooledLocation)
+        .status(status)
+        .seriesId(pooledSeriesId)
+        .allDay(allDay)
+        .finalBuild();
+  }
+
+  /**
+   * Returns the start as epoch seconds, without building a {@code ZonedDateTime}.
+   */
+  long startEpochSecond() {
+    return startSecond;
+  }
+
+  /**
+   * Returns the end as epoch seconds, without building a {@code ZonedDateTime}.
+   */
+  long endEpochSecond() {
+    return endSecond;
+  }
+
+  /**
+   * Returns the nanosecond of the start's epoch second.
+   */
+  int startNano() {
+    return startNano;
+  }
+
+  /**
+   * Returns the nanosecond of the end's epoch second.
+   */
+  int endNano() {
+    return endNano;
+  }
+
+  /**
+   * Returns the local date of the start as an epoch day, matching {@link #occursOn}.
+   */
+  long startEpochDay() {
+    return localEpochDay(startSecond, startOffset);
+  }
+
+  /**
+   * Returns the local date of the end as an epoch day, matching {@link #occursOn}.
+   */
+  long endEpochDay() {
+    return localEpochDay(endSecond, endOffset);
+  }
+
+  /**
+   * Creates a placeholder event that sorts before every event starting at or after
+   * the given time.
+   *
+   * <p>Sorted storages use it as the lower bound of a {@code tailSet}/{@code ceiling}
+   * seek on start time; it is never stored.</p>
+   *
+   * @param time the earliest start time of interest
+   * @return a probe event starting one nanosecond before {@code time}
+   */
+  static Event probeBefore(ZonedDateTime time) {
+    return new Builder("probe", time.minusNanos(1), time).finalBuild();
+  }
+
+  /**
+   * Orders a key relative to this event the way {@link #compareTo(Event)} orders
+   * events, without building anything.
+   *
+   * @param key a key with an end time
+   * @return negative, zero or positive as the key sorts before, with or after this event
+   */
+  int compareKey(EventKey key) {
+    int cmp = compareTime(key.startEpochSecond(), key.startNano(), key.startZone(),
+        startSecond, startNano, startZone);
+    if (cmp != 0) {
+      return cmp;
+    }
+    cmp = compareTime(key.endEpochSecond(), key.endNano(), key.endZone(),
+        endSecond, endNano, endZone);
+    if (cmp != 0) {
+      return cmp;
+    }
+    return key.getSubject().compareToIgnoreCase(subject);
   }
 
   /**
@@ -433,7 +624,8 @@ public final class Event implements Comparable<Event> {
       case FROM_THIS_ONWARD:
         return this.seriesId != null
             && this.seriesId.equals(key.getSubject())
-            && !this.start.isBefore(key.getStart());
+            && compareInstant(startSecond, startNano, key.startEpochSecond(),
+                key.startNano()) >= 0;
       case ENTIRE_SERIES:
         return this.seriesId != null && this.seriesId.equals(key.getSubject());
       default:
@@ -441,4 +633,42 @@ public final class Event implements Comparable<Event> {
     }
   }
 
+  private static ZonedDateTime toDateTime(long second, int nano, short zone) {
+    return ZoneTable.toDateTime(second, nano, zone);
+  }
+
+  private static long localEpochDay(long second, int offset) {
+    return Math.floorDiv(second + offset, 86400L);
+  }
+
+  /**
+   * Compares a compact instant with a {@code ZonedDateTime} on the time-line.
+   */
+  private static int compareInstant(long second, int nano, ZonedDateTime other) {
+    return compareInstant(second, nano, other.toEpochSecond(), other.getNano());
+  }
+
+  /**
+   * Compares two compact instants on the time-line.
+   */
+  static int compareInstant(long s1, int n1, long s2, int n2) {
+    int cmp = Long.compare(s1, s2);
+    return cmp != 0 ? cmp : Integer.compare(n1, n2);
+  }
+
+  /**
+   * Orders two compact times like {@link ZonedDateTime#compareTo}: by instant, and only
+   * for equal instants in different zones by the full date-time comparison.
+   */
+  private static int compareTime(long s1, int n1, short z1, long s2, int n2, short z2) {
+    int cmp = Long.compare(s1, s2);
+    if (cmp != 0) {
+      return cmp;
+    }
+    cmp = Integer.compare(n1, n2);
+    if (cmp != 0 || z1 == z2) {
+      return cmp;
+    }
+    return toDateTime(s1, n1, z1).compareTo(toDateTime(s2, n2, z2));
+  }
 }
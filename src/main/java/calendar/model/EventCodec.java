@@ -0,0 +1,185 @@
+package calendar.model;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compact binary encoding of events and event keys for on-disk storages.
+ *
+ * <p>An event is written as a flags byte, its subject, start and end as epoch second,
+ * nanosecond and zone ID, followed by only those optional fields that are set. Strings
+ * are a length-prefixed UTF-8 byte sequence, a length of -1 standing for null. Times
+ * are stored as instants plus zone rather than as local times, so they decode to the
+ * exact same {@code ZonedDateTime} regardless of later time-zone rule changes.</p>
+ *
+ * <p>Encoding is stateless. A codec instance decodes; it caches parsed zones and shares
+ * repeated strings through a {@link StringPool}, as long logs repeat both a lot. It
+ * reads from array-backed buffers and is not thread-safe.</p>
+ */
+final class EventCodec {
+
+  private static final int ALL_DAY = 1;
+  private static final int DESCRIPTION = 1 << 1;
+  private static final int LOCATION = 1 << 2;
+  private static final int SERIES = 1 << 3;
+  private static final int PUBLIC = 1 << 4;
+  private static final int END_ZONE = 1 << 5;
+
+  private final StringPool pool;
+  private final Map<String, ZoneId> zones = new HashMap<>();
+
+  /**
+   * Creates a decoder sharing strings through the given pool.
+   *
+   * @param pool the pool for decoded strings
+   */
+  EventCodec(StringPool pool) {
+    this.pool = pool;
+  }
+
+  /**
+   * Writes an event.
+   *
+   * @param out the destination
+   * @param e   the event to write
+   * @throws IOException if writing fails
+   */
+  static void writeEvent(DataOutput out, Event e) throws IOException {
+    ZonedDateTime start = e.getStart();
+    ZonedDateTime end = e.getEnd();
+    boolean endZoneDiffers = !end.getZone().equals(start.getZone());
+    int flags = (e.isAllDay() ? ALL_DAY : 0)
+        | (e.getDescription() != null ? DESCRIPTION : 0)
+        | (e.getLocation() != null ? LOCATION : 0)
+        | (e.getSeriesId() != null ? SERIES : 0)
+        | (e.getStatus() == EventStatus.PUBLIC ? PUBLIC : 0)
+        | (endZoneDiffers ? END_ZONE : 0);
+    out.writeByte(flags);
+    writeString(out, e.getSubject());
+    writeTime(out, start, true);
+    writeTime(out, end, endZoneDiffers);
+    if (e.getDescription() != null) {
+      writeString(out, e.getDescription());
+    }
+    if (e.getLocation() != null) {
+      writeString(out, e.getLocation());
+    }
+    if (e.getSeriesId() != null) {
+      writeString(out, e.getSeriesId());
+    }
+  }
+
+  /**
+   * Writes an event key; its end time may be null.
+   *
+   * @param out the destination
+   * @param key the key to write
+   * @throws IOException if writing fails
+   */
+  static void writeKey(DataOutput out, EventKey key) throws IOException {
+    writeString(out, key.getSubject());
+    writeTime(out, key.getStart(), true);
+    out.writeBoolean(key.getEnd() != null);
+    if (key.getEnd() != null) {
+      writeTime(out, key.getEnd(), true);
+    }
+  }
+
+  /**
+   * Reads an event written by {@link #writeEvent(DataOutput, Event)}.
+   *
+   * @param in the source, positioned at the event
+   * @return the decoded event
+   * @throws BufferUnderflowException if the event is cut short
+   */
+  Event readEvent(ByteBuffer in) {
+    int flags = in.get() & 0xFF;
+    String subject = pool.intern(readString(in));
+    ZonedDateTime start = readTime(in, null);
+    ZonedDateTime end = readTime(in, (flags & END_ZONE) != 0 ? null : start.getZone());
+    Event.Builder builder = new Event.Builder(subject, start, end)
+        .allDay((flags & ALL_DAY) != 0)
+        .status((flags & PUBLIC) != 0 ? EventStatus.PUBLIC : EventStatus.PRIVATE)
+        .pool(pool);
+    if ((flags & DESCRIPTION) != 0) {
+      builder.description(readString(in));
+    }
+    if ((flags & LOCATION) != 0) {
+      builder.location(readString(in));
+    }
+    if ((flags & SERIES) != 0) {
+      builder.seriesId(readString(in));
+    }
+    return builder.build();
+  }
+
+  /**
+   * Reads an event key written by {@link #writeKey(DataOutput, EventKey)}.
+   *
+   * @param in the source, positioned at the key
+   * @return the decoded key
+   * @throws BufferUnderflowException if the key is cut short
+   */
+  EventKey readKey(ByteBuffer in) {
+    String subject = readString(in);
+    ZonedDateTime start = readTime(in, null);
+    ZonedDateTime end = in.get() != 0 ? readTime(in, null) : null;
+    return new EventKey(subject, start, end);
+  }
+
+  /**
+   * Writes a time as epoch second and nanosecond, followed by its zone ID if asked to.
+   */
+  private static void writeTime(DataOutput out, ZonedDateTime time, boolean withZone)
+      throws IOException {
+    out.writeLong(time.toEpochSecond());
+    out.writeInt(time.getNano());
+    if (withZone) {
+      writeString(out, time.getZone().getId());
+    }
+  }
+
+  /**
+   * Reads a time; its zone is read from the input unless one is given.
+   */
+  private ZonedDateTime readTime(ByteBuffer in, ZoneId zone) {
+    long second = in.getLong();
+    int nano = in.getInt();
+    if (zone == null) {
+      zone = zones.computeIfAbsent(readString(in), ZoneId::of);
+    }
+    return ZonedDateTime.ofInstant(Instant.ofEpochSecond(second, nano), zone);
+  }
+
+  private static void writeString(DataOutput out, String s) throws IOException {
+    if (s == null) {
+      out.writeInt(-1);
+      return;
+    }
+    byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  private static String readString(ByteBuffer in) {
+    int length = in.getInt();
+    if (length < 0) {
+      return null;
+    }
+    if (length > in.remaining()) {
+      throw new BufferUnderflowException();
+    }
+    String s = new String(in.array(), in.arrayOffset() + in.position(), length,
+        StandardCharsets.UTF_8);
+    in.position(in.position() + length);
+    return s;
+  }
+}
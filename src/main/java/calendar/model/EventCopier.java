@@ -64,14 +64,16 @@ public class EventCopier implements IeventCopier {
     List<Event> eventsOnDate = sourceCalendar.queryEventsOn(sourceDate);
     long dayOffset = ChronoUnit.DAYS.between(sourceDate, targetDate);
 
+    List<Event> copies = new ArrayList<>(eventsOnDate.size());
     for (Event event : eventsOnDate) {
       try {
-        copySingleEventWithOffset(event, targetCal, dayOffset);
+        copies.add(shiftedCopy(event, targetCal.getZone(), dayOffset, event.getSeriesId()));
       } catch (Exception e) {
         System.err.println("Warning: Failed to copy event '" + event.getSubject()
             + "': " + e.getMessage());
       }
     }
+    createAll(copies, targetCal);
   }
 
   @Override
@@ -86,9 +88,11 @@ public class EventCopier implements IeventCopier {
     long dayOffset = ChronoUnit.DAYS.between(startDate, targetStartDate);
     EventCollection eventCollection = categorizeEvents(eventsInRange, startDate, endDate);
 
-    copyStandaloneEvents(eventCollection.getStandaloneEvents(), targetCal, dayOffset);
+    List<Event> copies = new ArrayList<>(eventsInRange.size());
+    copyStandaloneEvents(eventCollection.getStandaloneEvents(), targetCal, dayOffset, copies);
     copyRecurringSeries(eventCollection.getSeriesMap(), targetCal, dayOffset,
-        startDate, endDate);
+        startDate, endDate, copies);
+    createAll(copies, targetCal);
   }
 
   /**
@@ -155,12 +159,7 @@ public class EventCopier implements IeventCopier {
    * @return the matching event, or null if not found
    */
   private Event findEventByNameAndStart(String subject, ZonedDateTime start) {
-    for (Event e : sourceCalendar.getAllEvents()) {
-      if (e.getSubject().equalsIgnoreCase(subject) && e.getStart().equals(start)) {
-        return e;
-      }
-    }
-    return null;
+    return sourceCalendar.findEvent(subject, start);
   }
 
   /**
@@ -193,29 +192,59 @@ public class EventCopier implements IeventCopier {
   }
 
   /**
-   * Copies a single event with day offset and timezone conversion.
+   * Creates a copy of an event shifted by whole days and converted to the target zone.
    *
    * @param event     the event to copy
-   * @param targetCal the target calendar
+   * @param zone      the timezone of the target calendar
    * @param dayOffset the number of days to offset
+   * @param seriesId  the series ID of the copy, or null for a standalone copy
+   * @return the copied event
    */
-  private void copySingleEventWithOffset(Event event, Icalendar targetCal, long dayOffset) {
+  private Event shiftedCopy(Event event, ZoneId zone, long dayOffset, String seriesId) {
     ZonedDateTime newStart = event.getStart()
         .plusDays(dayOffset)
-        .withZoneSameInstant(targetCal.getZone());
+        .withZoneSameInstant(zone);
 
     Duration duration = Duration.between(event.getStart(), event.getEnd());
     ZonedDateTime newEnd = newStart.plus(duration);
 
-    Event newEvent = new Event.Builder(event.getSubject(), newStart, newEnd)
+    return new Event.Builder(event.getSubject(), newStart, newEnd)
         .description(event.getDescription())
         .location(event.getLocation())
         .status(event.getStatus())
         .allDay(event.isAllDay())
-        .seriesId(event.getSeriesId())
+        .seriesId(seriesId)
         .build();
+  }
 
-    targetCal.createEvent(newEvent);
+  /**
+   * Creates the copies in the target calendar with one bulk insert.
+   *
+   * <p>If the bulk insert is rejected because some copies clash with existing events,
+   * the copies are created one by one instead so that the others still go through, and
+   * a warning is printed for each one that fails.</p>
+   *
+   * @param copies    the copied events
+   * @param targetCal the target calendar
+   */
+  private void createAll(List<Event> copies, Icalendar targetCal) {
+    if (copies.isEmpty()) {
+      return;
+    }
+    try {
+      targetCal.createEvents(copies);
+      return;
+    } catch (RuntimeException e) {
+      // Fall through to per-event creation to copy everything that does not clash.
+    }
+    for (Event copy : copies) {
+      try {
+        targetCal.createEvent(copy);
+      } catch (Exception e) {
+        System.err.println("Warning: Failed to copy event '" + copy.getSubject()
+            + "': " + e.getMessage());
+      }
+    }
   }
 
   /**
@@ -251,32 +280,20 @@ public class EventCopier implements IeventCopier {
   }
 
   /**
-   * Copies all standalone events to the target calendar.
+   * Copies all standalone events for the target calendar.
    *
    * @param standaloneEvents the list of standalone events to copy
    * @param targetCal        the target calendar
    * @param dayOffset        the number of days to offset
+   * @param copies           receives the copied events
    */
   private void copyStandaloneEvents(List<Event> standaloneEvents,
                                     Icalendar targetCal,
-                                    long dayOffset) {
+                                    long dayOffset,
+                                    List<Event> copies) {
     for (Event event : standaloneEvents) {
       try {
-        ZonedDateTime newStart = event.getStart()
-            .plusDays(dayOffset)
-            .withZoneSameInstant(targetCal.getZone());
-
-        Duration duration = Duration.between(event.getStart(), event.getEnd());
-        ZonedDateTime newEnd = newStart.plus(duration);
-
-        Event newEvent = new Event.Builder(event.getSubject(), newStart, newEnd)
-            .description(event.getDescription())
-            .location(event.getLocation())
-            .status(event.getStatus())
-            .allDay(event.isAllDay())
-            .build();
-
-        targetCal.createEvent(newEvent);
+        copies.add(shiftedCopy(event, targetCal.getZone(), dayOffset, null));
       } catch (Exception e) {
         System.err.println("Warning: Failed to copy event '" + event.getSubject()
             + "': " + e.getMessage());
@@ -295,12 +312,14 @@ public class EventCopier implements IeventCopier {
    * @param dayOffset  the number of days to offset
    * @param rangeStart the start date of the copy range
    * @param rangeEnd   the end date of the copy range
+   * @param copies     receives the copied events
    */
   private void copyRecurringSeries(Map<String, List<Event>> seriesMap,
                                    Icalendar targetCal,
                                    long dayOffset,
                                    LocalDate rangeStart,
-                                   LocalDate rangeEnd) {
+                                   LocalDate rangeEnd,
+                                   List<Event> copies) {
     for (Map.Entry<String, List<Event>> entry : seriesMap.entrySet()) {
       List<Event> seriesEvents = entry.getValue();
 
@@ -313,22 +332,7 @@ public class EventCopier implements IeventCopier {
 
       for (Event event : seriesEvents) {
         try {
-          ZonedDateTime newStart = event.getStart()
-              .plusDays(dayOffset)
-              .withZoneSameInstant(targetCal.getZone());
-
-          Duration duration = Duration.between(event.getStart(), event.getEnd());
-          ZonedDateTime newEnd = newStart.plus(duration);
-
-          Event newEvent = new Event.Builder(event.getSubject(), newStart, newEnd)
-              .description(event.getDescription())
-              .location(event.getLocation())
-              .status(event.getStatus())
-              .allDay(event.isAllDay())
-              .seriesId(newSeriesId)
-              .build();
-
-          targetCal.createEvent(newEvent);
+          copies.add(shiftedCopy(event, targetCal.getZone(), dayOffset, newSeriesId));
         } catch (Exception e) {
           System.err.println("Warning: Failed to copy event '" + event.getSubject()
               + "' from series: " + e.getMessage());
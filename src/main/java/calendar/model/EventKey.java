@@ -1,39 +1,77 @@
 package calendar.model;
 
 import java.time.ZonedDateTime;
-import java.util.Objects;
+import java.util.Locale;
 
 /**
  * Represents an immutable unique key for identifying a calendar event.
  *
  * <p>Each key is defined by its subject, start time, and end time.
  * Ensures that no two events with identical subject and times coexist in the calendar.</p>
+ *
+ * <p>Like {@link Event}, the times are kept as epoch seconds, nanoseconds and a
+ * {@link ZoneTable} index, and {@link #getStart()}/{@link #getEnd()} rebuild the
+ * {@code ZonedDateTime} on demand. Only the hash is cached; the subject is folded to
+ * lower case when the hash is computed and when two keys with equal hashes are
+ * compared.</p>
  */
 public final class EventKey {
 
+  /**
+   * Zone index marking a key without an end time.
+   */
+  static final short NO_END = -1;
+
   private final String subject;
-  private final ZonedDateTime start;
-  private final ZonedDateTime end;
+  private final long startSecond;
+  private final long endSecond;
+  private final int startNano;
+  private final int endNano;
+  private final short startZone;
+  private final short endZone;
+
+  /**
+   * Hash code computed once at construction.
+   */
+  private final int hash;
 
   /**
    * Constructs an {@code EventKey} with subject, start, and end times.
    *
    * @param subject the event title (non-null and non-blank)
    * @param start   the event start time (non-null)
-   * @param end     the event end time (non-null)
+   * @param end     the event end time, or null to leave it open
    * @throws IllegalArgumentException if any parameter is invalid
    */
   public EventKey(String subject, ZonedDateTime start, ZonedDateTime end) {
-    if (subject == null || subject.isBlank()) {
-      throw new IllegalArgumentException("EventKey subject cannot be null or blank");
-    }
-    if (start == null) {
-      throw new IllegalArgumentException("EventKey start time cannot be null");
-    }
+    this(checkedSubject(subject), checkedStart(start).toEpochSecond(), start.getNano(),
+        ZoneTable.indexOf(start.getZone()), end == null ? 0 : end.toEpochSecond(),
+        end == null ? 0 : end.getNano(), end == null ? NO_END : ZoneTable.indexOf(end.getZone()));
+  }
+
+  /**
+   * Constructs a key from compact times, computing its hash.
+   */
+  EventKey(String subject, long startSecond, int startNano, short startZone,
+           long endSecond, int endNano, short endZone) {
+    this(subject, startSecond, startNano, startZone, endSecond, endNano, endZone,
+        hashOf(subject, startSecond, startNano, startZone, endSecond, endNano, endZone));
+  }
 
+  /**
+   * Constructs a key from compact times and a hash already computed by
+   * {@link #hashOf}.
+   */
+  EventKey(String subject, long startSecond, int startNano, short startZone,
+           long endSecond, int endNano, short endZone, int hash) {
     this.subject = subject;
-    this.start = start;
-    this.end = end;
+    this.startSecond = startSecond;
+    this.startNano = startNano;
+    this.startZone = startZone;
+    this.endSecond = endSecond;
+    this.endNano = endNano;
+    this.endZone = endZone;
+    this.hash = hash;
   }
 
   /**
@@ -47,14 +85,42 @@ public final class EventKey {
    * Returns the start time of the event.
    */
   public ZonedDateTime getStart() {
-    return start;
+    return ZoneTable.toDateTime(startSecond, startNano, startZone);
   }
 
   /**
-   * Returns the end time of the event.
+   * Returns the end time of the event, or null if the key leaves it open.
    */
   public ZonedDateTime getEnd() {
-    return end;
+    return hasEnd() ? ZoneTable.toDateTime(endSecond, endNano, endZone) : null;
+  }
+
+  long startEpochSecond() {
+    return startSecond;
+  }
+
+  int startNano() {
+    return startNano;
+  }
+
+  short startZone() {
+    return startZone;
+  }
+
+  long endEpochSecond() {
+    return endSecond;
+  }
+
+  int endNano() {
+    return endNano;
+  }
+
+  short endZone() {
+    return endZone;
+  }
+
+  boolean hasEnd() {
+    return endZone != NO_END;
   }
 
   /**
@@ -72,9 +138,14 @@ public final class EventKey {
       return false;
     }
     EventKey other = (EventKey) obj;
-    return subject.equalsIgnoreCase(other.subject)
-        && start.equals(other.start)
-        && end.equals(other.end);
+    return hash == other.hash
+        && startSecond == other.startSecond
+        && startNano == other.startNano
+        && startZone == other.startZone
+        && endSecond == other.endSecond
+        && endNano == other.endNano
+        && endZone == other.endZone
+        && sameSubject(subject, other.subject);
   }
 
   /**
@@ -84,7 +155,7 @@ public final class EventKey {
    */
   @Override
   public int hashCode() {
-    return Objects.hash(subject.toLowerCase(), start, end);
+    return hash;
   }
 
   /**
@@ -94,6 +165,48 @@ public final class EventKey {
    */
   @Override
   public String toString() {
-    return String.format("EventKey[%s, %s → %s]", subject, start, end);
+    return String.format("EventKey[%s, %s → %s]", subject, getStart(), getEnd());
+  }
+
+  /**
+   * Hashes a subject case-insensitively, consistent with {@link #sameSubject}.
+   */
+  static int subjectHash(String subject) {
+    return subject.toLowerCase(Locale.ROOT).hashCode();
+  }
+
+  /**
+   * Compares two subjects case-insensitively, the way keys and events do.
+   */
+  static boolean sameSubject(String a, String b) {
+    return a.equals(b) || a.toLowerCase(Locale.ROOT).equals(b.toLowerCase(Locale.ROOT));
+  }
+
+  /**
+   * Computes the hash shared by a key and the event it identifies.
+   */
+  static int hashOf(String subject, long startSecond, int startNano, short startZone,
+                    long endSecond, int endNano, short endZone) {
+    int h = subjectHash(subject);
+    h = 31 * h + Long.hashCode(startSecond);
+    h = 31 * h + startNano;
+    h = 31 * h + startZone;
+    h = 31 * h + Long.hashCode(endSecond);
+    h = 31 * h + endNano;
+    return 31 * h + endZone;
+  }
+
+  private static String checkedSubject(String subject) {
+    if (subject == null || subject.isBlank()) {
+      throw new IllegalArgumentException("EventKey subject cannot be null or blank");
+    }
+    return subject;
+  }
+
+  private static ZonedDateTime checkedStart(ZonedDateTime start) {
+    if (start == null) {
+      throw new IllegalArgumentException("EventKey start time cannot be null");
+    }
+    return start;
   }
 }
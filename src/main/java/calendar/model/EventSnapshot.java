@@ -0,0 +1,54 @@
+package calendar.model;
+
+import java.util.AbstractList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An immutable, sorted view of a calendar's events at one point in time.
+ *
+ * <p>A snapshot never changes after it is taken: later edits to the calendar publish a
+ * new snapshot instead of modifying this one, so readers and exporters can iterate it
+ * at leisure without locking and without copying the events into a new list. Every
+ * mutating {@link List} method throws {@link UnsupportedOperationException}.</p>
+ *
+ * <p>Storages that keep their events in a persistent tree (see
+ * {@link SnapshotEventStorage}) return the tree itself; other storages fall back to
+ * {@link #of(List)}.</p>
+ */
+public abstract class EventSnapshot extends AbstractList<Event> {
+
+  /**
+   * Returns the version of the storage this snapshot was taken from. Versions grow with
+   * every published change, so equal versions of one storage mean equal contents.
+   *
+   * @return the snapshot's version number
+   */
+  public abstract long getVersion();
+
+  /**
+   * Wraps a list of events, which must not be modified afterwards, as a snapshot.
+   *
+   * @param events the events in sorted order
+   * @return an unmodifiable snapshot of version 0 backed by the list
+   */
+  public static EventSnapshot of(List<Event> events) {
+    List<Event> view = Collections.unmodifiableList(events);
+    return new EventSnapshot() {
+      @Override
+      public long getVersion() {
+        return 0;
+      }
+
+      @Override
+      public Event get(int index) {
+        return view.get(index);
+      }
+
+      @Override
+      public int size() {
+        return view.size();
+      }
+    };
+  }
+}
@@ -0,0 +1,190 @@
+package calendar.model;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Sweep-line iterator over the free gaps of a calendar.
+ *
+ * <p>Walks start-ordered events once, carrying the latest end time seen so far. Every
+ * time the next event starts after that point the space in between is a free gap. Gaps
+ * are clipped to the working hours of each day they span and only pieces at least as
+ * long as the requested duration are returned. Slots are produced on demand, so a caller
+ * that stops after the first one does no further work.</p>
+ *
+ * <p>An event occupies {@code [start, end]}; a gap may begin at an event's end and finish
+ * at the next event's start.</p>
+ *
+ * <p>This class is package-private as it's an implementation detail of
+ * {@link Icalendar#findFreeSlots}.</p>
+ */
+class FreeSlotFinder implements Iterator<TimeSlot> {
+
+  private final List<Event> events;
+  private final ZonedDateTime to;
+  private final long toSecond;
+  private final int toNano;
+  private final Duration minLength;
+  private final WorkingHours hours;
+  private final ZoneId zone;
+
+  /**
+   * Index of the next event the sweep has not consumed.
+   */
+  private int nextEvent;
+
+  /**
+   * Latest time covered by the sweep so far, as epoch second and nanosecond; the next
+   * gap cannot start before it.
+   */
+  private long cursorSecond;
+  private int cursorNano;
+
+  /**
+   * Free gap currently being clipped into working-hour pieces, or null.
+   */
+  private TimeSlot gap;
+
+  /**
+   * Next day of {@link #gap} to clip.
+   */
+  private LocalDate day;
+
+  /**
+   * Slot to return from {@link #next()}, or null when it still has to be computed.
+   */
+  private TimeSlot pending;
+
+  /**
+   * Creates a finder over the given events.
+   *
+   * @param events    the events overlapping the range, sorted by start time
+   * @param from      the start of the search range
+   * @param to        the end of the search range
+   * @param minLength the minimum length of a returned slot
+   * @param hours     the daily working window, or null for no restriction
+   */
+  FreeSlotFinder(List<Event> events, ZonedDateTime from, ZonedDateTime to,
+                 Duration minLength, WorkingHours hours) {
+    this.events = events;
+    this.to = to;
+    this.toSecond = to.toEpochSecond();
+    this.toNano = to.getNano();
+    this.minLength = minLength;
+    this.hours = hours;
+    this.zone = from.getZone();
+    this.cursorSecond = from.toEpochSecond();
+    this.cursorNano = from.getNano();
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (pending == null) {
+      pending = advance();
+    }
+    return pending != null;
+  }
+
+  @Override
+  public TimeSlot next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException("No more free slots.");
+    }
+    TimeSlot slot = pending;
+    pending = null;
+    return slot;
+  }
+
+  /**
+   * Computes the next slot that satisfies the length and working-hour constraints.
+   */
+  private TimeSlot advance() {
+    while (true) {
+      if (gap == null) {
+        gap = nextGap();
+        if (gap == null) {
+          return null;
+        }
+        if (hours == null) {
+          TimeSlot whole = gap;
+          gap = null;
+          if (!whole.getDuration().minus(minLength).isNegative()) {
+            return whole;
+          }
+          continue;
+        }
+        day = gap.getStart().withZoneSameInstant(zone).toLocalDate();
+      }
+
+      LocalDate lastDay = gap.getEnd().withZoneSameInstant(zone).toLocalDate();
+      while (!day.isAfter(lastDay)) {
+        ZonedDateTime start = later(gap.getStart(), hours.startOn(day, zone));
+        ZonedDateTime end = earlier(gap.getEnd(), hours.endOn(day, zone));
+        day = day.plusDays(1);
+        if (!Duration.between(start, end).minus(minLength).isNegative()) {
+          return new TimeSlot(start, end);
+        }
+      }
+      gap = null;
+    }
+  }
+
+  /**
+   * Advances the sweep to the next non-empty gap between events, or null at the end.
+   *
+   * <p>The sweep compares the events' compact times; date-times are only created for
+   * the gaps it returns.</p>
+   */
+  private TimeSlot nextGap() {
+    while (nextEvent < events.size()) {
+      Event e = events.get(nextEvent++);
+      TimeSlot found = null;
+      if (Event.compareInstant(e.startEpochSecond(), e.startNano(),
+          cursorSecond, cursorNano) > 0 && compareToEnd(cursorSecond, cursorNano) < 0) {
+        ZonedDateTime gapEnd = compareToEnd(e.startEpochSecond(), e.startNano()) < 0
+            ? e.getStart().withZoneSameInstant(zone) : to;
+        found = new TimeSlot(cursorTime(), gapEnd);
+      }
+      if (Event.compareInstant(e.endEpochSecond(), e.endNano(),
+          cursorSecond, cursorNano) > 0) {
+        cursorSecond = e.endEpochSecond();
+        cursorNano = e.endNano();
+      }
+      if (found != null) {
+        return found;
+      }
+    }
+    if (compareToEnd(cursorSecond, cursorNano) < 0) {
+      TimeSlot tail = new TimeSlot(cursorTime(), to);
+      cursorSecond = toSecond;
+      cursorNano = toNano;
+      return tail;
+    }
+    return null;
+  }
+
+  /**
+   * Compares an instant with the end of the search range.
+   */
+  private int compareToEnd(long second, int nano) {
+    return Event.compareInstant(second, nano, toSecond, toNano);
+  }
+
+  private ZonedDateTime cursorTime() {
+    return ZonedDateTime.ofInstant(Instant.ofEpochSecond(cursorSecond, cursorNano), zone);
+  }
+
+  private static ZonedDateTime later(ZonedDateTime a, ZonedDateTime b) {
+    return b.isAfter(a) ? b : a;
+  }
+
+  private static ZonedDateTime earlier(ZonedDateTime a, ZonedDateTime b) {
+    return b.isBefore(a) ? b : a;
+  }
+}
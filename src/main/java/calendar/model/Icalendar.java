@@ -1,10 +1,23 @@
 package calendar.model;
 
 import java.nio.file.Path;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 
 /**
@@ -27,6 +40,30 @@ public interface Icalendar {
    */
   void createEvent(Event e);
 
+  /**
+   * Creates a group of events all-or-nothing.
+   *
+   * <p>The default implementation checks every event with
+   * {@link #findEvent(String, ZonedDateTime, ZonedDateTime)} and against the rest of the
+   * group before creating them one by one; implementations backed by an
+   * {@link IeventStorage} hand the group to {@link IeventStorage#addAll} instead.</p>
+   *
+   * @param events the events to create
+   * @throws IllegalArgumentException if any event duplicates an existing event or another
+   *                                  event of the group; nothing is created then
+   */
+  default void createEvents(Collection<Event> events) {
+    Set<Event> seen = new HashSet<>();
+    for (Event e : events) {
+      if (!seen.add(e) || findEvent(e.getSubject(), e.getStart(), e.getEnd()) != null) {
+        throw new IllegalArgumentException("Duplicate or conflicting event: " + e.getSubject());
+      }
+    }
+    for (Event e : events) {
+      createEvent(e);
+    }
+  }
+
   /**
    * Creates a recurring series of events based on the given rule.
    *
@@ -35,6 +72,23 @@ public interface Icalendar {
    */
   void createSeries(Event e, RecurrenceRule rule);
 
+  /**
+   * Runs a group of changes as one transaction: either all of them take effect or, if
+   * the work throws, none of them do.
+   *
+   * <p>The work receives a calendar to make its changes through; it sees its own
+   * changes, and must not keep the calendar beyond the call. The default
+   * implementation passes this calendar itself and cannot roll back;
+   * {@link CalendarModel} logs each change so it can undo them, and applies the whole
+   * group to its storage in one batch.</p>
+   *
+   * @param work the changes to make
+   * @throws RuntimeException whatever the work threw, after the changes are undone
+   */
+  default void transaction(Consumer<Icalendar> work) {
+    work.accept(this);
+  }
+
   /**
    * Edits a single event identified by its unique key.
    *
@@ -54,6 +108,91 @@ public interface Icalendar {
    */
   void editSeries(EventKey key, String property, Object newValue, EditMode mode);
 
+  /**
+   * Edits several properties of a single event in one operation.
+   *
+   * <p>The default implementation applies the changes one by one through
+   * {@link #editEvent(EventKey, String, Object)}, following the event as its subject or
+   * times change. {@link CalendarModel} looks the event up once and replaces it in a
+   * single step instead.</p>
+   *
+   * @param key     identifies the event (subject, start, end)
+   * @param changes new values keyed by property name, applied in iteration order
+   */
+  default void editEvent(EventKey key, Map<String, Object> changes) {
+    EventKey current = key;
+    for (Map.Entry<String, Object> change : changes.entrySet()) {
+      editEvent(current, change.getKey(), change.getValue());
+      current = rekey(current, change.getKey(), change.getValue());
+    }
+  }
+
+  /**
+   * Edits several properties of an event series in one operation.
+   *
+   * <p>The default implementation applies the changes one by one through
+   * {@link #editSeries(EventKey, String, Object, EditMode)}.</p>
+   *
+   * @param key     identifies the event in the series
+   * @param changes new values keyed by property name, applied in iteration order
+   * @param mode    specifies which subset of events to edit (single, onward, entire)
+   */
+  default void editSeries(EventKey key, Map<String, Object> changes, EditMode mode) {
+    EventKey current = key;
+    for (Map.Entry<String, Object> change : changes.entrySet()) {
+      editSeries(current, change.getKey(), change.getValue(), mode);
+      current = rekey(current, change.getKey(), change.getValue());
+    }
+  }
+
+  /**
+   * Returns the key that identifies an event after one of its properties was edited.
+   */
+  private static EventKey rekey(EventKey key, String property, Object newValue) {
+    switch (property.toLowerCase()) {
+      case "subject":
+        return new EventKey((String) newValue, key.getStart(), key.getEnd());
+      case "start":
+        return new EventKey(key.getSubject(), (ZonedDateTime) newValue, key.getEnd());
+      case "end":
+        return new EventKey(key.getSubject(), key.getStart(), (ZonedDateTime) newValue);
+      default:
+        return key;
+    }
+  }
+
+  /**
+   * Finds the event with the given subject (case-insensitive) starting at the given time.
+   *
+   * @param subject the event subject
+   * @param start   the event start time, compared as an instant
+   * @return the first matching event, or {@code null} if none exists
+   */
+  default Event findEvent(String subject, ZonedDateTime start) {
+    return findEvent(subject, start, null);
+  }
+
+  /**
+   * Finds the event with the given subject (case-insensitive), start and end time.
+   *
+   * <p>The default implementation scans {@link #getAllEvents()}; implementations backed
+   * by an {@link IeventStorage} look the start time up in the storage instead.</p>
+   *
+   * @param subject the event subject
+   * @param start   the event start time, compared as an instant
+   * @param end     the event end time, or {@code null} to accept any end time
+   * @return the first matching event, or {@code null} if none exists
+   */
+  default Event findEvent(String subject, ZonedDateTime start, ZonedDateTime end) {
+    for (Event e : getAllEvents()) {
+      if (e.getSubject().equalsIgnoreCase(subject) && e.getStart().isEqual(start)
+          && (end == null || e.getEnd().isEqual(end))) {
+        return e;
+      }
+    }
+    return null;
+  }
+
   /**
    * Retrieves all events scheduled on a given date.
    *
@@ -79,6 +218,75 @@ public interface Icalendar {
    */
   boolean isBusy(ZonedDateTime timestamp);
 
+  /**
+   * Checks many timestamps for availability in one call.
+   *
+   * <p>Bit {@code i} of the result is set when {@code timestamps.get(i)} is busy, using
+   * the same rule as {@link #isBusy(ZonedDateTime)}. The default implementation calls
+   * {@code isBusy} once per timestamp; implementations may sort the timestamps and
+   * sweep the events once instead.</p>
+   *
+   * @param timestamps the date-times to check, in any order
+   * @return a bitmap of busy timestamps indexed like the input list
+   */
+  default BitSet isBusyAt(List<ZonedDateTime> timestamps) {
+    BitSet busy = new BitSet(timestamps.size());
+    for (int i = 0; i < timestamps.size(); i++) {
+      if (isBusy(timestamps.get(i))) {
+        busy.set(i);
+      }
+    }
+    return busy;
+  }
+
+  /**
+   * Finds the free gaps of at least {@code minLength} between two date-times.
+   *
+   * <p>The events from {@link #queryEventsBetween(ZonedDateTime, ZonedDateTime)} are
+   * swept once in start order. Gaps are clipped to {@code hours} on every day they span,
+   * interpreted in the zone of {@code start}. Slots are computed lazily, so taking only
+   * the first one (e.g. with {@code findFirst()}) stops the sweep there.</p>
+   *
+   * @param start     the start of the search range
+   * @param end       the end of the search range
+   * @param minLength the minimum length of a slot (positive)
+   * @param hours     the daily working window, or null to search around the clock
+   * @return a stream of free slots in time order
+   * @throws IllegalArgumentException if the range or length is invalid
+   */
+  default Stream<TimeSlot> findFreeSlots(ZonedDateTime start, ZonedDateTime end,
+                                         Duration minLength, WorkingHours hours) {
+    if (start == null || end == null || minLength == null) {
+      throw new IllegalArgumentException("Start, end and duration cannot be null.");
+    }
+    if (end.isBefore(start)) {
+      throw new IllegalArgumentException("End time must not be before start time.");
+    }
+    if (minLength.isZero() || minLength.isNegative()) {
+      throw new IllegalArgumentException("Slot duration must be positive.");
+    }
+
+    List<Event> events = new ArrayList<>(queryEventsBetween(start, end));
+    Collections.sort(events);
+    FreeSlotFinder finder = new FreeSlotFinder(events, start, end, minLength, hours);
+    return StreamSupport.stream(Spliterators.spliteratorUnknownSize(finder,
+        Spliterator.ORDERED | Spliterator.NONNULL), false);
+  }
+
+  /**
+   * Returns an immutable, sorted view of the calendar's events at this moment.
+   *
+   * <p>Unlike {@link #getAllEvents()}, the result is never modified by later edits, so
+   * readers and exporters can iterate it without holding a lock. The default
+   * implementation copies {@link #getAllEvents()}; {@link CalendarModel} asks its
+   * storage, which may hand out a shared version without copying.</p>
+   *
+   * @return a snapshot of the calendar's events
+   */
+  default EventSnapshot snapshot() {
+    return EventSnapshot.of(new ArrayList<>(getAllEvents()));
+  }
+
   /**
    * Retrieves an immutable list of all events currently stored in this calendar.
    *
@@ -1,7 +1,16 @@
 package calendar.model;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Represents the manager responsible for handling multiple calendar instances.
@@ -74,4 +83,98 @@ public interface IcalendarManager {
    * @return list of calendar names
    */
   List<String> listCalendars();
+
+  /**
+   * Builds one busy timeline across several calendars.
+   *
+   * <p>The events of every named calendar overlapping {@code [start, end]} are merged
+   * by instant, whatever each calendar's zone, and overlapping or touching events are
+   * coalesced. The default implementation queries the calendars one after another on
+   * the calling thread; implementations may query them in parallel.</p>
+   *
+   * @param names the calendars to combine; duplicates are ignored
+   * @param start the start of the range
+   * @param end   the end of the range
+   * @return the busy slots in time order, clipped to {@code [start, end]} and expressed
+   *         in the zone of {@code start}
+   * @throws IllegalArgumentException if the range is invalid or a calendar does not exist
+   */
+  default List<TimeSlot> freeBusy(List<String> names, ZonedDateTime start,
+                                  ZonedDateTime end) {
+    List<Icalendar> targets = BusyMerger.resolve(this, names, start, end);
+    List<List<Event>> perCalendar = new ArrayList<>(targets.size());
+    for (Icalendar cal : targets) {
+      List<Event> events = new ArrayList<>(cal.queryEventsBetween(start, end));
+      Collections.sort(events);
+      perCalendar.add(events);
+    }
+    return BusyMerger.merge(perCalendar, start, end);
+  }
+
+  /**
+   * Saves calendars to a binary {@link CalendarFile}, replacing the file if it exists.
+   *
+   * @param names the calendars to save, in order
+   * @param file  the file to write
+   * @throws IllegalArgumentException if a calendar does not exist
+   * @throws RuntimeException         if the file cannot be written
+   */
+  default void saveCalendars(List<String> names, Path file) {
+    Map<String, Icalendar> selected = new LinkedHashMap<>();
+    for (String name : names) {
+      Icalendar cal = getCalendar(name);
+      if (cal == null) {
+        throw new IllegalArgumentException("Calendar not found: " + name);
+      }
+      selected.put(name, cal);
+    }
+    try {
+      CalendarFile.write(file, selected);
+    } catch (IOException ex) {
+      throw new RuntimeException("Calendar save failed: " + ex.getMessage(), ex);
+    }
+  }
+
+  /**
+   * Creates the calendars stored in a binary {@link CalendarFile}, with their events.
+   *
+   * <p>The names in the file are checked against each other and against the existing
+   * calendars before anything is created, and each calendar's events are added as one
+   * group through {@link Icalendar#createEvents}. The default implementation cannot
+   * remove calendars, so if a later calendar's events are rejected the calendars
+   * created before it stay loaded; implementations able to remove calendars should
+   * undo them instead.</p>
+   *
+   * @param file the file to read
+   * @return the names of the loaded calendars, in file order
+   * @throws IllegalArgumentException if a calendar already exists, the file names a
+   *                                  calendar twice, a calendar's events are rejected,
+   *                                  or the file is not a valid calendar file
+   * @throws RuntimeException         if the file cannot be read
+   */
+  default List<String> loadCalendars(Path file) {
+    List<CalendarFile.Entry> entries;
+    try {
+      entries = CalendarFile.read(file);
+    } catch (IOException ex) {
+      throw new RuntimeException("Calendar load failed: " + ex.getMessage(), ex);
+    }
+    List<String> existing = listCalendars();
+    Set<String> names = new HashSet<>();
+    for (CalendarFile.Entry entry : entries) {
+      if (existing.contains(entry.getName())) {
+        throw new IllegalArgumentException("Calendar already exists: " + entry.getName());
+      }
+      if (!names.add(entry.getName())) {
+        throw new IllegalArgumentException("Calendar stored twice: " + entry.getName());
+      }
+    }
+    List<String> loaded = new ArrayList<>(entries.size());
+    for (CalendarFile.Entry entry : entries) {
+      createCalendar(entry.getName(), entry.getZone());
+      getCalendar(entry.getName()).createEvents(entry.getEvents());
+      loaded.add(entry.getName());
+    }
+    return loaded;
+  }
 }
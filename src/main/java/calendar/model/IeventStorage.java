@@ -2,6 +2,9 @@ package calendar.model;
 
 import java.time.LocalDate;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -20,6 +23,69 @@ public interface IeventStorage {
    */
   boolean addEvent(Event e);
 
+  /**
+   * Adds a group of events all-or-nothing: if any of them duplicates a stored event or
+   * another event of the group, nothing is added.
+   *
+   * <p>The default implementation sorts the group once, checks it for duplicates with
+   * {@link #findByKey(EventKey)} and then adds the events one by one, removing the ones
+   * already added should an add still fail. Sorted storages override it to check the
+   * group against their contents with a single merge pass.</p>
+   *
+   * @param events the events to add
+   * @return {@code true} if every event was added; {@code false} if nothing was added
+   *         because of a duplicate
+   */
+  default boolean addAll(Collection<Event> events) {
+    List<Event> batch = new ArrayList<>(events);
+    Collections.sort(batch);
+    for (int i = 0; i < batch.size(); i++) {
+      if (i > 0 && batch.get(i).compareTo(batch.get(i - 1)) == 0
+          || findByKey(batch.get(i).getKey()) != null) {
+        return false;
+      }
+    }
+    for (int i = 0; i < batch.size(); i++) {
+      if (!addEvent(batch.get(i))) {
+        for (int j = 0; j < i; j++) {
+          removeEvent(batch.get(j).getKey());
+        }
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Adds every occurrence of a recurring series.
+   *
+   * <p>The default implementation generates the occurrences with
+   * {@link RecurrenceRule#generateSeries(Event)} and adds them with
+   * {@link #addAll(Collection)}, so nothing is stored if any occurrence is a duplicate.
+   * Storages may instead keep the seed and rule and expand occurrences on demand.</p>
+   *
+   * @param seed the first event of the series
+   * @param rule the recurrence rule
+   * @return {@code true} if the series was added; {@code false} if an occurrence is a
+   *         duplicate
+   */
+  default boolean addSeries(Event seed, RecurrenceRule rule) {
+    return addAll(rule.generateSeries(seed));
+  }
+
+  /**
+   * Runs a group of mutations as one unit.
+   *
+   * <p>The default implementation simply runs them. Storages with snapshot reads
+   * override it to publish all of the group's changes at once, so concurrent readers
+   * never see it half applied.</p>
+   *
+   * @param mutations the storage updates to apply
+   */
+  default void runBatch(Runnable mutations) {
+    mutations.run();
+  }
+
   /**
    * Removes an event from storage using its unique key.
    *
@@ -28,6 +94,104 @@ public interface IeventStorage {
    */
   boolean removeEvent(EventKey key);
 
+  /**
+   * Replaces a stored event with an edited copy.
+   *
+   * <p>The default implementation removes the original and adds the update, putting the
+   * original back if the update turns out to be a duplicate. Concurrent storages
+   * override it so readers never observe the event missing.</p>
+   *
+   * @param original the stored event
+   * @param updated  the event to store instead
+   * @return {@code true} if replaced; {@code false} if the original is not stored or the
+   *         update duplicates another event
+   */
+  default boolean replaceEvent(Event original, Event updated) {
+    if (!removeEvent(original.getKey())) {
+      return false;
+    }
+    if (!addEvent(updated)) {
+      addEvent(original);
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Finds the stored event identified by the given key.
+   *
+   * <p>The default implementation scans {@link #getAllEvents()}; indexed storages
+   * override it with a direct lookup.</p>
+   *
+   * @param key the unique identifier of the event (subject compared case-insensitively)
+   * @return the matching event, or {@code null} if none is stored
+   */
+  default Event findByKey(EventKey key) {
+    for (Event e : getAllEvents()) {
+      if (e.matchesKey(key)) {
+        return e;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Retrieves the events that start at the given instant, in sorted order.
+   *
+   * <p>Start times are compared as instants ({@link ZonedDateTime#isEqual}), so the
+   * zone of {@code start} does not matter. The default implementation filters
+   * {@link #getAllEvents()}; sorted storages override it with a seek on start time.</p>
+   *
+   * @param start the start time to look up
+   * @return a new list of the events starting at that instant
+   */
+  default List<Event> getEventsStartingAt(ZonedDateTime start) {
+    List<Event> result = new ArrayList<>();
+    for (Event e : getAllEvents()) {
+      if (e.getStart().isEqual(start)) {
+        result.add(e);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Retrieves every occurrence of a recurring series in start order.
+   *
+   * <p>The default implementation filters {@link #getAllEvents()}; indexed storages
+   * override it so only the events of the series are touched.</p>
+   *
+   * @param seriesId the series identifier
+   * @return a new list of the series' events, empty if none exist
+   */
+  default List<Event> getSeries(String seriesId) {
+    List<Event> result = new ArrayList<>();
+    for (Event e : getAllEvents()) {
+      if (e.belongsToSeries(seriesId)) {
+        result.add(e);
+      }
+    }
+    Collections.sort(result);
+    return result;
+  }
+
+  /**
+   * Retrieves the occurrences of a series that start at or after the given time.
+   *
+   * @param seriesId the series identifier
+   * @param from     the earliest start time to include
+   * @return a new list of matching events in start order
+   */
+  default List<Event> getSeriesFrom(String seriesId, ZonedDateTime from) {
+    List<Event> result = new ArrayList<>();
+    for (Event e : getSeries(seriesId)) {
+      if (!e.getStart().isBefore(from)) {
+        result.add(e);
+      }
+    }
+    return result;
+  }
+
   /**
    * Retrieves all events scheduled on a given date.
    *
@@ -45,6 +209,50 @@ public interface IeventStorage {
    */
   List<Event> getEventsBetween(ZonedDateTime start, ZonedDateTime end);
 
+  /**
+   * Checks whether any stored event covers the given time (start and end inclusive).
+   *
+   * <p>The default implementation scans {@link #getAllEvents()}; indexed storages
+   * override it with a lookup.</p>
+   *
+   * @param time the time to check
+   * @return {@code true} if an event spans that time
+   */
+  default boolean isBusy(ZonedDateTime time) {
+    for (Event e : getAllEvents()) {
+      if (!time.isBefore(e.getStart()) && !time.isAfter(e.getEnd())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Tells whether queries may run while another thread changes the storage.
+   *
+   * <p>The default is false. Storages whose queries only read thread-safe structures,
+   * never fail because of a concurrent change and never modify any state return true;
+   * {@link StampedLockCalendar} only runs lock-free reads over those.</p>
+   *
+   * @return true if queries are safe next to a concurrent writer
+   */
+  default boolean supportsConcurrentReads() {
+    return false;
+  }
+
+  /**
+   * Returns an immutable, sorted view of the stored events that later changes do not
+   * affect.
+   *
+   * <p>The default implementation wraps a fresh {@link #getAllEvents()} list; storages
+   * built on persistent data structures return their current version without copying.</p>
+   *
+   * @return a snapshot of the stored events
+   */
+  default EventSnapshot snapshot() {
+    return EventSnapshot.of(getAllEvents());
+  }
+
   /**
    * Returns all stored events, typically in sorted order.
    *
@@ -0,0 +1,444 @@
+package calendar.model;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stores calendar events in an augmented interval tree.
+ *
+ * <p>The tree is a self-balancing (AVL) binary search tree ordered by
+ * {@link Event#compareTo(Event)}, so events are kept sorted by start time, end time and
+ * subject exactly like {@link TreeSetEventStorage}. Every node additionally records the
+ * latest end time found in its subtree. Overlap queries use that value to skip whole
+ * subtrees that end before the requested range, answering range and day queries in
+ * O(log n + k) instead of scanning every stored event.</p>
+ *
+ * <p>The latest end is kept as epoch seconds and nanoseconds, and the traversals compare
+ * the events' compact times directly, so a query does not create a
+ * {@code ZonedDateTime} per visited node.</p>
+ */
+public class IntervalTreeEventStorage implements IeventStorage {
+
+  /**
+   * A single tree node holding one event and the augmented subtree data.
+   */
+  private static final class Node {
+    private final Event event;
+    private Node left;
+    private Node right;
+    private int height;
+    private long maxEndSecond;
+    private int maxEndNano;
+
+    private Node(Event event) {
+      this.event = event;
+      this.height = 1;
+      this.maxEndSecond = event.endEpochSecond();
+      this.maxEndNano = event.endNano();
+    }
+
+    /**
+     * Checks whether every event of the subtree ends before the given instant.
+     */
+    private boolean endsBefore(long second, int nano) {
+      return Event.compareInstant(maxEndSecond, maxEndNano, second, nano) < 0;
+    }
+  }
+
+  /**
+   * Root of the interval tree, or null when the storage is empty.
+   */
+  private Node root;
+
+  /**
+   * Number of events currently stored.
+   */
+  private int size;
+
+  /**
+   * Set by the recursive insert/delete helpers to report whether the tree changed.
+   */
+  private boolean modified;
+
+  /**
+   * Set by the delete helper to the event it unlinked from the tree.
+   */
+  private Event removed;
+
+  /**
+   * Index from series ID to the occurrences of that series.
+   */
+  private final SeriesIndex series = new SeriesIndex();
+
+  /**
+   * Creates an empty IntervalTreeEventStorage instance.
+   */
+  public IntervalTreeEventStorage() {
+    this.root = null;
+    this.size = 0;
+  }
+
+  /**
+   * Adds a new event to the storage.
+   *
+   * @param e the event to add
+   * @return true if the event was added, false if it already exists
+   */
+  @Override
+  public boolean addEvent(Event e) {
+    modified = false;
+    root = insert(root, e);
+    if (modified) {
+      size++;
+      series.add(e);
+    }
+    return modified;
+  }
+
+  /**
+   * Removes the event that matches the given key.
+   *
+   * @param key the key representing the event to remove
+   * @return true if an event was removed, false otherwise
+   */
+  @Override
+  public boolean removeEvent(EventKey key) {
+    if (!key.hasEnd()) {
+      return false;
+    }
+    modified = false;
+    root = delete(root, key);
+    if (modified) {
+      size--;
+      series.remove(removed);
+    }
+    return modified;
+  }
+
+  /**
+   * Finds the event with the given key by descending the tree.
+   *
+   * @param key the key representing the event
+   * @return the stored event, or null if not found
+   */
+  @Override
+  public Event findByKey(EventKey key) {
+    if (!key.hasEnd()) {
+      return null;
+    }
+    Node n = root;
+    while (n != null) {
+      int cmp = n.event.compareKey(key);
+      if (cmp == 0) {
+        return n.event.matchesKey(key) ? n.event : null;
+      }
+      n = cmp < 0 ? n.left : n.right;
+    }
+    return null;
+  }
+
+  /**
+   * Gets the events starting at the given instant by descending only into subtrees
+   * that can hold that start time.
+   *
+   * @param start the start time to look up
+   * @return the events starting at that instant, in sorted order
+   */
+  @Override
+  public List<Event> getEventsStartingAt(ZonedDateTime start) {
+    List<Event> result = new ArrayList<>();
+    collectStartingAt(root, start.toEpochSecond(), start.getNano(), result);
+    return result;
+  }
+
+  /**
+   * Returns every occurrence of a series using the series index.
+   *
+   * @param seriesId the series identifier
+   * @return the series' events in start order
+   */
+  @Override
+  public List<Event> getSeries(String seriesId) {
+    return series.get(seriesId);
+  }
+
+  /**
+   * Returns the occurrences of a series from the given time onward using the series index.
+   *
+   * @param seriesId the series identifier
+   * @param from     the earliest start time to include
+   * @return the matching events in start order
+   */
+  @Override
+  public List<Event> getSeriesFrom(String seriesId, ZonedDateTime from) {
+    return series.getFrom(seriesId, from);
+  }
+
+  /**
+   * Gets all events that occur on the specified date.
+   *
+   * <p>Any event occurring on {@code date} must overlap the instants between the
+   * earliest possible start of that day (UTC+18) and the latest possible end of it
+   * (UTC-18), whatever zone the event was created in. The tree is queried for that
+   * window and the candidates are then checked against {@link Event#occursOn(LocalDate)}.</p>
+   *
+   * @param date the date to check
+   * @return a list of events occurring on that date
+   */
+  @Override
+  public List<Event> getEventsOn(LocalDate date) {
+    ZonedDateTime from = date.atStartOfDay(ZoneOffset.MAX);
+    ZonedDateTime to = date.plusDays(1).atStartOfDay(ZoneOffset.MIN);
+
+    List<Event> result = new ArrayList<>();
+    for (Event e : getEventsBetween(from, to)) {
+      if (e.occursOn(date)) {
+        result.add(e);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Gets all events that overlap with a given time range.
+   *
+   * @param start the start time
+   * @param end   the end time
+   * @return a list of events overlapping the time range, in sorted order
+   */
+  @Override
+  public List<Event> getEventsBetween(ZonedDateTime start, ZonedDateTime end) {
+    List<Event> result = new ArrayList<>();
+    collectOverlapping(root, start.toEpochSecond(), start.getNano(),
+        end.toEpochSecond(), end.getNano(), result);
+    return result;
+  }
+
+  /**
+   * Checks whether any event covers the given time with a stabbing query that stops at
+   * the first hit.
+   *
+   * @param time the time to check
+   * @return true if an event spans that time
+   */
+  @Override
+  public boolean isBusy(ZonedDateTime time) {
+    return containsPoint(root, time.toEpochSecond(), time.getNano());
+  }
+
+  /**
+   * Returns all stored events as a list.
+   *
+   * @return a list of all events in sorted order
+   */
+  @Override
+  public List<Event> getAllEvents() {
+    List<Event> result = new ArrayList<>(size);
+    collectAll(root, result);
+    return result;
+  }
+
+  /**
+   * Appends the events of the subtree that overlap the range, in order.
+   * Subtrees whose latest end precedes the range, and right subtrees of nodes that
+   * start after the range, are never visited.
+   */
+  private void collectOverlapping(Node n, long fromSecond, int fromNano,
+                                  long toSecond, int toNano, List<Event> out) {
+    if (n == null || n.endsBefore(fromSecond, fromNano)) {
+      return;
+    }
+    collectOverlapping(n.left, fromSecond, fromNano, toSecond, toNano, out);
+    Event e = n.event;
+    if (Event.compareInstant(e.startEpochSecond(), e.startNano(), toSecond, toNano) > 0) {
+      return;
+    }
+    if (Event.compareInstant(e.endEpochSecond(), e.endNano(), fromSecond, fromNano) >= 0) {
+      out.add(e);
+    }
+    collectOverlapping(n.right, fromSecond, fromNano, toSecond, toNano, out);
+  }
+
+  /**
+   * Appends the events of the subtree that start at the given instant, in order.
+   */
+  private void collectStartingAt(Node n, long second, int nano, List<Event> out) {
+    if (n == null) {
+      return;
+    }
+    int cmp = Event.compareInstant(n.event.startEpochSecond(), n.event.startNano(),
+        second, nano);
+    if (cmp < 0) {
+      collectStartingAt(n.right, second, nano, out);
+    } else if (cmp > 0) {
+      collectStartingAt(n.left, second, nano, out);
+    } else {
+      collectStartingAt(n.left, second, nano, out);
+      out.add(n.event);
+      collectStartingAt(n.right, second, nano, out);
+    }
+  }
+
+  /**
+   * Checks whether any event of the subtree covers the given time.
+   */
+  private boolean containsPoint(Node n, long second, int nano) {
+    if (n == null || n.endsBefore(second, nano)) {
+      return false;
+    }
+    if (containsPoint(n.left, second, nano)) {
+      return true;
+    }
+    Event e = n.event;
+    if (Event.compareInstant(e.startEpochSecond(), e.startNano(), second, nano) > 0) {
+      return false;
+    }
+    return Event.compareInstant(e.endEpochSecond(), e.endNano(), second, nano) >= 0
+        || containsPoint(n.right, second, nano);
+  }
+
+  /**
+   * Appends every event of the subtree in order.
+   */
+  private void collectAll(Node n, List<Event> out) {
+    if (n == null) {
+      return;
+    }
+    collectAll(n.left, out);
+    out.add(n.event);
+    collectAll(n.right, out);
+  }
+
+  /**
+   * Inserts an event into the subtree and returns the rebalanced subtree root.
+   */
+  private Node insert(Node n, Event e) {
+    if (n == null) {
+      modified = true;
+      return new Node(e);
+    }
+    int cmp = e.compareTo(n.event);
+    if (cmp < 0) {
+      n.left = insert(n.left, e);
+    } else if (cmp > 0) {
+      n.right = insert(n.right, e);
+    } else {
+      return n;
+    }
+    return rebalance(n);
+  }
+
+  /**
+   * Deletes the event matching the key from the subtree and returns the new subtree root.
+   */
+  private Node delete(Node n, EventKey key) {
+    if (n == null) {
+      return null;
+    }
+    int cmp = n.event.compareKey(key);
+    if (cmp < 0) {
+      n.left = delete(n.left, key);
+    } else if (cmp > 0) {
+      n.right = delete(n.right, key);
+    } else {
+      if (!n.event.matchesKey(key)) {
+        return n;
+      }
+      modified = true;
+      removed = n.event;
+      if (n.left == null) {
+        return n.right;
+      }
+      if (n.right == null) {
+        return n.left;
+      }
+      Node successor = n.right;
+      while (successor.left != null) {
+        successor = successor.left;
+      }
+      Node replacement = new Node(successor.event);
+      replacement.right = deleteMin(n.right);
+      replacement.left = n.left;
+      return rebalance(replacement);
+    }
+    return rebalance(n);
+  }
+
+  /**
+   * Removes the smallest node of the subtree and returns the new subtree root.
+   */
+  private Node deleteMin(Node n) {
+    if (n.left == null) {
+      return n.right;
+    }
+    n.left = deleteMin(n.left);
+    return rebalance(n);
+  }
+
+  private static int height(Node n) {
+    return n == null ? 0 : n.height;
+  }
+
+  /**
+   * Recomputes the height and latest end of a node from its children.
+   */
+  private static void update(Node n) {
+    n.height = 1 + Math.max(height(n.left), height(n.right));
+    n.maxEndSecond = n.event.endEpochSecond();
+    n.maxEndNano = n.event.endNano();
+    raiseMaxEnd(n, n.left);
+    raiseMaxEnd(n, n.right);
+  }
+
+  /**
+   * Raises the latest end of a node to that of a child subtree if it is later.
+   */
+  private static void raiseMaxEnd(Node n, Node child) {
+    if (child != null && n.endsBefore(child.maxEndSecond, child.maxEndNano)) {
+      n.maxEndSecond = child.maxEndSecond;
+      n.maxEndNano = child.maxEndNano;
+    }
+  }
+
+  /**
+   * Restores the AVL balance of a node after an insert or delete below it.
+   */
+  private static Node rebalance(Node n) {
+    update(n);
+    int balance = height(n.left) - height(n.right);
+    if (balance > 1) {
+      if (height(n.left.left) < height(n.left.right)) {
+        n.left = rotateLeft(n.left);
+      }
+      return rotateRight(n);
+    }
+    if (balance < -1) {
+      if (height(n.right.right) < height(n.right.left)) {
+        n.right = rotateRight(n.right);
+      }
+      return rotateLeft(n);
+    }
+    return n;
+  }
+
+  private static Node rotateRight(Node n) {
+    Node pivot = n.left;
+    n.left = pivot.right;
+    pivot.right = n;
+    update(n);
+    update(pivot);
+    return pivot;
+  }
+
+  private static Node rotateLeft(Node n) {
+    Node pivot = n.right;
+    n.right = pivot.left;
+    pivot.left = n;
+    update(n);
+    update(pivot);
+    return pivot;
+  }
+}
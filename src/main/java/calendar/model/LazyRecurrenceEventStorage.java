@@ -0,0 +1,411 @@
+package calendar.model;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Stores recurring series as a seed event plus its {@link RecurrenceRule} and expands the
+ * occurrences only when a query needs them.
+ *
+ * <p>Single events, and occurrences that were edited, live in a regular delegate storage.
+ * Removing or editing an occurrence records a tombstone for it in its series, and the
+ * edited copy is added to the delegate as an override. Retained memory therefore grows
+ * with the number of series and edited occurrences, not with the length of a series:
+ * a daily standup until 2030 costs one seed and one rule.</p>
+ *
+ * <p>Queries combine the delegate's answer with the occurrences each series generates
+ * inside the requested window. Series-wide edits go through the same remove/add path and
+ * so materialize the occurrences they touch.</p>
+ *
+ * <p>Series are indexed by the epoch second of their first start and remember the end of
+ * their last occurrence, so a query or key lookup only expands the series whose span
+ * reaches its window, instead of every series ever added. A tombstone is the start epoch
+ * second of the removed occurrence: a series generates at most one occurrence per date,
+ * all with the seed's subject, so the start alone identifies it.</p>
+ */
+public class LazyRecurrenceEventStorage implements IeventStorage {
+
+  /**
+   * A recurring series kept in compact form.
+   */
+  private static final class VirtualSeries {
+    private final Event seed;
+    private final RecurrenceRule rule;
+    private final ZoneId zone;
+    private final LocalDate firstDate;
+    private final LocalDate lastDate;
+    private final long spanDays;
+    private final long lastEndSecond;
+    private final Set<Long> removed = new HashSet<>();
+
+    private VirtualSeries(Event seed, RecurrenceRule rule, Event last) {
+      this.seed = seed;
+      this.rule = rule;
+      this.zone = seed.getStart().getZone();
+      this.firstDate = seed.getStart().toLocalDate();
+      this.lastDate = last.getStart().toLocalDate();
+      this.spanDays = ChronoUnit.DAYS.between(firstDate, seed.getEnd().toLocalDate());
+      this.lastEndSecond = last.endEpochSecond();
+    }
+
+    /**
+     * Returns the live occurrences that start between the two dates (inclusive).
+     */
+    private List<Event> expand(LocalDate from, LocalDate to) {
+      LocalDate lo = from.isBefore(firstDate) ? firstDate : from;
+      LocalDate hi = to.isAfter(lastDate) ? lastDate : to;
+      List<Event> result = new ArrayList<>();
+      if (lo.isAfter(hi)) {
+        return result;
+      }
+      for (Event e : rule.generateBetween(seed, lo, hi)) {
+        if (!removed.contains(e.startEpochSecond())) {
+          result.add(e);
+        }
+      }
+      return result;
+    }
+
+    /**
+     * Returns the live occurrences that may overlap the given instants.
+     */
+    private List<Event> expandAround(ZonedDateTime start, ZonedDateTime end) {
+      LocalDate from = start.withZoneSameInstant(zone).toLocalDate().minusDays(spanDays);
+      LocalDate to = end.withZoneSameInstant(zone).toLocalDate();
+      return expand(from, to);
+    }
+  }
+
+  /**
+   * Holds single events and edited occurrences.
+   */
+  private final IeventStorage concrete;
+
+  /**
+   * Compact series by series ID, in creation order.
+   */
+  private final Map<String, VirtualSeries> series = new LinkedHashMap<>();
+
+  /**
+   * The same series grouped by the epoch second of their first start.
+   */
+  private final NavigableMap<Long, List<VirtualSeries>> byFirstStart = new TreeMap<>();
+
+  /**
+   * Creates an empty storage backed by a {@link TreeSetEventStorage}.
+   */
+  public LazyRecurrenceEventStorage() {
+    this(new TreeSetEventStorage());
+  }
+
+  /**
+   * Creates an empty storage that keeps concrete events in the given storage.
+   *
+   * @param concrete the storage for single events and edited occurrences
+   * @throws IllegalArgumentException if concrete is null
+   */
+  public LazyRecurrenceEventStorage(IeventStorage concrete) {
+    if (concrete == null) {
+      throw new IllegalArgumentException("Delegate storage cannot be null.");
+    }
+    this.concrete = concrete;
+  }
+
+  /**
+   * Adds a new single event.
+   *
+   * @param e the event to add
+   * @return true if the event was added, false if it already exists
+   */
+  @Override
+  public boolean addEvent(Event e) {
+    if (findVirtual(e.getKey()) != null) {
+      return false;
+    }
+    return concrete.addEvent(e);
+  }
+
+  /**
+   * Registers a series without materializing it.
+   *
+   * <p>The occurrences are streamed once from {@link RecurrenceRule#iterator(Event)} to
+   * reject duplicates and to find the last one, without keeping them. Nothing is stored
+   * if any occurrence already exists.</p>
+   *
+   * @param seed the first event of the series
+   * @param rule the recurrence rule
+   * @return true if the series was added, false if an occurrence is a duplicate
+   */
+  @Override
+  public boolean addSeries(Event seed, RecurrenceRule rule) {
+    if (seed.getSeriesId() == null) {
+      seed = seed.copyWith("seriesId", UUID.randomUUID().toString());
+    }
+    if (series.containsKey(seed.getSeriesId())) {
+      return false;
+    }
+
+    Event last = null;
+    Iterator<Event> occurrences = rule.iterator(seed);
+    while (occurrences.hasNext()) {
+      Event e = occurrences.next();
+      if (findByKey(e.getKey()) != null) {
+        return false;
+      }
+      last = e;
+    }
+    if (last != null) {
+      VirtualSeries vs = new VirtualSeries(seed, rule, last);
+      series.put(seed.getSeriesId(), vs);
+      byFirstStart.computeIfAbsent(seed.startEpochSecond(), k -> new ArrayList<>()).add(vs);
+    }
+    return true;
+  }
+
+  /**
+   * Removes the event that matches the given key, tombstoning it if it is a generated
+   * occurrence.
+   *
+   * @param key the key representing the event to remove
+   * @return true if an event was removed, false otherwise
+   */
+  @Override
+  public boolean removeEvent(EventKey key) {
+    if (concrete.removeEvent(key)) {
+      return true;
+    }
+    long second = key.startEpochSecond();
+    for (VirtualSeries vs : seriesReaching(second, second)) {
+      Event occurrence = findIn(vs, key);
+      if (occurrence != null) {
+        vs.removed.add(occurrence.startEpochSecond());
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Finds the event with the given key among concrete events and generated occurrences.
+   *
+   * @param key the key representing the event
+   * @return the event, or null if not found
+   */
+  @Override
+  public Event findByKey(EventKey key) {
+    Event e = concrete.findByKey(key);
+    return e != null ? e : findVirtual(key);
+  }
+
+  /**
+   * Gets the events starting at the given instant.
+   *
+   * @param start the start time to look up
+   * @return the events starting at that instant, in sorted order
+   */
+  @Override
+  public List<Event> getEventsStartingAt(ZonedDateTime start) {
+    List<Event> result = new ArrayList<>(concrete.getEventsStartingAt(start));
+    long second = start.toEpochSecond();
+    for (VirtualSeries vs : seriesReaching(second, second)) {
+      LocalDate day = start.withZoneSameInstant(vs.zone).toLocalDate();
+      for (Event e : vs.expand(day, day)) {
+        if (e.getStart().isEqual(start)) {
+          result.add(e);
+        }
+      }
+    }
+    Collections.sort(result);
+    return result;
+  }
+
+  /**
+   * Returns every occurrence of a series, generated and edited alike.
+   *
+   * @param seriesId the series identifier
+   * @return the series' events in start order
+   */
+  @Override
+  public List<Event> getSeries(String seriesId) {
+    List<Event> result = new ArrayList<>(concrete.getSeries(seriesId));
+    VirtualSeries vs = seriesId == null ? null : series.get(seriesId);
+    if (vs != null) {
+      result.addAll(vs.expand(vs.firstDate, vs.lastDate));
+    }
+    Collections.sort(result);
+    return result;
+  }
+
+  /**
+   * Returns the occurrences of a series from the given time onward.
+   *
+   * @param seriesId the series identifier
+   * @param from     the earliest start time to include
+   * @return the matching events in start order
+   */
+  @Override
+  public List<Event> getSeriesFrom(String seriesId, ZonedDateTime from) {
+    List<Event> result = new ArrayList<>(concrete.getSeriesFrom(seriesId, from));
+    VirtualSeries vs = seriesId == null ? null : series.get(seriesId);
+    if (vs != null) {
+      for (Event e : vs.expand(from.withZoneSameInstant(vs.zone).toLocalDate(), vs.lastDate)) {
+        if (!e.getStart().isBefore(from)) {
+          result.add(e);
+        }
+      }
+    }
+    Collections.sort(result);
+    return result;
+  }
+
+  /**
+   * Gets all events that occur on the specified date.
+   *
+   * @param date the date to check
+   * @return a list of events occurring on that date
+   */
+  @Override
+  public List<Event> getEventsOn(LocalDate date) {
+    List<Event> result = new ArrayList<>(concrete.getEventsOn(date));
+    // an event on this date overlaps the instants of the date in the earliest and the
+    // latest offset
+    long from = date.atStartOfDay(ZoneOffset.MAX).toEpochSecond();
+    long to = date.plusDays(1).atStartOfDay(ZoneOffset.MIN).toEpochSecond();
+    for (VirtualSeries vs : seriesReaching(from, to)) {
+      for (Event e : vs.expand(date.minusDays(vs.spanDays), date)) {
+        if (e.occursOn(date)) {
+          result.add(e);
+        }
+      }
+    }
+    Collections.sort(result);
+    return result;
+  }
+
+  /**
+   * Gets all events that overlap with a given time range.
+   *
+   * @param start the start time
+   * @param end   the end time
+   * @return a list of events overlapping the time range
+   */
+  @Override
+  public List<Event> getEventsBetween(ZonedDateTime start, ZonedDateTime end) {
+    List<Event> result = new ArrayList<>(concrete.getEventsBetween(start, end));
+    for (VirtualSeries vs : seriesReaching(start.toEpochSecond(), end.toEpochSecond())) {
+      for (Event e : vs.expandAround(start, end)) {
+        if (e.overlaps(start, end)) {
+          result.add(e);
+        }
+      }
+    }
+    Collections.sort(result);
+    return result;
+  }
+
+  /**
+   * Checks whether any event covers the given time.
+   *
+   * @param time the time to check
+   * @return true if an event spans that time
+   */
+  @Override
+  public boolean isBusy(ZonedDateTime time) {
+    if (concrete.isBusy(time)) {
+      return true;
+    }
+    long second = time.toEpochSecond();
+    for (VirtualSeries vs : seriesReaching(second, second)) {
+      for (Event e : vs.expandAround(time, time)) {
+        if (e.overlaps(time, time)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns all stored events, expanding every series.
+   *
+   * @return a list of all events in sorted order
+   */
+  @Override
+  public List<Event> getAllEvents() {
+    List<Event> result = new ArrayList<>(concrete.getAllEvents());
+    for (VirtualSeries vs : series.values()) {
+      result.addAll(vs.expand(vs.firstDate, vs.lastDate));
+    }
+    Collections.sort(result);
+    return result;
+  }
+
+  /**
+   * Returns the number of series kept in compact form.
+   *
+   * @return the number of registered series
+   */
+  public int getSeriesCount() {
+    return series.size();
+  }
+
+  /**
+   * Returns the series whose occurrences may overlap the given epoch seconds: those that
+   * start no later than {@code toSecond} and end no earlier than {@code fromSecond}.
+   */
+  private List<VirtualSeries> seriesReaching(long fromSecond, long toSecond) {
+    List<VirtualSeries> result = new ArrayList<>();
+    for (List<VirtualSeries> group : byFirstStart.headMap(toSecond, true).values()) {
+      for (VirtualSeries vs : group) {
+        if (vs.lastEndSecond >= fromSecond) {
+          result.add(vs);
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Finds a live generated occurrence with the given key.
+   */
+  private Event findVirtual(EventKey key) {
+    long second = key.startEpochSecond();
+    for (VirtualSeries vs : seriesReaching(second, second)) {
+      Event e = findIn(vs, key);
+      if (e != null) {
+        return e;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Finds a live occurrence of one series with the given key.
+   */
+  private static Event findIn(VirtualSeries vs, EventKey key) {
+    if (!key.hasEnd() || !vs.seed.getSubject().equalsIgnoreCase(key.getSubject())) {
+      return null;
+    }
+    LocalDate day = key.getStart().withZoneSameInstant(vs.zone).toLocalDate();
+    for (Event e : vs.expand(day, day)) {
+      if (e.matchesKey(key)) {
+        return e;
+      }
+    }
+    return null;
+  }
+}
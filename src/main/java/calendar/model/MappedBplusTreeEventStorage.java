@@ -0,0 +1,1034 @@
+package calendar.model;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+
+/**
+ * An on-disk event storage for calendars too large to keep on the heap.
+ *
+ * <p>Events are indexed by a B+tree ordered on start second, end second and the hash of
+ * the case-folded subject. Its 4 KiB pages live in {@code events.idx}, which is accessed
+ * through memory-mapped segments; the events themselves are appended to
+ * {@code events.dat} in the {@link EventCodec} encoding. A leaf entry holds the two
+ * epoch seconds plus the position of the event's record, so range scans walk the leaves
+ * in order and only read the records of events that can overlap the range. A small LRU
+ * cache keeps recently used pages decoded.</p>
+ *
+ * <p>Pages are never changed in place once committed. An update copies the pages on the
+ * path from the leaf to the root and then commits by writing a new root into one of two
+ * alternating meta pages, after forcing everything else to disk. A crash therefore leaves
+ * the file at the last commit. Pages replaced by a commit are reused by later ones.
+ * Every mutation commits on its own; a {@link #runBatch(Runnable) batch} commits once at
+ * the end and is rolled back entirely if it throws.</p>
+ *
+ * <p>Removing an event leaves its record in {@code events.dat}; the space is not
+ * reclaimed. Nodes emptied by removals are dropped but not merged with their siblings.
+ * Queries by series are answered by the interface defaults, which read every event.
+ * All methods are synchronized on the storage.</p>
+ */
+public class MappedBplusTreeEventStorage implements IeventStorage, Closeable {
+
+  /**
+   * Number of index pages kept decoded by default.
+   */
+  public static final int DEFAULT_CACHE_PAGES = 256;
+
+  static final String INDEX_FILE = "events.idx";
+  static final String RECORDS_FILE = "events.dat";
+
+  static final int PAGE_SIZE = 4096;
+
+  /**
+   * Entries per node: a 4-byte header, then 32 bytes per entry.
+   */
+  static final int MAX_ENTRIES = (PAGE_SIZE - 4) / 32;
+
+  private static final int PAGES_PER_SEGMENT = 256;
+  private static final long SEGMENT_SIZE = (long) PAGE_SIZE * PAGES_PER_SEGMENT;
+
+  /**
+   * "BPLT" in ASCII.
+   */
+  private static final int MAGIC = 0x42504C54;
+  private static final int VERSION = 1;
+  private static final int META_LENGTH = 52;
+
+  private static final int NO_PAGE = -1;
+  private static final int UNCHANGED = -2;
+  private static final int FIRST_DATA_PAGE = 2;
+
+  private static final long MAX_OFFSET_SECONDS = ZoneOffset.MAX.getTotalSeconds();
+
+  private final FileChannel index;
+  private final FileChannel records;
+  private final List<MappedByteBuffer> segments = new ArrayList<>();
+  private final BitSet dirtySegments = new BitSet();
+  private final Map<Integer, Node> cache;
+  private final EventCodec codec = new EventCodec(new StringPool());
+
+  /**
+   * State as of the last commit, and the state being built by the running change.
+   */
+  private Meta committed;
+  private Meta working;
+
+  /**
+   * Pages free for reuse, pages released by the running change (reusable once it has
+   * committed), and pages written by the running change (safe to overwrite in place).
+   */
+  private final Deque<Integer> free = new ArrayDeque<>();
+  private final List<Integer> pendingFree = new ArrayList<>();
+  private final Set<Integer> fresh = new HashSet<>();
+
+  private int batchDepth;
+  private boolean changed;
+
+  /**
+   * Number of event records read, for tests of the range scans.
+   */
+  private long decoded;
+
+  /**
+   * Opens or creates the storage in the given directory.
+   *
+   * @param dir the directory holding the index and record files
+   */
+  public MappedBplusTreeEventStorage(Path dir) {
+    this(dir, DEFAULT_CACHE_PAGES);
+  }
+
+  /**
+   * Opens or creates the storage in the given directory.
+   *
+   * @param dir        the directory holding the index and record files
+   * @param cachePages the number of index pages to keep decoded
+   * @throws IllegalArgumentException if dir is null or cachePages is not positive
+   * @throws RuntimeException         if the files cannot be opened or are corrupt
+   */
+  public MappedBplusTreeEventStorage(Path dir, int cachePages) {
+    if (dir == null) {
+      throw new IllegalArgumentException("Storage directory cannot be null.");
+    }
+    if (cachePages < 1) {
+      throw new IllegalArgumentException("Page cache size must be positive.");
+    }
+    this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Integer, Node> eldest) {
+        return size() > cachePages;
+      }
+    };
+    FileChannel openedIndex = null;
+    try {
+      Files.createDirectories(dir);
+      openedIndex = FileChannel.open(dir.resolve(INDEX_FILE), StandardOpenOption.CREATE,
+          StandardOpenOption.READ, StandardOpenOption.WRITE);
+      this.index = openedIndex;
+      this.records = FileChannel.open(dir.resolve(RECORDS_FILE), StandardOpenOption.CREATE,
+          StandardOpenOption.READ, StandardOpenOption.WRITE);
+      long length = index.size();
+      for (long mapped = 0; mapped < Math.max(length, 1); mapped += SEGMENT_SIZE) {
+        mapSegment();
+      }
+      committed = length == 0 ? initialize() : readMeta();
+      working = committed.copy();
+      records.truncate(committed.recordsEnd);
+      collectFreePages();
+    } catch (IOException ex) {
+      try {
+        if (openedIndex != null) {
+          openedIndex.close();
+        }
+      } catch (IOException ignored) {
+        // already failing; the original error is reported
+      }
+      throw new RuntimeException("Event index open failed: " + ex.getMessage(), ex);
+    }
+  }
+
+  /**
+   * Adds an event unless an equal one is stored.
+   *
+   * @param e the event to add
+   * @return true if the event was added, false if it already exists
+   */
+  @Override
+  public synchronized boolean addEvent(Event e) {
+    return write(() -> {
+      if (findEntry(e.getKey()) != null) {
+        return false;
+      }
+      Key key = new Key(e.startEpochSecond(), e.endEpochSecond(), subjectHash(e.getKey()),
+          working.recordsEnd);
+      int length = appendRecord(e);
+      Split split = insert(working.root, key, length);
+      working.root = split.right == NO_PAGE ? split.left : newRoot(split);
+      working.size++;
+      working.maxDuration = Math.max(working.maxDuration, key.end - key.start + 1);
+      return true;
+    });
+  }
+
+  /**
+   * Adds a group of events all-or-nothing in one commit.
+   *
+   * @param events the events to add
+   * @return true if every event was added, false if nothing was added because of a
+   *         duplicate
+   */
+  @Override
+  public boolean addAll(Collection<Event> events) {
+    boolean[] added = new boolean[1];
+    runBatch(() -> added[0] = IeventStorage.super.addAll(events));
+    return added[0];
+  }
+
+  /**
+   * Removes the event matching the key.
+   *
+   * @param key the key representing the event to remove
+   * @return true if an event was removed, false otherwise
+   */
+  @Override
+  public synchronized boolean removeEvent(EventKey key) {
+    return write(() -> {
+      Key entry = findEntry(key);
+      if (entry == null) {
+        return false;
+      }
+      int root = delete(working.root, entry);
+      while (root != NO_PAGE && !node(root).leaf && node(root).count == 1) {
+        int only = node(root).values[0];
+        release(root);
+        root = only;
+      }
+      working.root = root;
+      working.size--;
+      return true;
+    });
+  }
+
+  /**
+   * Replaces a stored event in one commit.
+   *
+   * @param original the stored event
+   * @param updated  the event to store instead
+   * @return true if replaced, false if the original is gone or the update is a duplicate
+   */
+  @Override
+  public boolean replaceEvent(Event original, Event updated) {
+    boolean[] replaced = new boolean[1];
+    runBatch(() -> replaced[0] = IeventStorage.super.replaceEvent(original, updated));
+    return replaced[0];
+  }
+
+  /**
+   * Runs the mutations as one commit; if they throw, none of their changes are kept.
+   *
+   * @param mutations the storage updates to apply
+   */
+  @Override
+  public synchronized void runBatch(Runnable mutations) {
+    write(() -> {
+      mutations.run();
+      return null;
+    });
+  }
+
+  /**
+   * Finds the event with the given key by seeking to its start second.
+   *
+   * @param key the key representing the event
+   * @return the stored event, or null if not found
+   */
+  @Override
+  public synchronized Event findByKey(EventKey key) {
+    Key entry = findEntry(key);
+    return entry == null ? null : load(entry.offset, entry.length);
+  }
+
+  /**
+   * Gets the events starting at the given instant.
+   *
+   * @param start the start time to look up
+   * @return the events starting at that instant, in sorted order
+   */
+  @Override
+  public synchronized List<Event> getEventsStartingAt(ZonedDateTime start) {
+    long second = start.toEpochSecond();
+    List<Event> result = new ArrayList<>();
+    scan(working.root, second, (leaf, i) -> {
+      if (leaf.starts[i] > second) {
+        return false;
+      }
+      Event e = load(leaf, i);
+      if (e.getStart().isEqual(start)) {
+        result.add(e);
+      }
+      return true;
+    });
+    Collections.sort(result);
+    return result;
+  }
+
+  /**
+   * Gets all events that occur on the specified date.
+   *
+   * @param date the date to check
+   * @return a list of events occurring on that date
+   */
+  @Override
+  public synchronized List<Event> getEventsOn(LocalDate date) {
+    long first = date.toEpochDay() * 86400L - MAX_OFFSET_SECONDS;
+    long last = first + 86400L + 2 * MAX_OFFSET_SECONDS;
+    List<Event> result = new ArrayList<>();
+    scan(working.root, scanStart(first), (leaf, i) -> {
+      if (leaf.starts[i] >= last) {
+        return false;
+      }
+      if (leaf.ends[i] >= first) {
+        Event e = load(leaf, i);
+        if (e.occursOn(date)) {
+          result.add(e);
+        }
+      }
+      return true;
+    });
+    Collections.sort(result);
+    return result;
+  }
+
+  /**
+   * Gets all events that overlap with a given time range.
+   *
+   * @param start the start time
+   * @param end   the end time
+   * @return a list of events overlapping the time range
+   */
+  @Override
+  public synchronized List<Event> getEventsBetween(ZonedDateTime start, ZonedDateTime end) {
+    long first = start.toEpochSecond();
+    long last = end.toEpochSecond();
+    List<Event> result = new ArrayList<>();
+    scan(working.root, scanStart(first), (leaf, i) -> {
+      if (leaf.starts[i] > last) {
+        return false;
+      }
+      if (leaf.ends[i] >= first) {
+        Event e = load(leaf, i);
+        if (e.overlaps(start, end)) {
+          result.add(e);
+        }
+      }
+      return true;
+    });
+    Collections.sort(result);
+    return result;
+  }
+
+  /**
+   * Checks whether any event covers the given time.
+   *
+   * @param time the time to check
+   * @return true if an event spans that time
+   */
+  @Override
+  public synchronized boolean isBusy(ZonedDateTime time) {
+    long second = time.toEpochSecond();
+    boolean[] busy = new boolean[1];
+    scan(working.root, scanStart(second), (leaf, i) -> {
+      if (leaf.starts[i] > second) {
+        return false;
+      }
+      if (leaf.ends[i] < second) {
+        return true;
+      }
+      if (leaf.starts[i] < second && leaf.ends[i] > second) {
+        busy[0] = true;
+        return false;
+      }
+      Event e = load(leaf, i);
+      busy[0] = !time.isBefore(e.getStart()) && !time.isAfter(e.getEnd());
+      return !busy[0];
+    });
+    return busy[0];
+  }
+
+  /**
+   * Returns all stored events, reading every record.
+   *
+   * @return a new list of all events in sorted order
+   */
+  @Override
+  public synchronized List<Event> getAllEvents() {
+    List<Event> result = new ArrayList<>((int) Math.min(working.size, Integer.MAX_VALUE));
+    scan(working.root, Long.MIN_VALUE, (leaf, i) -> result.add(load(leaf, i)));
+    Collections.sort(result);
+    return result;
+  }
+
+  /**
+   * Closes the files. The storage must not be used afterwards.
+   *
+   * @throws IOException if a file cannot be closed
+   */
+  @Override
+  public synchronized void close() throws IOException {
+    try {
+      records.close();
+    } finally {
+      index.close();
+    }
+  }
+
+  /**
+   * Returns how many event records have been read so far.
+   */
+  synchronized long decodedEvents() {
+    return decoded;
+  }
+
+  // ---------------------------------------------------------------------------------
+  // Changes and commits
+
+  /**
+   * Runs a change and commits it, or rolls it back if it throws, unless it is nested in
+   * a batch.
+   */
+  private <T> T write(Supplier<T> change) {
+    batchDepth++;
+    boolean completed = false;
+    try {
+      T result = change.get();
+      completed = true;
+      return result;
+    } finally {
+      if (--batchDepth == 0) {
+        if (completed) {
+          commit();
+        } else {
+          rollback();
+        }
+      }
+    }
+  }
+
+  /**
+   * Makes the working state durable: forces records and pages, then the meta page.
+   */
+  private void commit() {
+    if (!changed) {
+      return;
+    }
+    try {
+      records.force(false);
+      for (int s = dirtySegments.nextSetBit(0); s >= 0; s = dirtySegments.nextSetBit(s + 1)) {
+        segments.get(s).force();
+      }
+      working.txn = committed.txn + 1;
+      writeMeta(working);
+      segments.get(0).force();
+    } catch (IOException | RuntimeException ex) {
+      rollback();
+      throw new RuntimeException("Event index commit failed: " + ex.getMessage(), ex);
+    }
+    dirtySegments.clear();
+    committed = working.copy();
+    free.addAll(pendingFree);
+    pendingFree.clear();
+    fresh.clear();
+    changed = false;
+  }
+
+  /**
+   * Returns to the last committed state, making the running change's pages free again.
+   */
+  private void rollback() {
+    for (int page : fresh) {
+      cache.remove(page);
+      free.push(page);
+    }
+    free.removeIf(page -> page >= committed.pageCount);
+    fresh.clear();
+    pendingFree.clear();
+    working = committed.copy();
+    changed = false;
+  }
+
+  private int appendRecord(Event e) {
+    try {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+      EventCodec.writeEvent(new DataOutputStream(bytes), e);
+      ByteBuffer buf = ByteBuffer.wrap(bytes.toByteArray());
+      long position = working.recordsEnd;
+      while (buf.hasRemaining()) {
+        position += records.write(buf, position);
+      }
+      working.recordsEnd = position;
+      changed = true;
+      return buf.capacity();
+    } catch (IOException ex) {
+      throw new RuntimeException("Event record write failed: " + ex.getMessage(), ex);
+    }
+  }
+
+  private Event load(Node leaf, int i) {
+    return load(leaf.offsets[i], leaf.values[i]);
+  }
+
+  private Event load(long offset, int length) {
+    try {
+      ByteBuffer buf = ByteBuffer.allocate(length);
+      while (buf.hasRemaining()) {
+        if (records.read(buf, offset + buf.position()) < 0) {
+          throw new IllegalStateException("Event record lies beyond the end of the file.");
+        }
+      }
+      buf.flip();
+      decoded++;
+      return codec.readEvent(buf);
+    } catch (IOException ex) {
+      throw new RuntimeException("Event record read failed: " + ex.getMessage(), ex);
+    }
+  }
+
+  // ---------------------------------------------------------------------------------
+  // Tree operations
+
+  /**
+   * Finds the leaf entry of the stored event matching a key.
+   */
+  private Key findEntry(EventKey key) {
+    if (key.getEnd() == null) {
+      return null;
+    }
+    long start = key.getStart().toEpochSecond();
+    long end = key.getEnd().toEpochSecond();
+    int hash = subjectHash(key);
+    Key[] found = new Key[1];
+    scan(working.root, start, (leaf, i) -> {
+      if (leaf.starts[i] > start) {
+        return false;
+      }
+      if (leaf.ends[i] == end && leaf.hashes[i] == hash && load(leaf, i).matchesKey(key)) {
+        found[0] = new Key(leaf.starts[i], end, hash, leaf.offsets[i]);
+        found[0].length = leaf.values[i];
+        return false;
+      }
+      return true;
+    });
+    return found[0];
+  }
+
+  /**
+   * Returns the earliest start second of an event that can still run at the given one.
+   */
+  private long scanStart(long second) {
+    return second - working.maxDuration - 1;
+  }
+
+  private static int subjectHash(EventKey key) {
+    return EventKey.subjectHash(key.getSubject());
+  }
+
+  /**
+   * Visits leaf entries in order, from the first one starting at or after the given
+   * second, until the visitor returns false.
+   *
+   * @return false if the visitor stopped the scan
+   */
+  private boolean scan(int page, long fromStart, Visitor visitor) {
+    if (page == NO_PAGE) {
+      return true;
+    }
+    Node n = node(page);
+    if (n.leaf) {
+      for (int i = 0; i < n.count; i++) {
+        if (n.starts[i] >= fromStart && !visitor.visit(n, i)) {
+          return false;
+        }
+      }
+      return true;
+    }
+    int first = 0;
+    for (int i = 1; i < n.count && n.starts[i] < fromStart; i++) {
+      first = i;
+    }
+    for (int i = first; i < n.count; i++) {
+      if (!scan(n.values[i], fromStart, visitor)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Inserts a leaf entry into a subtree, copying the pages on the way.
+   */
+  private Split insert(int page, Key key, int length) {
+    if (page == NO_PAGE) {
+      Node leaf = new Node(true);
+      leaf.set(0, key, length);
+      leaf.count = 1;
+      return new Split(rewrite(NO_PAGE, leaf), NO_PAGE, null);
+    }
+    Node n = node(page);
+    Node copy = n.copy();
+    if (n.leaf) {
+      int pos = 0;
+      while (pos < n.count && n.compare(pos, key) < 0) {
+        pos++;
+      }
+      copy.insertAt(pos, key, length);
+    } else {
+      int child = childFor(n, key);
+      Split split = insert(n.values[child], key, length);
+      copy.values[child] = split.left;
+      if (split.right != NO_PAGE) {
+        copy.insertAt(child + 1, split.rightKey, split.right);
+      }
+    }
+    if (copy.count <= MAX_ENTRIES) {
+      return new Split(rewrite(page, copy), NO_PAGE, null);
+    }
+    Node right = copy.splitOff();
+    return new Split(rewrite(page, copy), rewrite(NO_PAGE, right), right.keyAt(0));
+  }
+
+  /**
+   * Removes a leaf entry from a subtree, copying the pages on the way.
+   *
+   * @return the subtree's new page, NO_PAGE if it became empty, or UNCHANGED
+   */
+  private int delete(int page, Key key) {
+    if (page == NO_PAGE) {
+      return UNCHANGED;
+    }
+    Node n = node(page);
+    int pos;
+    int replacement = NO_PAGE;
+    if (n.leaf) {
+      pos = 0;
+      while (pos < n.count && n.compare(pos, key) != 0) {
+        pos++;
+      }
+      if (pos == n.count) {
+        return UNCHANGED;
+      }
+    } else {
+      pos = childFor(n, key);
+      replacement = delete(n.values[pos], key);
+      if (replacement == UNCHANGED) {
+        return UNCHANGED;
+      }
+    }
+    Node copy = n.copy();
+    if (replacement == NO_PAGE) {
+      copy.removeAt(pos);
+    } else {
+      copy.values[pos] = replacement;
+    }
+    if (copy.count == 0) {
+      release(page);
+      return NO_PAGE;
+    }
+    return rewrite(page, copy);
+  }
+
+  /**
+   * Returns the index of the child whose subtree holds the key.
+   */
+  private static int childFor(Node n, Key key) {
+    int child = 0;
+    for (int i = 1; i < n.count && n.compare(i, key) <= 0; i++) {
+      child = i;
+    }
+    return child;
+  }
+
+  private int newRoot(Split split) {
+    Node root = new Node(false);
+    root.set(0, new Key(Long.MIN_VALUE, Long.MIN_VALUE, Integer.MIN_VALUE, Long.MIN_VALUE),
+        split.left);
+    root.set(1, split.rightKey, split.right);
+    root.count = 2;
+    return rewrite(NO_PAGE, root);
+  }
+
+  // ---------------------------------------------------------------------------------
+  // Pages
+
+  /**
+   * Returns a decoded page, from the cache if possible.
+   */
+  private Node node(int page) {
+    Node n = cache.get(page);
+    if (n == null) {
+      n = Node.decode(segments.get(page / PAGES_PER_SEGMENT),
+          (page % PAGES_PER_SEGMENT) * PAGE_SIZE);
+      cache.put(page, n);
+    }
+    return n;
+  }
+
+  /**
+   * Stores a new version of a page: in place if the running change wrote the page
+   * itself, otherwise in a newly allocated page, releasing the old one.
+   *
+   * @param page the page being replaced, or NO_PAGE for a new node
+   * @return the page now holding the node
+   */
+  private int rewrite(int page, Node n) {
+    int target = page;
+    if (page == NO_PAGE || !fresh.contains(page)) {
+      if (page != NO_PAGE) {
+        pendingFree.add(page);
+      }
+      Integer reused = free.poll();
+      target = reused != null ? reused : working.pageCount++;
+      fresh.add(target);
+    }
+    while (segments.size() <= target / PAGES_PER_SEGMENT) {
+      mapSegment();
+    }
+    int segment = target / PAGES_PER_SEGMENT;
+    n.encode(segments.get(segment), (target % PAGES_PER_SEGMENT) * PAGE_SIZE);
+    dirtySegments.set(segment);
+    cache.put(target, n);
+    changed = true;
+    return target;
+  }
+
+  /**
+   * Gives up a page that the working tree no longer references.
+   */
+  private void release(int page) {
+    if (fresh.remove(page)) {
+      cache.remove(page);
+      free.push(page);
+    } else {
+      pendingFree.add(page);
+    }
+    changed = true;
+  }
+
+  private void mapSegment() {
+    try {
+      segments.add(index.map(FileChannel.MapMode.READ_WRITE,
+          segments.size() * SEGMENT_SIZE, SEGMENT_SIZE));
+    } catch (IOException ex) {
+      throw new RuntimeException("Event index mapping failed: " + ex.getMessage(), ex);
+    }
+  }
+
+  /**
+   * Marks every page not reachable from the committed root as free.
+   */
+  private void collectFreePages() {
+    BitSet used = new BitSet(committed.pageCount);
+    markUsed(committed.root, used);
+    for (int page = FIRST_DATA_PAGE; page < committed.pageCount; page++) {
+      if (!used.get(page)) {
+        free.add(page);
+      }
+    }
+  }
+
+  private void markUsed(int page, BitSet used) {
+    if (page == NO_PAGE) {
+      return;
+    }
+    used.set(page);
+    Node n = node(page);
+    if (!n.leaf) {
+      for (int i = 0; i < n.count; i++) {
+        markUsed(n.values[i], used);
+      }
+    }
+  }
+
+  // ---------------------------------------------------------------------------------
+  // Meta pages
+
+  private Meta initialize() {
+    Meta meta = new Meta();
+    meta.root = NO_PAGE;
+    meta.pageCount = FIRST_DATA_PAGE;
+    writeMeta(meta);
+    segments.get(0).force();
+    return meta;
+  }
+
+  /**
+   * Reads both meta pages and returns the newer intact one.
+   */
+  private Meta readMeta() throws IOException {
+    Meta best = null;
+    for (int slot = 0; slot < 2; slot++) {
+      Meta meta = Meta.decode(segments.get(0), slot * PAGE_SIZE);
+      if (meta != null && (best == null || meta.txn > best.txn)) {
+        best = meta;
+      }
+    }
+    if (best == null) {
+      throw new IOException("No intact meta page in " + INDEX_FILE);
+    }
+    return best;
+  }
+
+  private void writeMeta(Meta meta) {
+    meta.encode(segments.get(0), (int) (meta.txn % 2) * PAGE_SIZE);
+  }
+
+  // ---------------------------------------------------------------------------------
+  // Helper types
+
+  /**
+   * Receives leaf entries during a scan.
+   */
+  private interface Visitor {
+    /**
+     * Visits entry i of a leaf.
+     *
+     * @return false to stop the scan
+     */
+    boolean visit(Node leaf, int i);
+  }
+
+  /**
+   * A tree key: start second, end second, subject hash and record position, compared in
+   * that order. Keys found in a leaf also carry the record length.
+   */
+  private static final class Key {
+    final long start;
+    final long end;
+    final int hash;
+    final long offset;
+    int length;
+
+    Key(long start, long end, int hash, long offset) {
+      this.start = start;
+      this.end = end;
+      this.hash = hash;
+      this.offset = offset;
+    }
+  }
+
+  /**
+   * The page or pages replacing a subtree after an insert, with the first key of the
+   * right page if it split.
+   */
+  private static final class Split {
+    final int left;
+    final int right;
+    final Key rightKey;
+
+    Split(int left, int right, Key rightKey) {
+      this.left = left;
+      this.right = right;
+      this.rightKey = rightKey;
+    }
+  }
+
+  /**
+   * A decoded page. Leaves map keys to record lengths; inner nodes map the lowest key
+   * of each child to the child's page. Nodes are not modified once written.
+   */
+  private static final class Node {
+    final boolean leaf;
+    int count;
+    final long[] starts = new long[MAX_ENTRIES + 1];
+    final long[] ends = new long[MAX_ENTRIES + 1];
+    final int[] hashes = new int[MAX_ENTRIES + 1];
+    final long[] offsets = new long[MAX_ENTRIES + 1];
+    final int[] values = new int[MAX_ENTRIES + 1];
+
+    Node(boolean leaf) {
+      this.leaf = leaf;
+    }
+
+    static Node decode(ByteBuffer segment, int base) {
+      Node n = new Node(segment.get(base) == 0);
+      n.count = segment.getShort(base + 2);
+      int pos = base + 4;
+      for (int i = 0; i < n.count; i++, pos += 32) {
+        n.starts[i] = segment.getLong(pos);
+        n.ends[i] = segment.getLong(pos + 8);
+        n.hashes[i] = segment.getInt(pos + 16);
+        n.offsets[i] = segment.getLong(pos + 20);
+        n.values[i] = segment.getInt(pos + 28);
+      }
+      return n;
+    }
+
+    void encode(ByteBuffer segment, int base) {
+      segment.put(base, (byte) (leaf ? 0 : 1));
+      segment.putShort(base + 2, (short) count);
+      int pos = base + 4;
+      for (int i = 0; i < count; i++, pos += 32) {
+        segment.putLong(pos, starts[i]);
+        segment.putLong(pos + 8, ends[i]);
+        segment.putInt(pos + 16, hashes[i]);
+        segment.putLong(pos + 20, offsets[i]);
+        segment.putInt(pos + 28, values[i]);
+      }
+    }
+
+    Node copy() {
+      Node n = new Node(leaf);
+      n.count = count;
+      System.arraycopy(starts, 0, n.starts, 0, count);
+      System.arraycopy(ends, 0, n.ends, 0, count);
+      System.arraycopy(hashes, 0, n.hashes, 0, count);
+      System.arraycopy(offsets, 0, n.offsets, 0, count);
+      System.arraycopy(values, 0, n.values, 0, count);
+      return n;
+    }
+
+    int compare(int i, Key key) {
+      int cmp = Long.compare(starts[i], key.start);
+      if (cmp == 0) {
+        cmp = Long.compare(ends[i], key.end);
+      }
+      if (cmp == 0) {
+        cmp = Integer.compare(hashes[i], key.hash);
+      }
+      return cmp != 0 ? cmp : Long.compare(offsets[i], key.offset);
+    }
+
+    Key keyAt(int i) {
+      return new Key(starts[i], ends[i], hashes[i], offsets[i]);
+    }
+
+    void set(int i, Key key, int value) {
+      starts[i] = key.start;
+      ends[i] = key.end;
+      hashes[i] = key.hash;
+      offsets[i] = key.offset;
+      values[i] = value;
+    }
+
+    void insertAt(int i, Key key, int value) {
+      shift(i, i + 1, count - i);
+      set(i, key, value);
+      count++;
+    }
+
+    void removeAt(int i) {
+      shift(i + 1, i, count - i - 1);
+      count--;
+    }
+
+    /**
+     * Moves the upper half of the entries into a new node.
+     */
+    Node splitOff() {
+      Node right = new Node(leaf);
+      int keep = count / 2;
+      right.count = count - keep;
+      System.arraycopy(starts, keep, right.starts, 0, right.count);
+      System.arraycopy(ends, keep, right.ends, 0, right.count);
+      System.arraycopy(hashes, keep, right.hashes, 0, right.count);
+      System.arraycopy(offsets, keep, right.offsets, 0, right.count);
+      System.arraycopy(values, keep, right.values, 0, right.count);
+      count = keep;
+      return right;
+    }
+
+    private void shift(int from, int to, int length) {
+      System.arraycopy(starts, from, starts, to, length);
+      System.arraycopy(ends, from, ends, to, length);
+      System.arraycopy(hashes, from, hashes, to, length);
+      System.arraycopy(offsets, from, offsets, to, length);
+      System.arraycopy(values, from, values, to, length);
+    }
+  }
+
+  /**
+   * The contents of a meta page: the root and the sizes of both files at a commit.
+   */
+  private static final class Meta {
+    long txn;
+    int root;
+    int pageCount;
+    long size;
+    long maxDuration;
+    long recordsEnd;
+
+    Meta copy() {
+      Meta m = new Meta();
+      m.txn = txn;
+      m.root = root;
+      m.pageCount = pageCount;
+      m.size = size;
+      m.maxDuration = maxDuration;
+      m.recordsEnd = recordsEnd;
+      return m;
+    }
+
+    void encode(ByteBuffer segment, int base) {
+      ByteBuffer page = ByteBuffer.allocate(META_LENGTH);
+      page.putInt(MAGIC).putInt(VERSION).putLong(txn).putInt(root).putInt(pageCount)
+          .putLong(size).putLong(maxDuration).putLong(recordsEnd);
+      CRC32 crc = new CRC32();
+      crc.update(page.array(), 0, META_LENGTH - 4);
+      page.putInt((int) crc.getValue());
+      ByteBuffer target = segment.duplicate();
+      target.position(base);
+      target.put(page.array());
+    }
+
+    /**
+     * Decodes a meta page.
+     *
+     * @return the meta data, or null if the page is blank or torn
+     */
+    static Meta decode(ByteBuffer segment, int base) {
+      byte[] bytes = new byte[META_LENGTH];
+      ByteBuffer source = segment.duplicate();
+      source.position(base);
+      source.get(bytes);
+      ByteBuffer page = ByteBuffer.wrap(bytes);
+      CRC32 crc = new CRC32();
+      crc.update(bytes, 0, META_LENGTH - 4);
+      if (page.getInt() != MAGIC || page.getInt(META_LENGTH - 4) != (int) crc.getValue()) {
+        return null;
+      }
+      if (page.getInt() != VERSION) {
+        return null;
+      }
+      Meta m = new Meta();
+      m.txn = page.getLong();
+      m.root = page.getInt();
+      m.pageCount = page.getInt();
+      m.size = page.getLong();
+      m.maxDuration = page.getLong();
+      m.recordsEnd = page.getLong();
+      return m;
+    }
+  }
+}
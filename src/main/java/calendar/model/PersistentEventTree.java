@@ -0,0 +1,270 @@
+package calendar.model;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An immutable AVL tree of events ordered by {@link Event#compareTo(Event)}.
+ *
+ * <p>Every update returns a new tree that shares all untouched nodes with the old one,
+ * copying only the O(log n) nodes on the path to the change. Old trees stay valid and
+ * unchanged, which is what makes them usable as {@link EventSnapshot snapshots}. Nodes
+ * record their subtree size, so positional access is O(log n) as well.</p>
+ *
+ * <p>This class is package-private as it's an implementation detail of
+ * {@link SnapshotEventStorage}.</p>
+ */
+final class PersistentEventTree extends EventSnapshot {
+
+  /**
+   * The tree with no events, version 0.
+   */
+  static final PersistentEventTree EMPTY = new PersistentEventTree(null, 0);
+
+  /**
+   * An immutable node; children are never reassigned once built.
+   */
+  private static final class Node {
+    private final Event event;
+    private final Node left;
+    private final Node right;
+    private final int height;
+    private final int size;
+
+    private Node(Event event, Node left, Node right) {
+      this.event = event;
+      this.left = left;
+      this.right = right;
+      this.height = 1 + Math.max(height(left), height(right));
+      this.size = 1 + size(left) + size(right);
+    }
+  }
+
+  private final Node root;
+  private final long version;
+
+  private PersistentEventTree(Node root, long version) {
+    this.root = root;
+    this.version = version;
+  }
+
+  @Override
+  public long getVersion() {
+    return version;
+  }
+
+  /**
+   * Returns this tree's contents labelled with another version.
+   *
+   * @param newVersion the version to publish the tree as
+   * @return a tree sharing all nodes with this one
+   */
+  PersistentEventTree withVersion(long newVersion) {
+    return newVersion == version ? this : new PersistentEventTree(root, newVersion);
+  }
+
+  /**
+   * Returns a tree that also holds the event, or this tree if an equal-sorting event
+   * is already present.
+   *
+   * @param e the event to add
+   * @return the updated tree, or {@code this} when nothing changed
+   */
+  PersistentEventTree insert(Event e) {
+    Node updated = insert(root, e, false);
+    return updated == root ? this : new PersistentEventTree(updated, version);
+  }
+
+  /**
+   * Returns a tree in which the event sorting equal to {@code e} is replaced by it, or
+   * {@code e} is added if there is none.
+   *
+   * @param e the event to store
+   * @return the updated tree
+   */
+  PersistentEventTree put(Event e) {
+    return new PersistentEventTree(insert(root, e, true), version);
+  }
+
+  /**
+   * Returns a tree without the event sorting equal to {@code e}, or this tree if there
+   * is no such event.
+   *
+   * @param e the event to remove
+   * @return the updated tree, or {@code this} when nothing changed
+   */
+  PersistentEventTree remove(Event e) {
+    Node updated = remove(root, e);
+    return updated == root ? this : new PersistentEventTree(updated, version);
+  }
+
+  /**
+   * Returns the stored event sorting equal to {@code e}, or null.
+   *
+   * @param e the event to look up
+   * @return the stored instance, or null if absent
+   */
+  Event find(Event e) {
+    Node node = root;
+    while (node != null) {
+      int cmp = e.compareTo(node.event);
+      if (cmp == 0) {
+        return node.event;
+      }
+      node = cmp < 0 ? node.left : node.right;
+    }
+    return null;
+  }
+
+  /**
+   * Iterates, in order, over the events that sort at or after {@code from}.
+   *
+   * @param from the lower bound; need not be stored
+   * @return an iterator over the tail of the tree
+   */
+  Iterator<Event> iteratorFrom(Event from) {
+    return new InOrder(root, from);
+  }
+
+  @Override
+  public Iterator<Event> iterator() {
+    return new InOrder(root, null);
+  }
+
+  @Override
+  public Event get(int index) {
+    if (index < 0 || index >= size()) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size());
+    }
+    Node node = root;
+    while (true) {
+      int leftSize = size(node.left);
+      if (index < leftSize) {
+        node = node.left;
+      } else if (index == leftSize) {
+        return node.event;
+      } else {
+        index -= leftSize + 1;
+        node = node.right;
+      }
+    }
+  }
+
+  @Override
+  public int size() {
+    return size(root);
+  }
+
+  private static Node insert(Node node, Event e, boolean replace) {
+    if (node == null) {
+      return new Node(e, null, null);
+    }
+    int cmp = e.compareTo(node.event);
+    if (cmp == 0) {
+      return replace ? new Node(e, node.left, node.right) : node;
+    }
+    if (cmp < 0) {
+      Node left = insert(node.left, e, replace);
+      return left == node.left ? node : balance(node.event, left, node.right);
+    }
+    Node right = insert(node.right, e, replace);
+    return right == node.right ? node : balance(node.event, node.left, right);
+  }
+
+  private static Node remove(Node node, Event e) {
+    if (node == null) {
+      return null;
+    }
+    int cmp = e.compareTo(node.event);
+    if (cmp < 0) {
+      Node left = remove(node.left, e);
+      return left == node.left ? node : balance(node.event, left, node.right);
+    }
+    if (cmp > 0) {
+      Node right = remove(node.right, e);
+      return right == node.right ? node : balance(node.event, node.left, right);
+    }
+    if (node.left == null) {
+      return node.right;
+    }
+    if (node.right == null) {
+      return node.left;
+    }
+    Node successor = node.right;
+    while (successor.left != null) {
+      successor = successor.left;
+    }
+    return balance(successor.event, node.left, remove(node.right, successor.event));
+  }
+
+  private static Node balance(Event event, Node left, Node right) {
+    int diff = height(left) - height(right);
+    if (diff > 1) {
+      if (height(left.left) < height(left.right)) {
+        left = rotateLeft(left.event, left.left, left.right);
+      }
+      return rotateRight(event, left, right);
+    }
+    if (diff < -1) {
+      if (height(right.right) < height(right.left)) {
+        right = rotateRight(right.event, right.left, right.right);
+      }
+      return rotateLeft(event, left, right);
+    }
+    return new Node(event, left, right);
+  }
+
+  private static Node rotateRight(Event event, Node left, Node right) {
+    return new Node(left.event, left.left, new Node(event, left.right, right));
+  }
+
+  private static Node rotateLeft(Event event, Node left, Node right) {
+    return new Node(right.event, new Node(event, left, right.left), right.right);
+  }
+
+  private static int height(Node node) {
+    return node == null ? 0 : node.height;
+  }
+
+  private static int size(Node node) {
+    return node == null ? 0 : node.size;
+  }
+
+  /**
+   * In-order iterator with an explicit stack, optionally starting at a lower bound.
+   */
+  private static final class InOrder implements Iterator<Event> {
+    private final Deque<Node> stack = new ArrayDeque<>();
+
+    private InOrder(Node root, Event from) {
+      Node node = root;
+      while (node != null) {
+        if (from == null || from.compareTo(node.event) <= 0) {
+          stack.push(node);
+          node = node.left;
+        } else {
+          node = node.right;
+        }
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      return !stack.isEmpty();
+    }
+
+    @Override
+    public Event next() {
+      if (stack.isEmpty()) {
+        throw new NoSuchElementException();
+      }
+      Node node = stack.pop();
+      for (Node n = node.right; n != null; n = n.left) {
+        stack.push(n);
+      }
+      return node.event;
+    }
+  }
+}
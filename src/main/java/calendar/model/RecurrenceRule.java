@@ -2,25 +2,67 @@ package calendar.model;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.UUID;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Represents recurrence rules for generating repeating events.
  *
  * <p>Supports repeating events for a fixed number of occurrences
- * or until a specific date, across selected weekdays.
+ * or until a specific date, using one of three patterns:
+ * <ul>
+ *   <li>selected weekdays, every {@code interval} weeks (the constructor's pattern);</li>
+ *   <li>a fixed day of the month, every {@code interval} months;</li>
+ *   <li>the nth (or last) given weekday of the month, every {@code interval} months.</li>
+ * </ul>
+ * Every pattern computes the next date directly instead of scanning day by day.
  */
 public final class RecurrenceRule {
 
+  /**
+   * The kinds of pattern a rule can follow.
+   */
+  private enum Pattern {
+    WEEKLY, MONTHLY_BY_DAY, MONTHLY_BY_WEEKDAY
+  }
+
+  /**
+   * Upper bound on months probed for a monthly date before giving up, covering
+   * rules such as "every 12 months on the 29th" that only match in leap years.
+   */
+  private static final int MAX_MONTH_PROBES = 100;
+
+  private final Pattern pattern;
   private final Set<DayOfWeek> weekdays;
+  private final int interval;
+  private final int dayOfMonth;
+  private final int nth;
+  private final DayOfWeek weekday;
   private final Integer occurrences;
   private final LocalDate until;
 
+  /**
+   * Days from each weekday to the next selected weekday, indexed by ordinal.
+   */
+  private final int[] nextOffset;
+
   /**
    * Constructs a recurrence rule.
    *
@@ -29,13 +71,91 @@ public final class RecurrenceRule {
    * @param until       end date of repetition (nullable if using 'occurrences')
    */
   public RecurrenceRule(Set<DayOfWeek> weekdays, Integer occurrences, LocalDate until) {
+    this(Pattern.WEEKLY, weekdays, 1, 0, 0, null, occurrences, until);
+  }
+
+  private RecurrenceRule(Pattern pattern, Set<DayOfWeek> weekdays, int interval,
+                         int dayOfMonth, int nth, DayOfWeek weekday,
+                         Integer occurrences, LocalDate until) {
     if ((occurrences == null && until == null)
         || (occurrences != null && until != null)) {
       throw new IllegalArgumentException("Specify either occurrences or until date, not both.");
     }
+    if (interval < 1) {
+      throw new IllegalArgumentException("Repeat interval must be at least 1.");
+    }
+    this.pattern = pattern;
     this.weekdays = weekdays == null ? new HashSet<>() : Set.copyOf(weekdays);
+    this.interval = interval;
+    this.dayOfMonth = dayOfMonth;
+    this.nth = nth;
+    this.weekday = weekday;
     this.occurrences = occurrences;
     this.until = until;
+    this.nextOffset = buildOffsets(this.weekdays);
+  }
+
+  /**
+   * Creates a rule repeating on the given weekdays of every {@code interval}-th week,
+   * e.g. "every other Tuesday". Weeks start on Monday and are counted from the seed's
+   * week.
+   *
+   * @param weekdays    days of the week the event repeats on
+   * @param interval    repeat every this many weeks (at least 1)
+   * @param occurrences number of times to repeat (nullable if using 'until')
+   * @param until       end date of repetition (nullable if using 'occurrences')
+   * @return the rule
+   * @throws IllegalArgumentException if the arguments are invalid
+   */
+  public static RecurrenceRule weekly(Set<DayOfWeek> weekdays, int interval,
+                                      Integer occurrences, LocalDate until) {
+    return new RecurrenceRule(Pattern.WEEKLY, weekdays, interval, 0, 0, null,
+        occurrences, until);
+  }
+
+  /**
+   * Creates a rule repeating on a fixed day of every {@code interval}-th month, counted
+   * from the seed's month. Months without that day (e.g. the 31st in April) are skipped.
+   *
+   * @param dayOfMonth  the day of the month, 1 to 31
+   * @param interval    repeat every this many months (at least 1)
+   * @param occurrences number of times to repeat (nullable if using 'until')
+   * @param until       end date of repetition (nullable if using 'occurrences')
+   * @return the rule
+   * @throws IllegalArgumentException if the arguments are invalid
+   */
+  public static RecurrenceRule monthlyOnDay(int dayOfMonth, int interval,
+                                            Integer occurrences, LocalDate until) {
+    if (dayOfMonth < 1 || dayOfMonth > 31) {
+      throw new IllegalArgumentException("Day of month must be between 1 and 31.");
+    }
+    return new RecurrenceRule(Pattern.MONTHLY_BY_DAY, null, interval, dayOfMonth, 0, null,
+        occurrences, until);
+  }
+
+  /**
+   * Creates a rule repeating on the nth given weekday of every {@code interval}-th month,
+   * e.g. "first Monday of the month". Use {@code -1} for the last such weekday. Months
+   * without a fifth occurrence of the weekday are skipped.
+   *
+   * @param nth         1 to 5, or -1 for the last
+   * @param weekday     the day of the week
+   * @param interval    repeat every this many months (at least 1)
+   * @param occurrences number of times to repeat (nullable if using 'until')
+   * @param until       end date of repetition (nullable if using 'occurrences')
+   * @return the rule
+   * @throws IllegalArgumentException if the arguments are invalid
+   */
+  public static RecurrenceRule monthlyOnWeekday(int nth, DayOfWeek weekday, int interval,
+                                                Integer occurrences, LocalDate until) {
+    if (weekday == null) {
+      throw new IllegalArgumentException("Weekday cannot be null.");
+    }
+    if (nth != -1 && (nth < 1 || nth > 5)) {
+      throw new IllegalArgumentException("Week of month must be 1 to 5, or -1 for last.");
+    }
+    return new RecurrenceRule(Pattern.MONTHLY_BY_WEEKDAY, null, interval, 0, nth, weekday,
+        occurrences, until);
   }
 
   /**
@@ -46,45 +166,291 @@ public final class RecurrenceRule {
    */
   public List<Event> generateSeries(Event seed) {
     List<Event> result = new ArrayList<>();
+    iterator(seed).forEachRemaining(result::add);
+    return result;
+  }
 
-    LocalDate seedDate = seed.getStart().toLocalDate();
-    ZonedDateTime baseStart = seed.getStart();
-    ZonedDateTime baseEnd = seed.getEnd();
+  /**
+   * Returns an iterator over the occurrences of this rule, computed one at a time.
+   *
+   * <p>Each step computes the next matching date directly: weekly rules use a 7-entry
+   * table of day offsets and monthly rules use month arithmetic, so long series can be
+   * consumed without building a list first. All occurrences share the seed's series ID,
+   * or one fresh ID if the seed has none.</p>
+   *
+   * @param seed the base (first) event
+   * @return an iterator over the generated events in start order
+   */
+  public Iterator<Event> iterator(Event seed) {
     String seriesId = seed.getSeriesId() != null
         ? seed.getSeriesId()
         : UUID.randomUUID().toString();
+    LocalDate seedDate = seed.getStart().toLocalDate();
+    return new OccurrenceIterator(seed, seriesId, firstOnOrAfter(seedDate, seedDate), 0);
+  }
 
+  /**
+   * Returns a lazily evaluated stream over the occurrences of this rule.
+   *
+   * @param seed the base (first) event
+   * @return an ordered stream of the generated events
+   * @see #iterator(Event)
+   */
+  public Stream<Event> stream(Event seed) {
+    return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator(seed),
+        Spliterator.ORDERED | Spliterator.NONNULL), false);
+  }
 
-    int count = 0;
-    LocalDate date = seedDate;
-
-    while (true) {
-      DayOfWeek dow = date.getDayOfWeek();
-      if (weekdays.contains(dow)) {
-        ZonedDateTime start = baseStart.with(date);
-        ZonedDateTime end = baseEnd.with(date);
-        Event e = new Event.Builder(seed.getSubject(), start, end)
-            .description(seed.getDescription())
-            .location(seed.getLocation())
-            .status(seed.getStatus())
-            .seriesId(seriesId)
-            .build();
-        result.add(e);
-        count++;
-      }
+  /**
+   * Generates only the occurrences whose start date lies in {@code [from, to]}.
+   *
+   * <p>Used by storages that expand a series on demand instead of keeping every
+   * occurrence. The first matching date at or after {@code from} is computed directly,
+   * and for count-bounded rules the occurrences already used before it are counted
+   * arithmetically (weekly rules) or per month (monthly rules), never per day.</p>
+   *
+   * @param seed the first event of the series, carrying its series ID
+   * @param from the first start date of interest
+   * @param to   the last start date of interest
+   * @return the matching occurrences in start order
+   */
+  List<Event> generateBetween(Event seed, LocalDate from, LocalDate to) {
+    List<Event> result = new ArrayList<>();
+    LocalDate seedDate = seed.getStart().toLocalDate();
+    LocalDate first = firstOnOrAfter(seedDate, from.isAfter(seedDate) ? from : seedDate);
+    if (first == null) {
+      return result;
+    }
+    long used = countBefore(seedDate, first);
 
-      if (occurrences != null && count >= occurrences) {
+    Iterator<Event> it = new OccurrenceIterator(seed, seed.getSeriesId(), first, used);
+    while (it.hasNext()) {
+      Event e = it.next();
+      if (e.getStart().toLocalDate().isAfter(to)) {
         break;
       }
-      date = date.plusDays(1);
-      if (until != null && date.isAfter(until)) {
-        break;
+      result.add(e);
+    }
+    return result;
+  }
+
+  /**
+   * Returns the first occurrence date on or after {@code date}, or null if there is none.
+   *
+   * @param seedDate the date of the seed event, which anchors weeks and months
+   * @param date     the earliest date to consider, not before {@code seedDate}
+   */
+  private LocalDate firstOnOrAfter(LocalDate seedDate, LocalDate date) {
+    if (pattern != Pattern.WEEKLY) {
+      return firstMonthlyOnOrAfter(seedDate, date);
+    }
+    if (weekdays.isEmpty()) {
+      return null;
+    }
+    LocalDate anchor = weekAnchor(seedDate);
+    long week = ChronoUnit.DAYS.between(anchor, date) / 7;
+    if (week % interval != 0) {
+      date = anchor.plusWeeks(week + interval - week % interval);
+    }
+    return weekdays.contains(date.getDayOfWeek()) ? date : nextWeekly(date);
+  }
+
+  /**
+   * Returns the occurrence date following {@code date}.
+   *
+   * @param seedDate the date of the seed event
+   * @param date     the current occurrence date
+   */
+  private LocalDate nextAfter(LocalDate seedDate, LocalDate date) {
+    if (pattern == Pattern.WEEKLY) {
+      return nextWeekly(date);
+    }
+    return firstMonthlyOnOrAfter(seedDate, date.plusDays(1));
+  }
+
+  /**
+   * Jumps to the next selected weekday, skipping the inactive weeks of the interval
+   * whenever the jump crosses into a new week.
+   */
+  private LocalDate nextWeekly(LocalDate date) {
+    int d = date.getDayOfWeek().ordinal();
+    int step = nextOffset[d];
+    if (d + step >= 7) {
+      step += (interval - 1) * 7;
+    }
+    return date.plusDays(step);
+  }
+
+  /**
+   * Returns the first monthly occurrence on or after {@code date}, or null if the rule
+   * can never match.
+   */
+  private LocalDate firstMonthlyOnOrAfter(LocalDate seedDate, LocalDate date) {
+    YearMonth seedMonth = YearMonth.from(seedDate);
+    YearMonth month = YearMonth.from(date);
+    long offset = ChronoUnit.MONTHS.between(seedMonth, month) % interval;
+    if (offset != 0) {
+      month = month.plusMonths(interval - offset);
+    }
+    for (int probe = 0; probe < MAX_MONTH_PROBES; probe++) {
+      LocalDate candidate = dateIn(month);
+      if (candidate != null && !candidate.isBefore(date)) {
+        return candidate;
       }
+      month = month.plusMonths(interval);
+    }
+    return null;
+  }
 
+  /**
+   * Returns the date this monthly rule selects in the given month, or null if the month
+   * has no such date.
+   */
+  private LocalDate dateIn(YearMonth month) {
+    if (pattern == Pattern.MONTHLY_BY_DAY) {
+      return month.isValidDay(dayOfMonth) ? month.atDay(dayOfMonth) : null;
+    }
+    if (nth < 0) {
+      return month.atEndOfMonth().with(TemporalAdjusters.lastInMonth(weekday));
+    }
+    LocalDate date = month.atDay(1).with(TemporalAdjusters.dayOfWeekInMonth(nth, weekday));
+    return YearMonth.from(date).equals(month) ? date : null;
+  }
 
+  /**
+   * Counts the occurrence dates in {@code [seedDate, date)}.
+   */
+  private long countBefore(LocalDate seedDate, LocalDate date) {
+    if (pattern == Pattern.WEEKLY) {
+      LocalDate anchor = weekAnchor(seedDate);
+      return countWeeklyFromAnchor(anchor, date) - countWeeklyFromAnchor(anchor, seedDate);
+    }
+    long count = 0;
+    LocalDate next = firstMonthlyOnOrAfter(seedDate, seedDate);
+    while (next != null && next.isBefore(date)) {
+      count++;
+      next = firstMonthlyOnOrAfter(seedDate, next.plusDays(1));
     }
+    return count;
+  }
 
-    return result;
+  /**
+   * Counts the weekly occurrence dates in {@code [anchor, date)}, where {@code anchor}
+   * is the Monday starting the first active week. Every cycle of {@code interval} weeks
+   * contributes one active week.
+   */
+  private long countWeeklyFromAnchor(LocalDate anchor, LocalDate date) {
+    long days = ChronoUnit.DAYS.between(anchor, date);
+    if (days <= 0) {
+      return 0;
+    }
+    long cycleDays = 7L * interval;
+    long count = (days / cycleDays) * weekdays.size();
+    long rest = days % cycleDays;
+    if (rest >= 7) {
+      return count + weekdays.size();
+    }
+    for (DayOfWeek d : weekdays) {
+      if (d.ordinal() < rest) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Returns the Monday of the week containing {@code date}.
+   */
+  private static LocalDate weekAnchor(LocalDate date) {
+    return date.minusDays(date.getDayOfWeek().ordinal());
+  }
+
+  /**
+   * Builds the table of days from each weekday to the next selected weekday.
+   *
+   * @return offsets indexed by {@link DayOfWeek#ordinal()}, 0 if no weekday is selected
+   */
+  private static int[] buildOffsets(Set<DayOfWeek> weekdays) {
+    int[] offsets = new int[7];
+    if (weekdays.isEmpty()) {
+      return offsets;
+    }
+    for (int d = 0; d < 7; d++) {
+      int step = 1;
+      while (!weekdays.contains(DayOfWeek.of((d + step) % 7 + 1))) {
+        step++;
+      }
+      offsets[d] = step;
+    }
+    return offsets;
+  }
+
+  /**
+   * Walks the matching dates of the rule, building one occurrence per step.
+   *
+   * <p>The seed's local times and offsets are captured once; each occurrence only
+   * resolves its own date against the zone, preferring the seed's offset exactly like
+   * {@link ZonedDateTime#with(java.time.temporal.TemporalAdjuster)}.</p>
+   */
+  private final class OccurrenceIterator implements Iterator<Event> {
+    private final Event seed;
+    private final String seriesId;
+    private final LocalTime startTime;
+    private final LocalTime endTime;
+    private final ZoneId startZone;
+    private final ZoneId endZone;
+    private final ZoneOffset startOffset;
+    private final ZoneOffset endOffset;
+    private final LocalDate seedDate;
+    private LocalDate next;
+    private long produced;
+
+    private OccurrenceIterator(Event seed, String seriesId, LocalDate first, long produced) {
+      this.seed = seed;
+      this.seriesId = seriesId;
+      this.startTime = seed.getStart().toLocalTime();
+      this.endTime = seed.getEnd().toLocalTime();
+      this.startZone = seed.getStart().getZone();
+      this.endZone = seed.getEnd().getZone();
+      this.startOffset = seed.getStart().getOffset();
+      this.endOffset = seed.getEnd().getOffset();
+      this.seedDate = seed.getStart().toLocalDate();
+      this.next = first;
+      this.produced = produced;
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (next == null) {
+        return false;
+      }
+      if (occurrences != null && produced >= occurrences) {
+        return false;
+      }
+      // the seed's own date is always considered, as in the original day-by-day walk
+      return until == null || !next.isAfter(until) || next.equals(seedDate);
+    }
+
+    @Override
+    public Event next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException("No more occurrences.");
+      }
+      LocalDate date = next;
+      next = nextAfter(seedDate, date);
+      produced++;
+
+      ZonedDateTime start = ZonedDateTime.ofLocal(LocalDateTime.of(date, startTime),
+          startZone, startOffset);
+      ZonedDateTime end = ZonedDateTime.ofLocal(LocalDateTime.of(date, endTime),
+          endZone, endOffset);
+      return new Event.Builder(seed.getSubject(), start, end)
+          .description(seed.getDescription())
+          .location(seed.getLocation())
+          .status(seed.getStatus())
+          .seriesId(seriesId)
+          .build();
+    }
   }
 
   public Set<DayOfWeek> getWeekdays() {
@@ -98,4 +464,8 @@ public final class RecurrenceRule {
   public LocalDate getUntil() {
     return until;
   }
+
+  public int getInterval() {
+    return interval;
+  }
 }
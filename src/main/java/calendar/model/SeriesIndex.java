@@ -0,0 +1,83 @@
+package calendar.model;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * Secondary index from a series ID to the start-ordered occurrences of that series.
+ *
+ * <p>Maintained by storages alongside their primary structure so that series edits and
+ * lookups only touch the events of one series instead of the whole calendar. Events
+ * without a series ID are not indexed.</p>
+ *
+ * <p>This class is package-private as it's an implementation detail of the storages.</p>
+ */
+class SeriesIndex {
+
+  private final Map<String, NavigableSet<Event>> bySeries = new HashMap<>();
+
+  /**
+   * Registers an event under its series, if it has one.
+   *
+   * @param e the stored event
+   */
+  void add(Event e) {
+    if (e.getSeriesId() != null) {
+      bySeries.computeIfAbsent(e.getSeriesId(), k -> new TreeSet<>()).add(e);
+    }
+  }
+
+  /**
+   * Unregisters an event from its series, dropping the series once it is empty.
+   *
+   * @param e the event that was removed from storage
+   */
+  void remove(Event e) {
+    if (e.getSeriesId() == null) {
+      return;
+    }
+    NavigableSet<Event> occurrences = bySeries.get(e.getSeriesId());
+    if (occurrences != null && occurrences.remove(e) && occurrences.isEmpty()) {
+      bySeries.remove(e.getSeriesId());
+    }
+  }
+
+  /**
+   * Returns every occurrence of a series in start order.
+   *
+   * @param seriesId the series ID
+   * @return a new list of the occurrences, empty if the series is unknown
+   */
+  List<Event> get(String seriesId) {
+    NavigableSet<Event> occurrences = seriesId == null ? null : bySeries.get(seriesId);
+    return occurrences == null ? new ArrayList<>() : new ArrayList<>(occurrences);
+  }
+
+  /**
+   * Returns the occurrences of a series starting at or after the given time.
+   *
+   * @param seriesId the series ID
+   * @param from     the earliest start time to include
+   * @return a new list of the matching occurrences in start order
+   */
+  List<Event> getFrom(String seriesId, ZonedDateTime from) {
+    List<Event> result = new ArrayList<>();
+    NavigableSet<Event> occurrences = seriesId == null ? null : bySeries.get(seriesId);
+    if (occurrences == null) {
+      return result;
+    }
+    long second = from.toEpochSecond();
+    int nano = from.getNano();
+    for (Event e : occurrences.tailSet(Event.probeBefore(from), true)) {
+      if (Event.compareInstant(e.startEpochSecond(), e.startNano(), second, nano) >= 0) {
+        result.add(e);
+      }
+    }
+    return result;
+  }
+}
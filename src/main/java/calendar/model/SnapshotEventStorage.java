@@ -0,0 +1,362 @@
+package calendar.model;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.UnaryOperator;
+
+/**
+ * An event storage with multi-version snapshots, for calendars read by many threads.
+ *
+ * <p>The events live in a {@link PersistentEventTree}, an immutable AVL tree whose
+ * updates share structure with the previous version. The current tree is published
+ * through an {@link AtomicReference}, so readers simply take the current root and never
+ * block; {@link #snapshot()} hands that tree out directly, without copying.</p>
+ *
+ * <p>Writers are serialized by a lock. A single mutation publishes a new version at
+ * once; mutations made inside {@link #runBatch(Runnable)} are applied to a private
+ * working tree and published together when the batch completes, so readers see a
+ * series edit either not at all or in full. If the batch throws, none of its changes
+ * are published.</p>
+ */
+public class SnapshotEventStorage implements IeventStorage {
+
+  private static final long MAX_OFFSET_SECONDS = ZoneOffset.MAX.getTotalSeconds();
+
+  /**
+   * The latest published version.
+   */
+  private final AtomicReference<PersistentEventTree> current =
+      new AtomicReference<>(PersistentEventTree.EMPTY);
+
+  /**
+   * Serializes writers; readers never take it.
+   */
+  private final ReentrantLock writeLock = new ReentrantLock();
+
+  /**
+   * Working tree of the running batch; only touched while holding the lock.
+   */
+  private PersistentEventTree pending;
+
+  /**
+   * Nesting depth of {@link #runBatch(Runnable)}; only touched while holding the lock.
+   */
+  private int batchDepth;
+
+  /**
+   * Longest duration, in whole seconds rounded up, of any event ever stored.
+   */
+  private volatile long maxDurationSeconds;
+
+  /**
+   * Adds a new event to the storage.
+   *
+   * @param e the event to add
+   * @return true if the event was added, false if it already exists
+   */
+  @Override
+  public boolean addEvent(Event e) {
+    noteDuration(e);
+    return mutate(tree -> tree.insert(e));
+  }
+
+  /**
+   * Adds a group of events all-or-nothing as one published version.
+   *
+   * @param events the events to add
+   * @return true if every event was added, false if nothing was added because of a
+   *         duplicate
+   */
+  @Override
+  public boolean addAll(Collection<Event> events) {
+    boolean[] added = new boolean[1];
+    runBatch(() -> added[0] = IeventStorage.super.addAll(events));
+    return added[0];
+  }
+
+  /**
+   * Removes an event that matches the given key.
+   *
+   * @param key the key representing the event to remove
+   * @return true if an event was removed, false otherwise
+   */
+  @Override
+  public boolean removeEvent(EventKey key) {
+    writeLock.lock();
+    try {
+      Event existing = findByKey(key);
+      return existing != null && mutate(tree -> tree.remove(existing));
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  /**
+   * Replaces a stored event with an edited copy in a single published version.
+   *
+   * @param original the stored event
+   * @param updated  the event to store instead
+   * @return true if replaced, false if the original is gone or the update is a duplicate
+   */
+  @Override
+  public boolean replaceEvent(Event original, Event updated) {
+    writeLock.lock();
+    try {
+      Event stored = findByKey(original.getKey());
+      if (stored == null) {
+        return false;
+      }
+      noteDuration(updated);
+      if (stored.compareTo(updated) == 0) {
+        return mutate(tree -> tree.put(updated));
+      }
+      return mutate(tree -> {
+        PersistentEventTree added = tree.insert(updated);
+        return added == tree ? tree : added.remove(stored);
+      });
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  /**
+   * Runs the mutations as one batch, publishing all of its changes as a single version.
+   *
+   * @param mutations the storage updates to apply
+   */
+  @Override
+  public void runBatch(Runnable mutations) {
+    writeLock.lock();
+    try {
+      if (batchDepth++ == 0) {
+        pending = current.get();
+      }
+      boolean completed = false;
+      try {
+        mutations.run();
+        completed = true;
+      } finally {
+        if (--batchDepth == 0) {
+          if (completed) {
+            publish(pending);
+          }
+          pending = null;
+        }
+      }
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  /**
+   * Returns the current version of the events, without copying them.
+   *
+   * @return an immutable snapshot that later changes do not affect
+   */
+  @Override
+  public EventSnapshot snapshot() {
+    return view();
+  }
+
+  /**
+   * Finds the event with the given key by seeking to its start time.
+   *
+   * @param key the key representing the event
+   * @return the stored event, or null if not found
+   */
+  @Override
+  public Event findByKey(EventKey key) {
+    for (Event e : getEventsStartingAt(key.getStart())) {
+      if (e.matchesKey(key)) {
+        return e;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Gets the events starting at the given instant by seeking into the tree.
+   *
+   * @param start the start time to look up
+   * @return the events starting at that instant, in sorted order
+   */
+  @Override
+  public List<Event> getEventsStartingAt(ZonedDateTime start) {
+    List<Event> result = new ArrayList<>();
+    Iterator<Event> it = view().iteratorFrom(Event.probeBefore(start));
+    while (it.hasNext()) {
+      Event e = it.next();
+      if (e.getStart().isAfter(start)) {
+        break;
+      }
+      if (e.getStart().isEqual(start)) {
+        result.add(e);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Gets all events that occur on the specified date.
+   *
+   * @param date the date to check
+   * @return a list of events occurring on that date
+   */
+  @Override
+  public List<Event> getEventsOn(LocalDate date) {
+    long dayStart = date.toEpochDay() * 86400L;
+    List<Event> result = new ArrayList<>();
+    Iterator<Event> it = scanFrom(view(), dayStart - MAX_OFFSET_SECONDS);
+    while (it.hasNext()) {
+      Event e = it.next();
+      if (e.startEpochSecond() >= dayStart + 86400L + MAX_OFFSET_SECONDS) {
+        break;
+      }
+      if (e.occursOn(date)) {
+        result.add(e);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Gets all events that overlap with a given time range.
+   *
+   * @param start the start time
+   * @param end   the end time
+   * @return a list of events overlapping the time range
+   */
+  @Override
+  public List<Event> getEventsBetween(ZonedDateTime start, ZonedDateTime end) {
+    long last = end.toEpochSecond();
+    List<Event> result = new ArrayList<>();
+    Iterator<Event> it = scanFrom(view(), start.toEpochSecond());
+    while (it.hasNext()) {
+      Event e = it.next();
+      if (e.startEpochSecond() > last) {
+        break;
+      }
+      if (e.overlaps(start, end)) {
+        result.add(e);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Checks whether any event covers the given time.
+   *
+   * @param time the time to check
+   * @return true if an event spans that time
+   */
+  @Override
+  public boolean isBusy(ZonedDateTime time) {
+    long second = time.toEpochSecond();
+    Iterator<Event> it = scanFrom(view(), second);
+    while (it.hasNext()) {
+      Event e = it.next();
+      if (e.startEpochSecond() > second) {
+        break;
+      }
+      if (!time.isBefore(e.getStart()) && !time.isAfter(e.getEnd())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Queries read only the published immutable version, so they are safe next to a writer.
+   *
+   * @return true
+   */
+  @Override
+  public boolean supportsConcurrentReads() {
+    return true;
+  }
+
+  /**
+   * Returns all stored events as a list.
+   *
+   * @return a new list of all events in sorted order
+   */
+  @Override
+  public List<Event> getAllEvents() {
+    return new ArrayList<>(view());
+  }
+
+  /**
+   * Returns the tree reads should see: the batch's working tree for the thread running
+   * a batch, the published version for everyone else.
+   */
+  private PersistentEventTree view() {
+    if (writeLock.isHeldByCurrentThread() && batchDepth > 0) {
+      return pending;
+    }
+    return current.get();
+  }
+
+  /**
+   * Applies one change under the write lock and publishes it unless a batch is running.
+   *
+   * @return true if the change modified the tree
+   */
+  private boolean mutate(UnaryOperator<PersistentEventTree> change) {
+    writeLock.lock();
+    try {
+      PersistentEventTree before = batchDepth > 0 ? pending : current.get();
+      PersistentEventTree after = change.apply(before);
+      if (after == before) {
+        return false;
+      }
+      if (batchDepth > 0) {
+        pending = after;
+      } else {
+        publish(after);
+      }
+      return true;
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  private void publish(PersistentEventTree tree) {
+    PersistentEventTree published = current.get();
+    if (tree == published) {
+      return;
+    }
+    current.set(tree.withVersion(published.getVersion() + 1));
+  }
+
+  /**
+   * Widens range scans for an event about to be stored; done before it is published.
+   */
+  private void noteDuration(Event e) {
+    writeLock.lock();
+    try {
+      long duration = e.endEpochSecond() - e.startEpochSecond() + 1;
+      if (duration > maxDurationSeconds) {
+        maxDurationSeconds = duration;
+      }
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  /**
+   * Iterates from the earliest event that can still be running at the given second.
+   */
+  private Iterator<Event> scanFrom(PersistentEventTree tree, long epochSecond) {
+    long from = epochSecond - maxDurationSeconds - 1;
+    return tree.iteratorFrom(Event.probeBefore(
+        ZonedDateTime.ofInstant(Instant.ofEpochSecond(from), ZoneOffset.UTC)));
+  }
+}
@@ -0,0 +1,175 @@
+package calendar.model;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * A decorator that makes any {@link Icalendar} safe to share between threads.
+ *
+ * <p>Mutations run under the write lock of a {@link StampedLock}, and queries under its
+ * read lock, so readers never block each other.</p>
+ *
+ * <p>When the delegate is a {@link CalendarModel} over a storage that
+ * {@link IeventStorage#supportsConcurrentReads() supports concurrent reads}, such as
+ * {@link ConcurrentSkipListEventStorage} or {@link SnapshotEventStorage}, queries first
+ * run under an optimistic read stamp, taking no lock at all; if a writer got in
+ * meanwhile the result is discarded and the query is repeated under the read lock.
+ * Other storages, like {@link TreeSetEventStorage}, may be seen torn in the middle of a
+ * write or update state while reading, so their queries always take the read lock.</p>
+ */
+public class StampedLockCalendar implements Icalendar {
+
+  private final Icalendar delegate;
+  private final StampedLock lock = new StampedLock();
+
+  /**
+   * Whether queries may run under an optimistic stamp.
+   */
+  private final boolean optimistic;
+
+  /**
+   * Wraps a calendar; it must not be used directly afterwards.
+   *
+   * @param delegate the calendar to guard
+   * @throws IllegalArgumentException if delegate is null
+   */
+  public StampedLockCalendar(Icalendar delegate) {
+    if (delegate == null) {
+      throw new IllegalArgumentException("Calendar cannot be null.");
+    }
+    this.delegate = delegate;
+    this.optimistic = delegate instanceof CalendarModel
+        && ((CalendarModel) delegate).supportsConcurrentReads();
+  }
+
+  @Override
+  public void createEvent(Event e) {
+    write(() -> delegate.createEvent(e));
+  }
+
+  @Override
+  public void createEvents(Collection<Event> events) {
+    write(() -> delegate.createEvents(events));
+  }
+
+  @Override
+  public void transaction(Consumer<Icalendar> work) {
+    write(() -> delegate.transaction(work));
+  }
+
+  @Override
+  public void createSeries(Event e, RecurrenceRule rule) {
+    write(() -> delegate.createSeries(e, rule));
+  }
+
+  @Override
+  public void editEvent(EventKey key, String property, Object newValue) {
+    write(() -> delegate.editEvent(key, property, newValue));
+  }
+
+  @Override
+  public void editEvent(EventKey key, Map<String, Object> changes) {
+    write(() -> delegate.editEvent(key, changes));
+  }
+
+  @Override
+  public void editSeries(EventKey key, String property, Object newValue, EditMode mode) {
+    write(() -> delegate.editSeries(key, property, newValue, mode));
+  }
+
+  @Override
+  public void editSeries(EventKey key, Map<String, Object> changes, EditMode mode) {
+    write(() -> delegate.editSeries(key, changes, mode));
+  }
+
+  @Override
+  public void setZone(ZoneId zone) {
+    write(() -> delegate.setZone(zone));
+  }
+
+  @Override
+  public Event findEvent(String subject, ZonedDateTime start, ZonedDateTime end) {
+    return read(() -> delegate.findEvent(subject, start, end));
+  }
+
+  @Override
+  public List<Event> queryEventsOn(LocalDate date) {
+    return read(() -> delegate.queryEventsOn(date));
+  }
+
+  @Override
+  public List<Event> queryEventsBetween(ZonedDateTime start, ZonedDateTime end) {
+    return read(() -> delegate.queryEventsBetween(start, end));
+  }
+
+  @Override
+  public boolean isBusy(ZonedDateTime timestamp) {
+    return read(() -> delegate.isBusy(timestamp));
+  }
+
+  @Override
+  public BitSet isBusyAt(List<ZonedDateTime> timestamps) {
+    return read(() -> delegate.isBusyAt(timestamps));
+  }
+
+  @Override
+  public EventSnapshot snapshot() {
+    return read(delegate::snapshot);
+  }
+
+  @Override
+  public List<Event> getAllEvents() {
+    return read(delegate::getAllEvents);
+  }
+
+  @Override
+  public ZoneId getZone() {
+    return read(delegate::getZone);
+  }
+
+  /**
+   * Runs a mutation of the delegate under the write lock.
+   */
+  private void write(Runnable mutation) {
+    long stamp = lock.writeLock();
+    try {
+      mutation.run();
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  /**
+   * Runs a query optimistically if the delegate allows it and, if a write overlapped it
+   * or the delegate does not, under the read lock.
+   */
+  private <T> T read(Supplier<T> query) {
+    long stamp = optimistic ? lock.tryOptimisticRead() : 0L;
+    if (stamp != 0L) {
+      try {
+        T result = query.get();
+        if (lock.validate(stamp)) {
+          return result;
+        }
+      } catch (RuntimeException e) {
+        if (lock.validate(stamp)) {
+          throw e;
+        }
+      }
+    }
+    stamp = lock.readLock();
+    try {
+      return query.get();
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+}
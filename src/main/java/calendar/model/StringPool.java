@@ -0,0 +1,162 @@
+package calendar.model;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * A bounded, weakly referenced pool that makes equal strings share one instance.
+ *
+ * <p>Each calendar owns a pool and passes it to {@link Event.Builder#pool(StringPool)}
+ * so that repeated descriptions, locations and series IDs (typical for copied events,
+ * imports and recurring series) are stored once. Entries are held weakly and vanish
+ * once no event uses the string any more. When the pool reaches its capacity new values
+ * are returned unpooled rather than evicting existing ones.</p>
+ *
+ * <p>All methods are synchronized; the pool may be shared between threads.</p>
+ */
+public final class StringPool {
+
+  /**
+   * Default maximum number of distinct strings kept per pool.
+   */
+  public static final int DEFAULT_CAPACITY = 10_000;
+
+  /**
+   * Approximate fixed cost of a {@code String} and its backing array on a 64-bit JVM.
+   */
+  private static final int STRING_OVERHEAD_BYTES = 40;
+
+  private final Map<String, WeakReference<String>> pool = new WeakHashMap<>();
+  private final int capacity;
+  private long lookups;
+  private long hits;
+  private long bytesSaved;
+
+  /**
+   * Creates a pool with the {@link #DEFAULT_CAPACITY default capacity}.
+   */
+  public StringPool() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Creates a pool holding at most {@code capacity} distinct strings.
+   *
+   * @param capacity the maximum number of pooled strings (positive)
+   * @throws IllegalArgumentException if capacity is not positive
+   */
+  public StringPool(int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Pool capacity must be positive.");
+    }
+    this.capacity = capacity;
+  }
+
+  /**
+   * Returns the pooled instance equal to {@code value}, pooling {@code value} itself if
+   * none exists yet and there is room.
+   *
+   * @param value the string to canonicalize, may be null
+   * @return the shared instance, {@code value} itself, or null if value is null
+   */
+  public synchronized String intern(String value) {
+    if (value == null) {
+      return null;
+    }
+    lookups++;
+    WeakReference<String> ref = pool.get(value);
+    String pooled = ref == null ? null : ref.get();
+    if (pooled != null) {
+      hits++;
+      if (pooled != value) {
+        bytesSaved += estimateSize(value);
+      }
+      return pooled;
+    }
+    if (pool.size() < capacity) {
+      pool.put(value, new WeakReference<>(value));
+    }
+    return value;
+  }
+
+  /**
+   * Returns a snapshot of the pool's counters.
+   *
+   * @return the current statistics
+   */
+  public synchronized Stats getStats() {
+    return new Stats(pool.size(), lookups, hits, bytesSaved);
+  }
+
+  private static long estimateSize(String s) {
+    boolean latin1 = true;
+    for (int i = 0; i < s.length() && latin1; i++) {
+      latin1 = s.charAt(i) <= 0xFF;
+    }
+    return STRING_OVERHEAD_BYTES + (latin1 ? s.length() : 2L * s.length());
+  }
+
+  /**
+   * Immutable snapshot of a pool's usage.
+   */
+  public static final class Stats {
+    private final int size;
+    private final long lookups;
+    private final long hits;
+    private final long bytesSaved;
+
+    private Stats(int size, long lookups, long hits, long bytesSaved) {
+      this.size = size;
+      this.lookups = lookups;
+      this.hits = hits;
+      this.bytesSaved = bytesSaved;
+    }
+
+    /**
+     * Returns the number of distinct strings currently pooled.
+     */
+    public int getSize() {
+      return size;
+    }
+
+    /**
+     * Returns the number of non-null strings looked up.
+     */
+    public long getLookups() {
+      return lookups;
+    }
+
+    /**
+     * Returns the number of lookups answered with an already pooled string.
+     */
+    public long getHits() {
+      return hits;
+    }
+
+    /**
+     * Returns the fraction of lookups that were hits, or 0 if nothing was looked up.
+     */
+    public double getHitRate() {
+      return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+
+    /**
+     * Returns the estimated heap bytes saved by dropping duplicate instances.
+     */
+    public long getBytesSaved() {
+      return bytesSaved;
+    }
+
+    /**
+     * Returns a readable summary of the statistics.
+     *
+     * @return a formatted string with size, hit rate and bytes saved
+     */
+    @Override
+    public String toString() {
+      return String.format("StringPool[size=%d, hitRate=%.1f%%, bytesSaved=%d]",
+          size, getHitRate() * 100, bytesSaved);
+    }
+  }
+}
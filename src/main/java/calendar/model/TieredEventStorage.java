@@ -0,0 +1,522 @@
+package calendar.model;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * An event storage that keeps only recently used months in memory.
+ *
+ * <p>Events are partitioned by the UTC {@link YearMonth} of their start. Each partition
+ * is a {@link TreeSetEventStorage} while resident. Resident partitions are kept in LRU
+ * order, and when their estimated size exceeds the byte budget the least recently used
+ * ones are spilled to a local file in the {@link EventCodec} encoding and dropped from
+ * the heap. Any query or change touching a spilled partition loads it back first, so
+ * callers never notice. A partition that was not changed since it was loaded is simply
+ * dropped again, as its spilled copy is still valid.</p>
+ *
+ * <p>Queries only visit the partitions their time range can reach. Full scans such as
+ * {@link #getAllEvents()} decode spilled partitions without making them resident, so
+ * they do not push the hot months out. Series membership is tracked per month, so a
+ * series query only loads the months the series occurs in.</p>
+ *
+ * <p>The spill file is a cache, not durable storage: it is deleted on {@link #close()}.
+ * Space left by rewritten partitions is reclaimed by copying the live partitions to a
+ * fresh file once it outweighs them. All methods are synchronized on the storage.</p>
+ */
+public class TieredEventStorage implements IeventStorage, Closeable {
+
+  /**
+   * Heap budget for resident partitions used by default, in bytes.
+   */
+  public static final long DEFAULT_BUDGET_BYTES = 64L << 20;
+
+  /**
+   * Estimated heap cost of an event and its index entries, excluding its strings.
+   */
+  static final int EVENT_OVERHEAD_BYTES = 240;
+
+  private static final long MAX_OFFSET_SECONDS = ZoneOffset.MAX.getTotalSeconds();
+
+  /**
+   * Wasted spill file bytes tolerated before it is compacted.
+   */
+  private static final long MIN_GARBAGE_BYTES = 1L << 20;
+
+  private final Path spillPath;
+  private final long budgetBytes;
+  private final EventCodec codec = new EventCodec(new StringPool());
+
+  private final TreeMap<YearMonth, Partition> partitions = new TreeMap<>();
+
+  /**
+   * Resident partitions, least recently used first.
+   */
+  private final LinkedHashMap<YearMonth, Partition> resident =
+      new LinkedHashMap<>(16, 0.75f, true);
+
+  /**
+   * Number of events of each series in each month.
+   */
+  private final Map<String, Map<YearMonth, Integer>> seriesMonths = new HashMap<>();
+
+  private FileChannel spill;
+  private long residentBytes;
+  private long liveSpillBytes;
+  private long maxDurationSeconds;
+
+  /**
+   * Creates a storage spilling to a temporary file under the default heap budget.
+   *
+   * @throws RuntimeException if the spill file cannot be created
+   */
+  public TieredEventStorage() {
+    this(createTempSpillFile(), DEFAULT_BUDGET_BYTES);
+  }
+
+  /**
+   * Creates a storage spilling to the given file.
+   *
+   * @param spillFile   the file for cold partitions; replaced if it exists
+   * @param budgetBytes the estimated heap size resident partitions may take
+   * @throws IllegalArgumentException if spillFile is null or the budget is negative
+   * @throws RuntimeException         if the spill file cannot be created
+   */
+  public TieredEventStorage(Path spillFile, long budgetBytes) {
+    if (spillFile == null) {
+      throw new IllegalArgumentException("Spill file cannot be null.");
+    }
+    if (budgetBytes < 0) {
+      throw new IllegalArgumentException("Byte budget cannot be negative.");
+    }
+    this.spillPath = spillFile;
+    this.budgetBytes = budgetBytes;
+    this.spill = openSpill(spillFile, StandardOpenOption.TRUNCATE_EXISTING);
+  }
+
+  /**
+   * Adds an event to the partition of its start month.
+   *
+   * @param e the event to add
+   * @return true if the event was added, false if it already exists
+   */
+  @Override
+  public synchronized boolean addEvent(Event e) {
+    YearMonth month = monthOf(e.startEpochSecond());
+    Partition p = partitions.get(month);
+    if (p == null) {
+      p = new Partition(month);
+      p.events = new TreeSetEventStorage();
+      partitions.put(month, p);
+      resident.put(month, p);
+    }
+    if (!load(p).addEvent(e)) {
+      evict(p);
+      return false;
+    }
+    p.count++;
+    p.bytes += estimate(e);
+    residentBytes += estimate(e);
+    p.dirty = true;
+    if (e.getSeriesId() != null) {
+      seriesMonths.computeIfAbsent(e.getSeriesId(), k -> new HashMap<>())
+          .merge(month, 1, Integer::sum);
+    }
+    maxDurationSeconds = Math.max(maxDurationSeconds,
+        e.endEpochSecond() - e.startEpochSecond() + 1);
+    evict(p);
+    return true;
+  }
+
+  /**
+   * Removes the event matching the key from the partition of its start month.
+   *
+   * @param key the key representing the event to remove
+   * @return true if an event was removed, false otherwise
+   */
+  @Override
+  public synchronized boolean removeEvent(EventKey key) {
+    Partition p = partitions.get(monthOf(key.getStart().toEpochSecond()));
+    if (p == null) {
+      return false;
+    }
+    TreeSetEventStorage events = load(p);
+    Event existing = events.findByKey(key);
+    if (existing == null || !events.removeEvent(key)) {
+      evict(p);
+      return false;
+    }
+    p.count--;
+    p.bytes -= estimate(existing);
+    residentBytes -= estimate(existing);
+    p.dirty = true;
+    if (existing.getSeriesId() != null) {
+      Map<YearMonth, Integer> months = seriesMonths.get(existing.getSeriesId());
+      if (months.merge(p.month, -1, Integer::sum) == 0) {
+        months.remove(p.month);
+        if (months.isEmpty()) {
+          seriesMonths.remove(existing.getSeriesId());
+        }
+      }
+    }
+    if (p.count == 0) {
+      drop(p);
+    } else {
+      evict(p);
+    }
+    return true;
+  }
+
+  /**
+   * Finds the event with the given key in the partition of its start month.
+   *
+   * @param key the key representing the event
+   * @return the stored event, or null if not found
+   */
+  @Override
+  public synchronized Event findByKey(EventKey key) {
+    Partition p = partitions.get(monthOf(key.getStart().toEpochSecond()));
+    if (p == null) {
+      return null;
+    }
+    Event found = load(p).findByKey(key);
+    evict(p);
+    return found;
+  }
+
+  /**
+   * Gets the events starting at the given instant.
+   *
+   * @param start the start time to look up
+   * @return the events starting at that instant, in sorted order
+   */
+  @Override
+  public synchronized List<Event> getEventsStartingAt(ZonedDateTime start) {
+    Partition p = partitions.get(monthOf(start.toEpochSecond()));
+    if (p == null) {
+      return new ArrayList<>();
+    }
+    List<Event> result = load(p).getEventsStartingAt(start);
+    evict(p);
+    return result;
+  }
+
+  /**
+   * Gets the occurrences of a series from the months it occurs in.
+   *
+   * @param seriesId the series identifier
+   * @return a new list of the series' events in start order
+   */
+  @Override
+  public synchronized List<Event> getSeries(String seriesId) {
+    List<Event> result = new ArrayList<>();
+    Map<YearMonth, Integer> months = seriesMonths.get(seriesId);
+    if (months == null) {
+      return result;
+    }
+    for (YearMonth month : new TreeMap<>(months).keySet()) {
+      Partition p = partitions.get(month);
+      result.addAll(load(p).getSeries(seriesId));
+      evict(p);
+    }
+    return result;
+  }
+
+  /**
+   * Gets all events that occur on the specified date.
+   *
+   * @param date the date to check
+   * @return a list of events occurring on that date
+   */
+  @Override
+  public synchronized List<Event> getEventsOn(LocalDate date) {
+    long dayStart = date.toEpochDay() * 86400L;
+    List<Event> result = new ArrayList<>();
+    for (Partition p : reachable(dayStart - MAX_OFFSET_SECONDS,
+        dayStart + 86400L + MAX_OFFSET_SECONDS)) {
+      result.addAll(load(p).getEventsOn(date));
+      evict(p);
+    }
+    return result;
+  }
+
+  /**
+   * Gets all events that overlap with a given time range, loading spilled months the
+   * range reaches.
+   *
+   * @param start the start time
+   * @param end   the end time
+   * @return a list of events overlapping the time range
+   */
+  @Override
+  public synchronized List<Event> getEventsBetween(ZonedDateTime start, ZonedDateTime end) {
+    List<Event> result = new ArrayList<>();
+    for (Partition p : reachable(start.toEpochSecond(), end.toEpochSecond())) {
+      result.addAll(load(p).getEventsBetween(start, end));
+      evict(p);
+    }
+    return result;
+  }
+
+  /**
+   * Checks whether any event covers the given time.
+   *
+   * @param time the time to check
+   * @return true if an event spans that time
+   */
+  @Override
+  public synchronized boolean isBusy(ZonedDateTime time) {
+    long second = time.toEpochSecond();
+    for (Partition p : reachable(second, second)) {
+      boolean busy = load(p).isBusy(time);
+      evict(p);
+      if (busy) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns all stored events; spilled months are read without making them resident.
+   *
+   * @return a new list of all events in sorted order
+   */
+  @Override
+  public synchronized List<Event> getAllEvents() {
+    List<Event> result = new ArrayList<>();
+    for (Partition p : partitions.values()) {
+      result.addAll(p.events != null ? p.events.getAllEvents() : readSpilled(p));
+    }
+    return result;
+  }
+
+  /**
+   * Closes and deletes the spill file. The storage must not be used afterwards.
+   *
+   * @throws IOException if the file cannot be closed or deleted
+   */
+  @Override
+  public synchronized void close() throws IOException {
+    spill.close();
+    Files.deleteIfExists(spillPath);
+  }
+
+  /**
+   * Returns the estimated heap size of the resident partitions.
+   */
+  synchronized long residentBytes() {
+    return residentBytes;
+  }
+
+  /**
+   * Returns the number of resident partitions.
+   */
+  synchronized int residentPartitions() {
+    return resident.size();
+  }
+
+  // ---------------------------------------------------------------------------------
+  // Partitions
+
+  /**
+   * Returns the partitions that can hold events running at some point of the range of
+   * epoch seconds, in month order.
+   */
+  private List<Partition> reachable(long first, long last) {
+    YearMonth from = monthOf(first - maxDurationSeconds - 1);
+    return new ArrayList<>(partitions.subMap(from, true, monthOf(last), true).values());
+  }
+
+  /**
+   * Makes a partition resident, reading it back from the spill file if needed.
+   */
+  private TreeSetEventStorage load(Partition p) {
+    if (p.events == null) {
+      TreeSetEventStorage events = new TreeSetEventStorage();
+      for (Event e : readSpilled(p)) {
+        events.addEvent(e);
+      }
+      p.events = events;
+      residentBytes += p.bytes;
+    }
+    resident.put(p.month, p);
+    return p.events;
+  }
+
+  /**
+   * Spills least recently used partitions until the resident ones fit the budget. The
+   * partition just used is kept even if it alone exceeds the budget.
+   */
+  private void evict(Partition current) {
+    Iterator<Partition> it = resident.values().iterator();
+    while (residentBytes > budgetBytes && it.hasNext()) {
+      Partition p = it.next();
+      if (p == current) {
+        continue;
+      }
+      if (p.dirty) {
+        writeSpilled(p);
+      }
+      p.events = null;
+      residentBytes -= p.bytes;
+      it.remove();
+    }
+  }
+
+  /**
+   * Forgets an empty partition.
+   */
+  private void drop(Partition p) {
+    partitions.remove(p.month);
+    resident.remove(p.month);
+    liveSpillBytes -= p.spillLength;
+  }
+
+  // ---------------------------------------------------------------------------------
+  // Spill file
+
+  private void writeSpilled(Partition p) {
+    try {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      DataOutputStream out = new DataOutputStream(bytes);
+      for (Event e : p.events.getAllEvents()) {
+        EventCodec.writeEvent(out, e);
+      }
+      ByteBuffer buf = ByteBuffer.wrap(bytes.toByteArray());
+      if (spill.size() - liveSpillBytes > Math.max(MIN_GARBAGE_BYTES, liveSpillBytes)) {
+        compactSpill();
+      }
+      long position = spill.size();
+      while (buf.hasRemaining()) {
+        spill.write(buf, position + buf.position());
+      }
+      liveSpillBytes += buf.capacity() - p.spillLength;
+      p.spillOffset = position;
+      p.spillLength = buf.capacity();
+      p.dirty = false;
+    } catch (IOException ex) {
+      throw new RuntimeException("Partition spill failed: " + ex.getMessage(), ex);
+    }
+  }
+
+  private List<Event> readSpilled(Partition p) {
+    try {
+      ByteBuffer buf = ByteBuffer.allocate(p.spillLength);
+      while (buf.hasRemaining()) {
+        if (spill.read(buf, p.spillOffset + buf.position()) < 0) {
+          throw new IllegalStateException("Spilled partition lies beyond the end of file.");
+        }
+      }
+      buf.flip();
+      List<Event> events = new ArrayList<>(p.count);
+      while (buf.hasRemaining()) {
+        events.add(codec.readEvent(buf));
+      }
+      return events;
+    } catch (IOException ex) {
+      throw new RuntimeException("Partition load failed: " + ex.getMessage(), ex);
+    }
+  }
+
+  /**
+   * Copies the spilled partitions that are still valid into a fresh spill file.
+   */
+  private void compactSpill() throws IOException {
+    Path temp = spillPath.resolveSibling(spillPath.getFileName() + ".tmp");
+    try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE,
+        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+      long position = 0;
+      for (Partition p : partitions.values()) {
+        if (p.dirty) {
+          p.spillLength = 0;
+        }
+        if (p.spillLength == 0) {
+          continue;
+        }
+        long copied = 0;
+        while (copied < p.spillLength) {
+          copied += spill.transferTo(p.spillOffset + copied, p.spillLength - copied, out);
+        }
+        p.spillOffset = position;
+        position += p.spillLength;
+      }
+      liveSpillBytes = position;
+    }
+    spill.close();
+    Files.move(temp, spillPath, StandardCopyOption.REPLACE_EXISTING);
+    spill = openSpill(spillPath, StandardOpenOption.READ);
+  }
+
+  private static FileChannel openSpill(Path file, StandardOpenOption mode) {
+    try {
+      return FileChannel.open(file, StandardOpenOption.CREATE, mode, StandardOpenOption.READ,
+          StandardOpenOption.WRITE);
+    } catch (IOException ex) {
+      throw new RuntimeException("Spill file open failed: " + ex.getMessage(), ex);
+    }
+  }
+
+  private static Path createTempSpillFile() {
+    try {
+      Path file = Files.createTempFile("calendar-partitions", ".spill");
+      file.toFile().deleteOnExit();
+      return file;
+    } catch (IOException ex) {
+      throw new RuntimeException("Spill file creation failed: " + ex.getMessage(), ex);
+    }
+  }
+
+  private static YearMonth monthOf(long epochSecond) {
+    return YearMonth.from(Instant.ofEpochSecond(epochSecond).atOffset(ZoneOffset.UTC));
+  }
+
+  /**
+   * Estimates the heap taken by an event: a fixed overhead plus its strings.
+   */
+  static long estimate(Event e) {
+    return EVENT_OVERHEAD_BYTES + 2L * (e.getSubject().length()
+        + length(e.getDescription()) + length(e.getLocation()) + length(e.getSeriesId()));
+  }
+
+  private static int length(String s) {
+    return s == null ? 0 : s.length();
+  }
+
+  /**
+   * One month of events: resident as a storage, spilled as a region of the file, or
+   * both when it was loaded back and not changed since.
+   */
+  private static final class Partition {
+    final YearMonth month;
+    TreeSetEventStorage events;
+    int count;
+    long bytes;
+    boolean dirty;
+    long spillOffset;
+    int spillLength;
+
+    Partition(YearMonth month) {
+      this.month = month;
+    }
+  }
+}
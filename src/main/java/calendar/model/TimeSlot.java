@@ -0,0 +1,94 @@
+package calendar.model;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.Objects;
+
+/**
+ * Represents an immutable span of time with a start and an end.
+ *
+ * <p>Used to report free gaps in a calendar, e.g. by
+ * {@link Icalendar#findFreeSlots(ZonedDateTime, ZonedDateTime, Duration, WorkingHours)}.</p>
+ */
+public final class TimeSlot {
+
+  private final ZonedDateTime start;
+  private final ZonedDateTime end;
+
+  /**
+   * Constructs a {@code TimeSlot} from a start and an end time.
+   *
+   * @param start the start of the slot (non-null)
+   * @param end   the end of the slot (non-null, not before start)
+   * @throws IllegalArgumentException if any parameter is invalid
+   */
+  public TimeSlot(ZonedDateTime start, ZonedDateTime end) {
+    if (start == null || end == null) {
+      throw new IllegalArgumentException("TimeSlot start and end cannot be null");
+    }
+    if (end.isBefore(start)) {
+      throw new IllegalArgumentException("TimeSlot end cannot be before start");
+    }
+    this.start = start;
+    this.end = end;
+  }
+
+  /**
+   * Returns the start of the slot.
+   */
+  public ZonedDateTime getStart() {
+    return start;
+  }
+
+  /**
+   * Returns the end of the slot.
+   */
+  public ZonedDateTime getEnd() {
+    return end;
+  }
+
+  /**
+   * Returns the length of the slot.
+   */
+  public Duration getDuration() {
+    return Duration.between(start, end);
+  }
+
+  /**
+   * Checks equality based on the start and end times.
+   *
+   * @param obj the object to compare with
+   * @return {@code true} if both slots cover the same span
+   */
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof TimeSlot)) {
+      return false;
+    }
+    TimeSlot other = (TimeSlot) obj;
+    return start.equals(other.start) && end.equals(other.end);
+  }
+
+  /**
+   * Generates a hash code consistent with {@link #equals(Object)}.
+   *
+   * @return the hash code of this slot
+   */
+  @Override
+  public int hashCode() {
+    return Objects.hash(start, end);
+  }
+
+  /**
+   * Returns a readable string form of this slot.
+   *
+   * @return a formatted string representing this slot
+   */
+  @Override
+  public String toString() {
+    return String.format("TimeSlot[%s → %s]", start, end);
+  }
+}
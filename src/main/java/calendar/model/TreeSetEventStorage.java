@@ -3,7 +3,12 @@ package calendar.model;
 import java.time.LocalDate;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.NavigableSet;
 import java.util.TreeSet;
 
@@ -13,6 +18,14 @@ import java.util.TreeSet;
  * <p>The TreeSet keeps events sorted and ensures uniqueness based on the
  * {@link Event#compareTo(Event)} implementation.
  * It supports adding, removing, and retrieving events efficiently.
+ *
+ * <p>A hash index from each event's {@link Event#getKey() key} (a compact object the
+ * event caches, whose subject comparison is case-insensitive) to the event is kept
+ * alongside the set, so lookups and removals by key neither walk the whole set nor
+ * allocate. A {@link SeriesIndex} likewise groups
+ * the occurrences of each recurring series, a {@link DayIndex} holds the events of each
+ * local date for {@link #getEventsOn(LocalDate)}, and a {@link BusyTimeline} answers
+ * busy checks with a binary search.</p>
  */
 public class TreeSetEventStorage implements IeventStorage {
 
@@ -21,12 +34,36 @@ public class TreeSetEventStorage implements IeventStorage {
    */
   private final NavigableSet<Event> events;
 
+  /**
+   * Index from each event's key to the event itself.
+   */
+  private final Map<EventKey, Event> byKey;
+
+  /**
+   * Index from series ID to the occurrences of that series.
+   */
+  private final SeriesIndex series;
+
+  /**
+   * Index from local date to the events occurring on it.
+   */
+  private final DayIndex days;
+
+  /**
+   * Coalesced busy intervals of all stored events.
+   */
+  private final BusyTimeline busy;
+
   /**
    * Creates an empty TreeSetEventStorage instance.
    * The TreeSet automatically maintains event order.
    */
   public TreeSetEventStorage() {
     this.events = new TreeSet<>();
+    this.byKey = new HashMap<>();
+    this.series = new SeriesIndex();
+    this.days = new DayIndex();
+    this.busy = new BusyTimeline();
   }
 
   /**
@@ -37,7 +74,52 @@ public class TreeSetEventStorage implements IeventStorage {
    */
   @Override
   public boolean addEvent(Event e) {
-    return events.add(e);
+    if (!events.add(e)) {
+      return false;
+    }
+    byKey.put(e.getKey(), e);
+    series.add(e);
+    days.add(e);
+    busy.add(e);
+    return true;
+  }
+
+  /**
+   * Adds a group of events all-or-nothing.
+   *
+   * <p>The group is sorted once and checked against the stored events it spans with a
+   * single merge pass, so no event is inserted unless all of them can be.</p>
+   *
+   * @param batch the events to add
+   * @return true if every event was added, false if nothing was added because of a
+   *         duplicate
+   */
+  @Override
+  public boolean addAll(Collection<Event> batch) {
+    if (batch.isEmpty()) {
+      return true;
+    }
+    List<Event> sorted = new ArrayList<>(batch);
+    Collections.sort(sorted);
+    Iterator<Event> stored = events.subSet(sorted.get(0), true,
+        sorted.get(sorted.size() - 1), true).iterator();
+    Event next = stored.hasNext() ? stored.next() : null;
+    for (int i = 0; i < sorted.size(); i++) {
+      Event e = sorted.get(i);
+      if (i > 0 && e.compareTo(sorted.get(i - 1)) == 0) {
+        return false;
+      }
+      while (next != null && next.compareTo(e) < 0) {
+        next = stored.hasNext() ? stored.next() : null;
+      }
+      if (next != null && next.compareTo(e) == 0) {
+        return false;
+      }
+    }
+    for (Event e : sorted) {
+      addEvent(e);
+    }
+    return true;
   }
 
   /**
@@ -48,26 +130,82 @@ public class TreeSetEventStorage implements IeventStorage {
    */
   @Override
   public boolean removeEvent(EventKey key) {
-    return events.removeIf(ev -> ev.matchesKey(key));
+    Event existing = byKey.remove(key);
+    if (existing == null) {
+      return false;
+    }
+    events.remove(existing);
+    series.remove(existing);
+    days.remove(existing);
+    busy.remove(existing);
+    return true;
   }
 
   /**
-   * Gets all events that occur on the specified date.
+   * Finds the event with the given key using the hash index.
    *
-   * @param date the date to check
-   * @return a list of events occurring on that date
+   * @param key the key representing the event
+   * @return the stored event, or null if not found
    */
   @Override
-  public List<Event> getEventsOn(LocalDate date) {
+  public Event findByKey(EventKey key) {
+    return byKey.get(key);
+  }
+
+  /**
+   * Gets the events starting at the given instant by seeking into the sorted set.
+   *
+   * @param start the start time to look up
+   * @return the events starting at that instant, in sorted order
+   */
+  @Override
+  public List<Event> getEventsStartingAt(ZonedDateTime start) {
     List<Event> result = new ArrayList<>();
-    for (Event e : events) {
-      if (e.occursOn(date)) {
+    for (Event e : events.tailSet(Event.probeBefore(start), true)) {
+      if (e.getStart().isAfter(start)) {
+        break;
+      }
+      if (e.getStart().isEqual(start)) {
         result.add(e);
       }
     }
     return result;
   }
 
+  /**
+   * Returns every occurrence of a series using the series index.
+   *
+   * @param seriesId the series identifier
+   * @return the series' events in start order
+   */
+  @Override
+  public List<Event> getSeries(String seriesId) {
+    return series.get(seriesId);
+  }
+
+  /**
+   * Returns the occurrences of a series from the given time onward using the series index.
+   *
+   * @param seriesId the series identifier
+   * @param from     the earliest start time to include
+   * @return the matching events in start order
+   */
+  @Override
+  public List<Event> getSeriesFrom(String seriesId, ZonedDateTime from) {
+    return series.getFrom(seriesId, from);
+  }
+
+  /**
+   * Gets all events that occur on the specified date using the day index.
+   *
+   * @param date the date to check
+   * @return a list of events occurring on that date
+   */
+  @Override
+  public List<Event> getEventsOn(LocalDate date) {
+    return days.get(date);
+  }
+
   /**
    * Gets all events that overlap with a given time range.
    *
@@ -86,6 +224,17 @@ public class TreeSetEventStorage implements IeventStorage {
     return result;
   }
 
+  /**
+   * Checks whether any event covers the given time using the busy timeline.
+   *
+   * @param time the time to check
+   * @return true if an event spans that time
+   */
+  @Override
+  public boolean isBusy(ZonedDateTime time) {
+    return busy.isBusy(time);
+  }
+
   /**
    * Returns all stored events as a list.
    *
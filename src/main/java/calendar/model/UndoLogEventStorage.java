@@ -0,0 +1,174 @@
+package calendar.model;
+
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+/**
+ * A storage decorator that records how to undo every change it passes on.
+ *
+ * <p>Used by {@link CalendarModel#transaction} to roll a calendar back when the work of
+ * a transaction fails: each successful add, remove or replacement pushes its inverse
+ * onto an undo log, and {@link #rollback()} applies the log newest first. Reads go
+ * straight to the wrapped storage, so the transaction sees its own changes. Series are
+ * added through {@link #addAll(Collection)}, so they are materialized and can be undone
+ * event by event.</p>
+ *
+ * <p>Once the transaction is over the storage is closed and rejects further use, so a
+ * calendar view leaked out of the transaction cannot change the real calendar.</p>
+ *
+ * <p>This class is package-private as it's an implementation detail of the model.</p>
+ */
+class UndoLogEventStorage implements IeventStorage {
+
+  private final IeventStorage delegate;
+  /**
+   * Inverse changes, newest first; each reports whether the storage accepted it.
+   */
+  private final Deque<BooleanSupplier> undo = new ArrayDeque<>();
+  private boolean closed;
+
+  /**
+   * Creates an undo log over the given storage.
+   *
+   * @param delegate the storage the changes are applied to
+   */
+  UndoLogEventStorage(IeventStorage delegate) {
+    this.delegate = delegate;
+  }
+
+  /**
+   * Undoes every logged change, newest first, and closes the log.
+   *
+   * @throws IllegalStateException if the storage refuses to undo a change, which leaves
+   *                               the calendar partly rolled back
+   */
+  void rollback() {
+    open();
+    closed = true;
+    while (!undo.isEmpty()) {
+      if (!undo.pop().getAsBoolean()) {
+        throw new IllegalStateException("Rollback failed: the storage refused to undo a"
+            + " change, " + undo.size() + " more left undone.");
+      }
+    }
+  }
+
+  /**
+   * Keeps the logged changes and closes the log.
+   */
+  void commit() {
+    open();
+    undo.clear();
+    closed = true;
+  }
+
+  @Override
+  public boolean addEvent(Event e) {
+    if (!open().addEvent(e)) {
+      return false;
+    }
+    undo.push(() -> delegate.removeEvent(e.getKey()));
+    return true;
+  }
+
+  @Override
+  public boolean addAll(Collection<Event> events) {
+    List<Event> added = new ArrayList<>(events);
+    if (!open().addAll(added)) {
+      return false;
+    }
+    undo.push(() -> {
+      boolean undone = true;
+      for (Event e : added) {
+        undone &= delegate.removeEvent(e.getKey());
+      }
+      return undone;
+    });
+    return true;
+  }
+
+  @Override
+  public boolean removeEvent(EventKey key) {
+    Event existing = open().findByKey(key);
+    if (existing == null || !delegate.removeEvent(key)) {
+      return false;
+    }
+    undo.push(() -> delegate.addEvent(existing));
+    return true;
+  }
+
+  @Override
+  public boolean replaceEvent(Event original, Event updated) {
+    if (!open().replaceEvent(original, updated)) {
+      return false;
+    }
+    undo.push(() -> delegate.replaceEvent(updated, original));
+    return true;
+  }
+
+  @Override
+  public void runBatch(Runnable mutations) {
+    open().runBatch(mutations);
+  }
+
+  @Override
+  public Event findByKey(EventKey key) {
+    return open().findByKey(key);
+  }
+
+  @Override
+  public List<Event> getEventsStartingAt(ZonedDateTime start) {
+    return open().getEventsStartingAt(start);
+  }
+
+  @Override
+  public List<Event> getSeries(String seriesId) {
+    return open().getSeries(seriesId);
+  }
+
+  @Override
+  public List<Event> getSeriesFrom(String seriesId, ZonedDateTime from) {
+    return open().getSeriesFrom(seriesId, from);
+  }
+
+  @Override
+  public List<Event> getEventsOn(LocalDate date) {
+    return open().getEventsOn(date);
+  }
+
+  @Override
+  public List<Event> getEventsBetween(ZonedDateTime start, ZonedDateTime end) {
+    return open().getEventsBetween(start, end);
+  }
+
+  @Override
+  public boolean isBusy(ZonedDateTime time) {
+    return open().isBusy(time);
+  }
+
+  @Override
+  public EventSnapshot snapshot() {
+    return open().snapshot();
+  }
+
+  @Override
+  public List<Event> getAllEvents() {
+    return open().getAllEvents();
+  }
+
+  /**
+   * Returns the wrapped storage, failing if the transaction is already over.
+   */
+  private IeventStorage open() {
+    if (closed) {
+      throw new IllegalStateException("Transaction is already finished.");
+    }
+    return delegate;
+  }
+}
@@ -0,0 +1,72 @@
+package calendar.model;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+/**
+ * Represents the daily window of local time in which free slots may be offered,
+ * e.g. 09:00 to 17:00.
+ *
+ * <p>The window applies to every day and must not cross midnight.</p>
+ */
+public final class WorkingHours {
+
+  private final LocalTime from;
+  private final LocalTime to;
+
+  /**
+   * Constructs a {@code WorkingHours} window.
+   *
+   * @param from the local time the working day starts (non-null)
+   * @param to   the local time the working day ends (non-null, after from)
+   * @throws IllegalArgumentException if any parameter is invalid
+   */
+  public WorkingHours(LocalTime from, LocalTime to) {
+    if (from == null || to == null) {
+      throw new IllegalArgumentException("Working hours cannot be null");
+    }
+    if (!to.isAfter(from)) {
+      throw new IllegalArgumentException("Working hours must end after they start");
+    }
+    this.from = from;
+    this.to = to;
+  }
+
+  /**
+   * Returns the local time the working day starts.
+   */
+  public LocalTime getFrom() {
+    return from;
+  }
+
+  /**
+   * Returns the local time the working day ends.
+   */
+  public LocalTime getTo() {
+    return to;
+  }
+
+  /**
+   * Returns the start of the working window on the given date.
+   *
+   * @param date the date
+   * @param zone the zone the window is expressed in
+   * @return the start of that day's window
+   */
+  ZonedDateTime startOn(LocalDate date, ZoneId zone) {
+    return ZonedDateTime.of(date, from, zone);
+  }
+
+  /**
+   * Returns the end of the working window on the given date.
+   *
+   * @param date the date
+   * @param zone the zone the window is expressed in
+   * @return the end of that day's window
+   */
+  ZonedDateTime endOn(LocalDate date, ZoneId zone) {
+    return ZonedDateTime.of(date, to, zone);
+  }
+}
@@ -0,0 +1,507 @@
+package calendar.model;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * A durable event storage that records every change in a write-ahead log.
+ *
+ * <p>Events are kept in an in-memory delegate storage, {@link TreeSetEventStorage} by
+ * default, which answers all queries. Every successful add or remove is also appended to
+ * {@code events.log} in the storage's directory as a compact binary record (see
+ * {@link EventCodec}); a mutation returns only once its record is on disk. Creating a
+ * storage over an existing directory replays the log, so a calendar comes back exactly
+ * as it was left.</p>
+ *
+ * <p>Records are framed as {@code [length][CRC-32][payload]}, where the payload holds one
+ * or more operations. The changes of a {@link #runBatch(Runnable) batch} share a single
+ * frame, so a series edit is replayed either in full or not at all. A frame cut short by
+ * a crash fails its checksum and is truncated away on replay.</p>
+ *
+ * <p>Forcing the log to disk is the expensive part of a write, so it uses group commit:
+ * a writer appends its record under the storage lock, then waits outside of it for the
+ * record to become durable. One waiting thread forces the log for everyone who has
+ * appended by then, and the others return without forcing again.</p>
+ *
+ * <p>After {@code compactThreshold} logged operations the log is compacted: the current
+ * events are written to {@code events.snapshot} in a temporary file that is forced and
+ * atomically renamed, and the log is truncated. Startup loads the snapshot, then replays
+ * the log. Replaying a record twice is harmless, so a crash between the rename and the
+ * truncation loses nothing.</p>
+ */
+public class WriteAheadLogEventStorage implements IeventStorage, Closeable {
+
+  /**
+   * Logged operations after which the log is compacted into a snapshot by default.
+   */
+  public static final int DEFAULT_COMPACT_THRESHOLD = 100_000;
+
+  static final String LOG_FILE = "events.log";
+  static final String SNAPSHOT_FILE = "events.snapshot";
+  private static final String SNAPSHOT_TEMP_FILE = "events.snapshot.tmp";
+
+  private static final byte ADD = 1;
+  private static final byte REMOVE = 2;
+
+  private static final int FRAME_HEADER = 8;
+
+  /**
+   * Events per frame of a snapshot file.
+   */
+  private static final int SNAPSHOT_CHUNK = 4096;
+
+  private final Path dir;
+  private final IeventStorage delegate;
+  private final int compactThreshold;
+
+  /**
+   * Guards {@link #durableSeq} and every force or truncation of the log.
+   */
+  private final Object syncMonitor = new Object();
+
+  /**
+   * Encoded operations not yet framed; guarded by this storage's monitor.
+   */
+  private final ByteArrayOutputStream pendingOps = new ByteArrayOutputStream();
+  private final DataOutputStream pendingOut = new DataOutputStream(pendingOps);
+
+  private FileChannel log;
+
+  /**
+   * Nesting depth of {@link #runBatch(Runnable)}; guarded by this storage's monitor.
+   */
+  private int batchDepth;
+
+  /**
+   * Operations in the log since the last compaction; guarded by this storage's monitor.
+   */
+  private long loggedOps;
+
+  /**
+   * Number of frames written to the log, and of those known to be on disk.
+   */
+  private volatile long appendedSeq;
+  private long durableSeq;
+
+  /**
+   * Opens or creates the storage in the given directory, backed by a
+   * {@link TreeSetEventStorage}.
+   *
+   * @param dir the directory holding the log and snapshot files
+   */
+  public WriteAheadLogEventStorage(Path dir) {
+    this(dir, new TreeSetEventStorage(), DEFAULT_COMPACT_THRESHOLD);
+  }
+
+  /**
+   * Opens or creates the storage in the given directory and loads its events into the
+   * delegate.
+   *
+   * @param dir              the directory holding the log and snapshot files
+   * @param delegate         an empty in-memory storage that answers queries
+   * @param compactThreshold logged operations after which the log is compacted
+   * @throws IllegalArgumentException if dir or delegate is null or the threshold is not
+   *                                  positive
+   * @throws RuntimeException         if the files cannot be read or created
+   */
+  public WriteAheadLogEventStorage(Path dir, IeventStorage delegate, int compactThreshold) {
+    if (dir == null) {
+      throw new IllegalArgumentException("Log directory cannot be null.");
+    }
+    if (delegate == null) {
+      throw new IllegalArgumentException("Delegate storage cannot be null.");
+    }
+    if (compactThreshold < 1) {
+      throw new IllegalArgumentException("Compaction threshold must be positive.");
+    }
+    this.dir = dir;
+    this.delegate = delegate;
+    this.compactThreshold = compactThreshold;
+    try {
+      Files.createDirectories(dir);
+      Files.deleteIfExists(dir.resolve(SNAPSHOT_TEMP_FILE));
+      EventCodec codec = new EventCodec(new StringPool());
+      Path snapshot = dir.resolve(SNAPSHOT_FILE);
+      if (Files.exists(snapshot)) {
+        replay(snapshot, codec);
+        loggedOps = 0;
+      }
+      log = FileChannel.open(dir.resolve(LOG_FILE), StandardOpenOption.CREATE,
+          StandardOpenOption.READ, StandardOpenOption.WRITE);
+      long validEnd = replay(dir.resolve(LOG_FILE), codec);
+      if (validEnd < log.size()) {
+        log.truncate(validEnd);
+        log.force(true);
+      }
+      log.position(validEnd);
+    } catch (IOException ex) {
+      closeQuietly();
+      throw new RuntimeException("Event log open failed: " + ex.getMessage(), ex);
+    }
+  }
+
+  /**
+   * Adds an event and logs it.
+   *
+   * @param e the event to add
+   * @return true if the event was added, false if it already exists
+   */
+  @Override
+  public boolean addEvent(Event e) {
+    long seq;
+    synchronized (this) {
+      if (!delegate.addEvent(e)) {
+        return false;
+      }
+      seq = record(ADD, e, null);
+    }
+    commit(seq);
+    return true;
+  }
+
+  /**
+   * Adds a group of events all-or-nothing in a single log record.
+   *
+   * @param events the events to add
+   * @return true if every event was added, false if nothing was added because of a
+   *         duplicate
+   */
+  @Override
+  public boolean addAll(Collection<Event> events) {
+    boolean[] added = new boolean[1];
+    runBatch(() -> added[0] = IeventStorage.super.addAll(events));
+    return added[0];
+  }
+
+  /**
+   * Removes the event matching the key and logs the removal.
+   *
+   * @param key the key representing the event to remove
+   * @return true if an event was removed, false otherwise
+   */
+  @Override
+  public boolean removeEvent(EventKey key) {
+    long seq;
+    synchronized (this) {
+      if (!delegate.removeEvent(key)) {
+        return false;
+      }
+      seq = record(REMOVE, null, key);
+    }
+    commit(seq);
+    return true;
+  }
+
+  /**
+   * Replaces a stored event, logging the removal and the addition in one record.
+   *
+   * @param original the stored event
+   * @param updated  the event to store instead
+   * @return true if replaced, false if the original is gone or the update is a duplicate
+   */
+  @Override
+  public boolean replaceEvent(Event original, Event updated) {
+    boolean[] replaced = new boolean[1];
+    runBatch(() -> {
+      if (delegate.replaceEvent(original, updated)) {
+        record(REMOVE, null, original.getKey());
+        record(ADD, updated, null);
+        replaced[0] = true;
+      }
+    });
+    return replaced[0];
+  }
+
+  /**
+   * Runs the mutations as one batch, logging all of its changes in one record that is
+   * forced to disk once.
+   *
+   * <p>Changes applied before a mutation throws are logged as well, so the log always
+   * matches the events in memory.</p>
+   *
+   * @param mutations the storage updates to apply
+   */
+  @Override
+  public void runBatch(Runnable mutations) {
+    long seq = 0;
+    synchronized (this) {
+      batchDepth++;
+      try {
+        mutations.run();
+      } finally {
+        if (--batchDepth == 0) {
+          seq = flushPending();
+        }
+      }
+    }
+    if (seq > 0) {
+      commit(seq);
+    }
+  }
+
+  /**
+   * Writes the current events to a new snapshot and empties the log.
+   *
+   * <p>Writers are blocked while the snapshot is written.</p>
+   *
+   * @throws IllegalStateException if called inside a batch
+   * @throws RuntimeException      if the snapshot cannot be written
+   */
+  public synchronized void compact() {
+    if (batchDepth > 0) {
+      throw new IllegalStateException("Cannot compact the event log inside a batch.");
+    }
+    synchronized (syncMonitor) {
+      try {
+        Path temp = dir.resolve(SNAPSHOT_TEMP_FILE);
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+          List<Event> events = delegate.getAllEvents();
+          ByteArrayOutputStream chunk = new ByteArrayOutputStream();
+          DataOutputStream chunkOut = new DataOutputStream(chunk);
+          for (int i = 0; i < events.size(); i++) {
+            chunkOut.writeByte(ADD);
+            EventCodec.writeEvent(chunkOut, events.get(i));
+            if ((i + 1) % SNAPSHOT_CHUNK == 0 || i == events.size() - 1) {
+              writeFrame(out, chunk.toByteArray());
+              chunk.reset();
+            }
+          }
+          out.force(true);
+        }
+        Files.move(temp, dir.resolve(SNAPSHOT_FILE), StandardCopyOption.ATOMIC_MOVE,
+            StandardCopyOption.REPLACE_EXISTING);
+        log.truncate(0);
+        log.force(true);
+        loggedOps = 0;
+        durableSeq = appendedSeq;
+      } catch (IOException ex) {
+        throw new RuntimeException("Event log compaction failed: " + ex.getMessage(), ex);
+      }
+    }
+  }
+
+  /**
+   * Forces outstanding records to disk and closes the log.
+   *
+   * @throws IOException if the log cannot be forced or closed
+   */
+  @Override
+  public synchronized void close() throws IOException {
+    synchronized (syncMonitor) {
+      if (log.isOpen()) {
+        log.force(false);
+        durableSeq = appendedSeq;
+        log.close();
+      }
+    }
+  }
+
+  @Override
+  public synchronized Event findByKey(EventKey key) {
+    return delegate.findByKey(key);
+  }
+
+  @Override
+  public synchronized List<Event> getEventsStartingAt(ZonedDateTime start) {
+    return delegate.getEventsStartingAt(start);
+  }
+
+  @Override
+  public synchronized List<Event> getSeries(String seriesId) {
+    return delegate.getSeries(seriesId);
+  }
+
+  @Override
+  public synchronized List<Event> getSeriesFrom(String seriesId, ZonedDateTime from) {
+    return delegate.getSeriesFrom(seriesId, from);
+  }
+
+  @Override
+  public synchronized List<Event> getEventsOn(LocalDate date) {
+    return delegate.getEventsOn(date);
+  }
+
+  @Override
+  public synchronized List<Event> getEventsBetween(ZonedDateTime start, ZonedDateTime end) {
+    return delegate.getEventsBetween(start, end);
+  }
+
+  @Override
+  public synchronized boolean isBusy(ZonedDateTime time) {
+    return delegate.isBusy(time);
+  }
+
+  @Override
+  public synchronized EventSnapshot snapshot() {
+    return delegate.snapshot();
+  }
+
+  @Override
+  public synchronized List<Event> getAllEvents() {
+    return delegate.getAllEvents();
+  }
+
+  /**
+   * Encodes one operation and, outside a batch, appends it to the log at once.
+   *
+   * @return the sequence number to wait for, or 0 inside a batch
+   */
+  private long record(byte op, Event e, EventKey key) {
+    try {
+      pendingOut.writeByte(op);
+      if (op == ADD) {
+        EventCodec.writeEvent(pendingOut, e);
+      } else {
+        EventCodec.writeKey(pendingOut, key);
+      }
+    } catch (IOException ex) {
+      throw new RuntimeException("Event log write failed: " + ex.getMessage(), ex);
+    }
+    loggedOps++;
+    return batchDepth > 0 ? 0 : flushPending();
+  }
+
+  /**
+   * Appends the pending operations to the log as one frame.
+   *
+   * @return the frame's sequence number, or the last one if nothing was pending
+   */
+  private long flushPending() {
+    if (pendingOps.size() == 0) {
+      return appendedSeq;
+    }
+    byte[] payload = pendingOps.toByteArray();
+    pendingOps.reset();
+    try {
+      writeFrame(log, payload);
+    } catch (IOException ex) {
+      throw new RuntimeException("Event log write failed: " + ex.getMessage(), ex);
+    }
+    return ++appendedSeq;
+  }
+
+  /**
+   * Writes operations to a channel as one checksummed frame.
+   */
+  private static void writeFrame(FileChannel out, byte[] payload) throws IOException {
+    CRC32 crc = new CRC32();
+    crc.update(payload);
+    ByteBuffer frame = ByteBuffer.allocate(FRAME_HEADER + payload.length);
+    frame.putInt(payload.length).putInt((int) crc.getValue()).put(payload).flip();
+    while (frame.hasRemaining()) {
+      out.write(frame);
+    }
+  }
+
+  /**
+   * Waits until the frame with the given sequence number is on disk, forcing the log if
+   * no other thread already did, and compacts the log when it has grown large enough.
+   * Sequence number 0 stands for a change made inside a batch, which commits later.
+   */
+  private void commit(long seq) {
+    if (seq == 0) {
+      return;
+    }
+    synchronized (syncMonitor) {
+      if (durableSeq < seq) {
+        long target = appendedSeq;
+        try {
+          log.force(false);
+        } catch (IOException ex) {
+          throw new RuntimeException("Event log sync failed: " + ex.getMessage(), ex);
+        }
+        durableSeq = target;
+      }
+    }
+    boolean compactDue;
+    synchronized (this) {
+      compactDue = loggedOps >= compactThreshold;
+    }
+    if (compactDue) {
+      compact();
+    }
+  }
+
+  /**
+   * Applies every intact frame of a file to the delegate.
+   *
+   * @return the length of the file's intact prefix
+   */
+  private long replay(Path file, EventCodec codec) throws IOException {
+    long size = Files.size(file);
+    long validEnd = 0;
+    CRC32 crc = new CRC32();
+    try (InputStream raw = Files.newInputStream(file);
+         DataInputStream in = new DataInputStream(new BufferedInputStream(raw, 1 << 16))) {
+      while (true) {
+        byte[] payload;
+        int checksum;
+        try {
+          int length = in.readInt();
+          checksum = in.readInt();
+          if (length < 0 || length > size - validEnd - FRAME_HEADER) {
+            break;
+          }
+          payload = new byte[length];
+          in.readFully(payload);
+        } catch (EOFException ex) {
+          break;
+        }
+        crc.reset();
+        crc.update(payload);
+        if ((int) crc.getValue() != checksum) {
+          break;
+        }
+        apply(payload, codec);
+        validEnd += FRAME_HEADER + payload.length;
+      }
+    }
+    return validEnd;
+  }
+
+  /**
+   * Applies the operations of one frame to the delegate.
+   */
+  private void apply(byte[] payload, EventCodec codec) {
+    ByteBuffer ops = ByteBuffer.wrap(payload);
+    while (ops.hasRemaining()) {
+      byte op = ops.get();
+      if (op == ADD) {
+        delegate.addEvent(codec.readEvent(ops));
+      } else if (op == REMOVE) {
+        delegate.removeEvent(codec.readKey(ops));
+      } else {
+        throw new IllegalStateException("Corrupt event log record: unknown operation " + op);
+      }
+      loggedOps++;
+    }
+  }
+
+  private void closeQuietly() {
+    try {
+      if (log != null) {
+        log.close();
+      }
+    } catch (IOException ignored) {
+      // already failing; the original error is reported
+    }
+  }
+}
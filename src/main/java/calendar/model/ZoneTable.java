@@ -0,0 +1,82 @@
+package calendar.model;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Process-wide table assigning a small index to every {@link ZoneId} used by events.
+ *
+ * <p>Events store their zone as a {@code short} index into this table instead of keeping
+ * full {@code ZonedDateTime} objects. A calendar typically uses one or two zones, so the
+ * table stays tiny. Neither direction takes a lock once a zone is known: zones are found
+ * in a concurrent map and indexes in a copy-on-write array. Only registering a zone not
+ * seen before is synchronized.</p>
+ *
+ * <p>This class is package-private as it's an implementation detail of {@link Event}.</p>
+ */
+final class ZoneTable {
+
+  private static final ConcurrentMap<ZoneId, Short> INDEX = new ConcurrentHashMap<>();
+  private static volatile ZoneId[] zones = new ZoneId[0];
+
+  private ZoneTable() {
+  }
+
+  /**
+   * Returns the index of a zone, registering it on first use.
+   *
+   * @param zone the zone to look up
+   * @return the zone's index
+   * @throws IllegalStateException if the table is full
+   */
+  static short indexOf(ZoneId zone) {
+    Short idx = INDEX.get(zone);
+    return idx != null ? idx : register(zone);
+  }
+
+  /**
+   * Adds a zone to the table unless another thread registered it first. The array is
+   * published before the map entry, so an index found in the map is always readable.
+   */
+  private static synchronized short register(ZoneId zone) {
+    Short idx = INDEX.get(zone);
+    if (idx != null) {
+      return idx;
+    }
+    if (zones.length == Short.MAX_VALUE) {
+      throw new IllegalStateException("Too many distinct time zones.");
+    }
+    short next = (short) zones.length;
+    ZoneId[] grown = Arrays.copyOf(zones, next + 1);
+    grown[next] = zone;
+    zones = grown;
+    INDEX.put(zone, next);
+    return next;
+  }
+
+  /**
+   * Returns the zone registered under an index.
+   *
+   * @param index an index returned by {@link #indexOf(ZoneId)}
+   * @return the zone
+   */
+  static ZoneId zoneAt(short index) {
+    return zones[index];
+  }
+
+  /**
+   * Rebuilds a date-time from its compact form.
+   *
+   * @param second the epoch second
+   * @param nano   the nanosecond of that second
+   * @param zone   the zone's index
+   * @return the date-time in that zone
+   */
+  static ZonedDateTime toDateTime(long second, int nano, short zone) {
+    return ZonedDateTime.ofInstant(Instant.ofEpochSecond(second, nano), zones[zone]);
+  }
+}
@@ -11,7 +11,9 @@ import java.time.YearMonth;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import javax.swing.BorderFactory;
 import javax.swing.DefaultListModel;
 import javax.swing.JButton;
@@ -499,106 +501,62 @@ public class SwingCalendarView extends JFrame implements Icalendarview {
   /**
    * Helper method to fire single event edit to controller.
    *
-   * <p>FIRES multiple property updates to controller listener.</p>
-   *
+   * <p>FIRES one multi-property update to controller listener, so the event is looked up
+   * and replaced once.</p>
    */
-
   private void editSingleEventProperties(String originalSubject,
                                          ZonedDateTime originalStart,
                                          ZonedDateTime originalEnd,
                                          EditEventDialog dialog) {
-    features.editSingleEvent(originalSubject, originalStart, originalEnd,
-        "subject", dialog.getSubject());
-
-    String newSubject = dialog.getSubject();
-    features.editSingleEvent(newSubject, originalStart, originalEnd,
-        "location", dialog.getEventLocation());
-    features.editSingleEvent(newSubject, originalStart, originalEnd,
-        "description", dialog.getDescription());
-    features.editSingleEvent(newSubject, originalStart, originalEnd,
-        "start", dialog.getStart());
-
-    ZonedDateTime newStart = dialog.getStart();
-    features.editSingleEvent(newSubject, newStart, originalEnd,
-        "end", dialog.getEnd());
-
-    ZonedDateTime newEnd = dialog.getEnd();
-    features.editSingleEvent(newSubject, newStart, newEnd,
-        "status", dialog.getStatus().name());
+    Map<String, Object> changes = new LinkedHashMap<>();
+    changes.put("subject", dialog.getSubject());
+    changes.put("location", dialog.getEventLocation());
+    changes.put("description", dialog.getDescription());
+    changes.put("start", dialog.getStart());
+    changes.put("end", dialog.getEnd());
+    changes.put("status", dialog.getStatus().name());
+    features.editSingleEvent(originalSubject, originalStart, originalEnd, changes);
   }
 
-
-
   /**
    * Helper method to edit series from this event onward.
    *
-   * <p>Fires property updates for this event and all future occurrences.</p>
+   * <p>Fires one multi-property update for this event and all future occurrences.</p>
    */
   private void editSeriesFromThisOnwardProperties(String originalSubject,
                                                   ZonedDateTime originalStart,
                                                   ZonedDateTime originalEnd,
                                                   EditEventDialog dialog) {
-    String newSubject = dialog.getSubject();
-    String newLocation = dialog.getEventLocation();
-    String newDescription = dialog.getDescription();
-    String newStatus = dialog.getStatus().name();
-
-    features.editSeriesFromThisOnward(
-        originalSubject, originalStart, originalEnd,
-        "subject", newSubject
-    );
-
-    features.editSeriesFromThisOnward(
-        newSubject, originalStart, originalEnd,
-        "location", newLocation
-    );
-
-    features.editSeriesFromThisOnward(
-        newSubject, originalStart, originalEnd,
-        "description", newDescription
-    );
-
-    features.editSeriesFromThisOnward(
-        newSubject, originalStart, originalEnd,
-        "status", newStatus
-    );
+    features.editSeriesFromThisOnward(originalSubject, originalStart, originalEnd,
+        seriesChanges(dialog));
   }
 
   /**
    * Helper method to edit entire series.
    *
-   * <p>Fires property updates for all events with the same subject.</p>
+   * <p>Fires one multi-property update for all events in the series.</p>
    */
   private void editEntireSeriesProperties(String originalSubject,
                                           ZonedDateTime originalStart,
                                           ZonedDateTime originalEnd,
                                           EditEventDialog dialog) {
-    String newSubject = dialog.getSubject();
-    String newLocation = dialog.getEventLocation();
-    String newDescription = dialog.getDescription();
-    String newStatus = dialog.getStatus().name();
-
-    features.editEntireSeries(
-        originalSubject, originalStart, originalEnd,
-        "subject", newSubject
-    );
-
-    features.editEntireSeries(
-        newSubject, originalStart, originalEnd,
-        "location", newLocation
-    );
-
-    features.editEntireSeries(
-        newSubject, originalStart, originalEnd,
-        "description", newDescription
-    );
+    features.editEntireSeries(originalSubject, originalStart, originalEnd,
+        seriesChanges(dialog));
+  }
 
-    features.editEntireSeries(
-        newSubject, originalStart, originalEnd,
-        "status", newStatus
-    );
+  /**
+   * Collects the dialog fields that series edits apply (times stay per occurrence).
+   */
+  private Map<String, Object> seriesChanges(EditEventDialog dialog) {
+    Map<String, Object> changes = new LinkedHashMap<>();
+    changes.put("subject", dialog.getSubject());
+    changes.put("location", dialog.getEventLocation());
+    changes.put("description", dialog.getDescription());
+    changes.put("status", dialog.getStatus().name());
+    return changes;
   }
 
+
   /**
    * Opens view events dialog.
    */
@@ -1,8 +1,11 @@
 package calendar.controller;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 import calendar.controller.mocks.FakeManager;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
 import java.io.StringReader;
 import java.io.StringWriter;
 import org.junit.Before;
@@ -97,4 +100,212 @@ public class ControllerExecutionTest {
     java.util.List<String> bad = java.util.Arrays.asList("copy", "wrong");
     new CopyCommand(bad).execute(mgr);
   }
-}
\ No newline at end of file
+
+  @Test
+  public void testShowStatusBetweenDispatches() {
+    java.util.List<String> t = java.util.Arrays.asList("show", "status", "between",
+        "2025-11-10T10:00", "and", "2025-11-10T11:00", "every", "30");
+    assertTrue(ShowDispatch.fromTokens(t) instanceof ShowStatusRangeCommand);
+  }
+
+  @Test
+  public void testShowStatusBetweenPrintsOneLinePerSlot() {
+    ByteArrayOutputStream captured = new ByteArrayOutputStream();
+    PrintStream original = System.out;
+    System.setOut(new PrintStream(captured));
+    try {
+      new ShowStatusRangeCommand(java.util.Arrays.asList(
+          "2025-11-10T10:00", "2025-11-10T11:00", "30")).execute(mgr);
+    } finally {
+      System.setOut(original);
+    }
+    String[] lines = captured.toString().trim().split("\\R");
+    assertEquals(3, lines.length);
+    assertEquals("2025-11-10T10:00 busy", lines[0]);
+    assertEquals("2025-11-10T10:30 busy", lines[1]);
+    assertEquals("2025-11-10T11:00 available", lines[2]);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testShowStatusBetweenRejectsNonPositiveStep() {
+    new ShowStatusRangeCommand(java.util.Arrays.asList(
+        "2025-11-10T10:00", "2025-11-10T11:00", "0")).execute(mgr);
+  }
+
+  @Test
+  public void testFindSlotDispatchesAndPrintsFirstSlot() {
+    java.util.List<String> t = java.util.Arrays.asList("find", "slot", "45", "between",
+        "2025-11-10T08:00", "and", "2025-11-10T17:00", "within", "09:00", "to", "17:00");
+    Command cmd = CommandFactory.parseCommand(t);
+    assertTrue(cmd instanceof FindSlotCommand);
+
+    ByteArrayOutputStream captured = new ByteArrayOutputStream();
+    PrintStream original = System.out;
+    System.setOut(new PrintStream(captured));
+    try {
+      cmd.execute(mgr);
+    } finally {
+      System.setOut(original);
+    }
+    assertEquals("2025-11-10T10:00 to 2025-11-10T17:00", captured.toString().trim());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testFindWithoutSlotIsRejected() {
+    CommandFactory.parseCommand(java.util.Arrays.asList("find", "gap"));
+  }
+
+  @Test
+  public void testCreateMonthlyAndIntervalSeries() {
+    calendar.model.CalendarManagerImpl real = new calendar.model.CalendarManagerImpl();
+    real.createCalendar("Work", java.time.ZoneId.of("America/New_York"));
+    real.useCalendar("Work");
+
+    CommandFactory.parseCommand(java.util.Arrays.asList("create", "event", "Board", "on",
+        "2025-11-01", "repeats", "monthly", "first", "monday", "for", "3")).execute(real);
+    CommandFactory.parseCommand(java.util.Arrays.asList("create", "event", "Sync", "from",
+        "2025-11-04T10:00", "to", "2025-11-04T10:30", "repeats", "T", "every", "2", "weeks",
+        "for", "3")).execute(real);
+
+    calendar.model.Icalendar cal = real.getActiveCalendar();
+    assertEquals(1, cal.queryEventsOn(java.time.LocalDate.of(2025, 12, 1)).size());
+    assertEquals(1, cal.queryEventsOn(java.time.LocalDate.of(2025, 11, 18)).size());
+    assertTrue(cal.queryEventsOn(java.time.LocalDate.of(2025, 11, 11)).isEmpty());
+    assertEquals(6, cal.getAllEvents().size());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testWeekdayPatternRejectsMonthInterval() {
+    calendar.model.CalendarManagerImpl real = new calendar.model.CalendarManagerImpl();
+    real.createCalendar("Work", java.time.ZoneId.of("America/New_York"));
+    real.useCalendar("Work");
+    CommandFactory.parseCommand(java.util.Arrays.asList("create", "event", "Sync", "from",
+        "2025-11-04T10:00", "to", "2025-11-04T10:30", "repeats", "T", "every", "2", "months",
+        "for", "3")).execute(real);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testMonthlyPatternRejectsWeekInterval() {
+    calendar.model.CalendarManagerImpl real = new calendar.model.CalendarManagerImpl();
+    real.createCalendar("Work", java.time.ZoneId.of("America/New_York"));
+    real.useCalendar("Work");
+    CommandFactory.parseCommand(java.util.Arrays.asList("create", "event", "Rent", "on",
+        "2025-11-01", "repeats", "monthly", "day", "1", "every", "2", "weeks", "for", "3"))
+        .execute(real);
+  }
+
+  @Test
+  public void testEditWithSeveralClausesAppliesAllChanges() {
+    calendar.model.CalendarManagerImpl real = new calendar.model.CalendarManagerImpl();
+    real.createCalendar("Work", java.time.ZoneId.of("America/New_York"));
+    real.useCalendar("Work");
+    CommandFactory.parseCommand(CommandUtils.tokenize("create event Review from "
+        + "2025-11-10T09:00 to 2025-11-10T10:00")).execute(real);
+
+    ByteArrayOutputStream captured = new ByteArrayOutputStream();
+    PrintStream original = System.out;
+    System.setOut(new PrintStream(captured));
+    try {
+      CommandFactory.parseCommand(CommandUtils.tokenize("edit event Review from "
+          + "2025-11-10T09:00 to 2025-11-10T10:00 with description \"Meet with team\" "
+          + "with start 2025-11-10T11:00 with end 2025-11-10T12:00 with location Zoom"))
+          .execute(real);
+    } finally {
+      System.setOut(original);
+    }
+
+    java.util.List<calendar.model.Event> all = real.getActiveCalendar().getAllEvents();
+    assertEquals(1, all.size());
+    calendar.model.Event edited = all.get(0);
+    assertEquals("Meet with team", edited.getDescription());
+    assertEquals("Zoom", edited.getLocation());
+    assertEquals(11, edited.getStart().getHour());
+    assertEquals(12, edited.getEnd().getHour());
+    assertTrue(captured.toString().contains(
+        "(property = description, newValue = Meet with team; property = start"));
+  }
+
+  @Test
+  public void testEditEventsMovesSeriesByWholeDays() {
+    calendar.model.CalendarManagerImpl real = new calendar.model.CalendarManagerImpl();
+    real.createCalendar("Work", java.time.ZoneId.of("America/New_York"));
+    real.useCalendar("Work");
+    CommandFactory.parseCommand(CommandUtils.tokenize("create event Standup from "
+        + "2025-11-10T09:00 to 2025-11-10T09:30 repeats MTWRF for 5")).execute(real);
+
+    PrintStream original = System.out;
+    System.setOut(new PrintStream(new ByteArrayOutputStream()));
+    try {
+      CommandFactory.parseCommand(CommandUtils.tokenize("edit events Standup from "
+          + "2025-11-11T09:00 with start 2025-11-12T09:00 with end 2025-11-12T09:30"))
+          .execute(real);
+    } finally {
+      System.setOut(original);
+    }
+
+    java.util.List<calendar.model.Event> all = real.getActiveCalendar().getAllEvents();
+    assertEquals(5, all.size());
+    assertEquals(10, all.get(0).getStart().getDayOfMonth());
+    for (int i = 1; i < 5; i++) {
+      assertEquals(11 + i, all.get(i).getStart().getDayOfMonth());
+      assertEquals(30, all.get(i).getEnd().getMinute());
+    }
+  }
+
+  @Test
+  public void testAdapterBuildsMultiPropertyEdit() {
+    java.util.Map<String, Object> changes = new java.util.LinkedHashMap<>();
+    changes.put("location", "Room 1");
+    changes.put("status", "private");
+    java.time.ZonedDateTime start = java.time.ZonedDateTime.of(2025, 11, 10, 9, 0, 0, 0,
+        ParseUtils.EST);
+    assertEquals("edit series \"Sync\" from 2025-11-10T09:00 to 2025-11-10T10:00 "
+            + "with location \"Room 1\" with status \"PRIVATE\"",
+        new CommandAdapter().buildEditCommand("series", "Sync", start, start.plusHours(1),
+            changes));
+  }
+
+  @Test
+  public void testSaveAndLoadCommands() throws java.io.IOException {
+    java.nio.file.Path file = java.nio.file.Files.createTempFile("work", ".cal");
+    calendar.model.CalendarManagerImpl real = new calendar.model.CalendarManagerImpl();
+    real.createCalendar("Work", java.time.ZoneId.of("America/New_York"));
+    real.createCalendar("Home", java.time.ZoneId.of("Asia/Kolkata"));
+    real.useCalendar("Work");
+    CommandFactory.parseCommand(CommandUtils.tokenize("create event Review from "
+        + "2025-11-10T09:00 to 2025-11-10T10:00")).execute(real);
+
+    ByteArrayOutputStream captured = new ByteArrayOutputStream();
+    PrintStream original = System.out;
+    System.setOut(new PrintStream(captured));
+    calendar.model.CalendarManagerImpl loaded = new calendar.model.CalendarManagerImpl();
+    try {
+      CommandFactory.parseCommand(CommandUtils.tokenize("save calendar " + file))
+          .execute(real);
+      CommandFactory.parseCommand(CommandUtils.tokenize("load calendars " + file))
+          .execute(loaded);
+      assertEquals(java.util.List.of("Work"), loaded.listCalendars());
+      assertEquals(real.getCalendar("Work").getAllEvents(),
+          loaded.getCalendar("Work").getAllEvents());
+
+      CommandFactory.parseCommand(CommandUtils.tokenize("save calendars " + file))
+          .execute(real);
+      loaded = new calendar.model.CalendarManagerImpl();
+      CommandFactory.parseCommand(CommandUtils.tokenize("load calendar " + file))
+          .execute(loaded);
+    } finally {
+      System.setOut(original);
+      java.nio.file.Files.deleteIfExists(file);
+    }
+
+    assertEquals(2, loaded.listCalendars().size());
+    assertTrue(captured.toString().contains("Loaded calendars: Work"));
+    assertTrue(CommandFactory.parseCommand(java.util.Arrays.asList("save", "calendars",
+        "x.cal")) instanceof SaveCalendarCommand);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testLoadCommandRequiresFile() {
+    CommandFactory.parseCommand(java.util.Arrays.asList("load", "calendars"));
+  }
+}
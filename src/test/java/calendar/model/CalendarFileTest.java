@@ -0,0 +1,194 @@
+package calendar.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DayOfWeek;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test suite for {@link CalendarFile} and the manager's save and load.
+ */
+public class CalendarFileTest {
+
+  private static final ZoneId EST = ZoneId.of("America/New_York");
+  private static final ZoneId IST = ZoneId.of("Asia/Kolkata");
+
+  private static final ZonedDateTime START = ZonedDateTime.of(2025, 5, 5, 9, 0, 0, 0, EST);
+
+  private Path file;
+
+  @Before
+  public void setUp() throws IOException {
+    file = Files.createTempFile("calendars", ".cal");
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(file);
+  }
+
+  private static void assertSameEvents(List<Event> expected, List<Event> actual) {
+    assertEquals(expected, actual);
+    for (int i = 0; i < expected.size(); i++) {
+      Event e = expected.get(i);
+      Event a = actual.get(i);
+      assertEquals(e.getDescription(), a.getDescription());
+      assertEquals(e.getLocation(), a.getLocation());
+      assertEquals(e.getStatus(), a.getStatus());
+      assertEquals(e.getSeriesId(), a.getSeriesId());
+      assertEquals(e.isAllDay(), a.isAllDay());
+    }
+  }
+
+  /**
+   * Every event field, including nanoseconds, a second zone and long text, round-trips.
+   */
+  @Test
+  public void testRoundTrip() throws IOException {
+    CalendarModel work = new CalendarModel(new TreeSetEventStorage(), EST);
+    work.createEvent(new Event.Builder("Review", START, START.plusHours(1))
+        .description("Numbers ✓").location("Room 4").status(EventStatus.PUBLIC).build());
+    work.createEvent(new Event.Builder("Flight", START.plusDays(1).plusNanos(500),
+        START.plusDays(1).withZoneSameInstant(IST).plusHours(9)).build());
+    work.createEvent(new Event.Builder("Offsite", START.plusDays(2), START.plusDays(2)
+        .plusHours(1)).allDay(true).description("x".repeat(3_000_000)).build());
+    work.createSeries(new Event.Builder("Standup", START, START.plusMinutes(15))
+            .location("Room 4").build(),
+        new RecurrenceRule(EnumSet.range(DayOfWeek.MONDAY, DayOfWeek.FRIDAY), 20, null));
+    CalendarModel empty = new CalendarModel(new TreeSetEventStorage(), IST);
+
+    CalendarFile.write(file, Map.of("Work", work));
+    List<CalendarFile.Entry> entries = CalendarFile.read(file);
+    assertEquals(1, entries.size());
+    assertEquals("Work", entries.get(0).getName());
+    assertEquals(EST, entries.get(0).getZone());
+    assertSameEvents(work.getAllEvents(), entries.get(0).getEvents());
+
+    CalendarFile.write(file, Map.of("Empty", empty));
+    assertEquals(IST, CalendarFile.read(file).get(0).getZone());
+    assertTrue(CalendarFile.read(file).get(0).getEvents().isEmpty());
+  }
+
+  /**
+   * A manager saves chosen calendars and another one loads them back.
+   */
+  @Test
+  public void testManagerSaveAndLoad() {
+    CalendarManagerImpl source = new CalendarManagerImpl();
+    source.createCalendar("Work", EST);
+    source.createCalendar("Home", IST);
+    source.getCalendar("Work").createEvent(new Event.Builder("Review", START,
+        START.plusHours(1)).build());
+    source.getCalendar("Home").createSeries(new Event.Builder("Gym", START,
+        START.plusHours(1)).build(), new RecurrenceRule(EnumSet.of(DayOfWeek.SATURDAY), 4,
+        null));
+    source.saveCalendars(List.of("Work", "Home"), file);
+
+    CalendarManagerImpl target = new CalendarManagerImpl();
+    assertEquals(List.of("Work", "Home"), target.loadCalendars(file));
+    assertEquals(IST, target.getCalendar("Home").getZone());
+    assertSameEvents(source.getCalendar("Home").getAllEvents(),
+        target.getCalendar("Home").getAllEvents());
+    assertSameEvents(source.getCalendar("Work").getAllEvents(),
+        target.getCalendar("Work").getAllEvents());
+
+    CalendarManagerImpl clash = new CalendarManagerImpl();
+    clash.createCalendar("Home", EST);
+    assertThrows(IllegalArgumentException.class, () -> clash.loadCalendars(file));
+    assertEquals(List.of("Home"), clash.listCalendars());
+    assertThrows(IllegalArgumentException.class,
+        () -> source.saveCalendars(List.of("Missing"), file));
+  }
+
+  /**
+   * A load whose second calendar is rejected leaves the manager as it was.
+   */
+  @Test
+  public void testLoadIsAllOrNothing() throws IOException {
+    CalendarManagerImpl source = new CalendarManagerImpl();
+    source.createCalendar("Work", EST);
+    source.createCalendar("Home", IST);
+    source.getCalendar("Work").createEvent(new Event.Builder("Review", START,
+        START.plusHours(1)).build());
+    source.getCalendar("Home").createEvent(new Event.Builder("Gym", START,
+        START.plusHours(1)).build());
+    source.saveCalendars(List.of("Work", "Home"), file);
+
+    int[] created = {0};
+    CalendarManagerImpl target = new CalendarManagerImpl(() -> new TreeSetEventStorage() {
+      private final boolean rejects = ++created[0] == 3;
+
+      @Override
+      public boolean addAll(Collection<Event> events) {
+        return !rejects && super.addAll(events);
+      }
+    });
+    target.createCalendar("Personal", EST);
+    Icalendar personal = target.getActiveCalendar();
+
+    assertThrows(IllegalArgumentException.class, () -> target.loadCalendars(file));
+    assertEquals(List.of("Personal"), target.listCalendars());
+    assertSame(personal, target.getActiveCalendar());
+    assertEquals(List.of("Work", "Home"), new CalendarManagerImpl().loadCalendars(file));
+  }
+
+  /**
+   * Foreign, newer and truncated files are rejected.
+   */
+  @Test
+  public void testRejectsInvalidFiles() throws IOException {
+    Files.write(file, "Subject,Start Date\n".getBytes());
+    assertThrows(IllegalArgumentException.class, () -> CalendarFile.read(file));
+
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE,
+        StandardOpenOption.TRUNCATE_EXISTING)) {
+      channel.write(ByteBuffer.allocate(8).putInt(CalendarFile.MAGIC)
+          .putInt(CalendarFile.VERSION + 1).flip());
+    }
+    assertThrows(IllegalArgumentException.class, () -> CalendarFile.read(file));
+
+    CalendarModel work = new CalendarModel(new TreeSetEventStorage(), EST);
+    work.createEvent(new Event.Builder("Review", START, START.plusHours(1)).build());
+    CalendarFile.write(file, Map.of("Work", work));
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+      channel.truncate(channel.size() - 5);
+    }
+    assertThrows(IOException.class, () -> CalendarFile.read(file));
+    assertThrows(RuntimeException.class, () -> new CalendarManagerImpl().loadCalendars(file));
+  }
+
+  /**
+   * Zone references outside the string table, including the -1 that stands for a
+   * missing string, are rejected as corrupt.
+   */
+  @Test
+  public void testRejectsInvalidZoneReferences() throws IOException {
+    for (int zone : new int[] {-1, 1, -7}) {
+      byte[] name = "Work".getBytes(java.nio.charset.StandardCharsets.UTF_8);
+      try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE,
+          StandardOpenOption.TRUNCATE_EXISTING)) {
+        channel.write(ByteBuffer.allocate(64).putInt(CalendarFile.MAGIC)
+            .putInt(CalendarFile.VERSION).putInt(1).putInt(name.length).put(name)
+            .putInt(1).putInt(0).putInt(zone).putInt(0).flip());
+      }
+      assertThrows(IllegalArgumentException.class, () -> CalendarFile.read(file));
+    }
+  }
+}
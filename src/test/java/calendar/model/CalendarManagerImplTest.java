@@ -7,11 +7,16 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -709,4 +714,164 @@ public class CalendarManagerImplTest {
     manager.useCalendar("Cal2Renamed");
     assertEquals(pstZone, manager.getActiveCalendar().getZone());
   }
+
+  /**
+   * Verifies that calendars use the storage chosen through the factory constructor.
+   */
+  @Test
+  public void testStorageFactoryConstructorUsesSuppliedStorage() {
+    List<IeventStorage> created = new ArrayList<>();
+    CalendarManagerImpl treeManager = new CalendarManagerImpl(() -> {
+      IeventStorage storage = new IntervalTreeEventStorage();
+      created.add(storage);
+      return storage;
+    });
+
+    treeManager.createCalendar("Work", estZone);
+    treeManager.createCalendar("Home", pstZone);
+
+    assertEquals(2, created.size());
+    assertTrue(created.get(0) instanceof IntervalTreeEventStorage);
+  }
+
+  /**
+   * Verifies that a null storage factory is rejected.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testStorageFactoryConstructorRejectsNull() {
+    new CalendarManagerImpl(null);
+  }
+
+  /**
+   * Verifies that busy time from calendars in different zones is merged by instant.
+   */
+  @Test
+  public void testFreeBusyMergesAcrossZones() {
+    manager.createCalendar("Work", estZone);
+    manager.createCalendar("Travel", pstZone);
+    manager.createCalendar("Personal", estZone);
+
+    ZonedDateTime nine = ZonedDateTime.of(2025, 11, 10, 9, 0, 0, 0, estZone);
+    manager.getCalendar("Work").createEvent(
+        new Event.Builder("Standup", nine, nine.plusHours(1)).build());
+    manager.getCalendar("Work").createEvent(
+        new Event.Builder("Review", nine.plusHours(5), nine.plusHours(6)).build());
+    // 07:00-08:00 Pacific is 10:00-11:00 Eastern, touching the standup
+    ZonedDateTime sevenPst = ZonedDateTime.of(2025, 11, 10, 7, 0, 0, 0, pstZone);
+    manager.getCalendar("Travel").createEvent(
+        new Event.Builder("Flight", sevenPst, sevenPst.plusHours(1)).build());
+    manager.getCalendar("Personal").createEvent(
+        new Event.Builder("Lunch", nine.plusHours(3), nine.plusHours(4)).build());
+
+    List<TimeSlot> busy = manager.freeBusy(List.of("Work", "Travel", "Personal", "Work"),
+        nine.minusHours(1), nine.plusHours(9));
+
+    assertEquals(List.of(
+        new TimeSlot(nine, nine.plusHours(2)),
+        new TimeSlot(nine.plusHours(3), nine.plusHours(4)),
+        new TimeSlot(nine.plusHours(5), nine.plusHours(6))), busy);
+    assertEquals(busy, sequential(manager).freeBusy(
+        List.of("Personal", "Travel", "Work"), nine.minusHours(1), nine.plusHours(9)));
+  }
+
+  /**
+   * Verifies that busy slots reaching beyond the requested range are clipped to it.
+   */
+  @Test
+  public void testFreeBusyClipsToRange() {
+    manager.createCalendar("Work", estZone);
+    manager.createCalendar("Travel", pstZone);
+    ZonedDateTime nine = ZonedDateTime.of(2025, 11, 10, 9, 0, 0, 0, estZone);
+    manager.getCalendar("Work").createEvent(
+        new Event.Builder("Offsite", nine.minusHours(3), nine.plusHours(1)).build());
+    manager.getCalendar("Travel").createEvent(
+        new Event.Builder("Flight", nine.plusHours(4), nine.plusHours(12)).build());
+
+    List<TimeSlot> busy = manager.freeBusy(List.of("Work", "Travel"), nine,
+        nine.plusHours(8));
+
+    assertEquals(List.of(
+        new TimeSlot(nine, nine.plusHours(1)),
+        new TimeSlot(nine.plusHours(4), nine.plusHours(8))), busy);
+  }
+
+  /**
+   * Verifies that each calendar is queried by its own task off the calling thread and
+   * that a failing query surfaces as its original exception.
+   */
+  @Test
+  public void testFreeBusyQueriesCalendarsInParallel() {
+    Set<Thread> readers = ConcurrentHashMap.newKeySet();
+    IcalendarManager parallel = new CalendarManagerImpl(() -> new TreeSetEventStorage() {
+      @Override
+      public List<Event> getEventsBetween(ZonedDateTime start, ZonedDateTime end) {
+        readers.add(Thread.currentThread());
+        if (start.getYear() < 2000) {
+          throw new IllegalStateException("query failed");
+        }
+        return super.getEventsBetween(start, end);
+      }
+    });
+    parallel.createCalendar("Work", estZone);
+    parallel.createCalendar("Travel", pstZone);
+    ZonedDateTime nine = ZonedDateTime.of(2025, 11, 10, 9, 0, 0, 0, estZone);
+    parallel.getCalendar("Travel").createEvent(
+        new Event.Builder("Flight", nine, nine.plusHours(2)).build());
+
+    assertEquals(List.of(new TimeSlot(nine, nine.plusHours(2))),
+        parallel.freeBusy(List.of("Work", "Travel"), nine, nine.plusHours(8)));
+    assertFalse(readers.isEmpty());
+    assertFalse(readers.contains(Thread.currentThread()));
+
+    IllegalStateException e = assertThrows(IllegalStateException.class,
+        () -> parallel.freeBusy(List.of("Work"), nine.withYear(1999), nine));
+    assertEquals("query failed", e.getMessage());
+  }
+
+  /**
+   * Verifies that freeBusy rejects unknown calendars.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testFreeBusyUnknownCalendar() {
+    manager.createCalendar("Work", estZone);
+    ZonedDateTime now = ZonedDateTime.of(2025, 11, 10, 9, 0, 0, 0, estZone);
+    manager.freeBusy(List.of("Work", "Missing"), now, now.plusHours(1));
+  }
+
+  /**
+   * Wraps a manager so that only the interface's default freeBusy is used.
+   */
+  private static IcalendarManager sequential(IcalendarManager delegate) {
+    return new IcalendarManager() {
+      @Override
+      public void createCalendar(String name, ZoneId timezone) {
+        delegate.createCalendar(name, timezone);
+      }
+
+      @Override
+      public void editCalendar(String name, String property, String newValue) {
+        delegate.editCalendar(name, property, newValue);
+      }
+
+      @Override
+      public void useCalendar(String name) {
+        delegate.useCalendar(name);
+      }
+
+      @Override
+      public Icalendar getActiveCalendar() {
+        return delegate.getActiveCalendar();
+      }
+
+      @Override
+      public Icalendar getCalendar(String name) {
+        return delegate.getCalendar(name);
+      }
+
+      @Override
+      public List<String> listCalendars() {
+        return delegate.listCalendars();
+      }
+    };
+  }
 }
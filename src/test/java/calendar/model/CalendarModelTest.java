@@ -12,11 +12,14 @@ import static org.junit.Assert.fail;
 import java.lang.reflect.Method;
 import java.nio.file.Path;
 import java.time.DayOfWeek;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Set;
@@ -148,6 +151,162 @@ public class CalendarModelTest {
     model.createSeries(e, rule);
   }
 
+  @Test
+  public void testCreateSeriesAddsNothingWhenLaterOccurrenceIsDuplicate() {
+    ZoneId est = ZoneId.of("America/New_York");
+    ZonedDateTime monday = ZonedDateTime.of(2025, 3, 3, 9, 0, 0, 0, est);
+    storage.addEvent(new Event.Builder("Sync", monday.plusWeeks(2), monday.plusWeeks(2)
+        .plusHours(1)).build());
+
+    assertThrows(IllegalArgumentException.class, () -> model.createSeries(
+        new Event.Builder("Sync", monday, monday.plusHours(1)).build(),
+        new RecurrenceRule(EnumSet.of(DayOfWeek.MONDAY), 4, null)));
+    assertEquals(1, storage.getAllEvents().size());
+  }
+
+  @Test
+  public void testCreateEventsIsAllOrNothing() {
+    Event a = event("A");
+    Event b = event("B");
+    model.createEvent(b);
+
+    assertThrows(IllegalArgumentException.class, () -> model.createEvents(List.of(a, b)));
+    assertEquals(List.of(b), storage.getAllEvents());
+    assertThrows(IllegalArgumentException.class, () -> model.createEvents(List.of(a, a)));
+    assertEquals(1, storage.getAllEvents().size());
+
+    model.createEvents(List.of(a, event("C")));
+    assertEquals(3, storage.getAllEvents().size());
+  }
+
+  @Test
+  public void testTransactionRollsBackOnException() {
+    CalendarModel cal = new CalendarModel(new TreeSetEventStorage(), ZoneId.of("UTC"));
+    ZonedDateTime start = ZonedDateTime.of(2025, 6, 2, 9, 0, 0, 0, ZoneId.of("UTC"));
+    Event kept = new Event.Builder("Kept", start, start.plusHours(1)).build();
+    Event dropped = new Event.Builder("Dropped", start.plusHours(2), start.plusHours(3))
+        .build();
+    cal.createEvent(kept);
+    cal.createEvent(dropped);
+    List<Event> before = cal.getAllEvents();
+
+    Icalendar[] leaked = new Icalendar[1];
+    assertThrows(IllegalStateException.class, () -> cal.transaction(tx -> {
+      leaked[0] = tx;
+      tx.createEvent(new Event.Builder("New", start.plusDays(1), start.plusDays(1)
+          .plusHours(1)).build());
+      tx.editEvent(kept.getKey(), "subject", "Renamed");
+      tx.editEvent(dropped.getKey(), "location", "Hall");
+      tx.setZone(ZoneId.of("Asia/Tokyo"));
+      assertEquals(3, tx.getAllEvents().size());
+      throw new IllegalStateException("boom");
+    }));
+
+    assertEquals(before, cal.getAllEvents());
+    assertNull(cal.getAllEvents().get(1).getLocation());
+    assertEquals(ZoneId.of("UTC"), cal.getZone());
+    assertThrows(IllegalStateException.class, () -> leaked[0].getAllEvents());
+  }
+
+  @Test
+  public void testTransactionCommitsAllChanges() {
+    CalendarModel cal = new CalendarModel(new TreeSetEventStorage(), ZoneId.of("UTC"));
+    ZonedDateTime start = ZonedDateTime.of(2025, 6, 2, 9, 0, 0, 0, ZoneId.of("UTC"));
+    cal.transaction(tx -> {
+      tx.createSeries(new Event.Builder("Sync", start, start.plusHours(1)).build(),
+          new RecurrenceRule(EnumSet.of(DayOfWeek.MONDAY), 3, null));
+      tx.setZone(ZoneId.of("Europe/Paris"));
+    });
+    assertEquals(3, cal.getAllEvents().size());
+    assertEquals(ZoneId.of("Europe/Paris"), cal.getZone());
+  }
+
+  @Test
+  public void testEditSeriesFailingPartWayLeavesSeriesUnchanged() {
+    CalendarModel cal = new CalendarModel(new TreeSetEventStorage(), ZoneId.of("UTC"));
+    ZonedDateTime monday = ZonedDateTime.of(2025, 6, 2, 9, 0, 0, 0, ZoneId.of("UTC"));
+    Event seed = new Event.Builder("Sync", monday, monday.plusHours(1)).build();
+    cal.createSeries(seed, new RecurrenceRule(EnumSet.of(DayOfWeek.MONDAY), 4, null));
+    List<Event> before = cal.getAllEvents();
+
+    // the new end is fine for the first occurrence but before the start of the others
+    assertThrows(IllegalArgumentException.class, () -> cal.editSeries(seed.getKey(), "end",
+        monday.plusHours(2), EditMode.ENTIRE_SERIES));
+    assertEquals(before, cal.getAllEvents());
+  }
+
+  /**
+   * Shifting a daily series by one day moves each occurrence onto the old slot of the
+   * next one, which only works because the edit swaps all occurrences in one pass.
+   */
+  @Test
+  public void testEditSeriesShiftsForwardByOneInterval() {
+    CalendarModel cal = new CalendarModel(new TreeSetEventStorage(), ZoneId.of("UTC"));
+    ZonedDateTime monday = ZonedDateTime.of(2025, 6, 2, 9, 0, 0, 0, ZoneId.of("UTC"));
+    Event seed = new Event.Builder("Daily", monday, monday.plusHours(1)).build();
+    cal.createSeries(seed, new RecurrenceRule(EnumSet.range(DayOfWeek.MONDAY,
+        DayOfWeek.FRIDAY), 5, null));
+
+    java.util.Map<String, Object> changes = new java.util.LinkedHashMap<>();
+    changes.put("start", monday.plusDays(1));
+    changes.put("end", monday.plusDays(1).plusHours(1));
+    cal.editSeries(seed.getKey(), changes, EditMode.FROM_THIS_ONWARD);
+
+    List<Event> all = cal.getAllEvents();
+    assertEquals(5, all.size());
+    for (int i = 0; i < 5; i++) {
+      assertEquals(monday.plusDays(i + 1).toInstant(), all.get(i).getStart().toInstant());
+    }
+
+    cal.editSeries(all.get(0).getKey(), "location", "Room 2", EditMode.ENTIRE_SERIES);
+    for (Event e : cal.getAllEvents()) {
+      assertEquals("Room 2", e.getLocation());
+    }
+  }
+
+  /**
+   * An occurrence that would collide with another event is refused by the storage, and
+   * the occurrences already renamed are rolled back.
+   */
+  @Test
+  public void testEditSeriesDuplicateOccurrenceRollsBack() {
+    CalendarModel cal = new CalendarModel(new TreeSetEventStorage(), ZoneId.of("UTC"));
+    ZonedDateTime monday = ZonedDateTime.of(2025, 6, 2, 9, 0, 0, 0, ZoneId.of("UTC"));
+    Event seed = new Event.Builder("Sync", monday, monday.plusHours(1)).build();
+    cal.createSeries(seed, new RecurrenceRule(EnumSet.of(DayOfWeek.MONDAY), 3, null));
+    cal.createEvent(new Event.Builder("Review", monday.plusWeeks(2),
+        monday.plusWeeks(2).plusHours(1)).build());
+    List<Event> before = cal.getAllEvents();
+
+    assertThrows(IllegalArgumentException.class, () -> cal.editSeries(seed.getKey(),
+        "subject", "Review", EditMode.ENTIRE_SERIES));
+    assertEquals(before, cal.getAllEvents());
+  }
+
+  /**
+   * A rollback whose undo step the storage refuses fails loudly instead of leaving a
+   * half-undone calendar behind silently.
+   */
+  @Test
+  public void testTransactionFailsWhenUndoIsRefused() {
+    TreeSetEventStorage stubborn = new TreeSetEventStorage() {
+      @Override
+      public boolean removeEvent(EventKey key) {
+        return false;
+      }
+    };
+    CalendarModel cal = new CalendarModel(stubborn, ZoneId.of("UTC"));
+    ZonedDateTime start = ZonedDateTime.of(2025, 6, 2, 9, 0, 0, 0, ZoneId.of("UTC"));
+
+    IllegalStateException failed = assertThrows(IllegalStateException.class,
+        () -> cal.transaction(tx -> {
+          tx.createEvent(new Event.Builder("New", start, start.plusHours(1)).build());
+          throw new IllegalArgumentException("boom");
+        }));
+    assertEquals(1, failed.getSuppressed().length);
+    assertEquals("boom", failed.getSuppressed()[0].getMessage());
+  }
+
   @Test
   public void testEditEventSuccess() {
     Event e = event("EditMe");
@@ -156,6 +315,85 @@ public class CalendarModelTest {
     assertEquals("NewSubj", storage.getAllEvents().get(0).getSubject());
   }
 
+  /**
+   * A multi-property edit applies every change to the original event at once, so the
+   * event can move past its own end in one step.
+   */
+  @Test
+  public void testEditEventWithSeveralProperties() {
+    model = new CalendarModel(new TreeSetEventStorage(), ZoneId.of("America/New_York"));
+    model.createEvent(baseEvent);
+    java.util.Map<String, Object> changes = new java.util.LinkedHashMap<>();
+    changes.put("subject", "Moved");
+    changes.put("start", baseStart.plusHours(3));
+    changes.put("end", baseEnd.plusHours(3));
+    changes.put("location", "Room 9");
+    changes.put("status", "private");
+
+    model.editEvent(baseEvent.getKey(), changes);
+
+    List<Event> all = model.getAllEvents();
+    assertEquals(1, all.size());
+    Event moved = all.get(0);
+    assertEquals("Moved", moved.getSubject());
+    assertEquals(baseStart.plusHours(3), moved.getStart());
+    assertEquals("Room 9", moved.getLocation());
+    assertEquals("desc", moved.getDescription());
+    assertEquals(EventStatus.PRIVATE, moved.getStatus());
+    assertEquals("series1", moved.getSeriesId());
+  }
+
+  /**
+   * A multi-property edit that would duplicate another event keeps the original.
+   */
+  @Test
+  public void testEditEventWithSeveralPropertiesKeepsOriginalOnDuplicate() {
+    model = new CalendarModel(new TreeSetEventStorage(), ZoneId.of("America/New_York"));
+    model.createEvent(baseEvent);
+    Event other = new Event.Builder("Other", baseStart.plusHours(2), baseEnd.plusHours(2))
+        .build();
+    model.createEvent(other);
+    java.util.Map<String, Object> changes = new java.util.LinkedHashMap<>();
+    changes.put("subject", "Other");
+    changes.put("start", other.getStart());
+    changes.put("end", other.getEnd());
+
+    assertThrows(IllegalArgumentException.class,
+        () -> model.editEvent(baseEvent.getKey(), changes));
+    assertEquals(baseEvent, model.findEvent("SeriesSubj", baseStart, baseEnd));
+    assertEquals(2, model.getAllEvents().size());
+  }
+
+  /**
+   * Editing several properties from this event onward shifts times and splits the series
+   * exactly once.
+   */
+  @Test
+  public void testEditSeriesWithSeveralProperties() {
+    model = new CalendarModel(new TreeSetEventStorage(), ZoneId.of("America/New_York"));
+    model.createSeries(baseEvent, new RecurrenceRule(EnumSet.of(DayOfWeek.MONDAY), 4, null));
+    java.util.Map<String, Object> changes = new java.util.LinkedHashMap<>();
+    changes.put("location", "Annex");
+    changes.put("start", baseStart.plusWeeks(1).plusHours(1));
+    changes.put("end", baseEnd.plusWeeks(1).plusHours(1));
+
+    model.editSeries(new EventKey("SeriesSubj", baseStart.plusWeeks(1), null), changes,
+        EditMode.FROM_THIS_ONWARD);
+
+    List<Event> all = model.getAllEvents();
+    assertEquals(4, all.size());
+    assertEquals(baseStart, all.get(0).getStart());
+    assertEquals("loc", all.get(0).getLocation());
+    Set<String> newIds = all.subList(1, 4).stream().map(Event::getSeriesId)
+        .collect(Collectors.toSet());
+    assertEquals(1, newIds.size());
+    assertFalse(newIds.contains("series1"));
+    for (int i = 1; i < 4; i++) {
+      assertEquals("Annex", all.get(i).getLocation());
+      assertEquals(baseStart.plusWeeks(i).plusHours(1), all.get(i).getStart());
+    }
+  }
+
   @Test(expected = IllegalArgumentException.class)
   public void testEditEventNotFound() {
     model.editEvent(new EventKey("X", ZonedDateTime.now(), ZonedDateTime.now().plusHours(1)),
@@ -201,6 +439,79 @@ public class CalendarModelTest {
     assertFalse(model.isBusy(e.getEnd().plusHours(2)));
   }
 
+  /**
+   * Free slots are the gaps between merged events, including both ends of the range.
+   */
+  @Test
+  public void testFindFreeSlotsBetweenEvents() {
+    ZoneId zone = ZoneId.of("America/New_York");
+    ZonedDateTime day = ZonedDateTime.of(2025, 5, 6, 0, 0, 0, 0, zone);
+    model.createEvent(new Event.Builder("A", day.plusHours(9), day.plusHours(11)).build());
+    model.createEvent(new Event.Builder("B", day.plusHours(10), day.plusHours(12)).build());
+    model.createEvent(new Event.Builder("C", day.plusHours(12).plusMinutes(30),
+        day.plusHours(13)).build());
+
+    List<TimeSlot> slots = model.findFreeSlots(day.plusHours(8), day.plusHours(17),
+        Duration.ofMinutes(45), null).collect(Collectors.toList());
+
+    assertEquals(List.of(
+        new TimeSlot(day.plusHours(8), day.plusHours(9)),
+        new TimeSlot(day.plusHours(13), day.plusHours(17))), slots);
+  }
+
+  /**
+   * Working hours clip a long gap into one slot per day.
+   */
+  @Test
+  public void testFindFreeSlotsWithinWorkingHours() {
+    ZoneId zone = ZoneId.of("America/New_York");
+    ZonedDateTime monday = ZonedDateTime.of(2025, 5, 5, 0, 0, 0, 0, zone);
+    model.createEvent(new Event.Builder("Busy", monday.plusHours(9),
+        monday.plusHours(16).plusMinutes(30)).build());
+    WorkingHours hours = new WorkingHours(LocalTime.of(9, 0), LocalTime.of(17, 0));
+
+    List<TimeSlot> slots = model.findFreeSlots(monday, monday.plusDays(2),
+        Duration.ofMinutes(45), hours).collect(Collectors.toList());
+
+    assertEquals(List.of(
+        new TimeSlot(monday.plusDays(1).plusHours(9), monday.plusDays(1).plusHours(17))),
+        slots);
+
+    TimeSlot first = model.findFreeSlots(monday, monday.plusDays(2),
+        Duration.ofMinutes(30), hours).findFirst().orElseThrow();
+    assertEquals(new TimeSlot(monday.plusHours(16).plusMinutes(30), monday.plusHours(17)),
+        first);
+  }
+
+  /**
+   * Invalid search arguments are rejected.
+   */
+  @Test
+  public void testFindFreeSlotsRejectsInvalidArguments() {
+    assertThrows(IllegalArgumentException.class,
+        () -> model.findFreeSlots(baseEnd, baseStart, Duration.ofMinutes(5), null));
+    assertThrows(IllegalArgumentException.class,
+        () -> model.findFreeSlots(baseStart, baseEnd, Duration.ZERO, null));
+  }
+
+  /**
+   * The batch check agrees with single lookups for unsorted probes and touching ends.
+   */
+  @Test
+  public void testIsBusyAtMatchesIsBusy() {
+    Event e = event("X");
+    storage.addEvent(e);
+    List<ZonedDateTime> probes = List.of(e.getEnd().plusHours(2), e.getStart(),
+        e.getStart().minusMinutes(1), e.getEnd(), e.getStart().plusMinutes(10));
+
+    BitSet busy = model.isBusyAt(probes);
+    for (int i = 0; i < probes.size(); i++) {
+      assertEquals(model.isBusy(probes.get(i)), busy.get(i));
+    }
+    assertEquals(3, busy.cardinality());
+    assertTrue(model.isBusyAt(List.of()).isEmpty());
+  }
+
 
   /**
    * Tests SINGLE mode where event matches the exact key.
@@ -310,6 +621,64 @@ public class CalendarModelTest {
     assertFalse(e.equals(null));
   }
 
+  /**
+   * The compact representation gives back the exact zone, offset and nanoseconds.
+   */
+  @Test
+  public void testCompactTimesRoundTrip() {
+    ZonedDateTime start = ZonedDateTime.of(2025, 3, 9, 1, 30, 0, 123_456_789,
+        ZoneId.of("America/New_York"));
+    ZonedDateTime end = ZonedDateTime.of(2025, 3, 9, 20, 0, 0, 0, ZoneId.of("Asia/Kolkata"));
+    Event e = new Event.Builder("Shift", start, end).build();
+
+    assertEquals(start, e.getStart());
+    assertEquals(end, e.getEnd());
+    assertTrue(e.matchesKey(new EventKey("shift", start, end)));
+    assertFalse(e.matchesKey(new EventKey("shift",
+        start.withZoneSameInstant(ZoneId.of("UTC")), end)));
+  }
+
+  /**
+   * Primitive ordering, equality and overlap checks agree with ZonedDateTime semantics,
+   * including equal instants expressed in different zones.
+   */
+  @Test
+  public void testCompactComparisonsMatchZonedDateTime() {
+    List<ZoneId> zones = List.of(ZoneId.of("America/New_York"), ZoneId.of("UTC"),
+        ZoneId.of("Europe/Paris"));
+    java.util.Random random = new java.util.Random(11);
+    ZonedDateTime base = ZonedDateTime.of(2025, 1, 1, 0, 0, 0, 0, ZoneId.of("UTC"));
+    List<Event> events = new ArrayList<>();
+    for (int i = 0; i < 300; i++) {
+      ZonedDateTime s = base.plusHours(random.nextInt(48))
+          .withZoneSameInstant(zones.get(random.nextInt(zones.size())));
+      ZonedDateTime e = s.plusHours(1 + random.nextInt(30))
+          .withZoneSameInstant(zones.get(random.nextInt(zones.size())));
+      events.add(new Event.Builder(random.nextBoolean() ? "A" : "a", s, e).build());
+    }
+    for (int i = 0; i < 2000; i++) {
+      Event a = events.get(random.nextInt(events.size()));
+      Event b = events.get(random.nextInt(events.size()));
+      int expected = a.getStart().compareTo(b.getStart());
+      if (expected == 0) {
+        expected = a.getEnd().compareTo(b.getEnd());
+      }
+      if (expected == 0) {
+        expected = a.getSubject().compareToIgnoreCase(b.getSubject());
+      }
+      assertEquals(Integer.signum(expected), Integer.signum(a.compareTo(b)));
+      assertEquals(expected == 0, a.equals(b));
+      if (a.equals(b)) {
+        assertEquals(a.hashCode(), b.hashCode());
+      }
+      assertEquals(!(a.getEnd().isBefore(b.getStart()) || a.getStart().isAfter(b.getEnd())),
+          a.overlaps(b.getStart(), b.getEnd()));
+      LocalDate day = b.getStart().toLocalDate();
+      assertEquals(!day.isBefore(a.getStart().toLocalDate())
+          && !day.isAfter(a.getEnd().toLocalDate()), a.occursOn(day));
+    }
+  }
+
   /**
    * Confirms that two events with identical subject, start, and end times are equal.
    * Also verifies that their hash codes match for consistency.
@@ -1251,16 +1620,42 @@ public class CalendarModelTest {
     assertNotEquals("Different subject must not compare as 0", 0, e1.compareTo(e3));
   }
 
+  /**
+   * Verifies findEvent matches subject case-insensitively and start times as instants.
+   */
+  @Test
+  public void testFindEventUsesStartTimeLookup() {
+    CalendarModel cal = new CalendarModel(new TreeSetEventStorage(),
+        ZoneId.of("America/New_York"));
+    Event a = new Event.Builder("Sync", baseStart, baseEnd).build();
+    Event b = new Event.Builder("Other", baseStart, baseEnd).build();
+    Event c = new Event.Builder("Sync", baseStart, baseEnd.plusHours(1)).build();
+    cal.createEvent(a);
+    cal.createEvent(b);
+    cal.createEvent(c);
+
+    ZonedDateTime utcStart = baseStart.withZoneSameInstant(ZoneId.of("UTC"));
+    assertEquals(a, cal.findEvent("SYNC", utcStart));
+    assertEquals(c, cal.findEvent("sync", baseStart, baseEnd.plusHours(1)));
+    assertNull(cal.findEvent("Sync", baseStart, baseEnd.plusMinutes(5)));
+    assertNull(cal.findEvent("Sync", baseStart.plusMinutes(1)));
+  }
 
+  /**
+   * Verifies editSeries locates its anchor through findEvent and edits the whole series.
+   */
+  @Test
+  public void testEditSeriesWithIndexedStorage() {
+    CalendarModel cal = new CalendarModel(new TreeSetEventStorage(),
+        ZoneId.of("America/New_York"));
+    cal.createSeries(baseEvent, new RecurrenceRule(EnumSet.of(DayOfWeek.MONDAY), 4, null));
 
+    cal.editSeries(new EventKey("seriessubj", baseStart.plusWeeks(2), null),
+        "location", "Room 9", EditMode.FROM_THIS_ONWARD);
 
+    List<Event> all = cal.getAllEvents();
+    assertEquals("loc", all.get(1).getLocation());
+    assertEquals("Room 9", all.get(2).getLocation());
+    assertEquals("Room 9", all.get(3).getLocation());
+  }
 }
-
-
-
-
-
-
-
-
-
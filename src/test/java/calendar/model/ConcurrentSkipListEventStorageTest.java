@@ -0,0 +1,173 @@
+package calendar.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Test;
+
+/**
+ * Test suite for {@link ConcurrentSkipListEventStorage}.
+ *
+ * <p>Single-threaded queries are compared against {@link TreeSetEventStorage}; a stress
+ * test then runs reader threads against a writer that keeps editing a series.</p>
+ */
+public class ConcurrentSkipListEventStorageTest {
+
+  private static final ZoneId EST = ZoneId.of("America/New_York");
+  private static final ZoneId[] ZONES = {EST, ZoneId.of("Asia/Kolkata"), ZoneId.of("UTC")};
+
+  /**
+   * Every query agrees with the tree-set storage for random events in several zones.
+   */
+  @Test
+  public void testMatchesTreeSetStorage() {
+    ConcurrentSkipListEventStorage storage = new ConcurrentSkipListEventStorage();
+    TreeSetEventStorage reference = new TreeSetEventStorage();
+    Random random = new Random(11);
+    ZonedDateTime base = ZonedDateTime.of(2025, 3, 1, 0, 0, 0, 0, EST);
+
+    for (int i = 0; i < 400; i++) {
+      ZonedDateTime start = base.plusMinutes(15L * random.nextInt(4 * 24 * 30))
+          .withZoneSameInstant(ZONES[random.nextInt(ZONES.length)]);
+      Event e = new Event.Builder("E" + random.nextInt(50), start,
+          start.plusMinutes(15L * (1 + random.nextInt(random.nextInt(10) == 0 ? 200 : 8))))
+          .seriesId(random.nextBoolean() ? "s" + random.nextInt(5) : null).build();
+      assertEquals(reference.addEvent(e), storage.addEvent(e));
+    }
+    for (int i = 0; i < 50; i++) {
+      Event victim = reference.getAllEvents().get(random.nextInt(300));
+      assertEquals(reference.removeEvent(victim.getKey()),
+          storage.removeEvent(victim.getKey()));
+    }
+
+    assertEquals(reference.getAllEvents(), storage.getAllEvents());
+    for (int day = 0; day < 32; day++) {
+      LocalDate date = base.toLocalDate().plusDays(day);
+      assertEquals(reference.getEventsOn(date), storage.getEventsOn(date));
+    }
+    for (int i = 0; i < 200; i++) {
+      ZonedDateTime from = base.plusMinutes(7L * random.nextInt(6000));
+      ZonedDateTime to = from.plusMinutes(random.nextInt(600));
+      assertEquals(reference.getEventsBetween(from, to), storage.getEventsBetween(from, to));
+      assertEquals(reference.isBusy(from), storage.isBusy(from));
+    }
+    for (Event e : reference.getAllEvents()) {
+      assertEquals(reference.getEventsStartingAt(e.getStart()),
+          storage.getEventsStartingAt(e.getStart()));
+      assertSame(e, storage.findByKey(e.getKey()));
+    }
+    for (int s = 0; s < 5; s++) {
+      assertEquals(reference.getSeries("s" + s), storage.getSeries("s" + s));
+      assertEquals(reference.getSeriesFrom("s" + s, base.plusDays(10)),
+          storage.getSeriesFrom("s" + s, base.plusDays(10)));
+    }
+  }
+
+  /**
+   * Replacing keeps an unchanged key in place and refuses duplicates.
+   */
+  @Test
+  public void testReplaceEvent() {
+    ConcurrentSkipListEventStorage storage = new ConcurrentSkipListEventStorage();
+    ZonedDateTime start = ZonedDateTime.of(2025, 3, 3, 9, 0, 0, 0, EST);
+    Event a = new Event.Builder("A", start, start.plusHours(1)).seriesId("s").build();
+    Event b = new Event.Builder("B", start, start.plusHours(1)).build();
+    storage.addEvent(a);
+    storage.addEvent(b);
+
+    Event moved = a.copyWith("location", "Annex");
+    assertTrue(storage.replaceEvent(a, moved));
+    assertSame(moved, storage.findByKey(a.getKey()));
+    assertSame(moved, storage.getAllEvents().get(0));
+    assertSame(moved, storage.getSeries("s").get(0));
+
+    assertFalse(storage.replaceEvent(moved, moved.copyWith("subject", "B")));
+    assertSame(moved, storage.findByKey(a.getKey()));
+
+    Event later = moved.copyWith("seriesid", "t").copyWith("start", start.minusHours(1));
+    assertTrue(storage.replaceEvent(moved, later));
+    assertNull(storage.findByKey(a.getKey()));
+    assertTrue(storage.getSeries("s").isEmpty());
+    assertEquals(List.of(later), storage.getSeries("t"));
+    assertEquals(2, storage.getAllEvents().size());
+  }
+
+  /**
+   * Readers never fail or miss an occurrence while a writer keeps editing the series.
+   */
+  @Test
+  public void testReadersDuringSeriesEdits() throws InterruptedException {
+    ConcurrentSkipListEventStorage storage = new ConcurrentSkipListEventStorage();
+    CalendarModel model = new CalendarModel(storage, EST);
+    ZonedDateTime start = ZonedDateTime.of(2025, 1, 6, 9, 0, 0, 0, EST);
+    Event seed = new Event.Builder("Standup", start, start.plusMinutes(15)).build();
+    model.createSeries(seed, new RecurrenceRule(EnumSet.allOf(DayOfWeek.class), 200, null));
+    String seriesId = storage.getAllEvents().get(0).getSeriesId();
+    ZonedDateTime last = start.plusDays(199);
+
+    AtomicBoolean done = new AtomicBoolean();
+    AtomicReference<Throwable> failure = new AtomicReference<>();
+    AtomicInteger reads = new AtomicInteger();
+    CountDownLatch started = new CountDownLatch(4);
+    List<Thread> readers = new ArrayList<>();
+    for (int r = 0; r < 4; r++) {
+      int seed2 = r;
+      Thread reader = new Thread(() -> {
+        Random random = new Random(seed2);
+        started.countDown();
+        try {
+          while (!done.get()) {
+            assertEquals(200, storage.getEventsBetween(start, last.plusHours(1)).size());
+            assertEquals(200, storage.getSeries(seriesId).size());
+            ZonedDateTime day = start.plusDays(random.nextInt(200));
+            assertNotNull(model.findEvent("Standup", day, day.plusMinutes(15)));
+            assertTrue(storage.isBusy(day.plusMinutes(5)));
+            assertEquals(1, storage.getEventsOn(day.toLocalDate()).size());
+            reads.incrementAndGet();
+          }
+        } catch (Throwable t) {
+          failure.compareAndSet(null, t);
+        }
+      });
+      readers.add(reader);
+      reader.start();
+    }
+
+    started.await();
+    for (int i = 0; i < 60; i++) {
+      model.editSeries(seed.getKey(), "location", "Room " + i, EditMode.ENTIRE_SERIES);
+      ZonedDateTime mid = start.plusDays(100);
+      model.editSeries(new EventKey("Standup", mid, null), "description", "Round " + i,
+          EditMode.FROM_THIS_ONWARD);
+    }
+    done.set(true);
+    for (Thread reader : readers) {
+      reader.join(10_000);
+    }
+
+    if (failure.get() != null) {
+      throw new AssertionError("reader failed", failure.get());
+    }
+    assertTrue(reads.get() > 0);
+    for (Event e : storage.getSeries(seriesId)) {
+      assertEquals("Room 59", e.getLocation());
+    }
+    assertEquals("Round 59", storage.getAllEvents().get(150).getDescription());
+  }
+}
@@ -412,8 +412,27 @@ public class EventCopierTest {
     assertTrue(true);
   }
 
-
-
-
-
+  /**
+   * Verifies that when some copies clash with events already in the target calendar,
+   * the others are still copied.
+   */
+  @Test
+  public void testCopyEventsOnDateCopiesTheRestWhenOneClashes() {
+    CalendarModel sourceCal = new CalendarModel(new TreeSetEventStorage(), zone);
+    ZonedDateTime start = ZonedDateTime.of(2025, 5, 6, 9, 0, 0, 0, zone);
+    sourceCal.createEvent(new Event.Builder("Standup", start, start.plusMinutes(15)).build());
+    sourceCal.createEvent(new Event.Builder("Review", start.plusHours(2),
+        start.plusHours(3)).build());
+
+    CalendarModel targetCal = new CalendarModel(new TreeSetEventStorage(), zone);
+    targetCal.createEvent(new Event.Builder("Standup", start.plusDays(1),
+        start.plusDays(1).plusMinutes(15)).build());
+
+    new EventCopier(sourceCal).copyEventsOnDate(start.toLocalDate(), targetCal,
+        start.toLocalDate().plusDays(1));
+
+    assertEquals(2, targetCal.getAllEvents().size());
+    assertTrue(targetCal.getAllEvents().stream().anyMatch(e -> e.getSubject().equals("Review")
+        && e.getStart().isEqual(start.plusDays(1).plusHours(2))));
+  }
 }
@@ -0,0 +1,14 @@
+package calendar.model;
+
+/**
+ * Runs the whole {@link TreeSetEventStorageTest} suite against
+ * {@link IntervalTreeEventStorage}, so the tree meets the same storage contract as the
+ * default storage.
+ */
+public class IntervalTreeEventStorageContractTest extends TreeSetEventStorageTest {
+
+  @Override
+  protected IeventStorage createStorage() {
+    return new IntervalTreeEventStorage();
+  }
+}
@@ -0,0 +1,241 @@
+package calendar.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test suite for {@link IntervalTreeEventStorage}.
+ *
+ * <p>Covers the same add/remove/query contract as {@link TreeSetEventStorageTest} and
+ * cross-checks the tree against {@link TreeSetEventStorage} on randomized data so that
+ * subtree pruning and rebalancing never drop or reorder events.</p>
+ */
+public class IntervalTreeEventStorageTest {
+
+  private static final ZoneId EST = ZoneId.of("America/New_York");
+
+  private IntervalTreeEventStorage storage;
+  private Event event1;
+  private Event event2;
+  private Event event3;
+
+  /**
+   * Creates a fresh storage and three events on two different days.
+   */
+  @Before
+  public void setUp() {
+    storage = new IntervalTreeEventStorage();
+    event1 = new Event.Builder("Meeting 1",
+        ZonedDateTime.of(2025, 1, 15, 10, 0, 0, 0, EST),
+        ZonedDateTime.of(2025, 1, 15, 11, 0, 0, 0, EST)).location("Office").build();
+    event2 = new Event.Builder("Meeting 2",
+        ZonedDateTime.of(2025, 1, 16, 14, 0, 0, 0, EST),
+        ZonedDateTime.of(2025, 1, 16, 15, 0, 0, 0, EST)).location("Home").build();
+    event3 = new Event.Builder("Meeting 3",
+        ZonedDateTime.of(2025, 1, 15, 9, 0, 0, 0, EST),
+        ZonedDateTime.of(2025, 1, 15, 10, 30, 0, 0, EST)).build();
+  }
+
+  /**
+   * A new storage contains no events.
+   */
+  @Test
+  public void testConstructorCreatesEmptyStorage() {
+    assertEquals(0, storage.getAllEvents().size());
+  }
+
+  /**
+   * Duplicates are rejected and do not change the size.
+   */
+  @Test
+  public void testAddEventDuplicateReturnsFalse() {
+    assertTrue(storage.addEvent(event1));
+    assertFalse(storage.addEvent(event1));
+    assertEquals(1, storage.getAllEvents().size());
+  }
+
+  /**
+   * Events come back sorted regardless of insertion order.
+   */
+  @Test
+  public void testGetAllEventsSorted() {
+    storage.addEvent(event2);
+    storage.addEvent(event1);
+    storage.addEvent(event3);
+
+    List<Event> events = storage.getAllEvents();
+    assertEquals(List.of(event3, event1, event2), events);
+  }
+
+  /**
+   * Removing by key deletes only the matching event.
+   */
+  @Test
+  public void testRemoveEventByKey() {
+    storage.addEvent(event1);
+    storage.addEvent(event2);
+
+    assertTrue(storage.removeEvent(event1.getKey()));
+    assertFalse(storage.removeEvent(event1.getKey()));
+    assertEquals(List.of(event2), storage.getAllEvents());
+  }
+
+  /**
+   * A key without an end time never matches a stored event.
+   */
+  @Test
+  public void testRemoveEventKeyWithoutEndReturnsFalse() {
+    storage.addEvent(event1);
+    assertFalse(storage.removeEvent(new EventKey("Meeting 1", event1.getStart(), null)));
+    assertEquals(1, storage.getAllEvents().size());
+  }
+
+  /**
+   * Lookup by key descends the tree and ignores subject case.
+   */
+  @Test
+  public void testFindByKey() {
+    storage.addEvent(event1);
+    storage.addEvent(event2);
+    storage.addEvent(event3);
+
+    assertSame(event2, storage.findByKey(new EventKey("meeting 2",
+        event2.getStart(), event2.getEnd())));
+    assertNull(storage.findByKey(new EventKey("Meeting 2", event2.getStart(),
+        event2.getEnd().plusMinutes(1))));
+  }
+
+  /**
+   * The series index follows adds and removes, including removal of inner tree nodes.
+   */
+  @Test
+  public void testGetSeriesTracksRemovals() {
+    ZonedDateTime base = ZonedDateTime.of(2025, 3, 3, 9, 0, 0, 0, EST);
+    for (int i = 0; i < 7; i++) {
+      storage.addEvent(new Event.Builder("Standup", base.plusDays(i), base.plusDays(i)
+          .plusMinutes(15)).seriesId("daily").build());
+    }
+    Event middle = storage.getSeries("daily").get(3);
+    assertTrue(storage.removeEvent(middle.getKey()));
+
+    List<Event> remaining = storage.getSeries("daily");
+    assertEquals(6, remaining.size());
+    assertFalse(remaining.contains(middle));
+    assertEquals(3, storage.getSeriesFrom("daily", base.plusDays(3)).size());
+  }
+
+  /**
+   * Day queries return only events on that day.
+   */
+  @Test
+  public void testGetEventsOnReturnsEventsOnDate() {
+    storage.addEvent(event1);
+    storage.addEvent(event2);
+    storage.addEvent(event3);
+
+    List<Event> events = storage.getEventsOn(LocalDate.of(2025, 1, 15));
+    assertEquals(List.of(event3, event1), events);
+    assertNotNull(storage.getEventsOn(LocalDate.of(2025, 2, 1)));
+    assertTrue(storage.getEventsOn(LocalDate.of(2025, 2, 1)).isEmpty());
+  }
+
+  /**
+   * A multi-day event is reported on every day it covers.
+   */
+  @Test
+  public void testGetEventsOnMultiDayEvent() {
+    Event trip = new Event.Builder("Trip",
+        ZonedDateTime.of(2025, 1, 10, 18, 0, 0, 0, EST),
+        ZonedDateTime.of(2025, 1, 13, 9, 0, 0, 0, EST)).build();
+    storage.addEvent(trip);
+    storage.addEvent(event1);
+
+    assertEquals(List.of(trip), storage.getEventsOn(LocalDate.of(2025, 1, 12)));
+    assertEquals(List.of(trip), storage.getEventsOn(LocalDate.of(2025, 1, 13)));
+    assertTrue(storage.getEventsOn(LocalDate.of(2025, 1, 14)).isEmpty());
+  }
+
+  /**
+   * Range queries include touching boundaries, matching {@link Event#overlaps}.
+   */
+  @Test
+  public void testGetEventsBetweenInclusiveBoundaries() {
+    storage.addEvent(event1);
+    storage.addEvent(event2);
+    storage.addEvent(event3);
+
+    assertEquals(List.of(event3, event1),
+        storage.getEventsBetween(event1.getEnd().minusHours(5), event1.getStart()));
+    assertEquals(List.of(event1),
+        storage.getEventsBetween(event1.getEnd(), event1.getEnd().plusHours(1)));
+    assertTrue(storage.getEventsBetween(event2.getEnd().plusMinutes(1),
+        event2.getEnd().plusDays(1)).isEmpty());
+  }
+
+  /**
+   * A long event stored early in the tree is still found by a late range query.
+   */
+  @Test
+  public void testGetEventsBetweenFindsLongEventViaMaxEnd() {
+    Event longEvent = new Event.Builder("Sabbatical",
+        ZonedDateTime.of(2025, 1, 1, 9, 0, 0, 0, EST),
+        ZonedDateTime.of(2025, 6, 1, 9, 0, 0, 0, EST)).build();
+    storage.addEvent(longEvent);
+    for (int i = 0; i < 100; i++) {
+      ZonedDateTime s = ZonedDateTime.of(2025, 1, 2, 9, 0, 0, 0, EST).plusDays(i);
+      storage.addEvent(new Event.Builder("Daily", s, s.plusMinutes(15)).build());
+    }
+
+    ZonedDateTime from = ZonedDateTime.of(2025, 5, 20, 0, 0, 0, 0, EST);
+    List<Event> events = storage.getEventsBetween(from, from.plusHours(1));
+    assertEquals(List.of(longEvent), events);
+  }
+
+  /**
+   * Randomized adds and removes produce the same answers as {@link TreeSetEventStorage}.
+   */
+  @Test
+  public void testMatchesTreeSetStorageOnRandomData() {
+    TreeSetEventStorage reference = new TreeSetEventStorage();
+    Random random = new Random(42);
+    ZonedDateTime base = ZonedDateTime.of(2025, 1, 1, 0, 0, 0, 0, EST);
+
+    for (int i = 0; i < 2000; i++) {
+      ZonedDateTime s = base.plusMinutes(random.nextInt(60 * 24 * 60));
+      Event e = new Event.Builder("E" + random.nextInt(50), s,
+          s.plusMinutes(15 + random.nextInt(60 * 72))).build();
+      assertEquals(reference.addEvent(e), storage.addEvent(e));
+      if (random.nextInt(4) == 0) {
+        List<Event> all = reference.getAllEvents();
+        EventKey victim = all.get(random.nextInt(all.size())).getKey();
+        assertEquals(reference.removeEvent(victim), storage.removeEvent(victim));
+      }
+    }
+
+    assertEquals(reference.getAllEvents(), storage.getAllEvents());
+    for (int i = 0; i < 200; i++) {
+      ZonedDateTime s = base.plusMinutes(random.nextInt(60 * 24 * 60));
+      ZonedDateTime e = s.plusMinutes(random.nextInt(60 * 24 * 3));
+      assertEquals(reference.getEventsBetween(s, e), storage.getEventsBetween(s, e));
+      assertEquals(reference.isBusy(s), storage.isBusy(s));
+      LocalDate d = s.toLocalDate();
+      assertEquals(reference.getEventsOn(d), storage.getEventsOn(d));
+      List<Event> all = reference.getAllEvents();
+      ZonedDateTime existingStart = all.get(random.nextInt(all.size())).getStart();
+      assertEquals(reference.getEventsStartingAt(existingStart),
+          storage.getEventsStartingAt(existingStart));
+    }
+  }
+}
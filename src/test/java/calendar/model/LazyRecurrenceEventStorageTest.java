@@ -0,0 +1,180 @@
+package calendar.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test suite for {@link LazyRecurrenceEventStorage}.
+ *
+ * <p>Checks that series are answered from their seed and rule, that edits become
+ * per-occurrence overrides, and that every query agrees with a fully materialized
+ * {@link TreeSetEventStorage}.</p>
+ */
+public class LazyRecurrenceEventStorageTest {
+
+  private static final ZoneId EST = ZoneId.of("America/New_York");
+
+  private LazyRecurrenceEventStorage storage;
+  private TreeSetEventStorage reference;
+  private Event seed;
+  private RecurrenceRule weekdays;
+
+  /**
+   * Creates a lazy storage and a materialized reference holding the same weekday series.
+   */
+  @Before
+  public void setUp() {
+    storage = new LazyRecurrenceEventStorage();
+    reference = new TreeSetEventStorage();
+    seed = new Event.Builder("Standup",
+        ZonedDateTime.of(2025, 1, 6, 9, 0, 0, 0, EST),
+        ZonedDateTime.of(2025, 1, 6, 9, 15, 0, 0, EST)).seriesId("standup").build();
+    weekdays = new RecurrenceRule(EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.TUESDAY,
+        DayOfWeek.WEDNESDAY, DayOfWeek.THURSDAY, DayOfWeek.FRIDAY), null,
+        LocalDate.of(2030, 12, 31));
+    assertTrue(storage.addSeries(seed, weekdays));
+    assertTrue(reference.addSeries(seed, weekdays));
+  }
+
+  /**
+   * A long series is kept as one entry and expanded only for the queried window.
+   */
+  @Test
+  public void testSeriesIsExpandedOnDemand() {
+    assertEquals(1, storage.getSeriesCount());
+    LocalDate day = LocalDate.of(2029, 3, 14);
+    assertEquals(reference.getEventsOn(day), storage.getEventsOn(day));
+    assertTrue(storage.getEventsOn(LocalDate.of(2029, 3, 17)).isEmpty());
+    assertTrue(storage.getEventsOn(LocalDate.of(2031, 1, 1)).isEmpty());
+
+    ZonedDateTime from = ZonedDateTime.of(2027, 6, 1, 0, 0, 0, 0, EST);
+    assertEquals(reference.getEventsBetween(from, from.plusWeeks(2)),
+        storage.getEventsBetween(from, from.plusWeeks(2)));
+    assertTrue(storage.isBusy(from.plusDays(1).withHour(9).withMinute(10)));
+    assertFalse(storage.isBusy(from.plusDays(1).withHour(10)));
+  }
+
+  /**
+   * Occurrences are found by key and conflicting single events are rejected.
+   */
+  @Test
+  public void testFindByKeyAndDuplicates() {
+    ZonedDateTime start = ZonedDateTime.of(2026, 2, 3, 9, 0, 0, 0, EST);
+    EventKey key = new EventKey("standup", start, start.plusMinutes(15));
+    Event found = storage.findByKey(key);
+    assertNotNull(found);
+    assertEquals("standup", found.getSeriesId());
+
+    assertFalse(storage.addEvent(new Event.Builder("Standup", start,
+        start.plusMinutes(15)).build()));
+    assertFalse(storage.addSeries(seed, weekdays));
+    assertNull(storage.findByKey(new EventKey("Standup", start.plusDays(5),
+        start.plusDays(5).plusMinutes(15))));
+  }
+
+  /**
+   * Editing one occurrence replaces only that occurrence.
+   */
+  @Test
+  public void testEditedOccurrenceBecomesOverride() {
+    CalendarModel model = new CalendarModel(storage, EST);
+    ZonedDateTime start = ZonedDateTime.of(2026, 2, 3, 9, 0, 0, 0, EST);
+    EventKey key = new EventKey("Standup", start, start.plusMinutes(15));
+
+    model.editEvent(key, "location", "Room 4");
+
+    List<Event> onDay = storage.getEventsOn(start.toLocalDate());
+    assertEquals(1, onDay.size());
+    assertEquals("Room 4", onDay.get(0).getLocation());
+    assertEquals(reference.getSeries("standup").size(), storage.getSeries("standup").size());
+
+    assertTrue(storage.removeEvent(key));
+    assertTrue(storage.getEventsOn(start.toLocalDate()).isEmpty());
+    assertFalse(storage.removeEvent(key));
+  }
+
+  /**
+   * Removing occurrences and adding single events keeps every query in line with the
+   * materialized storage.
+   */
+  @Test
+  public void testMatchesMaterializedStorage() {
+    Event lunch = new Event.Builder("Lunch",
+        ZonedDateTime.of(2025, 1, 7, 12, 0, 0, 0, EST),
+        ZonedDateTime.of(2025, 1, 7, 13, 0, 0, 0, EST)).build();
+    assertTrue(storage.addEvent(lunch));
+    reference.addEvent(lunch);
+
+    Event second = reference.getSeries("standup").get(1);
+    assertTrue(storage.removeEvent(second.getKey()));
+    reference.removeEvent(second.getKey());
+
+    ZonedDateTime from = ZonedDateTime.of(2025, 1, 1, 0, 0, 0, 0, EST);
+    ZonedDateTime to = from.plusMonths(1);
+    assertEquals(reference.getEventsBetween(from, to), storage.getEventsBetween(from, to));
+    assertEquals(reference.getSeriesFrom("standup", to), storage.getSeriesFrom("standup", to));
+    assertEquals(reference.getEventsStartingAt(lunch.getStart()),
+        storage.getEventsStartingAt(lunch.getStart()));
+    assertEquals(reference.getAllEvents(), storage.getAllEvents());
+  }
+
+  /**
+   * A count-bounded series stops after the requested number of occurrences.
+   */
+  @Test
+  public void testCountBoundedSeries() {
+    LazyRecurrenceEventStorage counted = new LazyRecurrenceEventStorage();
+    RecurrenceRule rule = new RecurrenceRule(EnumSet.of(DayOfWeek.MONDAY), 3, null);
+    Event monday = new Event.Builder("Review", seed.getStart(), seed.getEnd()).build();
+
+    assertTrue(counted.addSeries(monday, rule));
+    List<Event> all = counted.getAllEvents();
+    assertEquals(3, all.size());
+    assertNotNull(all.get(0).getSeriesId());
+    assertTrue(counted.getEventsOn(LocalDate.of(2025, 1, 27)).isEmpty());
+  }
+
+  /**
+   * Many short series spread over years, some with removed occurrences, answer every
+   * query like the materialized storage.
+   */
+  @Test
+  public void testManySeriesMatchMaterializedStorage() {
+    RecurrenceRule fourMondays = new RecurrenceRule(EnumSet.of(DayOfWeek.MONDAY), 4, null);
+    for (int i = 0; i < 60; i++) {
+      ZonedDateTime start = seed.getStart().plusWeeks(5L * i).plusHours(2);
+      Event e = new Event.Builder("Sprint " + i, start, start.plusHours(1))
+          .seriesId("sprint" + i).build();
+      assertTrue(storage.addSeries(e, fourMondays));
+      reference.addSeries(e, fourMondays);
+      Event third = reference.getSeries("sprint" + i).get(2);
+      assertTrue(storage.removeEvent(third.getKey()));
+      reference.removeEvent(third.getKey());
+      assertNull(storage.findByKey(third.getKey()));
+    }
+
+    for (int week = 0; week < 320; week += 7) {
+      ZonedDateTime from = seed.getStart().plusWeeks(week);
+      ZonedDateTime to = from.plusDays(10);
+      assertEquals(reference.getEventsBetween(from, to), storage.getEventsBetween(from, to));
+      assertEquals(reference.getEventsOn(from.toLocalDate()),
+          storage.getEventsOn(from.toLocalDate()));
+      assertEquals(reference.isBusy(from.plusHours(2)), storage.isBusy(from.plusHours(2)));
+      assertEquals(reference.getEventsStartingAt(from.plusHours(2)),
+          storage.getEventsStartingAt(from.plusHours(2)));
+    }
+    assertEquals(reference.getAllEvents(), storage.getAllEvents());
+  }
+}
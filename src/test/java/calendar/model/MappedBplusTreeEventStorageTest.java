@@ -0,0 +1,186 @@
+package calendar.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test suite for {@link MappedBplusTreeEventStorage}.
+ *
+ * <p>Queries are compared against {@link TreeSetEventStorage}, with enough events to
+ * give the tree several levels, and the files are reopened to check what was
+ * committed.</p>
+ */
+public class MappedBplusTreeEventStorageTest {
+
+  private static final ZoneId EST = ZoneId.of("America/New_York");
+
+  private static final ZonedDateTime BASE = ZonedDateTime.of(2025, 4, 1, 0, 0, 0, 0, EST);
+
+  private Path dir;
+
+  @Before
+  public void setUp() throws IOException {
+    dir = Files.createTempDirectory("bplustree-test");
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    try (Stream<Path> files = Files.walk(dir)) {
+      for (Path p : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+        Files.deleteIfExists(p);
+      }
+    }
+  }
+
+  private static Event event(String subject, ZonedDateTime start, int minutes) {
+    return new Event.Builder(subject, start, start.plusMinutes(minutes)).build();
+  }
+
+  /**
+   * Random adds, removes and replacements leave every query equal to the tree-set
+   * storage, before and after reopening.
+   */
+  @Test
+  public void testMatchesTreeSetStorage() throws IOException {
+    TreeSetEventStorage reference = new TreeSetEventStorage();
+    Random random = new Random(11);
+    try (MappedBplusTreeEventStorage storage = new MappedBplusTreeEventStorage(dir, 8)) {
+      for (int i = 0; i < 3_000; i++) {
+        ZonedDateTime start = BASE.plusMinutes(30L * random.nextInt(3_000));
+        Event e = event("E" + random.nextInt(20), start, 15 * (1 + random.nextInt(12)));
+        int op = random.nextInt(5);
+        List<Event> all = reference.getAllEvents();
+        if (op == 0 && !all.isEmpty()) {
+          Event victim = all.get(random.nextInt(all.size()));
+          assertEquals(reference.removeEvent(victim.getKey()),
+              storage.removeEvent(victim.getKey()));
+        } else if (op == 1 && !all.isEmpty()) {
+          Event original = all.get(random.nextInt(all.size()));
+          assertEquals(reference.replaceEvent(original, e),
+              storage.replaceEvent(original, e));
+        } else {
+          assertEquals(reference.addEvent(e), storage.addEvent(e));
+        }
+      }
+      assertQueriesMatch(reference, storage, random);
+    }
+    try (MappedBplusTreeEventStorage reopened = new MappedBplusTreeEventStorage(dir)) {
+      assertQueriesMatch(reference, reopened, random);
+      for (Event e : reference.getAllEvents()) {
+        assertTrue(reopened.removeEvent(e.getKey()));
+      }
+      assertTrue(reopened.getAllEvents().isEmpty());
+      assertTrue(reopened.addEvent(event("Again", BASE, 30)));
+    }
+  }
+
+  private static void assertQueriesMatch(IeventStorage expected, IeventStorage actual,
+                                         Random random) {
+    List<Event> all = expected.getAllEvents();
+    assertEquals(all, actual.getAllEvents());
+    for (int i = 0; i < all.size(); i += 13) {
+      Event e = all.get(i);
+      assertEquals(e.getLocation(), actual.findByKey(e.getKey()).getLocation());
+      assertEquals(expected.getEventsStartingAt(e.getStart()),
+          actual.getEventsStartingAt(e.getStart()));
+    }
+    for (int i = 0; i < 200; i++) {
+      ZonedDateTime from = BASE.plusMinutes(11L * random.nextInt(9_000));
+      ZonedDateTime to = from.plusMinutes(random.nextInt(300));
+      assertEquals(expected.getEventsBetween(from, to), actual.getEventsBetween(from, to));
+      assertEquals(expected.isBusy(from), actual.isBusy(from));
+    }
+    for (int day = 0; day < 70; day++) {
+      LocalDate date = BASE.toLocalDate().plusDays(day);
+      assertEquals(expected.getEventsOn(date), actual.getEventsOn(date));
+    }
+  }
+
+  /**
+   * A range scan reads only the records of events near the range.
+   */
+  @Test
+  public void testRangeScanReadsOnlyMatchingRecords() throws IOException {
+    try (MappedBplusTreeEventStorage storage = new MappedBplusTreeEventStorage(dir)) {
+      CalendarModel model = new CalendarModel(storage, EST);
+      model.createSeries(event("Standup", BASE, 15),
+          new RecurrenceRule(EnumSet.allOf(DayOfWeek.class), 2_000, null));
+
+      long before = storage.decodedEvents();
+      ZonedDateTime day = BASE.plusDays(900);
+      assertEquals(1, storage.getEventsBetween(day, day.plusHours(12)).size());
+      assertEquals(1, storage.getEventsOn(day.toLocalDate()).size());
+      assertTrue(storage.isBusy(day.plusMinutes(5)));
+      assertFalse(storage.isBusy(day.plusHours(5)));
+      assertTrue(storage.decodedEvents() - before <= 4);
+    }
+  }
+
+  /**
+   * A batch that throws leaves nothing behind, in memory or on disk.
+   */
+  @Test
+  public void testFailedBatchIsRolledBack() throws IOException {
+    Event kept = event("Kept", BASE, 60);
+    try (MappedBplusTreeEventStorage storage = new MappedBplusTreeEventStorage(dir)) {
+      storage.addEvent(kept);
+      assertThrows(IllegalStateException.class, () -> storage.runBatch(() -> {
+        for (int i = 0; i < 500; i++) {
+          storage.addEvent(event("Temp", BASE.plusHours(i + 1), 30));
+        }
+        storage.removeEvent(kept.getKey());
+        throw new IllegalStateException("abort");
+      }));
+      assertEquals(List.of(kept), storage.getAllEvents());
+      assertTrue(storage.addEvent(event("After", BASE.plusHours(2), 30)));
+    }
+    try (MappedBplusTreeEventStorage reopened = new MappedBplusTreeEventStorage(dir)) {
+      assertEquals(2, reopened.getAllEvents().size());
+      assertNull(reopened.findByKey(new EventKey("Temp", BASE.plusHours(1),
+          BASE.plusHours(1).plusMinutes(30))));
+    }
+  }
+
+  /**
+   * Replaced pages are reused, so repeated edits do not keep growing the index.
+   */
+  @Test
+  public void testPagesAreReused() throws IOException {
+    try (MappedBplusTreeEventStorage storage = new MappedBplusTreeEventStorage(dir)) {
+      for (int i = 0; i < 1_000; i++) {
+        storage.addEvent(event("E" + i, BASE.plusHours(i), 30));
+      }
+      long size = Files.size(dir.resolve(MappedBplusTreeEventStorage.INDEX_FILE));
+      for (int round = 0; round < 5; round++) {
+        for (int i = 0; i < 1_000; i += 3) {
+          Event e = storage.findByKey(new EventKey("E" + i, BASE.plusHours(i),
+              BASE.plusHours(i).plusMinutes(30)));
+          assertTrue(storage.replaceEvent(e, e.copyWith("location", "Room " + round)));
+        }
+      }
+      assertEquals(size, Files.size(dir.resolve(MappedBplusTreeEventStorage.INDEX_FILE)));
+      assertNull(storage.findByKey(new EventKey("E1", BASE, BASE.plusMinutes(30))));
+      assertEquals("Room 4", storage.getEventsStartingAt(BASE.plusHours(999)).get(0)
+          .getLocation());
+    }
+  }
+}
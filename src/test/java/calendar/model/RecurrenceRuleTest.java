@@ -0,0 +1,203 @@
+package calendar.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.Test;
+
+/**
+ * Test suite for {@link RecurrenceRule}.
+ *
+ * <p>The generated series are compared against a plain day-by-day walk so that the
+ * offset-table stepping produces exactly the same occurrences.</p>
+ */
+public class RecurrenceRuleTest {
+
+  private static final ZoneId EST = ZoneId.of("America/New_York");
+
+  private static Event seed(int year, int month, int day) {
+    return new Event.Builder("Class",
+        ZonedDateTime.of(year, month, day, 18, 30, 0, 0, EST),
+        ZonedDateTime.of(year, month, day, 20, 0, 0, 0, EST)).seriesId("s").build();
+  }
+
+  /**
+   * Reference implementation: visit every day and keep the selected weekdays.
+   */
+  private static List<ZonedDateTime> walk(Event seed, Set<DayOfWeek> days, Integer count,
+                                          LocalDate until) {
+    List<ZonedDateTime> starts = new ArrayList<>();
+    LocalDate date = seed.getStart().toLocalDate();
+    while (true) {
+      if (days.contains(date.getDayOfWeek())) {
+        starts.add(seed.getStart().with(date));
+      }
+      if (count != null && starts.size() >= count) {
+        return starts;
+      }
+      date = date.plusDays(1);
+      if (until != null && date.isAfter(until)) {
+        return starts;
+      }
+    }
+  }
+
+  private static List<ZonedDateTime> starts(List<Event> events) {
+    return events.stream().map(Event::getStart).collect(Collectors.toList());
+  }
+
+  /**
+   * Count- and until-bounded rules match the day-by-day walk for random weekday sets,
+   * including across daylight saving changes.
+   */
+  @Test
+  public void testMatchesDayByDayWalk() {
+    Random random = new Random(7);
+    for (int i = 0; i < 200; i++) {
+      Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+      for (DayOfWeek d : DayOfWeek.values()) {
+        if (random.nextInt(3) == 0) {
+          days.add(d);
+        }
+      }
+      if (days.isEmpty()) {
+        days.add(DayOfWeek.SUNDAY);
+      }
+      Event seed = seed(2025, 1 + random.nextInt(12), 1 + random.nextInt(28));
+
+      int count = 1 + random.nextInt(40);
+      assertEquals(walk(seed, days, count, null),
+          starts(new RecurrenceRule(days, count, null).generateSeries(seed)));
+
+      LocalDate until = seed.getStart().toLocalDate().plusDays(random.nextInt(300));
+      assertEquals(walk(seed, days, null, until),
+          starts(new RecurrenceRule(days, null, until).generateSeries(seed)));
+    }
+  }
+
+  /**
+   * A window query returns the same occurrences as filtering the full series.
+   */
+  @Test
+  public void testGenerateBetweenMatchesFullSeries() {
+    Event seed = seed(2025, 3, 3);
+    RecurrenceRule rule = new RecurrenceRule(
+        EnumSet.of(DayOfWeek.TUESDAY, DayOfWeek.THURSDAY, DayOfWeek.SATURDAY), 100, null);
+    List<Event> all = rule.generateSeries(seed);
+
+    LocalDate from = LocalDate.of(2025, 6, 5);
+    LocalDate to = LocalDate.of(2025, 7, 20);
+    List<Event> expected = all.stream()
+        .filter(e -> !e.getStart().toLocalDate().isBefore(from)
+            && !e.getStart().toLocalDate().isAfter(to))
+        .collect(Collectors.toList());
+    assertEquals(expected, rule.generateBetween(seed, from, to));
+    assertTrue(rule.generateBetween(seed, LocalDate.of(2026, 1, 1),
+        LocalDate.of(2026, 12, 31)).isEmpty());
+  }
+
+  /**
+   * The iterator and stream are lazy, so an open-ended series can be sampled.
+   */
+  @Test
+  public void testIteratorAndStreamAreLazy() {
+    Event seed = seed(2025, 1, 6);
+    RecurrenceRule rule = new RecurrenceRule(EnumSet.of(DayOfWeek.MONDAY), null,
+        LocalDate.of(2999, 12, 31));
+
+    Iterator<Event> it = rule.iterator(seed);
+    assertEquals(seed.getStart(), it.next().getStart());
+    assertEquals(seed.getStart().plusWeeks(1), it.next().getStart());
+    assertEquals(10, rule.stream(seed).limit(10).count());
+  }
+
+  /**
+   * A rule without weekdays yields nothing instead of looping forever.
+   */
+  @Test
+  public void testEmptyWeekdaysTerminates() {
+    RecurrenceRule rule = new RecurrenceRule(EnumSet.noneOf(DayOfWeek.class), 5, null);
+    assertTrue(rule.generateSeries(seed(2025, 1, 6)).isEmpty());
+    assertFalse(rule.iterator(seed(2025, 1, 6)).hasNext());
+  }
+
+  /**
+   * "Every other Tuesday and Thursday" skips the inactive weeks, also inside windows.
+   */
+  @Test
+  public void testWeeklyInterval() {
+    Event seed = seed(2025, 1, 7); // a Tuesday
+    RecurrenceRule rule = RecurrenceRule.weekly(
+        EnumSet.of(DayOfWeek.TUESDAY, DayOfWeek.THURSDAY), 2, 6, null);
+
+    List<LocalDate> dates = rule.generateSeries(seed).stream()
+        .map(e -> e.getStart().toLocalDate()).collect(Collectors.toList());
+    assertEquals(List.of(LocalDate.of(2025, 1, 7), LocalDate.of(2025, 1, 9),
+        LocalDate.of(2025, 1, 21), LocalDate.of(2025, 1, 23),
+        LocalDate.of(2025, 2, 4), LocalDate.of(2025, 2, 6)), dates);
+
+    List<Event> window = rule.generateBetween(seed, LocalDate.of(2025, 1, 10),
+        LocalDate.of(2025, 1, 31));
+    assertEquals(rule.generateSeries(seed).subList(2, 4), window);
+    assertTrue(rule.generateBetween(seed, LocalDate.of(2025, 1, 13),
+        LocalDate.of(2025, 1, 19)).isEmpty());
+  }
+
+  /**
+   * A monthly rule on the 31st skips shorter months.
+   */
+  @Test
+  public void testMonthlyOnDaySkipsShortMonths() {
+    Event seed = seed(2025, 1, 15);
+    RecurrenceRule rule = RecurrenceRule.monthlyOnDay(31, 1, null, LocalDate.of(2025, 8, 31));
+
+    List<LocalDate> dates = rule.stream(seed)
+        .map(e -> e.getStart().toLocalDate()).collect(Collectors.toList());
+    assertEquals(List.of(LocalDate.of(2025, 1, 31), LocalDate.of(2025, 3, 31),
+        LocalDate.of(2025, 5, 31), LocalDate.of(2025, 7, 31), LocalDate.of(2025, 8, 31)),
+        dates);
+  }
+
+  /**
+   * Nth and last weekday rules, with a count and an interval.
+   */
+  @Test
+  public void testMonthlyOnNthWeekday() {
+    Event seed = seed(2025, 1, 1);
+    List<LocalDate> firstMondays = RecurrenceRule
+        .monthlyOnWeekday(1, DayOfWeek.MONDAY, 1, 3, null).stream(seed)
+        .map(e -> e.getStart().toLocalDate()).collect(Collectors.toList());
+    assertEquals(List.of(LocalDate.of(2025, 1, 6), LocalDate.of(2025, 2, 3),
+        LocalDate.of(2025, 3, 3)), firstMondays);
+
+    RecurrenceRule lastFridays = RecurrenceRule.monthlyOnWeekday(-1, DayOfWeek.FRIDAY, 3,
+        4, null);
+    List<LocalDate> dates = lastFridays.stream(seed)
+        .map(e -> e.getStart().toLocalDate()).collect(Collectors.toList());
+    assertEquals(List.of(LocalDate.of(2025, 1, 31), LocalDate.of(2025, 4, 25),
+        LocalDate.of(2025, 7, 25), LocalDate.of(2025, 10, 31)), dates);
+    assertEquals(lastFridays.generateSeries(seed).subList(2, 4),
+        lastFridays.generateBetween(seed, LocalDate.of(2025, 5, 1),
+            LocalDate.of(2026, 12, 31)));
+  }
+
+  /**
+   * Invalid monthly arguments are rejected.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testMonthlyRejectsInvalidWeekOfMonth() {
+    RecurrenceRule.monthlyOnWeekday(6, DayOfWeek.MONDAY, 1, 3, null);
+  }
+}
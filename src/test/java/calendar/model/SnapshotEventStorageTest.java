@@ -0,0 +1,172 @@
+package calendar.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Test;
+
+/**
+ * Test suite for {@link SnapshotEventStorage} and its {@link PersistentEventTree}.
+ *
+ * <p>Queries are compared against {@link TreeSetEventStorage}; snapshots are checked to
+ * stay unchanged after later edits and to show batched series edits all at once.</p>
+ */
+public class SnapshotEventStorageTest {
+
+  private static final ZoneId EST = ZoneId.of("America/New_York");
+
+  private static Event event(String subject, ZonedDateTime start, int minutes) {
+    return new Event.Builder(subject, start, start.plusMinutes(minutes)).build();
+  }
+
+  /**
+   * Random adds, removes and replacements leave every query equal to the tree-set storage.
+   */
+  @Test
+  public void testMatchesTreeSetStorage() {
+    SnapshotEventStorage storage = new SnapshotEventStorage();
+    TreeSetEventStorage reference = new TreeSetEventStorage();
+    Random random = new Random(5);
+    ZonedDateTime base = ZonedDateTime.of(2025, 4, 1, 0, 0, 0, 0, EST);
+
+    for (int i = 0; i < 2_000; i++) {
+      ZonedDateTime start = base.plusMinutes(30L * random.nextInt(2_000));
+      Event e = event("E" + random.nextInt(20), start, 15 * (1 + random.nextInt(12)));
+      int op = random.nextInt(4);
+      List<Event> all = reference.getAllEvents();
+      if (op == 0 && !all.isEmpty()) {
+        Event victim = all.get(random.nextInt(all.size()));
+        assertEquals(reference.removeEvent(victim.getKey()),
+            storage.removeEvent(victim.getKey()));
+      } else if (op == 1 && !all.isEmpty()) {
+        Event original = all.get(random.nextInt(all.size()));
+        assertEquals(reference.replaceEvent(original, e), storage.replaceEvent(original, e));
+      } else {
+        assertEquals(reference.addEvent(e), storage.addEvent(e));
+      }
+    }
+
+    List<Event> expected = reference.getAllEvents();
+    assertEquals(expected, storage.getAllEvents());
+    assertEquals(expected, storage.snapshot());
+    for (int i = 0; i < expected.size(); i += 7) {
+      assertSame(expected.get(i), storage.snapshot().get(i));
+      assertSame(expected.get(i), storage.findByKey(expected.get(i).getKey()));
+    }
+    for (int i = 0; i < 200; i++) {
+      ZonedDateTime from = base.plusMinutes(11L * random.nextInt(6_000));
+      ZonedDateTime to = from.plusMinutes(random.nextInt(300));
+      assertEquals(reference.getEventsBetween(from, to), storage.getEventsBetween(from, to));
+      assertEquals(reference.isBusy(from), storage.isBusy(from));
+      assertEquals(reference.getEventsStartingAt(from), storage.getEventsStartingAt(from));
+    }
+    for (int day = 0; day < 45; day++) {
+      LocalDate date = base.toLocalDate().plusDays(day);
+      assertEquals(reference.getEventsOn(date), storage.getEventsOn(date));
+    }
+  }
+
+  /**
+   * A snapshot keeps its contents and version after the storage changes.
+   */
+  @Test
+  public void testSnapshotIsImmutable() {
+    SnapshotEventStorage storage = new SnapshotEventStorage();
+    ZonedDateTime start = ZonedDateTime.of(2025, 4, 1, 9, 0, 0, 0, EST);
+    Event a = event("A", start, 60);
+    storage.addEvent(a);
+    EventSnapshot before = storage.snapshot();
+
+    storage.addEvent(event("B", start.plusHours(2), 60));
+    storage.removeEvent(a.getKey());
+
+    assertEquals(List.of(a), before);
+    assertEquals(1, storage.snapshot().size());
+    assertNotEquals(before.getVersion(), storage.snapshot().getVersion());
+    assertThrows(UnsupportedOperationException.class, () -> before.add(a));
+  }
+
+  /**
+   * A batch that throws publishes none of its changes.
+   */
+  @Test
+  public void testFailedBatchPublishesNothing() {
+    SnapshotEventStorage storage = new SnapshotEventStorage();
+    ZonedDateTime start = ZonedDateTime.of(2025, 4, 1, 9, 0, 0, 0, EST);
+    storage.addEvent(event("A", start, 60));
+    EventSnapshot before = storage.snapshot();
+
+    assertThrows(IllegalStateException.class, () -> storage.runBatch(() -> {
+      storage.addEvent(event("B", start.plusHours(2), 60));
+      assertEquals(2, storage.getAllEvents().size());
+      throw new IllegalStateException("abort");
+    }));
+
+    assertSame(before, storage.snapshot());
+  }
+
+  /**
+   * Readers taking snapshots while a writer edits the whole series never see it half
+   * updated.
+   */
+  @Test
+  public void testSeriesEditsArePublishedAtomically() throws InterruptedException {
+    SnapshotEventStorage storage = new SnapshotEventStorage();
+    CalendarModel model = new CalendarModel(storage, EST);
+    ZonedDateTime start = ZonedDateTime.of(2025, 1, 6, 9, 0, 0, 0, EST);
+    Event seed = event("Standup", start, 15);
+    model.createSeries(seed, new RecurrenceRule(EnumSet.allOf(DayOfWeek.class), 100, null));
+
+    AtomicBoolean done = new AtomicBoolean();
+    AtomicReference<Throwable> failure = new AtomicReference<>();
+    AtomicInteger reads = new AtomicInteger();
+    List<Thread> readers = new ArrayList<>();
+    for (int r = 0; r < 3; r++) {
+      Thread reader = new Thread(() -> {
+        try {
+          while (!done.get()) {
+            EventSnapshot snapshot = model.snapshot();
+            assertEquals(100, snapshot.size());
+            String location = snapshot.get(0).getLocation();
+            for (Event e : snapshot) {
+              assertEquals(location, e.getLocation());
+            }
+            reads.incrementAndGet();
+          }
+        } catch (Throwable t) {
+          failure.compareAndSet(null, t);
+        }
+      });
+      readers.add(reader);
+      reader.start();
+    }
+
+    for (int i = 0; i < 100; i++) {
+      model.editSeries(seed.getKey(), "location", "Room " + i, EditMode.ENTIRE_SERIES);
+    }
+    done.set(true);
+    for (Thread reader : readers) {
+      reader.join(10_000);
+    }
+
+    if (failure.get() != null) {
+      throw new AssertionError("reader saw a partial edit", failure.get());
+    }
+    assertTrue(reads.get() > 0);
+    assertEquals("Room 99", model.snapshot().get(99).getLocation());
+  }
+}
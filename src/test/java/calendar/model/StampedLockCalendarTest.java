@@ -0,0 +1,141 @@
+package calendar.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Test;
+
+/**
+ * Test suite for {@link StampedLockCalendar}.
+ */
+public class StampedLockCalendarTest {
+
+  private static final ZoneId EST = ZoneId.of("America/New_York");
+
+  private static final ZonedDateTime START = ZonedDateTime.of(2025, 1, 6, 9, 0, 0, 0, EST);
+
+  /**
+   * Calls reach the wrapped calendar and its exceptions reach the caller.
+   */
+  @Test
+  public void testDelegates() {
+    CalendarModel model = new CalendarModel(new TreeSetEventStorage(), EST);
+    StampedLockCalendar cal = new StampedLockCalendar(model);
+    Event e = new Event.Builder("Review", START, START.plusHours(1)).build();
+
+    cal.createEvent(e);
+    cal.editEvent(e.getKey(), "location", "Room 1");
+    assertEquals("Room 1", cal.queryEventsOn(START.toLocalDate()).get(0).getLocation());
+    assertTrue(cal.isBusy(START.plusMinutes(30)));
+    assertFalse(cal.isBusy(START.plusHours(2)));
+    assertNotNull(cal.findEvent("review", START));
+    assertEquals(1, cal.snapshot().size());
+
+    cal.setZone(ZoneId.of("UTC"));
+    assertEquals(ZoneId.of("UTC"), model.getZone());
+    assertThrows(IllegalArgumentException.class, () -> cal.createEvent(e));
+    assertThrows(IllegalArgumentException.class, () -> new StampedLockCalendar(null));
+  }
+
+  /**
+   * A query over a storage without concurrent-read support holds the read lock, so a
+   * writer waits for it instead of changing the storage underneath.
+   */
+  @Test
+  public void testQueryOverPlainStorageBlocksWriter() throws InterruptedException {
+    CountDownLatch reading = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    TreeSetEventStorage storage = new TreeSetEventStorage() {
+      @Override
+      public List<Event> getEventsOn(LocalDate date) {
+        reading.countDown();
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        return super.getEventsOn(date);
+      }
+    };
+    StampedLockCalendar cal = new StampedLockCalendar(new CalendarModel(storage, EST));
+    Thread reader = new Thread(() -> cal.queryEventsOn(START.toLocalDate()));
+    reader.start();
+    reading.await();
+
+    CountDownLatch written = new CountDownLatch(1);
+    Thread writer = new Thread(() -> {
+      cal.createEvent(new Event.Builder("Review", START, START.plusHours(1)).build());
+      written.countDown();
+    });
+    writer.start();
+    assertFalse(written.await(200, TimeUnit.MILLISECONDS));
+
+    release.countDown();
+    assertTrue(written.await(10, TimeUnit.SECONDS));
+    reader.join();
+    writer.join();
+  }
+
+  /**
+   * Readers of a calendar over a non-thread-safe storage always see the whole series
+   * while a writer keeps editing it.
+   */
+  @Test
+  public void testReadersDuringEdits() throws InterruptedException {
+    CalendarModel model = new CalendarModel(new TreeSetEventStorage(), EST);
+    StampedLockCalendar cal = new StampedLockCalendar(model);
+    Event seed = new Event.Builder("Standup", START, START.plusMinutes(15)).build();
+    cal.createSeries(seed, new RecurrenceRule(EnumSet.allOf(DayOfWeek.class), 60, null));
+    LocalDate day = START.toLocalDate().plusDays(30);
+
+    AtomicBoolean done = new AtomicBoolean();
+    AtomicReference<Throwable> failure = new AtomicReference<>();
+    AtomicInteger reads = new AtomicInteger();
+    List<Thread> readers = new ArrayList<>();
+    for (int r = 0; r < 4; r++) {
+      Thread reader = new Thread(() -> {
+        try {
+          while (!done.get()) {
+            assertEquals(60, cal.queryEventsBetween(START, START.plusDays(60)).size());
+            assertEquals(1, cal.queryEventsOn(day).size());
+            assertTrue(cal.isBusy(START.plusDays(10).plusMinutes(5)));
+            reads.incrementAndGet();
+          }
+        } catch (Throwable t) {
+          failure.compareAndSet(null, t);
+        }
+      });
+      readers.add(reader);
+      reader.start();
+    }
+
+    for (int i = 0; i < 200; i++) {
+      cal.editSeries(seed.getKey(), "location", "Room " + i, EditMode.ENTIRE_SERIES);
+    }
+    done.set(true);
+    for (Thread reader : readers) {
+      reader.join(10_000);
+    }
+
+    if (failure.get() != null) {
+      throw new AssertionError("reader failed", failure.get());
+    }
+    assertTrue(reads.get() > 0);
+    assertEquals("Room 199", cal.queryEventsOn(day).get(0).getLocation());
+  }
+}
@@ -0,0 +1,95 @@
+package calendar.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import org.junit.Test;
+
+/**
+ * Test suite for {@link StringPool} and its use by {@link CalendarModel}.
+ */
+public class StringPoolTest {
+
+  private static final ZoneId EST = ZoneId.of("America/New_York");
+
+  /**
+   * Equal strings are returned as one instance and counted as hits.
+   */
+  @Test
+  public void testInternSharesEqualStrings() {
+    StringPool pool = new StringPool();
+    String first = new String("Room 101");
+    String second = new String("Room 101");
+
+    assertSame(first, pool.intern(first));
+    assertSame(first, pool.intern(second));
+    assertNull(pool.intern(null));
+
+    StringPool.Stats stats = pool.getStats();
+    assertEquals(1, stats.getSize());
+    assertEquals(2, stats.getLookups());
+    assertEquals(1, stats.getHits());
+    assertEquals(0.5, stats.getHitRate(), 1e-9);
+    assertTrue(stats.getBytesSaved() > 0);
+  }
+
+  /**
+   * A full pool hands out new values unpooled instead of growing.
+   */
+  @Test
+  public void testCapacityIsBounded() {
+    StringPool pool = new StringPool(2);
+    pool.intern("a");
+    pool.intern("b");
+    String c = new String("c");
+    assertSame(c, pool.intern(c));
+    assertNotSame(c, pool.intern(new String("c")));
+    assertEquals(2, pool.getStats().getSize());
+  }
+
+  /**
+   * The builder interns description, location and series ID.
+   */
+  @Test
+  public void testBuilderUsesPool() {
+    StringPool pool = new StringPool();
+    ZonedDateTime start = ZonedDateTime.of(2025, 3, 3, 9, 0, 0, 0, EST);
+    Event a = new Event.Builder("A", start, start.plusHours(1))
+        .description(new String("Weekly sync")).location(new String("Room 4"))
+        .seriesId(new String("s1")).pool(pool).build();
+    Event b = new Event.Builder("B", start, start.plusHours(1))
+        .description(new String("Weekly sync")).location(new String("Room 4"))
+        .seriesId(new String("s1")).pool(pool).build();
+
+    assertSame(a.getDescription(), b.getDescription());
+    assertSame(a.getLocation(), b.getLocation());
+    assertSame(a.getSeriesId(), b.getSeriesId());
+    assertEquals(3, pool.getStats().getHits());
+  }
+
+  /**
+   * Events created in a calendar share repeated strings and report it in the stats.
+   */
+  @Test
+  public void testCalendarSharesStringsBetweenEvents() {
+    CalendarModel model = new CalendarModel(new TreeSetEventStorage(), EST);
+    ZonedDateTime start = ZonedDateTime.of(2025, 3, 3, 9, 0, 0, 0, EST);
+    for (int i = 0; i < 10; i++) {
+      model.createEvent(new Event.Builder("Sync " + i, start.plusDays(i),
+          start.plusDays(i).plusHours(1)).location(new String("Room 4")).build());
+    }
+
+    String location = model.getAllEvents().get(0).getLocation();
+    for (Event e : model.getAllEvents()) {
+      assertSame(location, e.getLocation());
+    }
+    StringPool.Stats stats = model.getStringPoolStats();
+    assertEquals(9, stats.getHits());
+    assertEquals(0.9, stats.getHitRate(), 1e-9);
+  }
+}
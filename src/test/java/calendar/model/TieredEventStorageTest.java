@@ -0,0 +1,138 @@
+package calendar.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test suite for {@link TieredEventStorage}.
+ *
+ * <p>The byte budget is kept to a few events so that almost every query has to load a
+ * spilled month back, and results are compared against {@link TreeSetEventStorage}.</p>
+ */
+public class TieredEventStorageTest {
+
+  private static final ZoneId EST = ZoneId.of("America/New_York");
+
+  private static final ZonedDateTime BASE = ZonedDateTime.of(2024, 1, 1, 0, 0, 0, 0, EST);
+
+  private Path dir;
+
+  @Before
+  public void setUp() throws IOException {
+    dir = Files.createTempDirectory("tiered-test");
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    try (Stream<Path> files = Files.walk(dir)) {
+      for (Path p : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+        Files.deleteIfExists(p);
+      }
+    }
+  }
+
+  private TieredEventStorage open(long budgetBytes) {
+    return new TieredEventStorage(dir.resolve("partitions.spill"), budgetBytes);
+  }
+
+  /**
+   * Random changes spread over two years give the same answers as the tree-set storage
+   * while months are spilled and loaded back.
+   */
+  @Test
+  public void testMatchesTreeSetStorage() throws IOException {
+    TreeSetEventStorage reference = new TreeSetEventStorage();
+    Random random = new Random(5);
+    try (TieredEventStorage storage = open(20L * TieredEventStorage.EVENT_OVERHEAD_BYTES)) {
+      for (int i = 0; i < 2_000; i++) {
+        ZonedDateTime start = BASE.plusHours(6L * random.nextInt(3_000));
+        Event e = new Event.Builder("E" + random.nextInt(10), start,
+            start.plusHours(1 + random.nextInt(80))).location("Room " + i % 7).build();
+        List<Event> all = reference.getAllEvents();
+        if (random.nextInt(4) == 0 && !all.isEmpty()) {
+          Event victim = all.get(random.nextInt(all.size()));
+          assertEquals(reference.removeEvent(victim.getKey()),
+              storage.removeEvent(victim.getKey()));
+        } else {
+          assertEquals(reference.addEvent(e), storage.addEvent(e));
+        }
+      }
+      assertTrue(storage.residentBytes() <= 20L * TieredEventStorage.EVENT_OVERHEAD_BYTES
+          || storage.residentPartitions() == 1);
+      assertEquals(reference.getAllEvents(), storage.getAllEvents());
+
+      for (int i = 0; i < 200; i++) {
+        ZonedDateTime from = BASE.plusHours(random.nextInt(18_000));
+        ZonedDateTime to = from.plusHours(random.nextInt(2_000));
+        assertEquals(reference.getEventsBetween(from, to), storage.getEventsBetween(from, to));
+        assertEquals(reference.getEventsOn(from.toLocalDate()),
+            storage.getEventsOn(from.toLocalDate()));
+        assertEquals(reference.isBusy(from), storage.isBusy(from));
+      }
+      for (Event e : reference.getAllEvents()) {
+        assertEquals(e.getLocation(), storage.findByKey(e.getKey()).getLocation());
+      }
+    }
+  }
+
+  /**
+   * Only the months a range reaches are loaded, and loading them evicts older ones.
+   */
+  @Test
+  public void testRangeLoadsOnlyReachedMonths() throws IOException {
+    try (TieredEventStorage storage = open(3L * TieredEventStorage.EVENT_OVERHEAD_BYTES)) {
+      for (int month = 0; month < 12; month++) {
+        ZonedDateTime start = BASE.plusMonths(month).plusDays(10);
+        storage.addEvent(new Event.Builder("M" + month, start, start.plusHours(1)).build());
+      }
+      assertTrue(storage.residentPartitions() <= 3);
+
+      List<Event> march = storage.getEventsBetween(BASE.plusMonths(2), BASE.plusMonths(3));
+      assertEquals(1, march.size());
+      assertEquals("M2", march.get(0).getSubject());
+      assertEquals(12, storage.getAllEvents().size());
+      assertTrue(storage.residentPartitions() <= 3);
+    }
+    assertFalse(Files.exists(dir.resolve("partitions.spill")));
+  }
+
+  /**
+   * A series spread over spilled months is found, and removing its events forgets it.
+   */
+  @Test
+  public void testSeriesAcrossSpilledMonths() throws IOException {
+    try (TieredEventStorage storage = open(0)) {
+      CalendarModel model = new CalendarModel(storage, EST);
+      ZonedDateTime start = BASE.withHour(9);
+      model.createSeries(new Event.Builder("Review", start, start.plusHours(1)).build(),
+          new RecurrenceRule(EnumSet.of(DayOfWeek.MONDAY), 20, null));
+      String seriesId = storage.getAllEvents().get(0).getSeriesId();
+      List<Event> series = storage.getSeries(seriesId);
+      assertEquals(20, series.size());
+
+      for (Event e : series) {
+        assertTrue(storage.removeEvent(e.getKey()));
+      }
+      assertTrue(storage.getSeries(seriesId).isEmpty());
+      assertTrue(storage.getAllEvents().isEmpty());
+      assertNull(storage.findByKey(series.get(0).getKey()));
+    }
+  }
+}
@@ -7,12 +7,16 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -22,24 +26,36 @@ import org.junit.Test;
  * <p>This test class validates all functionality of the TreeSetEventStorage class,
  * including adding events, removing events, querying events by date and time range,
  * and retrieving all events. Edge cases and boundary conditions are thoroughly tested.
+ *
+ * <p>The storage under test comes from {@link #createStorage()}, so subclasses can run
+ * the whole suite against another {@link IeventStorage} implementation.</p>
  */
 public class TreeSetEventStorageTest {
 
-  private TreeSetEventStorage storage;
+  private IeventStorage storage;
   private Event event1;
   private Event event2;
   private Event event3;
   private EventKey key1;
   private EventKey key2;
 
+  /**
+   * Creates the empty storage each test runs against.
+   *
+   * @return a new, empty storage
+   */
+  protected IeventStorage createStorage() {
+    return new TreeSetEventStorage();
+  }
+
   /**
    * Sets up test fixtures before each test method.
-   * Creates a fresh TreeSetEventStorage instance and initializes test events
+   * Creates a fresh storage via {@link #createStorage()} and initializes test events
    * with different dates and times for comprehensive testing.
    */
   @Before
   public void setUp() {
-    storage = new TreeSetEventStorage();
+    storage = createStorage();
 
     ZonedDateTime start1 = ZonedDateTime.of(2025, 1, 15, 10, 0, 0, 0, ZoneId.systemDefault());
     ZonedDateTime end1 = ZonedDateTime.of(2025, 1, 15, 11, 0, 0, 0, ZoneId.systemDefault());
@@ -70,7 +86,7 @@ public class TreeSetEventStorageTest {
    */
   @Test
   public void testConstructorCreatesEmptyStorage() {
-    TreeSetEventStorage newStorage = new TreeSetEventStorage();
+    IeventStorage newStorage = createStorage();
     assertEquals("New storage should be empty", 0, newStorage.getAllEvents().size());
   }
 
@@ -446,5 +462,191 @@ public class TreeSetEventStorageTest {
     assertFalse("Empty storage cannot remove anything", storage.removeEvent(key));
   }
 
+  /**
+   * Tests that findByKey returns the stored event, ignoring subject case.
+   */
+  @Test
+  public void testFindByKeyReturnsStoredEventIgnoringCase() {
+    storage.addEvent(event1);
+    storage.addEvent(event2);
+
+    EventKey upper = new EventKey("MEETING 1", event1.getStart(), event1.getEnd());
+    assertSame(event1, storage.findByKey(upper));
+    assertNull(storage.findByKey(new EventKey("Meeting 1", event1.getStart(), null)));
+  }
+
+  /**
+   * Tests that removal keeps the key index in sync with the sorted set.
+   */
+  @Test
+  public void testFindByKeyAfterRemoveReturnsNull() {
+    storage.addEvent(event1);
+    assertTrue(storage.removeEvent(new EventKey("meeting 1", event1.getStart(), event1.getEnd())));
+
+    assertNull(storage.findByKey(key1));
+    assertTrue(storage.addEvent(event1));
+    assertSame(event1, storage.findByKey(key1));
+  }
+
+  /**
+   * Tests that the series index returns only the series' occurrences in start order.
+   */
+  @Test
+  public void testGetSeriesReturnsOccurrencesInOrder() {
+    Event later = new Event.Builder("Standup", event2.getStart(), event2.getEnd())
+        .seriesId("s1").build();
+    Event earlier = new Event.Builder("Standup", event1.getStart(), event1.getEnd())
+        .seriesId("s1").build();
+    Event other = new Event.Builder("Review", event3.getStart(), event3.getEnd())
+        .seriesId("s2").build();
+    storage.addEvent(later);
+    storage.addEvent(other);
+    storage.addEvent(earlier);
+    storage.addEvent(event1);
+
+    assertEquals(List.of(earlier, later), storage.getSeries("s1"));
+    assertEquals(List.of(later), storage.getSeriesFrom("s1", event2.getStart()));
+    assertEquals(List.of(earlier, later),
+        storage.getSeriesFrom("s1", event1.getStart().minusMinutes(1)));
+    assertTrue(storage.getSeries("missing").isEmpty());
+    assertTrue(storage.getSeries(null).isEmpty());
+  }
+
+  /**
+   * Tests that removing occurrences keeps the series index in sync.
+   */
+  @Test
+  public void testGetSeriesAfterRemove() {
+    Event occurrence = new Event.Builder("Standup", event1.getStart(), event1.getEnd())
+        .seriesId("s1").build();
+    storage.addEvent(occurrence);
+    storage.removeEvent(occurrence.getKey());
+
+    assertTrue(storage.getSeries("s1").isEmpty());
+    assertTrue(storage.getSeriesFrom("s1", event1.getStart()).isEmpty());
+  }
+
+  /**
+   * Tests busy checks at event boundaries and after overlapping events are removed.
+   */
+  @Test
+  public void testIsBusyTracksOverlappingEvents() {
+    storage.addEvent(event1);
+    storage.addEvent(event3);
+
+    assertTrue(storage.isBusy(event3.getStart()));
+    assertTrue(storage.isBusy(event1.getEnd()));
+    assertFalse(storage.isBusy(event1.getEnd().plusSeconds(1)));
+    assertFalse(storage.isBusy(event3.getStart().minusSeconds(1)));
+
+    storage.removeEvent(event3.getKey());
+    assertFalse(storage.isBusy(event3.getStart()));
+    assertTrue(storage.isBusy(event3.getEnd()));
+
+    storage.removeEvent(key1);
+    assertFalse(storage.isBusy(event1.getStart()));
+  }
+
+  /**
+   * Tests that the busy timeline agrees with a plain scan on random data.
+   */
+  @Test
+  public void testIsBusyMatchesScanOnRandomData() {
+    InMemoryEventStorage reference = new InMemoryEventStorage();
+    Random random = new Random(7);
+    ZonedDateTime base = ZonedDateTime.of(2025, 3, 1, 0, 0, 0, 0, ZoneId.of("UTC"));
+
+    for (int i = 0; i < 500; i++) {
+      ZonedDateTime s = base.plusMinutes(random.nextInt(60 * 24 * 14));
+      Event e = new Event.Builder("E" + i, s, s.plusMinutes(1 + random.nextInt(240))).build();
+      reference.addEvent(e);
+      storage.addEvent(e);
+      if (random.nextInt(3) == 0) {
+        List<Event> all = reference.getAllEvents();
+        EventKey victim = all.get(random.nextInt(all.size())).getKey();
+        reference.removeEvent(victim);
+        storage.removeEvent(victim);
+      }
+    }
+
+    for (int i = 0; i < 2000; i++) {
+      ZonedDateTime probe = base.plusMinutes(random.nextInt(60 * 24 * 15));
+      assertEquals(reference.isBusy(probe), storage.isBusy(probe));
+    }
+  }
 
-}
\ No newline at end of file
+  /**
+   * Tests that the day index agrees with a plain scan, including multi-day events, events
+   * longer than the indexed span and events in another zone.
+   */
+  @Test
+  public void testGetEventsOnMatchesScanOnRandomData() {
+    InMemoryEventStorage reference = new InMemoryEventStorage();
+    Random random = new Random(13);
+    ZoneId tokyo = ZoneId.of("Asia/Tokyo");
+    ZonedDateTime base = ZonedDateTime.of(2025, 3, 1, 0, 0, 0, 0, ZoneId.of("UTC"));
+
+    for (int i = 0; i < 500; i++) {
+      ZonedDateTime s = base.plusMinutes(random.nextInt(60 * 24 * 60));
+      if (i % 2 == 0) {
+        s = s.withZoneSameInstant(tokyo);
+      }
+      long minutes = i % 50 == 0 ? 60L * 24 * (DayIndex.MAX_INDEXED_DAYS + 10)
+          : 1 + random.nextInt(60 * 24 * 3);
+      Event e = new Event.Builder("E" + i, s, s.plusMinutes(minutes)).build();
+      reference.addEvent(e);
+      storage.addEvent(e);
+      if (random.nextInt(3) == 0) {
+        List<Event> all = reference.getAllEvents();
+        EventKey victim = all.get(random.nextInt(all.size())).getKey();
+        reference.removeEvent(victim);
+        storage.removeEvent(victim);
+      }
+    }
+
+    LocalDate first = base.toLocalDate().minusDays(2);
+    for (LocalDate d = first; d.isBefore(first.plusDays(150)); d = d.plusDays(1)) {
+      List<Event> expected = reference.getEventsOn(d);
+      Collections.sort(expected);
+      assertEquals(expected, storage.getEventsOn(d));
+    }
+  }
+
+  /**
+   * Tests that addAll inserts a group only when none of it is a duplicate.
+   */
+  @Test
+  public void testAddAllIsAllOrNothing() {
+    storage.addEvent(event2);
+    Event early = new Event.Builder("Early", event3.getStart().minusDays(3),
+        event3.getStart().minusDays(3).plusHours(1)).build();
+
+    assertFalse(storage.addAll(List.of(event3, early, event1, event2)));
+    assertEquals(List.of(event2), storage.getAllEvents());
+    assertFalse(storage.addAll(List.of(event1, early, event1)));
+    assertEquals(List.of(event2), storage.getAllEvents());
+
+    assertTrue(storage.addAll(List.of(event1, early, event3)));
+    assertEquals(List.of(early, event3, event1, event2), storage.getAllEvents());
+    assertSame(event1, storage.findByKey(key1));
+    assertEquals(List.of(event3, event1), storage.getEventsOn(event1.getStart().toLocalDate()));
+    assertTrue(storage.addAll(List.of()));
+  }
+
+  /**
+   * Tests that busy checks compare fractional seconds exactly, like the event's own
+   * overlap check.
+   */
+  @Test
+  public void testIsBusyComparesNanoseconds() {
+    ZonedDateTime start = ZonedDateTime.of(2025, 3, 1, 9, 0, 0, 500, ZoneId.of("UTC"));
+    ZonedDateTime end = start.plusMinutes(30);
+    storage.addEvent(new Event.Builder("Precise", start, end).build());
+
+    assertFalse(storage.isBusy(start.minusNanos(1)));
+    assertTrue(storage.isBusy(start));
+    assertTrue(storage.isBusy(end));
+    assertFalse(storage.isBusy(end.plusNanos(1)));
+    assertFalse(storage.isBusy(end.withNano(999_999_999)));
+  }
+}
@@ -0,0 +1,183 @@
+package calendar.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DayOfWeek;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test suite for {@link WriteAheadLogEventStorage}.
+ *
+ * <p>Each test writes through one storage instance, closes it and checks that a new
+ * instance over the same directory replays exactly the same events.</p>
+ */
+public class WriteAheadLogEventStorageTest {
+
+  private static final ZoneId EST = ZoneId.of("America/New_York");
+
+  private static final ZonedDateTime START = ZonedDateTime.of(2025, 3, 3, 9, 0, 0, 0, EST);
+
+  private Path dir;
+
+  @Before
+  public void setUp() throws IOException {
+    dir = Files.createTempDirectory("wal-test");
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    try (Stream<Path> files = Files.walk(dir)) {
+      for (Path p : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+        Files.deleteIfExists(p);
+      }
+    }
+  }
+
+  private WriteAheadLogEventStorage open(int compactThreshold) {
+    return new WriteAheadLogEventStorage(dir, new TreeSetEventStorage(), compactThreshold);
+  }
+
+  /**
+   * Adds, removes, edits and a series, with every optional field, survive a restart.
+   */
+  @Test
+  public void testReplayRestoresEvents() throws IOException {
+    List<Event> expected;
+    try (WriteAheadLogEventStorage storage = open(1_000)) {
+      CalendarModel model = new CalendarModel(storage, EST);
+      Event review = new Event.Builder("Review", START, START.plusHours(1))
+          .description("Quarterly numbers, été").location("Room 4")
+          .status(EventStatus.PUBLIC).build();
+      Event flight = new Event.Builder("Flight", START.plusDays(1),
+          START.plusDays(1).withZoneSameInstant(ZoneId.of("Europe/Paris")).plusHours(8))
+          .build();
+      model.createEvent(review);
+      model.createEvent(flight);
+      model.createEvent(new Event.Builder("Offsite", START, START.plusHours(1))
+          .allDay(true).build());
+      model.createSeries(new Event.Builder("Standup", START, START.plusMinutes(15)).build(),
+          new RecurrenceRule(EnumSet.range(DayOfWeek.MONDAY, DayOfWeek.FRIDAY), 10, null));
+      model.editEvent(review.getKey(), "subject", "Quarterly review");
+      model.editSeries(new EventKey("Standup", START.plusDays(2), START.plusDays(2)
+          .plusMinutes(15)), "location", "Hall", EditMode.FROM_THIS_ONWARD);
+      assertTrue(storage.removeEvent(flight.getKey()));
+      expected = storage.getAllEvents();
+    }
+
+    try (WriteAheadLogEventStorage reopened = open(1_000)) {
+      List<Event> actual = reopened.getAllEvents();
+      assertEquals(expected, actual);
+      for (int i = 0; i < expected.size(); i++) {
+        assertEquals(expected.get(i).getDescription(), actual.get(i).getDescription());
+        assertEquals(expected.get(i).getLocation(), actual.get(i).getLocation());
+        assertEquals(expected.get(i).getStatus(), actual.get(i).getStatus());
+        assertEquals(expected.get(i).getSeriesId(), actual.get(i).getSeriesId());
+        assertEquals(expected.get(i).isAllDay(), actual.get(i).isAllDay());
+      }
+      String seriesId = reopened.findByKey(new EventKey("Standup", START,
+          START.plusMinutes(15))).getSeriesId();
+      assertEquals(8, reopened.getSeries(seriesId).stream()
+          .filter(e -> "Hall".equals(e.getLocation())).count());
+    }
+  }
+
+  /**
+   * A record cut short by a crash is dropped and the log keeps working after it.
+   */
+  @Test
+  public void testTornTailIsTruncated() throws IOException {
+    Event a = new Event.Builder("A", START, START.plusHours(1)).build();
+    Event b = new Event.Builder("B", START.plusHours(2), START.plusHours(3)).build();
+    try (WriteAheadLogEventStorage storage = open(1_000)) {
+      storage.addEvent(a);
+      storage.addEvent(b);
+    }
+    Path log = dir.resolve(WriteAheadLogEventStorage.LOG_FILE);
+    try (FileChannel channel = FileChannel.open(log, StandardOpenOption.WRITE)) {
+      channel.truncate(channel.size() - 3);
+    }
+
+    Event c = new Event.Builder("C", START.plusHours(4), START.plusHours(5)).build();
+    try (WriteAheadLogEventStorage storage = open(1_000)) {
+      assertEquals(List.of(a), storage.getAllEvents());
+      storage.addEvent(c);
+    }
+    try (WriteAheadLogEventStorage storage = open(1_000)) {
+      assertEquals(List.of(a, c), storage.getAllEvents());
+    }
+  }
+
+  /**
+   * Compaction moves the events into the snapshot and empties the log.
+   */
+  @Test
+  public void testCompaction() throws IOException {
+    List<Event> expected = new ArrayList<>();
+    try (WriteAheadLogEventStorage storage = open(50)) {
+      for (int i = 0; i < 120; i++) {
+        Event e = new Event.Builder("E" + i, START.plusHours(i), START.plusHours(i)
+            .plusMinutes(30)).build();
+        storage.addEvent(e);
+        expected.add(e);
+      }
+      assertTrue(storage.removeEvent(expected.remove(7).getKey()));
+      assertTrue(Files.exists(dir.resolve(WriteAheadLogEventStorage.SNAPSHOT_FILE)));
+      assertTrue(Files.size(dir.resolve(WriteAheadLogEventStorage.LOG_FILE))
+          < Files.size(dir.resolve(WriteAheadLogEventStorage.SNAPSHOT_FILE)));
+
+      storage.compact();
+      assertEquals(0, Files.size(dir.resolve(WriteAheadLogEventStorage.LOG_FILE)));
+      assertThrows(IllegalStateException.class, () -> storage.runBatch(storage::compact));
+    }
+    try (WriteAheadLogEventStorage storage = open(50)) {
+      assertEquals(expected, storage.getAllEvents());
+    }
+  }
+
+  /**
+   * Writers on several threads all get their events logged.
+   */
+  @Test
+  public void testConcurrentWriters() throws Exception {
+    try (WriteAheadLogEventStorage storage = open(10_000)) {
+      List<Thread> writers = new ArrayList<>();
+      for (int t = 0; t < 4; t++) {
+        int offset = t;
+        Thread writer = new Thread(() -> {
+          for (int i = 0; i < 50; i++) {
+            storage.addEvent(new Event.Builder("T" + offset, START.plusHours(i),
+                START.plusHours(i).plusMinutes(10)).build());
+          }
+        });
+        writers.add(writer);
+        writer.start();
+      }
+      for (Thread writer : writers) {
+        writer.join();
+      }
+      assertEquals(200, storage.getAllEvents().size());
+    }
+    try (WriteAheadLogEventStorage storage = open(10_000)) {
+      assertEquals(200, storage.getAllEvents().size());
+      assertFalse(storage.addEvent(new Event.Builder("T0", START, START.plusMinutes(10))
+          .build()));
+    }
+  }
+}
@@ -0,0 +1,67 @@
+package calendar.model;
+
+import static org.junit.Assert.assertEquals;
+
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Test;
+
+/**
+ * Test suite for {@link ZoneTable}.
+ */
+public class ZoneTableTest {
+
+  /**
+   * A known zone keeps its index and maps back to itself.
+   */
+  @Test
+  public void testIndexIsStable() {
+    ZoneId zone = ZoneId.of("Europe/Lisbon");
+    short idx = ZoneTable.indexOf(zone);
+    assertEquals(idx, ZoneTable.indexOf(ZoneId.of("Europe/Lisbon")));
+    assertEquals(zone, ZoneTable.zoneAt(idx));
+  }
+
+  /**
+   * Threads registering the same new zones at once all get one index per zone.
+   */
+  @Test
+  public void testConcurrentRegistrationAgrees() throws Exception {
+    String[] ids = {"Pacific/Fiji", "Africa/Nairobi", "America/Lima", "Asia/Tbilisi"};
+    int threads = 8;
+    short[][] seen = new short[threads][ids.length];
+    CountDownLatch start = new CountDownLatch(1);
+    AtomicReference<Throwable> failure = new AtomicReference<>();
+    List<Thread> workers = new ArrayList<>();
+    for (int t = 0; t < threads; t++) {
+      final int id = t;
+      Thread w = new Thread(() -> {
+        try {
+          start.await();
+          for (int i = 0; i < ids.length; i++) {
+            seen[id][i] = ZoneTable.indexOf(ZoneId.of(ids[(i + id) % ids.length]));
+          }
+        } catch (Throwable e) {
+          failure.set(e);
+        }
+      });
+      workers.add(w);
+      w.start();
+    }
+    start.countDown();
+    for (Thread w : workers) {
+      w.join();
+    }
+    assertEquals(null, failure.get());
+    for (int t = 0; t < threads; t++) {
+      for (int i = 0; i < ids.length; i++) {
+        String zone = ids[(i + t) % ids.length];
+        assertEquals(ZoneTable.indexOf(ZoneId.of(zone)), seen[t][i]);
+        assertEquals(ZoneId.of(zone), ZoneTable.zoneAt(seen[t][i]));
+      }
+    }
+  }
+}